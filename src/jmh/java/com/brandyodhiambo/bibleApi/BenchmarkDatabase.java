@@ -0,0 +1,128 @@
+package com.brandyodhiambo.bibleApi;
+
+import com.brandyodhiambo.bibleApi.feature.biblemgt.models.Bible;
+import com.brandyodhiambo.bibleApi.feature.biblemgt.models.Book;
+import com.brandyodhiambo.bibleApi.feature.biblemgt.models.Chapter;
+import com.brandyodhiambo.bibleApi.feature.biblemgt.models.Verse;
+import com.brandyodhiambo.bibleApi.feature.biblemgt.repository.BibleRepository;
+import com.brandyodhiambo.bibleApi.feature.biblemgt.repository.VerseRepository;
+import com.brandyodhiambo.bibleApi.feature.usermgt.models.Users;
+import com.brandyodhiambo.bibleApi.feature.usermgt.repository.UserRepository;
+import com.brandyodhiambo.bibleApi.search.SearchEngineSelector;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.redis.RedisRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Minimal JPA-only Spring context on an in-memory H2 database, shared by the benchmarks that
+ * compare in-process structures against the repository path.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration(exclude = {
+        RedisAutoConfiguration.class,
+        RedisRepositoriesAutoConfiguration.class,
+        SecurityAutoConfiguration.class,
+        UserDetailsServiceAutoConfiguration.class
+})
+@EntityScan(basePackageClasses = {Verse.class, Users.class})
+@EnableJpaRepositories(basePackageClasses = {VerseRepository.class, UserRepository.class})
+@Import(SearchEngineSelector.class)
+public class BenchmarkDatabase {
+
+    private static final String[] WORDS = {
+            "the", "and", "of", "to", "that", "in", "he", "shall", "unto", "for", "i", "his", "a", "lord",
+            "they", "be", "is", "him", "not", "them", "it", "with", "all", "thou", "thy", "was", "god",
+            "which", "my", "me", "said", "but", "ye", "their", "have", "will", "thee", "from", "as", "are",
+            "when", "this", "out", "were", "upon", "man", "by", "you", "israel", "king", "son", "up",
+            "there", "hath", "people", "came", "had", "house", "into", "on", "her", "come", "one", "we",
+            "children", "before", "your", "also", "day", "land", "men", "let", "go", "say", "made", "went",
+            "even", "no", "hand", "saying", "things", "an", "against", "jerusalem", "earth", "love",
+            "light", "faith", "grace", "spirit", "heaven", "world", "life", "word", "truth", "peace",
+            "mercy", "righteousness", "glory", "kingdom", "prayer", "shepherd", "covenant", "jesus", "christ"
+    };
+
+    public static ConfigurableApplicationContext start(String databaseName) {
+        return new SpringApplicationBuilder(BenchmarkDatabase.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.profiles.active=benchmark",
+                        "--spring.datasource.url=jdbc:h2:mem:" + databaseName + ";DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.cache.type=none",
+                        "--logging.level.root=WARN");
+    }
+
+    /**
+     * Persist a synthetic translation of {@code books} x {@code chapters} x {@code verses} with
+     * reproducible pseudo-random verse text drawn from a scripture-like vocabulary.
+     */
+    public static Bible seedBible(ConfigurableApplicationContext context, String abbreviation,
+                                  int books, int chapters, int verses) {
+        Random random = new Random(abbreviation.hashCode());
+        Bible bible = new Bible();
+        bible.setName("Benchmark " + abbreviation);
+        bible.setAbbreviation(abbreviation);
+        bible.setLanguage("English");
+        bible.setBooks(new ArrayList<>());
+        for (int b = 1; b <= books; b++) {
+            Book book = new Book();
+            book.setName(bookName(b));
+            book.setAbbreviation("B" + b);
+            book.setPosition(b);
+            book.setBible(bible);
+            book.setChapters(new ArrayList<>());
+            for (int c = 1; c <= chapters; c++) {
+                Chapter chapter = new Chapter();
+                chapter.setNumber(c);
+                chapter.setBook(book);
+                List<Verse> chapterVerses = new ArrayList<>(verses);
+                for (int v = 1; v <= verses; v++) {
+                    Verse verse = new Verse();
+                    verse.setNumber(v);
+                    verse.setText(sentence(random));
+                    verse.setChapter(chapter);
+                    chapterVerses.add(verse);
+                }
+                chapter.setVerses(chapterVerses);
+                book.getChapters().add(chapter);
+            }
+            bible.getBooks().add(book);
+        }
+        return context.getBean(BibleRepository.class).save(bible);
+    }
+
+    public static String bookName(int position) {
+        return "Book " + position;
+    }
+
+    private static String sentence(Random random) {
+        int length = 8 + random.nextInt(24);
+        StringBuilder text = new StringBuilder(length * 6);
+        for (int i = 0; i < length; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            // Squaring skews the draw towards the common words at the front of the vocabulary
+            double skew = random.nextDouble();
+            text.append(WORDS[(int) (skew * skew * WORDS.length)]);
+        }
+        return text.append('.').toString();
+    }
+}
@@ -0,0 +1,152 @@
+package com.brandyodhiambo.bibleApi.cache;
+
+import com.brandyodhiambo.bibleApi.feature.biblemgt.models.dto.BookResponse;
+import com.brandyodhiambo.bibleApi.feature.biblemgt.models.dto.ChapterResponse;
+import com.brandyodhiambo.bibleApi.feature.biblemgt.models.dto.VerseResponse;
+import com.brandyodhiambo.bibleApi.feature.groupmgt.models.GroupType;
+import com.brandyodhiambo.bibleApi.feature.groupmgt.models.dto.GroupResponse;
+import com.brandyodhiambo.bibleApi.feature.usermgt.models.dto.UserSummary;
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization cost of cache values: the default-typed JSON the cache used before against
+ * {@link CompactRedisSerializer}, with and without compression. The benchmarks report ns/op; the encoded size
+ * of every payload is reported alongside {@code serialize} as its {@code encodedBytes} counter.
+ * Run with {@code ./gradlew jmh -PjmhIncludes=CacheSerializerBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CacheSerializerBenchmark {
+
+    @Param({"group", "verse", "book"})
+    public String payload;
+
+    @Param({"json", "compact", "compact-deflate"})
+    public String format;
+
+    // A large group, the worst case for the members set
+    private static final int GROUP_MEMBERS = 500;
+    private static final int BOOK_CHAPTERS = 30;
+    private static final int CHAPTER_VERSES = 30;
+
+    private RedisSerializer<Object> serializer;
+    private Object value;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        RedisSerializer<Object> json = new GenericJackson2JsonRedisSerializer(jsonMapper());
+        serializer = switch (format) {
+            case "json" -> json;
+            case "compact" -> new CompactRedisSerializer(json, Integer.MAX_VALUE);
+            default -> new CompactRedisSerializer(json, 1024);
+        };
+        value = switch (payload) {
+            case "group" -> group();
+            case "verse" -> verse(1, 1);
+            default -> book();
+        };
+        encoded = serializer.serialize(value);
+    }
+
+    @Benchmark
+    public byte[] serialize(EncodedSize size) {
+        return serializer.serialize(value);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return serializer.deserialize(encoded);
+    }
+
+    /**
+     * The size of the encoded payload, reported by JMH as a secondary result of {@code serialize}.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class EncodedSize {
+
+        public long encodedBytes;
+
+        @Setup(Level.Iteration)
+        public void record(CacheSerializerBenchmark benchmark) {
+            encodedBytes = benchmark.encoded.length;
+        }
+    }
+
+    private static ObjectMapper jsonMapper() {
+        // Same configuration as the JSON cache serializer in RedisConfig
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
+        mapper.registerModule(new JavaTimeModule());
+        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        mapper.activateDefaultTyping(mapper.getPolymorphicTypeValidator(), ObjectMapper.DefaultTyping.NON_FINAL);
+        return mapper;
+    }
+
+    private static GroupResponse group() {
+        Set<UserSummary> members = new LinkedHashSet<>();
+        for (long i = 1; i <= GROUP_MEMBERS; i++) {
+            members.add(new UserSummary(i, "member" + i, "First" + i, "Last" + i, "member" + i + "@example.com"));
+        }
+        UserSummary leader = members.iterator().next();
+        return new GroupResponse(42L, "Thursday Bible Study", "Weekly study through the gospels", "Nairobi",
+                LocalTime.of(18, 30), GroupType.IN_PERSON, leader, members, LocalDate.now(), LocalDate.now(),
+                members.size());
+    }
+
+    private static VerseResponse verse(int chapter, int number) {
+        return VerseResponse.builder()
+                .id((long) chapter * 1000 + number)
+                .number(number)
+                .text("For God so loved the world, that he gave his only begotten Son, that whosoever believeth "
+                        + "in him should not perish, but have everlasting life.")
+                .chapterId((long) chapter)
+                .chapterNumber(chapter)
+                .bookId(43L)
+                .bookName("John")
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static BookResponse book() {
+        List<ChapterResponse> chapters = new ArrayList<>();
+        for (int c = 1; c <= BOOK_CHAPTERS; c++) {
+            List<VerseResponse> verses = new ArrayList<>();
+            for (int v = 1; v <= CHAPTER_VERSES; v++) {
+                verses.add(verse(c, v));
+            }
+            chapters.add(ChapterResponse.builder().id((long) c).number(c).bookId(43L).bookName("John")
+                    .verses(verses).createdAt(LocalDateTime.now()).build());
+        }
+        return BookResponse.builder().id(43L).name("John").abbreviation("Jn").position(43)
+                .description("The Gospel according to John").bibleId(1L).bibleName("King James Version")
+                .chapters(chapters).createdAt(LocalDateTime.now()).build();
+    }
+}
@@ -0,0 +1,127 @@
+package com.brandyodhiambo.bibleApi.feature.biblemgt.corpus;
+
+import com.brandyodhiambo.bibleApi.BenchmarkDatabase;
+import com.brandyodhiambo.bibleApi.feature.biblemgt.models.Chapter;
+import com.brandyodhiambo.bibleApi.feature.biblemgt.models.dto.ChapterResponse;
+import com.brandyodhiambo.bibleApi.feature.biblemgt.models.dto.VerseResponse;
+import com.brandyodhiambo.bibleApi.feature.biblemgt.repository.BibleRepository;
+import com.brandyodhiambo.bibleApi.feature.biblemgt.repository.BookRepository;
+import com.brandyodhiambo.bibleApi.feature.biblemgt.repository.ChapterRepository;
+import com.brandyodhiambo.bibleApi.feature.biblemgt.repository.VerseRepository;
+import com.brandyodhiambo.bibleApi.feature.biblemgt.service.BibleServiceImpl;
+import com.brandyodhiambo.bibleApi.search.SearchEngineSelector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the JPA read path of {@link BibleServiceImpl} with the in-memory {@link BibleCorpus}
+ * on a synthetic translation roughly the size of a real Bible (66 books, ~33k verses).
+ * Run with {@code ./gradlew jmh -PjmhIncludes=BibleCorpusBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BibleCorpusBenchmark {
+
+    private static final int BOOKS = 66;
+    private static final int CHAPTERS = 20;
+    private static final int VERSES = 25;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate transactionTemplate;
+    private BibleServiceImpl jpaService;
+    private BibleServiceImpl corpusService;
+    private long[] chapterIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatabase.start("corpus");
+        BenchmarkDatabase.seedBible(context, "KJV", BOOKS, CHAPTERS, VERSES);
+
+        BibleRepository bibleRepository = context.getBean(BibleRepository.class);
+        BookRepository bookRepository = context.getBean(BookRepository.class);
+        ChapterRepository chapterRepository = context.getBean(ChapterRepository.class);
+        VerseRepository verseRepository = context.getBean(VerseRepository.class);
+        SearchEngineSelector searchEngine = context.getBean(SearchEngineSelector.class);
+
+        // A loader that is never loaded keeps the service on the repository path
+        BibleCorpusLoader unloaded = new BibleCorpusLoader(bibleRepository, bookRepository, chapterRepository, verseRepository);
+        BibleCorpusLoader loaded = new BibleCorpusLoader(bibleRepository, bookRepository, chapterRepository, verseRepository);
+        loaded.reload();
+
+        jpaService = new BibleServiceImpl(bibleRepository, bookRepository, chapterRepository, verseRepository, unloaded, searchEngine);
+        corpusService = new BibleServiceImpl(bibleRepository, bookRepository, chapterRepository, verseRepository, loaded, searchEngine);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        transactionTemplate.setReadOnly(true);
+        chapterIds = chapterRepository.findAll().stream().mapToLong(Chapter::getId).toArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public VerseResponse jpaVerseByReference() {
+        int[] reference = randomReference();
+        return transactionTemplate.execute(status ->
+                jpaService.getVerseByReference(BenchmarkDatabase.bookName(reference[0]), reference[1], reference[2]));
+    }
+
+    @Benchmark
+    public VerseResponse corpusVerseByReference() {
+        int[] reference = randomReference();
+        return corpusService.getVerseByReference(BenchmarkDatabase.bookName(reference[0]), reference[1], reference[2]);
+    }
+
+    @Benchmark
+    public List<VerseResponse> jpaChapterVerses() {
+        long chapterId = randomChapterId();
+        return transactionTemplate.execute(status -> jpaService.getAllVerses(chapterId));
+    }
+
+    @Benchmark
+    public List<VerseResponse> corpusChapterVerses() {
+        return corpusService.getAllVerses(randomChapterId());
+    }
+
+    @Benchmark
+    public ChapterResponse jpaChapterByNumber() {
+        long bookId = randomBookId();
+        int number = 1 + ThreadLocalRandom.current().nextInt(CHAPTERS);
+        return transactionTemplate.execute(status -> jpaService.getChapterByNumber(bookId, number));
+    }
+
+    @Benchmark
+    public ChapterResponse corpusChapterByNumber() {
+        return corpusService.getChapterByNumber(randomBookId(), 1 + ThreadLocalRandom.current().nextInt(CHAPTERS));
+    }
+
+    private int[] randomReference() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return new int[]{1 + random.nextInt(BOOKS), 1 + random.nextInt(CHAPTERS), 1 + random.nextInt(VERSES)};
+    }
+
+    private long randomChapterId() {
+        return chapterIds[ThreadLocalRandom.current().nextInt(chapterIds.length)];
+    }
+
+    private long randomBookId() {
+        // Books are the only rows of their table, so their identity ids run 1..BOOKS
+        return 1 + ThreadLocalRandom.current().nextInt(BOOKS);
+    }
+}
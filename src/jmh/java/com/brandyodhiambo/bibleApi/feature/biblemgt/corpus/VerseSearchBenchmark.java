@@ -0,0 +1,97 @@
+package com.brandyodhiambo.bibleApi.feature.biblemgt.corpus;
+
+import com.brandyodhiambo.bibleApi.BenchmarkDatabase;
+import com.brandyodhiambo.bibleApi.feature.biblemgt.models.dto.VerseResponse;
+import com.brandyodhiambo.bibleApi.feature.biblemgt.repository.BibleRepository;
+import com.brandyodhiambo.bibleApi.feature.biblemgt.repository.BookRepository;
+import com.brandyodhiambo.bibleApi.feature.biblemgt.repository.ChapterRepository;
+import com.brandyodhiambo.bibleApi.feature.biblemgt.repository.VerseRepository;
+import com.brandyodhiambo.bibleApi.feature.biblemgt.service.BibleServiceImpl;
+import com.brandyodhiambo.bibleApi.search.SearchEngineSelector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query latency of the paginated keyword search: the {@code LIKE %keyword%} repository path against the
+ * in-memory {@link VerseIndex}. Sample mode reports the p50/p99 percentiles.
+ * Run with {@code ./gradlew jmh -PjmhIncludes=VerseSearchBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class VerseSearchBenchmark {
+
+    private static final int BOOKS = 66;
+    private static final int CHAPTERS = 20;
+    private static final int VERSES = 25;
+    private static final int PAGE_SIZE = 20;
+
+    // Mix of very common, mid-frequency and rare words from the benchmark vocabulary
+    private static final String[] WORDS = {"the", "lord", "king", "jerusalem", "grace", "shepherd", "covenant"};
+    private static final String[] QUERIES = {"lord god", "grace OR mercy", "\"the lord\"", "shepherd king"};
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate transactionTemplate;
+    private BibleServiceImpl jpaService;
+    private BibleServiceImpl indexService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatabase.start("search");
+        BenchmarkDatabase.seedBible(context, "KJV", BOOKS, CHAPTERS, VERSES);
+
+        BibleRepository bibleRepository = context.getBean(BibleRepository.class);
+        BookRepository bookRepository = context.getBean(BookRepository.class);
+        ChapterRepository chapterRepository = context.getBean(ChapterRepository.class);
+        VerseRepository verseRepository = context.getBean(VerseRepository.class);
+        SearchEngineSelector searchEngine = context.getBean(SearchEngineSelector.class);
+
+        BibleCorpusLoader unloaded = new BibleCorpusLoader(bibleRepository, bookRepository, chapterRepository, verseRepository);
+        BibleCorpusLoader loaded = new BibleCorpusLoader(bibleRepository, bookRepository, chapterRepository, verseRepository);
+        loaded.reload();
+
+        jpaService = new BibleServiceImpl(bibleRepository, bookRepository, chapterRepository, verseRepository, unloaded, searchEngine);
+        indexService = new BibleServiceImpl(bibleRepository, bookRepository, chapterRepository, verseRepository, loaded, searchEngine);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        transactionTemplate.setReadOnly(true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<VerseResponse> likeSingleWord() {
+        String word = pick(WORDS);
+        return transactionTemplate.execute(status -> jpaService.searchVersesByKeyword(word, "KJV", 0, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public Page<VerseResponse> indexSingleWord() {
+        return indexService.searchVersesByKeyword(pick(WORDS), "KJV", 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Page<VerseResponse> indexBooleanAndPhrase() {
+        return indexService.searchVersesByKeyword(pick(QUERIES), "KJV", 0, PAGE_SIZE);
+    }
+
+    private static String pick(String[] values) {
+        return values[ThreadLocalRandom.current().nextInt(values.length)];
+    }
+}
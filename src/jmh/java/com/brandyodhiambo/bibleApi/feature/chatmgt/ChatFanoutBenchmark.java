@@ -0,0 +1,155 @@
+package com.brandyodhiambo.bibleApi.feature.chatmgt;
+
+import com.brandyodhiambo.bibleApi.feature.chatmgt.models.dto.ChatMessageResponse;
+import com.brandyodhiambo.bibleApi.feature.chatmgt.service.ChatMessageBroker;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load test of the group chat push path: one message posted on the first instance, measured until every
+ * connected subscriber on every instance has it. Instances are separate {@link ChatMessageBroker}s joined by
+ * an in-process stand-in for Redis pub/sub that relays on its own thread, like the listener container does.
+ * Sample mode reports the p50/p99 end-to-end delivery latency. The heap held per open subscription, a measure
+ * of how many clients one instance can keep connected, is measured at setup and reported as the
+ * {@code bytesPerSubscription} counter of {@code subscriptionFootprint}, whose own timing means nothing.
+ * Run with {@code ./gradlew jmh -PjmhIncludes=ChatFanoutBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ChatFanoutBenchmark {
+
+    private static final String CHANNEL = "chat:messages";
+    private static final long GROUP_ID = 1L;
+
+    @Param({"1", "3"})
+    public int nodes;
+
+    @Param({"100", "1000", "10000"})
+    public int subscribersPerNode;
+
+    private final AtomicLong ids = new AtomicLong();
+    private LoopbackRedis redis;
+    private List<ChatMessageBroker> brokers;
+    private volatile CountDownLatch pending;
+    private long heapPerSubscription;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        redis = new LoopbackRedis();
+        brokers = new ArrayList<>();
+        for (int i = 0; i < nodes; i++) {
+            ChatMessageBroker broker = new ChatMessageBroker(redis, objectMapper, new SimpleMeterRegistry(), CHANNEL, 4);
+            redis.nodes.add(broker);
+            brokers.add(broker);
+        }
+
+        long heapBefore = usedHeap();
+        for (ChatMessageBroker broker : brokers) {
+            for (int s = 0; s < subscribersPerNode; s++) {
+                broker.subscribe(GROUP_ID, message -> pending.countDown());
+            }
+        }
+        heapPerSubscription = (usedHeap() - heapBefore) / ((long) nodes * subscribersPerNode);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        brokers.forEach(ChatMessageBroker::shutdown);
+        redis.relay.shutdown();
+    }
+
+    @Benchmark
+    public void postAndDeliverToAll() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(nodes * subscribersPerNode);
+        pending = latch;
+        brokers.get(0).publish(message(ids.incrementAndGet()));
+        if (!latch.await(10, TimeUnit.SECONDS)) {
+            throw new IllegalStateException(latch.getCount() + " subscribers did not receive the message");
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public long subscriptionFootprint(HeapFootprint footprint) {
+        return footprint.bytesPerSubscription;
+    }
+
+    /**
+     * The heap held per open subscription, reported by JMH as a secondary result.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class HeapFootprint {
+
+        public long bytesPerSubscription;
+
+        @Setup(Level.Iteration)
+        public void record(ChatFanoutBenchmark benchmark) {
+            bytesPerSubscription = benchmark.heapPerSubscription;
+        }
+    }
+
+    private static ChatMessageResponse message(long id) {
+        return ChatMessageResponse.builder()
+                .id(id)
+                .content("Reading John 3 tonight, bring your notes")
+                .groupId(GROUP_ID)
+                .groupName("Thursday Bible Study")
+                .senderId(7L)
+                .senderUsername("leader")
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static long usedHeap() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * Stands in for a local Redis: a published payload is handed to every instance's listener on a separate
+     * thread, and each instance drops its own messages exactly as it does with the real channel.
+     */
+    private static final class LoopbackRedis extends StringRedisTemplate {
+
+        private final List<ChatMessageBroker> nodes = new ArrayList<>();
+        private final ExecutorService relay = Executors.newSingleThreadExecutor();
+
+        @Override
+        public Long convertAndSend(String channel, Object message) {
+            DefaultMessage relayed = new DefaultMessage(channel.getBytes(StandardCharsets.UTF_8),
+                    message.toString().getBytes(StandardCharsets.UTF_8));
+            relay.execute(() -> nodes.forEach(node -> node.onMessage(relayed, null)));
+            return (long) nodes.size();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.brandyodhiambo.bibleApi.feature.eventmgt;
+
+import com.brandyodhiambo.bibleApi.feature.eventmgt.calendar.Occurrence;
+import com.brandyodhiambo.bibleApi.feature.eventmgt.calendar.OccurrenceOverride;
+import com.brandyodhiambo.bibleApi.feature.eventmgt.calendar.SessionCalendar;
+import com.brandyodhiambo.bibleApi.feature.eventmgt.calendar.SessionSeries;
+import com.brandyodhiambo.bibleApi.feature.eventmgt.models.RecurrencePattern;
+import com.brandyodhiambo.bibleApi.feature.eventmgt.repository.SessionOccurrenceOverrideRepository;
+import com.brandyodhiambo.bibleApi.feature.eventmgt.repository.StudySessionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to answer a month view: every occurrence in a 31-day window, over all groups or one. It compares
+ * scanning and expanding every session, which is what a query on all sessions amounts to, with the interval
+ * index of {@link SessionCalendar}. Sessions are spread over two years; a third recur weekly, the rest are
+ * split between one-time, daily, bi-weekly and monthly sessions, half of the recurring ones without end, and
+ * one occurrence in fifty is cancelled or moved.
+ * Run with {@code ./gradlew jmh -PjmhIncludes=SessionCalendarBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SessionCalendarBenchmark {
+
+    private static final LocalDate EPOCH = LocalDate.of(2026, 1, 1);
+    private static final int GROUPS = 200;
+    private static final int DAYS = 730;
+
+    @Param({"1000", "10000"})
+    public int sessions;
+
+    private List<SessionSeries> series;
+    private SessionCalendar calendar;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(7);
+        RecurrencePattern[] others = {RecurrencePattern.NONE, RecurrencePattern.DAILY, RecurrencePattern.BI_WEEKLY,
+                RecurrencePattern.MONTHLY};
+        series = new ArrayList<>(sessions);
+        List<OccurrenceOverride> overrides = new ArrayList<>();
+        for (long id = 1; id <= sessions; id++) {
+            LocalDate start = EPOCH.plusDays(random.nextInt(DAYS));
+            RecurrencePattern pattern = random.nextInt(3) == 0
+                    ? RecurrencePattern.WEEKLY : others[random.nextInt(others.length)];
+            LocalDate end = random.nextBoolean() ? null : start.plusDays(30 + random.nextInt(180));
+            SessionSeries session = new SessionSeries(id, (long) random.nextInt(GROUPS), start, pattern, end);
+            series.add(session);
+            session.datesBetween(start, start.plusDays(180)).forEach(date -> {
+                if (random.nextInt(50) == 0) {
+                    boolean cancelled = random.nextBoolean();
+                    overrides.add(new OccurrenceOverride(session.sessionId(), date, cancelled,
+                            cancelled ? null : date.plusDays(1), null, null, null));
+                }
+            });
+        }
+        calendar = new SessionCalendar(repository(StudySessionRepository.class, "findAllSeries", series),
+                repository(SessionOccurrenceOverrideRepository.class, "findAllOverrides", overrides),
+                new StringRedisTemplate(), new SimpleMeterRegistry(), Duration.ofDays(1), Duration.ofDays(366),
+                Duration.ofDays(365), "session:calendar:invalidation");
+        // Load the calendar before measuring
+        calendar.occurrences(EPOCH, EPOCH);
+    }
+
+    @Benchmark
+    public int monthViewByScanning() {
+        LocalDate from = randomMonth();
+        LocalDate to = from.plusDays(30);
+        int occurrences = 0;
+        for (SessionSeries session : series) {
+            if (!session.startDate().isAfter(to) && !session.lastDate().isBefore(from)) {
+                occurrences += (int) session.datesBetween(from, to).count();
+            }
+        }
+        return occurrences;
+    }
+
+    @Benchmark
+    public List<Occurrence> monthView() {
+        LocalDate from = randomMonth();
+        return calendar.occurrences(from, from.plusDays(30));
+    }
+
+    @Benchmark
+    public List<Occurrence> groupMonthView() {
+        LocalDate from = randomMonth();
+        return calendar.occurrences((long) ThreadLocalRandom.current().nextInt(GROUPS), from, from.plusDays(30));
+    }
+
+    private static LocalDate randomMonth() {
+        return EPOCH.plusDays(ThreadLocalRandom.current().nextInt(DAYS));
+    }
+
+    // Repository stand-in answering the one query the calendar loads from
+    @SuppressWarnings("unchecked")
+    private static <T> T repository(Class<T> type, String query, List<?> result) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (method.getName().equals(query)) {
+                return result;
+            }
+            throw new UnsupportedOperationException(method.getName());
+        });
+    }
+}
@@ -0,0 +1,114 @@
+package com.brandyodhiambo.bibleApi.feature.studymgt;
+
+import com.brandyodhiambo.bibleApi.storage.LocalBlobStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourceRegion;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.ResourceHttpMessageConverter;
+import org.springframework.http.converter.ResourceRegionHttpMessageConverter;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test of study material downloads: sixteen concurrent downloads of one file, written by the message
+ * converters Spring MVC uses for a {@link Resource} body to a client that discards what it reads.
+ * {@code inlineBytes} is the former path, the whole file read from its database column into a new array per
+ * request; {@code blobStore} streams the file from the {@link LocalBlobStore}, and {@code blobStoreRange}
+ * serves a 1 MB {@code Range} of it. With the gc profiler, {@code gc.alloc.rate.norm} grows with the file for
+ * the inline path and stays at the copy buffer for the streamed ones, so heap stays flat however large the
+ * files and however many downloads run at once.
+ * Run with {@code ./gradlew jmh -PjmhIncludes=StudyMaterialDownloadBenchmark -PjmhProfilers=gc}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(16)
+public class StudyMaterialDownloadBenchmark {
+
+    private static final MediaType PDF = MediaType.APPLICATION_PDF;
+    private static final long RANGE_LENGTH = 1 << 20;
+
+    @Param({"1048576", "33554432"})
+    public int fileSize;
+
+    private final ResourceHttpMessageConverter resourceConverter = new ResourceHttpMessageConverter();
+    private final ResourceRegionHttpMessageConverter regionConverter = new ResourceRegionHttpMessageConverter();
+    private Path root;
+    private LocalBlobStore store;
+    private String hash;
+    private byte[] column;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        column = new byte[fileSize];
+        new Random(7).nextBytes(column);
+        root = Files.createTempDirectory("blob-benchmark");
+        store = new LocalBlobStore(root.toString());
+        hash = store.put(new ByteArrayInputStream(column)).hash();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        FileSystemUtils.deleteRecursively(root);
+    }
+
+    @Benchmark
+    public long inlineBytes() throws IOException {
+        // What the JDBC driver hands back for a bytea/LOB column: a fresh copy of the whole file
+        DiscardingResponse response = new DiscardingResponse();
+        resourceConverter.write(new ByteArrayResource(column.clone()), PDF, response);
+        return response.headers.getContentLength();
+    }
+
+    @Benchmark
+    public long blobStore() throws IOException {
+        DiscardingResponse response = new DiscardingResponse();
+        resourceConverter.write(store.resource(hash), PDF, response);
+        return response.headers.getContentLength();
+    }
+
+    @Benchmark
+    public long blobStoreRange() throws IOException {
+        DiscardingResponse response = new DiscardingResponse();
+        long start = fileSize / 2;
+        regionConverter.write(new ResourceRegion(store.resource(hash), start, RANGE_LENGTH), null, PDF, response);
+        return response.headers.getContentLength();
+    }
+
+    // A client that reads everything and keeps nothing
+    private static final class DiscardingResponse implements HttpOutputMessage {
+
+        private final HttpHeaders headers = new HttpHeaders();
+
+        @Override
+        public OutputStream getBody() {
+            return OutputStream.nullOutputStream();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.brandyodhiambo.bibleApi.security;
+
+import com.brandyodhiambo.bibleApi.security.jwt.JwtVerifier;
+import com.brandyodhiambo.bibleApi.security.jwt.VerifiedToken;
+import com.brandyodhiambo.bibleApi.security.service.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.Date;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token verifications per second. It compares three ways of verifying a token:
+ * <ul>
+ *     <li>decoding the key and building a parser for every token, which is what {@code JwtService} did;</li>
+ *     <li>the shared parser of {@link JwtVerifier};</li>
+ *     <li>the verifier's cache, where clients reuse a pool of live tokens.</li>
+ * </ul>
+ * Run with {@code ./gradlew jmh -PjmhIncludes=JwtVerificationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(4)
+public class JwtVerificationBenchmark {
+
+    private static final int TOKENS = 1_000;
+    private static final String SECRET =
+            "cde1fe53b08fe1551f1a2277011d973a41444b4485e489339bf4d688d381ab221fe408cfb78c65f9813227148c0070581511befbb77f8401bc8f68a5262ad669";
+
+    private JwtVerifier jwtVerifier;
+    private String[] tokens;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jwtVerifier = new JwtVerifier(SECRET, new SimpleMeterRegistry(), 100_000);
+        tokens = new String[TOKENS];
+        for (int i = 0; i < TOKENS; i++) {
+            tokens[i] = Jwts.builder()
+                    .claim(JwtService.TOKEN_VERSION_CLAIM, 0L)
+                    .setSubject("member" + i)
+                    .setIssuedAt(new Date())
+                    .setExpiration(new Date(System.currentTimeMillis() + TimeUnit.DAYS.toMillis(1)))
+                    .signWith(jwtVerifier.getSigningKey(), SignatureAlgorithm.HS256)
+                    .compact();
+        }
+    }
+
+    @Benchmark
+    public Claims parserPerToken() {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                .build()
+                .parseClaimsJws(randomToken())
+                .getBody();
+    }
+
+    @Benchmark
+    public Claims sharedParser() {
+        return jwtVerifier.parseClaims(randomToken());
+    }
+
+    @Benchmark
+    public VerifiedToken cachedVerification() {
+        return jwtVerifier.verify(randomToken());
+    }
+
+    private String randomToken() {
+        return tokens[ThreadLocalRandom.current().nextInt(tokens.length)];
+    }
+}
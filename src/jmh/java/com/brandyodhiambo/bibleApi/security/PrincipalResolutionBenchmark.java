@@ -0,0 +1,121 @@
+package com.brandyodhiambo.bibleApi.security;
+
+import com.brandyodhiambo.bibleApi.BenchmarkDatabase;
+import com.brandyodhiambo.bibleApi.feature.usermgt.models.Role;
+import com.brandyodhiambo.bibleApi.feature.usermgt.models.RoleName;
+import com.brandyodhiambo.bibleApi.feature.usermgt.models.Users;
+import com.brandyodhiambo.bibleApi.feature.usermgt.repository.RoleRepository;
+import com.brandyodhiambo.bibleApi.feature.usermgt.repository.UserRepository;
+import com.brandyodhiambo.bibleApi.feature.usermgt.service.user.UserDetailsServiceImpl;
+import com.brandyodhiambo.bibleApi.security.jwt.JwtUtils;
+import com.brandyodhiambo.bibleApi.security.jwt.JwtVerifier;
+import com.brandyodhiambo.bibleApi.security.jwt.VerifiedToken;
+import com.brandyodhiambo.bibleApi.security.service.JwtService;
+import com.brandyodhiambo.bibleApi.security.service.PrincipalCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Requests per second the JWT filter can authenticate, before and after the principal cache: loading the user
+ * with their roles from H2 on every request, against reading the principal from {@link PrincipalCache}.
+ * Tokens are drawn at random from a pool of active users.
+ * Run with {@code ./gradlew jmh -PjmhIncludes=PrincipalResolutionBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(4)
+public class PrincipalResolutionBenchmark {
+
+    private static final int USERS = 1_000;
+    private static final String SECRET =
+            "cde1fe53b08fe1551f1a2277011d973a41444b4485e489339bf4d688d381ab221fe408cfb78c65f9813227148c0070581511befbb77f8401bc8f68a5262ad669";
+
+    private ConfigurableApplicationContext context;
+    private JwtUtils jwtUtils;
+    private UserDetailsServiceImpl userDetailsService;
+    private PrincipalCache principalCache;
+    private String[] tokens;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatabase.start("principals");
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("benchmark", Map.of(
+                "brandyodhiambo.app.jwtSecret", SECRET,
+                "brandyodhiambo.app.jwtExpirationMs", "86400000",
+                "email-verification.required", "true")));
+        JwtVerifier jwtVerifier = new JwtVerifier(SECRET, new SimpleMeterRegistry(), 10_000);
+        context.getBeanFactory().registerSingleton("jwtVerifier", jwtVerifier);
+        jwtUtils = context.getBeanFactory().createBean(JwtUtils.class);
+        userDetailsService = context.getBeanFactory().createBean(UserDetailsServiceImpl.class);
+        JwtService jwtService = context.getBeanFactory().createBean(JwtService.class);
+        // Evictions are never published here, so the template needs no connection
+        principalCache = new PrincipalCache(userDetailsService, new StringRedisTemplate(), new SimpleMeterRegistry(),
+                10_000, Duration.ofSeconds(60), "benchmark:principals");
+
+        Role member = context.getBean(RoleRepository.class).save(new Role(RoleName.ROLE_MEMBER));
+        List<Users> users = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            Users user = new Users();
+            user.setFirstName("Member");
+            user.setLastName(String.valueOf(i));
+            user.setUsername("member" + i);
+            user.setEmail("member" + i + "@example.com");
+            user.setPassword("{noop}secret");
+            user.setEmailVerified(true);
+            user.setRole(new HashSet<>(Set.of(member)));
+            users.add(user);
+        }
+        context.getBean(UserRepository.class).saveAll(users);
+        tokens = users.stream().map(jwtService::generateToken).toArray(String[]::new);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public UserDetails loadOnEveryRequest() {
+        String token = randomToken();
+        if (!jwtUtils.validateJwtToken(token)) {
+            throw new IllegalStateException("Token rejected");
+        }
+        return userDetailsService.loadUserByUsername(jwtUtils.getUserNameFromJwtToken(token));
+    }
+
+    @Benchmark
+    public UserDetails cachedPrincipal() {
+        VerifiedToken token = jwtUtils.verifyJwtToken(randomToken());
+        if (token == null) {
+            throw new IllegalStateException("Token rejected");
+        }
+        return principalCache.get(token.subject(), token.tokenVersion());
+    }
+
+    private String randomToken() {
+        return tokens[ThreadLocalRandom.current().nextInt(tokens.length)];
+    }
+}
@@ -0,0 +1,96 @@
+package com.brandyodhiambo.bibleApi.cache;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads what {@link BinaryWriter} wrote. Malformed input fails with {@link IllegalStateException}.
+ */
+final class BinaryReader {
+
+    private final byte[] buffer;
+    private int position;
+    private final int limit;
+
+    BinaryReader(byte[] buffer, int offset, int length) {
+        this.buffer = buffer;
+        this.position = offset;
+        this.limit = offset + length;
+    }
+
+    int position() {
+        return position;
+    }
+
+    int remaining() {
+        return limit - position;
+    }
+
+    int readByte() {
+        require(1);
+        return buffer[position++] & 0xFF;
+    }
+
+    long readVarLong() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Malformed varint");
+    }
+
+    long readSignedVarLong() {
+        long value = readVarLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    int readLength() {
+        long length = readVarLong();
+        if (length < 0 || length > remaining() + 1L) {
+            // Every element takes at least one byte, so a larger count cannot be genuine
+            throw new IllegalStateException("Length " + length + " exceeds the remaining input");
+        }
+        return (int) length;
+    }
+
+    int readFixedInt() {
+        require(4);
+        int value = ((buffer[position] & 0xFF) << 24) | ((buffer[position + 1] & 0xFF) << 16)
+                | ((buffer[position + 2] & 0xFF) << 8) | (buffer[position + 3] & 0xFF);
+        position += 4;
+        return value;
+    }
+
+    long readFixedLong() {
+        return ((long) readFixedInt() << 32) | (readFixedInt() & 0xFFFFFFFFL);
+    }
+
+    byte[] readBytes(int length) {
+        require(length);
+        byte[] bytes = new byte[length];
+        System.arraycopy(buffer, position, bytes, 0, length);
+        position += length;
+        return bytes;
+    }
+
+    String readString() {
+        int length = readLength();
+        if (length == 0) {
+            return null;
+        }
+        length--;
+        require(length);
+        String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    private void require(int bytes) {
+        if (bytes < 0 || position + bytes > limit) {
+            throw new IllegalStateException("Unexpected end of input");
+        }
+    }
+}
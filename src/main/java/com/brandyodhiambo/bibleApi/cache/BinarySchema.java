@@ -0,0 +1,567 @@
+package com.brandyodhiambo.bibleApi.cache;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+/**
+ * Positional binary codecs derived from class declarations.
+ * <p>
+ * An object is written as its fields in declaration order without names or type tags; the declared field
+ * types say how to read them back, including the element types of {@code List}, {@code Set} and
+ * {@code Map} fields. Every codec has a fingerprint over class, field and enum constant names, so a
+ * value written before a DTO changed shape is recognised and discarded instead of being misread.
+ * <p>
+ * Only application classes (with a no-argument constructor), strings, boxed primitives, enums and
+ * {@code java.time} values are supported. Anything else raises {@link UnsupportedTypeException} and the
+ * caller falls back to JSON.
+ */
+final class BinarySchema {
+
+    private static final String APPLICATION_PACKAGE = "com.brandyodhiambo.bibleApi.";
+
+    private final Map<Type, Codec> codecs = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Integer> fingerprints = new ConcurrentHashMap<>();
+
+    /**
+     * Reads and writes one nullable value of a fixed declared type.
+     */
+    interface Codec {
+        void write(BinaryWriter out, Object value);
+
+        Object read(BinaryReader in);
+
+        void describe(StringBuilder schema, Set<Class<?>> visited);
+    }
+
+    static final class UnsupportedTypeException extends RuntimeException {
+        UnsupportedTypeException(String message) {
+            super(message, null, false, false);
+        }
+    }
+
+    Codec codecFor(Type type) {
+        Codec codec = codecs.get(type);
+        if (codec == null) {
+            codec = createCodec(type);
+            Codec existing = codecs.putIfAbsent(type, codec);
+            if (existing != null) {
+                codec = existing;
+            }
+        }
+        return codec;
+    }
+
+    int fingerprint(Class<?> type) {
+        Integer fingerprint = fingerprints.get(type);
+        if (fingerprint == null) {
+            StringBuilder schema = new StringBuilder();
+            codecFor(type).describe(schema, new HashSet<>());
+            CRC32 crc = new CRC32();
+            crc.update(schema.toString().getBytes(StandardCharsets.UTF_8));
+            fingerprint = (int) crc.getValue();
+            fingerprints.put(type, fingerprint);
+        }
+        return fingerprint;
+    }
+
+    /**
+     * Classes a cached value may name. Keeps Redis content from loading arbitrary classes.
+     */
+    static boolean isAllowed(String className) {
+        return className.startsWith(APPLICATION_PACKAGE) || className.startsWith("java.time.")
+                || className.equals("java.lang.String") || className.equals("java.lang.Long")
+                || className.equals("java.lang.Integer") || className.equals("java.lang.Boolean")
+                || className.equals("java.lang.Double");
+    }
+
+    private Codec createCodec(Type type) {
+        if (type instanceof ParameterizedType parameterized) {
+            Class<?> raw = (Class<?>) parameterized.getRawType();
+            Type[] arguments = parameterized.getActualTypeArguments();
+            if (raw == List.class || raw == Collection.class) {
+                return new CollectionCodec("list", arguments[0], false);
+            }
+            if (raw == Set.class) {
+                return new CollectionCodec("set", arguments[0], true);
+            }
+            if (raw == Map.class) {
+                return new MapCodec(arguments[0], arguments[1]);
+            }
+            throw new UnsupportedTypeException("Unsupported generic type " + type);
+        }
+        if (!(type instanceof Class<?> cls)) {
+            throw new UnsupportedTypeException("Unsupported type " + type);
+        }
+        if (cls == String.class) {
+            return Scalar.STRING;
+        }
+        if (cls == long.class || cls == Long.class) {
+            return cls.isPrimitive() ? Scalar.PRIMITIVE_LONG : Scalar.LONG;
+        }
+        if (cls == int.class || cls == Integer.class) {
+            return cls.isPrimitive() ? Scalar.PRIMITIVE_INT : Scalar.INT;
+        }
+        if (cls == boolean.class || cls == Boolean.class) {
+            return cls.isPrimitive() ? Scalar.PRIMITIVE_BOOLEAN : Scalar.BOOLEAN;
+        }
+        if (cls == double.class || cls == Double.class) {
+            return cls.isPrimitive() ? Scalar.PRIMITIVE_DOUBLE : Scalar.DOUBLE;
+        }
+        if (cls == LocalDate.class) {
+            return Scalar.LOCAL_DATE;
+        }
+        if (cls == LocalTime.class) {
+            return Scalar.LOCAL_TIME;
+        }
+        if (cls == LocalDateTime.class) {
+            return Scalar.LOCAL_DATE_TIME;
+        }
+        if (cls == Instant.class) {
+            return Scalar.INSTANT;
+        }
+        if (cls == byte[].class) {
+            return Scalar.BYTES;
+        }
+        if (cls.isEnum()) {
+            return new EnumCodec(cls);
+        }
+        if (cls.getName().startsWith(APPLICATION_PACKAGE) && !cls.isInterface()
+                && !Modifier.isAbstract(cls.getModifiers()) && !cls.isRecord()) {
+            return new ObjectCodec(cls);
+        }
+        throw new UnsupportedTypeException("Unsupported type " + cls.getName());
+    }
+
+    private enum Scalar implements Codec {
+        STRING {
+            public void write(BinaryWriter out, Object value) {
+                out.writeString((String) value);
+            }
+
+            public Object read(BinaryReader in) {
+                return in.readString();
+            }
+        },
+        PRIMITIVE_LONG {
+            public void write(BinaryWriter out, Object value) {
+                out.writeSignedVarLong((Long) value);
+            }
+
+            public Object read(BinaryReader in) {
+                return in.readSignedVarLong();
+            }
+        },
+        LONG {
+            public void write(BinaryWriter out, Object value) {
+                if (present(out, value)) {
+                    out.writeSignedVarLong((Long) value);
+                }
+            }
+
+            public Object read(BinaryReader in) {
+                return in.readByte() == 0 ? null : in.readSignedVarLong();
+            }
+        },
+        PRIMITIVE_INT {
+            public void write(BinaryWriter out, Object value) {
+                out.writeSignedVarLong((Integer) value);
+            }
+
+            public Object read(BinaryReader in) {
+                return (int) in.readSignedVarLong();
+            }
+        },
+        INT {
+            public void write(BinaryWriter out, Object value) {
+                if (present(out, value)) {
+                    out.writeSignedVarLong((Integer) value);
+                }
+            }
+
+            public Object read(BinaryReader in) {
+                return in.readByte() == 0 ? null : (int) in.readSignedVarLong();
+            }
+        },
+        PRIMITIVE_BOOLEAN {
+            public void write(BinaryWriter out, Object value) {
+                out.writeByte((Boolean) value ? 1 : 0);
+            }
+
+            public Object read(BinaryReader in) {
+                return in.readByte() != 0;
+            }
+        },
+        BOOLEAN {
+            public void write(BinaryWriter out, Object value) {
+                out.writeByte(value == null ? 0 : (Boolean) value ? 2 : 1);
+            }
+
+            public Object read(BinaryReader in) {
+                int b = in.readByte();
+                return b == 0 ? null : b == 2;
+            }
+        },
+        PRIMITIVE_DOUBLE {
+            public void write(BinaryWriter out, Object value) {
+                out.writeFixedLong(Double.doubleToLongBits((Double) value));
+            }
+
+            public Object read(BinaryReader in) {
+                return Double.longBitsToDouble(in.readFixedLong());
+            }
+        },
+        DOUBLE {
+            public void write(BinaryWriter out, Object value) {
+                if (present(out, value)) {
+                    out.writeFixedLong(Double.doubleToLongBits((Double) value));
+                }
+            }
+
+            public Object read(BinaryReader in) {
+                return in.readByte() == 0 ? null : Double.longBitsToDouble(in.readFixedLong());
+            }
+        },
+        LOCAL_DATE {
+            public void write(BinaryWriter out, Object value) {
+                if (present(out, value)) {
+                    out.writeSignedVarLong(((LocalDate) value).toEpochDay());
+                }
+            }
+
+            public Object read(BinaryReader in) {
+                return in.readByte() == 0 ? null : LocalDate.ofEpochDay(in.readSignedVarLong());
+            }
+        },
+        LOCAL_TIME {
+            public void write(BinaryWriter out, Object value) {
+                if (present(out, value)) {
+                    out.writeVarLong(((LocalTime) value).toNanoOfDay());
+                }
+            }
+
+            public Object read(BinaryReader in) {
+                return in.readByte() == 0 ? null : LocalTime.ofNanoOfDay(in.readVarLong());
+            }
+        },
+        LOCAL_DATE_TIME {
+            public void write(BinaryWriter out, Object value) {
+                if (present(out, value)) {
+                    LocalDateTime dateTime = (LocalDateTime) value;
+                    out.writeSignedVarLong(dateTime.toEpochSecond(ZoneOffset.UTC));
+                    out.writeVarLong(dateTime.getNano());
+                }
+            }
+
+            public Object read(BinaryReader in) {
+                if (in.readByte() == 0) {
+                    return null;
+                }
+                long seconds = in.readSignedVarLong();
+                return LocalDateTime.ofEpochSecond(seconds, (int) in.readVarLong(), ZoneOffset.UTC);
+            }
+        },
+        INSTANT {
+            public void write(BinaryWriter out, Object value) {
+                if (present(out, value)) {
+                    Instant instant = (Instant) value;
+                    out.writeSignedVarLong(instant.getEpochSecond());
+                    out.writeVarLong(instant.getNano());
+                }
+            }
+
+            public Object read(BinaryReader in) {
+                if (in.readByte() == 0) {
+                    return null;
+                }
+                long seconds = in.readSignedVarLong();
+                return Instant.ofEpochSecond(seconds, in.readVarLong());
+            }
+        },
+        BYTES {
+            public void write(BinaryWriter out, Object value) {
+                if (value == null) {
+                    out.writeByte(0);
+                    return;
+                }
+                byte[] bytes = (byte[]) value;
+                out.writeVarLong(bytes.length + 1L);
+                out.writeBytes(bytes, 0, bytes.length);
+            }
+
+            public Object read(BinaryReader in) {
+                int length = in.readLength();
+                return length == 0 ? null : in.readBytes(length - 1);
+            }
+        };
+
+        @Override
+        public void describe(StringBuilder schema, Set<Class<?>> visited) {
+            schema.append(name());
+        }
+
+        private static boolean present(BinaryWriter out, Object value) {
+            out.writeByte(value == null ? 0 : 1);
+            return value != null;
+        }
+    }
+
+    private static final class EnumCodec implements Codec {
+        private final Class<?> type;
+        private final Object[] constants;
+
+        EnumCodec(Class<?> type) {
+            this.type = type;
+            this.constants = type.getEnumConstants();
+        }
+
+        @Override
+        public void write(BinaryWriter out, Object value) {
+            // Ordinals are safe because the fingerprint covers the constant names and their order
+            out.writeVarLong(value == null ? 0 : ((Enum<?>) value).ordinal() + 1L);
+        }
+
+        @Override
+        public Object read(BinaryReader in) {
+            int ordinal = (int) in.readVarLong();
+            if (ordinal > constants.length) {
+                throw new IllegalStateException("Unknown constant " + ordinal + " of " + type.getName());
+            }
+            return ordinal == 0 ? null : constants[ordinal - 1];
+        }
+
+        @Override
+        public void describe(StringBuilder schema, Set<Class<?>> visited) {
+            schema.append(type.getName()).append('{');
+            for (Object constant : constants) {
+                schema.append(((Enum<?>) constant).name()).append(',');
+            }
+            schema.append('}');
+        }
+    }
+
+    private final class CollectionCodec implements Codec {
+        private final String kind;
+        private final Type elementType;
+        private final boolean set;
+        private volatile Codec elements;
+
+        CollectionCodec(String kind, Type elementType, boolean set) {
+            this.kind = kind;
+            this.elementType = elementType;
+            this.set = set;
+        }
+
+        @Override
+        public void write(BinaryWriter out, Object value) {
+            if (value == null) {
+                out.writeByte(0);
+                return;
+            }
+            Collection<?> collection = (Collection<?>) value;
+            Codec codec = elements();
+            out.writeVarLong(collection.size() + 1L);
+            for (Object element : collection) {
+                codec.write(out, element);
+            }
+        }
+
+        @Override
+        public Object read(BinaryReader in) {
+            int size = in.readLength();
+            if (size == 0) {
+                return null;
+            }
+            size--;
+            Codec codec = elements();
+            Collection<Object> collection = set ? new LinkedHashSet<>(size * 2) : new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                collection.add(codec.read(in));
+            }
+            return collection;
+        }
+
+        @Override
+        public void describe(StringBuilder schema, Set<Class<?>> visited) {
+            schema.append(kind).append('<');
+            elements().describe(schema, visited);
+            schema.append('>');
+        }
+
+        private Codec elements() {
+            Codec codec = elements;
+            if (codec == null) {
+                codec = codecFor(elementType);
+                elements = codec;
+            }
+            return codec;
+        }
+    }
+
+    private final class MapCodec implements Codec {
+        private final Codec keys;
+        private final Codec values;
+
+        MapCodec(Type keyType, Type valueType) {
+            this.keys = codecFor(keyType);
+            this.values = codecFor(valueType);
+        }
+
+        @Override
+        public void write(BinaryWriter out, Object value) {
+            if (value == null) {
+                out.writeByte(0);
+                return;
+            }
+            Map<?, ?> map = (Map<?, ?>) value;
+            out.writeVarLong(map.size() + 1L);
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                keys.write(out, entry.getKey());
+                values.write(out, entry.getValue());
+            }
+        }
+
+        @Override
+        public Object read(BinaryReader in) {
+            int size = in.readLength();
+            if (size == 0) {
+                return null;
+            }
+            size--;
+            Map<Object, Object> map = new LinkedHashMap<>(size * 2);
+            for (int i = 0; i < size; i++) {
+                map.put(keys.read(in), values.read(in));
+            }
+            return map;
+        }
+
+        @Override
+        public void describe(StringBuilder schema, Set<Class<?>> visited) {
+            schema.append("map<");
+            keys.describe(schema, visited);
+            schema.append(',');
+            values.describe(schema, visited);
+            schema.append('>');
+        }
+    }
+
+    private final class ObjectCodec implements Codec {
+        private final Class<?> type;
+        private final Constructor<?> constructor;
+        private volatile Field[] fields;
+        private volatile Codec[] fieldCodecs;
+
+        ObjectCodec(Class<?> type) {
+            this.type = type;
+            try {
+                this.constructor = type.getDeclaredConstructor();
+                this.constructor.setAccessible(true);
+            } catch (NoSuchMethodException e) {
+                throw new UnsupportedTypeException(type.getName() + " has no no-argument constructor");
+            }
+        }
+
+        @Override
+        public void write(BinaryWriter out, Object value) {
+            if (value == null) {
+                out.writeByte(0);
+                return;
+            }
+            if (value.getClass() != type) {
+                // A subclass would lose its own fields, let the caller fall back to JSON
+                throw new UnsupportedTypeException(value.getClass().getName() + " is not " + type.getName());
+            }
+            resolve();
+            out.writeByte(1);
+            try {
+                for (int i = 0; i < fields.length; i++) {
+                    fieldCodecs[i].write(out, fields[i].get(value));
+                }
+            } catch (IllegalAccessException e) {
+                throw new UnsupportedTypeException("Cannot read fields of " + type.getName());
+            }
+        }
+
+        @Override
+        public Object read(BinaryReader in) {
+            if (in.readByte() == 0) {
+                return null;
+            }
+            resolve();
+            try {
+                Object instance = constructor.newInstance();
+                for (int i = 0; i < fields.length; i++) {
+                    fields[i].set(instance, fieldCodecs[i].read(in));
+                }
+                return instance;
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Cannot instantiate " + type.getName(), e);
+            }
+        }
+
+        @Override
+        public void describe(StringBuilder schema, Set<Class<?>> visited) {
+            schema.append(type.getName());
+            if (!visited.add(type)) {
+                return;
+            }
+            resolve();
+            schema.append('{');
+            for (int i = 0; i < fields.length; i++) {
+                schema.append(fields[i].getName()).append(':');
+                fieldCodecs[i].describe(schema, visited);
+                schema.append(';');
+            }
+            schema.append('}');
+        }
+
+        private void resolve() {
+            if (fieldCodecs != null) {
+                return;
+            }
+            synchronized (this) {
+                if (fieldCodecs != null) {
+                    return;
+                }
+                List<Field> declared = new ArrayList<>();
+                for (Class<?> c = type; c != Object.class; c = c.getSuperclass()) {
+                    int insertAt = 0;
+                    for (Field field : c.getDeclaredFields()) {
+                        int modifiers = field.getModifiers();
+                        if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()) {
+                            continue;
+                        }
+                        field.setAccessible(true);
+                        // Superclass fields come first, each class in declaration order
+                        declared.add(insertAt++, field);
+                    }
+                }
+                Field[] resolvedFields = declared.toArray(new Field[0]);
+                Codec[] resolvedCodecs = new Codec[resolvedFields.length];
+                fields = resolvedFields;
+                for (int i = 0; i < resolvedFields.length; i++) {
+                    resolvedCodecs[i] = codecFor(resolvedFields[i].getGenericType());
+                }
+                fieldCodecs = resolvedCodecs;
+            }
+        }
+    }
+}
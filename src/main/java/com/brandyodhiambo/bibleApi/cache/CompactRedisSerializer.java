@@ -0,0 +1,293 @@
+package com.brandyodhiambo.bibleApi.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compact binary encoding for cache values.
+ * <p>
+ * A value is framed as {@code [magic][format version][flags]} followed by the body, DEFLATE-compressed
+ * when it is larger than the configured threshold. The body names the root class once, carries its
+ * {@link BinarySchema} fingerprint and then the fields positionally, so a {@code GroupResponse} with a
+ * thousand members stores no field names or class names per member. Roots may also be a {@code List},
+ * {@code Set} or {@code Page} of one application class.
+ * <p>
+ * Values the schema cannot describe (for example Spring's {@code NullValue}) are written as JSON by the
+ * fallback serializer; JSON never starts with the magic byte, so both decode through this serializer.
+ * A frame with an unknown format version or a stale fingerprint reads as {@code null}, which the cache
+ * treats as a miss, so instances on different releases never misread each other's entries.
+ */
+public class CompactRedisSerializer implements RedisSerializer<Object> {
+
+    private static final Logger logger = LoggerFactory.getLogger(CompactRedisSerializer.class);
+
+    static final int MAGIC = 0xB1;
+    public static final int FORMAT_VERSION = 1;
+    static final int FLAG_DEFLATE = 1;
+
+    private static final int ROOT_OBJECT = 1;
+    private static final int ROOT_LIST = 2;
+    private static final int ROOT_SET = 3;
+    private static final int ROOT_PAGE = 4;
+
+    private static final int MAX_INFLATED_SIZE = 64 * 1024 * 1024;
+
+    private final BinarySchema schema = new BinarySchema();
+    private final RedisSerializer<Object> fallback;
+    private final int compressionThreshold;
+
+    public CompactRedisSerializer(RedisSerializer<Object> fallback, int compressionThreshold) {
+        this.fallback = fallback;
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+        BinaryWriter body = new BinaryWriter(256);
+        try {
+            writeRoot(body, value);
+        } catch (BinarySchema.UnsupportedTypeException e) {
+            return fallback.serialize(value);
+        }
+
+        if (body.size() < compressionThreshold) {
+            BinaryWriter frame = new BinaryWriter(body.size() + 3);
+            frame.writeByte(MAGIC);
+            frame.writeByte(FORMAT_VERSION);
+            frame.writeByte(0);
+            frame.writeBytes(body.buffer(), 0, body.size());
+            return frame.toByteArray();
+        }
+        return deflate(body);
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if ((bytes[0] & 0xFF) != MAGIC) {
+            return fallback.deserialize(bytes);
+        }
+        if (bytes.length < 3 || (bytes[1] & 0xFF) != FORMAT_VERSION) {
+            return null;
+        }
+        try {
+            BinaryReader body = (bytes[2] & FLAG_DEFLATE) != 0
+                    ? inflate(bytes)
+                    : new BinaryReader(bytes, 3, bytes.length - 3);
+            return readRoot(body);
+        } catch (IllegalStateException | DataFormatException | ClassNotFoundException e) {
+            logger.warn("Discarding unreadable cache value: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeRoot(BinaryWriter out, Object value) {
+        if (value instanceof Page<?> page) {
+            out.writeByte(ROOT_PAGE);
+            writeElementType(out, page.getContent());
+            Pageable pageable = page.getPageable();
+            out.writeSignedVarLong(pageable.isPaged() ? pageable.getPageNumber() : -1);
+            out.writeVarLong(pageable.isPaged() ? pageable.getPageSize() : 0);
+            out.writeVarLong(page.getTotalElements());
+            List<Sort.Order> orders = page.getSort().toList();
+            out.writeVarLong(orders.size());
+            for (Sort.Order order : orders) {
+                out.writeString(order.getProperty());
+                out.writeByte(order.isAscending() ? 0 : 1);
+            }
+            writeElements(out, page.getContent());
+        } else if (value instanceof List<?> list) {
+            out.writeByte(ROOT_LIST);
+            writeElementType(out, list);
+            writeElements(out, list);
+        } else if (value instanceof Set<?> set) {
+            out.writeByte(ROOT_SET);
+            writeElementType(out, set);
+            writeElements(out, set);
+        } else {
+            checkAllowed(value.getClass());
+            out.writeByte(ROOT_OBJECT);
+            out.writeString(value.getClass().getName());
+            out.writeFixedInt(schema.fingerprint(value.getClass()));
+            schema.codecFor(value.getClass()).write(out, value);
+        }
+    }
+
+    private Object readRoot(BinaryReader in) throws ClassNotFoundException {
+        int root = in.readByte();
+        if (root == ROOT_OBJECT) {
+            Class<?> type = readType(in);
+            return type == null ? null : schema.codecFor(type).read(in);
+        }
+        if (root == ROOT_LIST || root == ROOT_SET) {
+            BinarySchema.Codec codec = readElementCodec(in);
+            if (codec == null) {
+                return null;
+            }
+            return readElements(in, codec, root == ROOT_SET ? new LinkedHashSet<>() : new ArrayList<>());
+        }
+        if (root == ROOT_PAGE) {
+            BinarySchema.Codec codec = readElementCodec(in);
+            if (codec == null) {
+                return null;
+            }
+            int number = (int) in.readSignedVarLong();
+            int size = (int) in.readVarLong();
+            long total = in.readVarLong();
+            int orderCount = in.readLength();
+            List<Sort.Order> orders = new ArrayList<>(orderCount);
+            for (int i = 0; i < orderCount; i++) {
+                String property = in.readString();
+                orders.add(in.readByte() == 0 ? Sort.Order.asc(property) : Sort.Order.desc(property));
+            }
+            List<Object> content = new ArrayList<>();
+            readElements(in, codec, content);
+            Pageable pageable = number < 0 ? Pageable.unpaged() : PageRequest.of(number, size, Sort.by(orders));
+            return new PageImpl<>(content, pageable, total);
+        }
+        throw new IllegalStateException("Unknown root kind " + root);
+    }
+
+    private void writeElementType(BinaryWriter out, Collection<?> elements) {
+        Class<?> type = null;
+        for (Object element : elements) {
+            if (element == null) {
+                continue;
+            }
+            if (type == null) {
+                type = element.getClass();
+            } else if (element.getClass() != type) {
+                throw new BinarySchema.UnsupportedTypeException("Mixed element types");
+            }
+        }
+        if (type == null) {
+            // Empty (or all null) collections read back fine as strings
+            type = String.class;
+        }
+        checkAllowed(type);
+        out.writeString(type.getName());
+        out.writeFixedInt(schema.fingerprint(type));
+    }
+
+    private void writeElements(BinaryWriter out, Collection<?> elements) {
+        BinarySchema.Codec codec = null;
+        out.writeVarLong(elements.size());
+        for (Object element : elements) {
+            if (codec == null && element != null) {
+                codec = schema.codecFor(element.getClass());
+            }
+            if (element == null) {
+                // Scalar codecs do not all encode null, so null elements mark themselves
+                out.writeByte(0);
+            } else {
+                out.writeByte(1);
+                codec.write(out, element);
+            }
+        }
+    }
+
+    private Collection<Object> readElements(BinaryReader in, BinarySchema.Codec codec, Collection<Object> target) {
+        int size = in.readLength();
+        for (int i = 0; i < size; i++) {
+            target.add(in.readByte() == 0 ? null : codec.read(in));
+        }
+        return target;
+    }
+
+    private BinarySchema.Codec readElementCodec(BinaryReader in) throws ClassNotFoundException {
+        Class<?> type = readType(in);
+        return type == null ? null : schema.codecFor(type);
+    }
+
+    /**
+     * The class named by the value, or {@code null} when it was written with a different schema.
+     */
+    private Class<?> readType(BinaryReader in) throws ClassNotFoundException {
+        String className = in.readString();
+        int fingerprint = in.readFixedInt();
+        if (className == null || !BinarySchema.isAllowed(className)) {
+            throw new IllegalStateException("Class " + className + " is not allowed in the cache");
+        }
+        Class<?> type = Class.forName(className, false, getClass().getClassLoader());
+        try {
+            return schema.fingerprint(type) == fingerprint ? type : null;
+        } catch (BinarySchema.UnsupportedTypeException e) {
+            return null;
+        }
+    }
+
+    private static void checkAllowed(Class<?> type) {
+        if (!BinarySchema.isAllowed(type.getName())) {
+            throw new BinarySchema.UnsupportedTypeException(type.getName() + " is not an application class");
+        }
+    }
+
+    private static byte[] deflate(BinaryWriter body) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+        try {
+            deflater.setInput(body.buffer(), 0, body.size());
+            deflater.finish();
+            BinaryWriter frame = new BinaryWriter(body.size() / 2 + 16);
+            frame.writeByte(MAGIC);
+            frame.writeByte(FORMAT_VERSION);
+            frame.writeByte(FLAG_DEFLATE);
+            frame.writeVarLong(body.size());
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                int written = deflater.deflate(chunk);
+                frame.writeBytes(chunk, 0, written);
+            }
+            return frame.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static BinaryReader inflate(byte[] bytes) throws DataFormatException {
+        BinaryReader header = new BinaryReader(bytes, 3, bytes.length - 3);
+        long size = header.readVarLong();
+        if (size < 0 || size > MAX_INFLATED_SIZE) {
+            throw new IllegalStateException("Inflated size " + size + " is out of range");
+        }
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(bytes, header.position(), bytes.length - header.position());
+            byte[] body = new byte[(int) size];
+            int read = 0;
+            while (read < body.length) {
+                int n = inflater.inflate(body, read, body.length - read);
+                if (n == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                read += n;
+            }
+            if (read != body.length) {
+                throw new IllegalStateException("Compressed value is truncated");
+            }
+            return new BinaryReader(body, 0, body.length);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.brandyodhiambo.bibleApi.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.util.concurrent.Callable;
+
+/**
+ * A cache with a bounded on-heap tier in front of a shared remote tier.
+ * <p>
+ * Reads try the local Caffeine cache first and fall back to the remote cache, copying what they find
+ * into the local tier. Writes go to both tiers. Evictions and clears are applied to both tiers and then
+ * published, so other instances drop their local copies as well.
+ */
+public class TwoTierCache extends AbstractValueAdaptingCache {
+
+    /**
+     * Receives the evictions of this cache that other instances have to apply.
+     */
+    @FunctionalInterface
+    public interface InvalidationPublisher {
+        /**
+         * @param key the evicted key, or {@code null} when the whole cache was cleared
+         */
+        void publish(String cacheName, String key);
+    }
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+    private final Cache remote;
+    private final InvalidationPublisher publisher;
+    private final Counter remoteHits;
+    private final Counter remoteMisses;
+
+    public TwoTierCache(String name, com.github.benmanes.caffeine.cache.Cache<String, Object> local, Cache remote,
+                        InvalidationPublisher publisher, MeterRegistry meterRegistry) {
+        super(true);
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.publisher = publisher;
+        this.remoteHits = meterRegistry.counter("cache.remote.gets", "cache", name, "result", "hit");
+        this.remoteMisses = meterRegistry.counter("cache.remote.gets", "cache", name, "result", "miss");
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        String localKey = localKey(key);
+        Object value = local.getIfPresent(localKey);
+        if (value != null) {
+            return value;
+        }
+        ValueWrapper wrapper = remote.get(key);
+        if (wrapper == null) {
+            remoteMisses.increment();
+            return null;
+        }
+        remoteHits.increment();
+        value = toStoreValue(wrapper.get());
+        local.put(localKey, value);
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String localKey = localKey(key);
+        Object value = local.getIfPresent(localKey);
+        if (value != null) {
+            return (T) fromStoreValue(value);
+        }
+        T loaded = remote.get(key, valueLoader);
+        local.put(localKey, toStoreValue(loaded));
+        return loaded;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remote.put(key, value);
+        local.put(localKey(key), toStoreValue(value));
+        // Other instances may hold an older copy of this key
+        publisher.publish(name, localKey(key));
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        local.invalidate(localKey(key));
+        publisher.publish(name, localKey(key));
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        local.invalidateAll();
+        publisher.publish(name, null);
+    }
+
+    /**
+     * Drop a key from the local tier only, in response to an eviction on another instance.
+     */
+    void invalidateLocal(String key) {
+        if (key == null) {
+            local.invalidateAll();
+        } else {
+            local.invalidate(key);
+        }
+    }
+
+    /**
+     * Local keys are the string form of the cache key, the same form Redis keys are built from, so an
+     * invalidation message can name them.
+     */
+    static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
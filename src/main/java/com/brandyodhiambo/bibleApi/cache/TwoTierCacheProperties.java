@@ -0,0 +1,72 @@
+package com.brandyodhiambo.bibleApi.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Sizing of the two cache tiers, bound from {@code bible.cache.*}.
+ * <p>
+ * {@code bible.cache.defaults.*} applies to every cache, {@code bible.cache.caches.<name>.*} overrides it
+ * per cache. Any field left out of an override falls back to the default.
+ */
+@Data
+@ConfigurationProperties(prefix = "bible.cache")
+public class TwoTierCacheProperties {
+
+    private Spec defaults = new Spec(10_000L, Duration.ofMinutes(1), Duration.ofMinutes(10));
+
+    private Map<String, Spec> caches = new LinkedHashMap<>();
+
+    /**
+     * Redis pub/sub channel that carries evictions between instances.
+     */
+    private String invalidationChannel = "bible:cache:invalidation";
+
+    /**
+     * Encoded values of at least this many bytes are stored DEFLATE-compressed in Redis.
+     */
+    private int compressionThreshold = 1024;
+
+    public Spec specFor(String cacheName) {
+        Spec override = caches.get(cacheName);
+        if (override == null) {
+            return defaults;
+        }
+        return new Spec(
+                override.getLocalMaxSize() != null ? override.getLocalMaxSize() : defaults.getLocalMaxSize(),
+                override.getLocalTtl() != null ? override.getLocalTtl() : defaults.getLocalTtl(),
+                override.getRedisTtl() != null ? override.getRedisTtl() : defaults.getRedisTtl());
+    }
+
+    @Data
+    public static class Spec {
+        /**
+         * Maximum number of entries kept on the heap of each instance.
+         */
+        private Long localMaxSize;
+
+        /**
+         * Time an entry stays on the heap after being written. Keeps the local copy bounded even if an
+         * invalidation message is lost.
+         */
+        private Duration localTtl;
+
+        /**
+         * Time to live of the shared copy in Redis.
+         */
+        private Duration redisTtl;
+
+        public Spec() {
+        }
+
+        public Spec(Long localMaxSize, Duration localTtl, Duration redisTtl) {
+            this.localMaxSize = localMaxSize;
+            this.localTtl = localTtl;
+            this.redisTtl = redisTtl;
+        }
+    }
+}
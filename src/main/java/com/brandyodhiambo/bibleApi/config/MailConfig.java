@@ -1,26 +1,33 @@
 package com.brandyodhiambo.bibleApi.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.JavaMailSenderImpl;
 
+import java.time.Duration;
 import java.util.Properties;
 
 @Configuration
 public class MailConfig {
 
     @Bean
-    public JavaMailSender javaMailSender() {
+    public JavaMailSender javaMailSender(@Value("${spring.mail.host:localhost}") String host,
+                                         @Value("${spring.mail.port:1025}") int port,
+                                         @Value("${mail.smtp.timeout:10s}") Duration timeout) {
         JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
-        mailSender.setHost("localhost");
-        mailSender.setPort(1025);
+        mailSender.setHost(host);
+        mailSender.setPort(port);
 
         Properties props = mailSender.getJavaMailProperties();
         props.put("mail.smtp.auth", "false");
         props.put("mail.smtp.starttls.enable", "false");
+        // Without timeouts a stalled SMTP server would hold a dispatch worker forever
+        props.put("mail.smtp.connectiontimeout", String.valueOf(timeout.toMillis()));
+        props.put("mail.smtp.timeout", String.valueOf(timeout.toMillis()));
+        props.put("mail.smtp.writetimeout", String.valueOf(timeout.toMillis()));
 
         return mailSender;
     }
 }
-
@@ -1,12 +1,20 @@
 package com.brandyodhiambo.bibleApi.config;
 
+import com.brandyodhiambo.bibleApi.cache.CompactRedisSerializer;
+import com.brandyodhiambo.bibleApi.cache.TwoTierCacheManager;
+import com.brandyodhiambo.bibleApi.cache.TwoTierCacheProperties;
+import com.brandyodhiambo.bibleApi.feature.chatmgt.service.ChatMessageBroker;
+import com.brandyodhiambo.bibleApi.feature.eventmgt.calendar.SessionCalendar;
+import com.brandyodhiambo.bibleApi.security.service.PrincipalCache;
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.PropertyAccessor;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
@@ -16,15 +24,19 @@ import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
-import java.time.Duration;
+import java.util.List;
 
 @Configuration
 @EnableCaching
+@EnableConfigurationProperties(TwoTierCacheProperties.class)
 public class RedisConfig {
 
     @Bean
@@ -33,15 +45,8 @@ public class RedisConfig {
         RedisTemplate<String, Object> template = new RedisTemplate<>();
         template.setConnectionFactory(connectionFactory);
 
-        // Create ObjectMapper with proper configuration for Java 8 date/time types
-        ObjectMapper mapper = new ObjectMapper();
-        mapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
-        mapper.registerModule(new JavaTimeModule());
-        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-        mapper.activateDefaultTyping(mapper.getPolymorphicTypeValidator(), ObjectMapper.DefaultTyping.NON_FINAL);
-
         // Use GenericJackson2JsonRedisSerializer with our configured ObjectMapper
-        GenericJackson2JsonRedisSerializer serializer = new GenericJackson2JsonRedisSerializer(mapper);
+        GenericJackson2JsonRedisSerializer serializer = new GenericJackson2JsonRedisSerializer(redisObjectMapper());
 
         // Use StringRedisSerializer for keys
         template.setKeySerializer(new StringRedisSerializer());
@@ -55,33 +60,62 @@ public class RedisConfig {
 
     @Bean
     @Primary
-    public RedisCacheManager cacheManager(RedisConnectionFactory connectionFactory) {
-        // Create ObjectMapper with proper configuration for Java 8 date/time types
-        ObjectMapper mapper = new ObjectMapper();
-        mapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
-        mapper.registerModule(new JavaTimeModule());
-        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-        mapper.activateDefaultTyping(mapper.getPolymorphicTypeValidator(), ObjectMapper.DefaultTyping.NON_FINAL);
-
-        // Create RedisCacheConfiguration with GenericJackson2JsonRedisSerializer
+    public TwoTierCacheManager cacheManager(RedisConnectionFactory connectionFactory, TwoTierCacheProperties cacheProperties,
+                                            MeterRegistry meterRegistry) {
+        // Values use the compact binary format, JSON only for what it cannot describe. The format version is
+        // part of the key so instances on an older release never read entries they cannot decode.
+        CompactRedisSerializer valueSerializer = new CompactRedisSerializer(
+                new GenericJackson2JsonRedisSerializer(redisObjectMapper()), cacheProperties.getCompressionThreshold());
         RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
                 .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
-                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(new GenericJackson2JsonRedisSerializer(mapper)))
-                .entryTtl(Duration.ofMinutes(10)); // 10 minutes TTL, matching application.properties
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(valueSerializer))
+                .computePrefixWith(cacheName -> cacheName + "::v" + CompactRedisSerializer.FORMAT_VERSION + "::")
+                .entryTtl(cacheProperties.getDefaults().getRedisTtl());
 
         // Create specific configurations for each cache
         RedisCacheManager.RedisCacheManagerBuilder builder = RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(config);
 
-        // Add specific cache configurations
-        builder.withCacheConfiguration("allGroups", config);
-        builder.withCacheConfiguration("groups", config);
-        builder.withCacheConfiguration("pagedGroups", config);
-        builder.withCacheConfiguration("users", config);
-        builder.withCacheConfiguration("books", config);
-        builder.withCacheConfiguration("verses", config);
+        // Add specific cache configurations, each with its own Redis TTL
+        for (String cacheName : List.of("allGroups", "groups", "pagedGroups", "memberships", "users", "books", "verses")) {
+            builder.withCacheConfiguration(cacheName, config.entryTtl(cacheProperties.specFor(cacheName).getRedisTtl()));
+        }
+        RedisCacheManager redisCacheManager = builder.build();
+        redisCacheManager.initializeCaches();
+
+        // Redis stays the shared second tier, a Caffeine near-cache on every instance serves repeat reads
+        return new TwoTierCacheManager(redisCacheManager, cacheProperties, new StringRedisTemplate(connectionFactory), meterRegistry);
+    }
+
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                       TwoTierCacheManager cacheManager,
+                                                                       TwoTierCacheProperties cacheProperties,
+                                                                       ChatMessageBroker chatMessageBroker,
+                                                                       PrincipalCache principalCache,
+                                                                       SessionCalendar sessionCalendar) {
+        // One container, so one subscription connection, for every channel this instance listens on
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        // Cache entries changed on other instances, dropped from this instance's near-cache
+        container.addMessageListener(cacheManager, new ChannelTopic(cacheProperties.getInvalidationChannel()));
+        // Chat messages posted on other instances, pushed to the streams open on this one
+        container.addMessageListener(chatMessageBroker, new ChannelTopic(chatMessageBroker.getChannel()));
+        // Role and password changes made on other instances, dropped from this instance's principal cache
+        container.addMessageListener(principalCache, new ChannelTopic(principalCache.getChannel()));
+        // Session and occurrence changes made on other instances, reloaded into this instance's calendar
+        container.addMessageListener(sessionCalendar, new ChannelTopic(sessionCalendar.getChannel()));
+        return container;
+    }
 
-        return builder.build();
+    // Create ObjectMapper with proper configuration for Java 8 date/time types
+    private static ObjectMapper redisObjectMapper() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
+        mapper.registerModule(new JavaTimeModule());
+        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        mapper.activateDefaultTyping(mapper.getPolymorphicTypeValidator(), ObjectMapper.DefaultTyping.NON_FINAL);
+        return mapper;
     }
 
     @Bean
@@ -0,0 +1,59 @@
+package com.brandyodhiambo.bibleApi.feature.analyticsmgt.events;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The change to one member's participation metrics for a month, summed over any number of events.
+ */
+public record ParticipationDelta(long groupId, long userId, YearMonth period, int sessionsAttended,
+                                 int chatMessagesSent, int prayerRequestsSubmitted, int prayerRequestsAnswered,
+                                 int studyCommentsMade) {
+
+    public record GroupPeriod(long groupId, YearMonth period) {
+    }
+
+    private record Key(long groupId, long userId, YearMonth period) {
+    }
+
+    // Rows are always written in this order, so concurrent batches cannot deadlock on each other's locks
+    private static final Comparator<Key> ORDER = Comparator.comparingLong(Key::groupId)
+            .thenComparingLong(Key::userId)
+            .thenComparing(Key::period);
+
+    public GroupPeriod groupPeriod() {
+        return new GroupPeriod(groupId, period);
+    }
+
+    /**
+     * A delta that changes nothing, which still creates the member's row for the month.
+     */
+    public static ParticipationDelta none(long groupId, long userId, YearMonth period) {
+        return new ParticipationDelta(groupId, userId, period, 0, 0, 0, 0, 0);
+    }
+
+    /**
+     * Sums the events into one delta per member and month, ordered by group, user and month.
+     */
+    public static List<ParticipationDelta> aggregate(Collection<ParticipationEvent> events) {
+        Map<Key, int[]> counts = new TreeMap<>(ORDER);
+        for (ParticipationEvent event : events) {
+            int[] count = counts.computeIfAbsent(new Key(event.groupId(), event.userId(), event.period()),
+                    key -> new int[ParticipationEvent.Kind.values().length]);
+            count[event.kind().ordinal()] += event.delta();
+        }
+        List<ParticipationDelta> deltas = new ArrayList<>(counts.size());
+        counts.forEach((key, count) -> deltas.add(new ParticipationDelta(key.groupId(), key.userId(), key.period(),
+                count[ParticipationEvent.Kind.SESSION_ATTENDED.ordinal()],
+                count[ParticipationEvent.Kind.CHAT_MESSAGE_SENT.ordinal()],
+                count[ParticipationEvent.Kind.PRAYER_REQUEST_SUBMITTED.ordinal()],
+                count[ParticipationEvent.Kind.PRAYER_REQUEST_ANSWERED.ordinal()],
+                count[ParticipationEvent.Kind.STUDY_COMMENT_MADE.ordinal()])));
+        return deltas;
+    }
+}
@@ -0,0 +1,32 @@
+package com.brandyodhiambo.bibleApi.feature.analyticsmgt.events;
+
+import com.brandyodhiambo.bibleApi.feature.groupmgt.models.Group;
+import com.brandyodhiambo.bibleApi.feature.usermgt.models.Users;
+
+import java.time.YearMonth;
+
+/**
+ * Something a member did in a group that counts towards their participation metrics for a month. The delta is
+ * negative when an earlier event is taken back, such as an RSVP changed away from attending.
+ */
+public record ParticipationEvent(Kind kind, Long groupId, Long userId, YearMonth period, int delta) {
+
+    public enum Kind {
+        SESSION_ATTENDED,
+        CHAT_MESSAGE_SENT,
+        PRAYER_REQUEST_SUBMITTED,
+        PRAYER_REQUEST_ANSWERED,
+        STUDY_COMMENT_MADE
+    }
+
+    /**
+     * One occurrence of {@code kind} happening now.
+     */
+    public static ParticipationEvent of(Kind kind, Group group, Users user) {
+        return of(kind, group, user, YearMonth.now(), 1);
+    }
+
+    public static ParticipationEvent of(Kind kind, Group group, Users user, YearMonth period, int delta) {
+        return new ParticipationEvent(kind, group.getId(), user.getId(), period, delta);
+    }
+}
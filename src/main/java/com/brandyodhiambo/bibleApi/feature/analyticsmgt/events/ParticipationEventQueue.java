@@ -0,0 +1,228 @@
+package com.brandyodhiambo.bibleApi.feature.analyticsmgt.events;
+
+import com.brandyodhiambo.bibleApi.feature.analyticsmgt.events.ParticipationDelta.GroupPeriod;
+import com.brandyodhiambo.bibleApi.feature.analyticsmgt.repository.ParticipationMetricsBatchRepository;
+import com.brandyodhiambo.bibleApi.feature.eventmgt.calendar.SessionCalendar;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps participation metrics up to date from {@link ParticipationEvent}s, so reading a member's metrics is a
+ * single row lookup instead of counting their chat messages, RSVPs, prayer requests and comments.
+ * <p>
+ * Services publish an event once the change behind it has committed; it goes into a bounded in-memory buffer
+ * without ever blocking the request. A background consumer takes the buffer in batches, sums the events per
+ * member and month and applies the sums in one transaction with {@link ParticipationMetricsBatchRepository},
+ * refreshing each touched group and month's total sessions from the {@link SessionCalendar} on the way.
+ * Failed batches are retried with backoff up to {@code max-attempts} times. The metrics are a best-effort
+ * view: when the buffer is full, a batch keeps failing, or the process dies with events still buffered, those
+ * events are dropped and counted rather than holding up the requests that produced them.
+ * <p>
+ * Attendance is counted from RSVPs: an RSVP set to attending counts one session in the month of the session's
+ * date, and changing or deleting it takes that back.
+ * <p>
+ * Reported meters: {@code analytics.events.buffered}, {@code analytics.events.batch.size},
+ * {@code analytics.events.flush}, {@code analytics.events.failures} and {@code analytics.events.dropped}.
+ */
+@Component
+public class ParticipationEventQueue implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(ParticipationEventQueue.class);
+    private static final long MAX_BACKOFF_MILLIS = 5_000;
+
+    private final ParticipationMetricsBatchRepository batchRepository;
+    private final SessionCalendar sessionCalendar;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final BlockingQueue<ParticipationEvent> buffer;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration flushInterval;
+    private final Duration shutdownTimeout;
+    private final DistributionSummary batchSizes;
+    private final Timer flushTimer;
+    private final Counter failures;
+    private final Counter dropped;
+
+    private volatile boolean running;
+    private Thread consumer;
+
+    public ParticipationEventQueue(ParticipationMetricsBatchRepository batchRepository,
+                                   SessionCalendar sessionCalendar,
+                                   PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                                   @Value("${analytics.events.enabled:true}") boolean enabled,
+                                   @Value("${analytics.events.capacity:50000}") int capacity,
+                                   @Value("${analytics.events.batch-size:1000}") int batchSize,
+                                   @Value("${analytics.events.max-attempts:5}") int maxAttempts,
+                                   @Value("${analytics.events.flush-interval:1s}") Duration flushInterval,
+                                   @Value("${analytics.events.shutdown-timeout:30s}") Duration shutdownTimeout) {
+        this.batchRepository = batchRepository;
+        this.sessionCalendar = sessionCalendar;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.flushInterval = flushInterval;
+        this.shutdownTimeout = shutdownTimeout;
+        Gauge.builder("analytics.events.buffered", buffer, BlockingQueue::size)
+                .description("Participation events not yet applied to the metrics")
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("analytics.events.batch.size").register(meterRegistry);
+        this.flushTimer = Timer.builder("analytics.events.flush").register(meterRegistry);
+        this.failures = Counter.builder("analytics.events.failures").register(meterRegistry);
+        this.dropped = Counter.builder("analytics.events.dropped").register(meterRegistry);
+    }
+
+    /**
+     * Buffers the event for the consumer, once the surrounding transaction commits if there is one. Never
+     * blocks or fails: when the buffer is full, the queue is not running or the event does not name a group,
+     * user and month, the event is dropped.
+     */
+    public void publish(ParticipationEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (event.groupId() == null || event.userId() == null || event.period() == null) {
+            dropped.increment();
+            logger.warn("Dropped participation event without a group, user or period: {}", event);
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    offer(event);
+                }
+            });
+        } else {
+            offer(event);
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        consumer = new Thread(this::drainLoop, "participation-events");
+        consumer.setDaemon(true);
+        consumer.start();
+    }
+
+    @Override
+    public void stop() {
+        Thread current;
+        synchronized (this) {
+            if (!running) {
+                return;
+            }
+            running = false;
+            current = consumer;
+        }
+        try {
+            current.join(shutdownTimeout.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!buffer.isEmpty()) {
+            logger.warn("{} participation events could not be applied before shutdown", buffer.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // Like the chat write-behind: requests have stopped before the buffer drains, the data source closes after
+        return Integer.MAX_VALUE - 4096;
+    }
+
+    private void offer(ParticipationEvent event) {
+        if (!running || !buffer.offer(event)) {
+            dropped.increment();
+        }
+    }
+
+    private void drainLoop() {
+        List<ParticipationEvent> batch = new ArrayList<>(batchSize);
+        while (running || !buffer.isEmpty()) {
+            try {
+                ParticipationEvent first = buffer.poll(flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                buffer.drainTo(batch, batchSize - 1);
+                apply(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // Never let one batch end the consumer, later events would pile up unapplied
+                dropped.increment(batch.size());
+                logger.error("Dropped {} participation events that could not be applied", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void apply(List<ParticipationEvent> batch) throws InterruptedException {
+        long backoff = 100;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                List<ParticipationDelta> deltas = ParticipationDelta.aggregate(batch);
+                Map<GroupPeriod, Integer> totalSessions = totalSessions(deltas);
+                flushTimer.record(() -> transactionTemplate.executeWithoutResult(
+                        status -> batchRepository.apply(deltas, totalSessions)));
+                batchSizes.record(batch.size());
+                return;
+            } catch (RuntimeException e) {
+                failures.increment();
+                if (attempt >= maxAttempts) {
+                    dropped.increment(batch.size());
+                    logger.error("Dropped {} participation events after {} failed attempts", batch.size(), attempt, e);
+                    return;
+                }
+                logger.warn("Applying {} participation events failed, retrying in {} ms", batch.size(), backoff, e);
+                Thread.sleep(backoff);
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+            }
+        }
+    }
+
+    private Map<GroupPeriod, Integer> totalSessions(List<ParticipationDelta> deltas) {
+        Map<GroupPeriod, Integer> totals = new HashMap<>();
+        for (ParticipationDelta delta : deltas) {
+            totals.computeIfAbsent(delta.groupPeriod(), group -> sessionCalendar.occurrences(group.groupId(),
+                    group.period().atDay(1), group.period().atEndOfMonth()).size());
+        }
+        return totals;
+    }
+}
@@ -0,0 +1,85 @@
+package com.brandyodhiambo.bibleApi.feature.analyticsmgt.events;
+
+import com.brandyodhiambo.bibleApi.feature.analyticsmgt.events.ParticipationDelta.GroupPeriod;
+import com.brandyodhiambo.bibleApi.feature.analyticsmgt.repository.ParticipationMetricsBatchRepository;
+import com.brandyodhiambo.bibleApi.feature.eventmgt.calendar.SessionCalendar;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Recounts participation metrics rows that still hold the placeholder counters written before the metrics were
+ * kept up to date from {@link ParticipationEvent}s; adding event deltas on top of those would never make them
+ * right. Each group and month is recounted from the chat, RSVP, prayer request and comment tables in its own
+ * transaction, and its rows are marked as recounted, so this is a one-time pass that later startups skip.
+ * <p>
+ * It runs at startup before the {@link ParticipationEventQueue} and the web server start, so no event can be
+ * applied to a row while it is being recounted. A failure is logged and does not stop the application; the
+ * remaining rows are recounted on the next startup.
+ */
+@Component
+public class ParticipationMetricsRecount implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(ParticipationMetricsRecount.class);
+
+    private final ParticipationMetricsBatchRepository batchRepository;
+    private final SessionCalendar sessionCalendar;
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile boolean running;
+
+    public ParticipationMetricsRecount(ParticipationMetricsBatchRepository batchRepository,
+                                       SessionCalendar sessionCalendar,
+                                       PlatformTransactionManager transactionManager) {
+        this.batchRepository = batchRepository;
+        this.sessionCalendar = sessionCalendar;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        try {
+            List<GroupPeriod> pending = batchRepository.findPendingRecount();
+            if (pending.isEmpty()) {
+                return;
+            }
+            int rows = 0;
+            for (GroupPeriod group : pending) {
+                rows += recount(group);
+            }
+            logger.info("Recounted {} participation metrics rows in {} group months", rows, pending.size());
+        } catch (RuntimeException e) {
+            logger.error("Failed to recount placeholder participation metrics, the rest are recounted on the "
+                    + "next startup", e);
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // Before the event queue, which starts at Integer.MAX_VALUE - 4096
+        return Integer.MAX_VALUE - 8192;
+    }
+
+    private int recount(GroupPeriod group) {
+        int totalSessions = sessionCalendar.occurrences(group.groupId(), group.period().atDay(1),
+                group.period().atEndOfMonth()).size();
+        Integer rows = transactionTemplate.execute(status -> batchRepository.recount(group, totalSessions));
+        return rows == null ? 0 : rows;
+    }
+}
@@ -15,10 +15,13 @@ import java.time.LocalDateTime;
 import java.time.YearMonth;
 
 /**
- * Entity to track user participation metrics within a group
+ * Entity to track user participation metrics within a group, one row per member and month. Kept up to date
+ * from participation events; see ParticipationEventQueue.
  */
 @Entity
-@Table(name = "participation_metrics")
+@Table(name = "participation_metrics",
+        uniqueConstraints = @UniqueConstraint(name = "uk_participation_metrics_member_period",
+                columnNames = {"group_id", "user_id", "period_year", "period_month"}))
 @Data
 @Builder
 @NoArgsConstructor
@@ -88,6 +91,13 @@ public class ParticipationMetrics {
     @Column(name = "engagement_score", nullable = false)
     private Integer engagementScore;
 
+    /**
+     * Whether the counters were counted from actual activity. Rows from before participation events held
+     * placeholder values until ParticipationMetricsRecount recounted them; rows created since start out true.
+     */
+    @Column(name = "recounted", columnDefinition = "BOOLEAN DEFAULT FALSE NOT NULL")
+    private boolean recounted;
+
     /**
      * Date when these metrics were last updated
      */
@@ -0,0 +1,224 @@
+package com.brandyodhiambo.bibleApi.feature.analyticsmgt.repository;
+
+import com.brandyodhiambo.bibleApi.feature.analyticsmgt.events.ParticipationDelta;
+import com.brandyodhiambo.bibleApi.feature.analyticsmgt.events.ParticipationDelta.GroupPeriod;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Plain JDBC upserts of participation metrics, applying counter deltas in place instead of reading and
+ * rewriting rows through the persistence context.
+ * <p>
+ * The engagement score is recomputed in the database from the row's own counters whenever they change:
+ * attendance is worth up to 40 points, and chat messages, prayer requests (submitted and answered together)
+ * and study comments 2 points each up to 10 of them. Call within a transaction; a batch is applied in full or
+ * not at all.
+ */
+@Repository
+@DependsOn("entityManagerFactory")
+public class ParticipationMetricsBatchRepository {
+
+    private static final String ENGAGEMENT_SCORE = "CAST(ROUND("
+            + "LEAST(CASE WHEN total_sessions > 0 THEN sessions_attended * 40.0 / total_sessions ELSE 0 END, 40)"
+            + " + LEAST(chat_messages_sent, 10) * 2"
+            + " + LEAST(prayer_requests_submitted + prayer_requests_answered, 10) * 2"
+            + " + LEAST(study_comments_made, 10) * 2) AS INTEGER)";
+
+    private static final String UPDATE_TOTAL_SESSIONS = "UPDATE participation_metrics "
+            + "SET total_sessions = ?, last_updated_date = ?, updated_at = ? "
+            + "WHERE group_id = ? AND period_year = ? AND period_month = ? AND total_sessions <> ?";
+
+    private static final String UPDATE_COUNTERS = "UPDATE participation_metrics "
+            + "SET sessions_attended = GREATEST(sessions_attended + ?, 0), "
+            + "chat_messages_sent = GREATEST(chat_messages_sent + ?, 0), "
+            + "prayer_requests_submitted = GREATEST(prayer_requests_submitted + ?, 0), "
+            + "prayer_requests_answered = GREATEST(prayer_requests_answered + ?, 0), "
+            + "study_comments_made = GREATEST(study_comments_made + ?, 0), "
+            + "last_updated_date = ?, updated_at = ? "
+            + "WHERE group_id = ? AND user_id = ? AND period_year = ? AND period_month = ?";
+
+    private static final String INSERT = "INSERT INTO participation_metrics (group_id, user_id, period_year, "
+            + "period_month, sessions_attended, total_sessions, chat_messages_sent, prayer_requests_submitted, "
+            + "prayer_requests_answered, study_comments_made, engagement_score, recounted, last_updated_date, "
+            + "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, TRUE, ?, ?, ?)";
+
+    private static final String SCORE_MEMBER = "UPDATE participation_metrics SET engagement_score = "
+            + ENGAGEMENT_SCORE + " WHERE group_id = ? AND user_id = ? AND period_year = ? AND period_month = ?";
+
+    private static final String SCORE_GROUP = "UPDATE participation_metrics SET engagement_score = "
+            + ENGAGEMENT_SCORE + " WHERE group_id = ? AND period_year = ? AND period_month = ?";
+
+    private static final String PENDING_RECOUNT = "SELECT DISTINCT group_id, period_year, period_month "
+            + "FROM participation_metrics WHERE recounted = FALSE ORDER BY group_id, period_year, period_month";
+
+    // Counts what each member of the group did in the month, in the same way the events count it
+    private static final String RECOUNT = "UPDATE participation_metrics pm SET "
+            + "sessions_attended = (SELECT COUNT(*) FROM session_rsvps r "
+            + "JOIN study_sessions s ON s.id = r.session_id WHERE s.group_id = pm.group_id "
+            + "AND r.user_id = pm.user_id AND r.status = 'ATTENDING' AND s.session_date >= ? AND s.session_date < ?), "
+            + "chat_messages_sent = (SELECT COUNT(*) FROM chat_messages c WHERE c.group_id = pm.group_id "
+            + "AND c.sender_id = pm.user_id AND c.created_at >= ? AND c.created_at < ?), "
+            + "prayer_requests_submitted = (SELECT COUNT(*) FROM prayer_requests p WHERE p.group_id = pm.group_id "
+            + "AND p.user_id = pm.user_id AND p.created_at >= ? AND p.created_at < ?), "
+            + "prayer_requests_answered = (SELECT COUNT(*) FROM prayer_requests p WHERE p.group_id = pm.group_id "
+            + "AND p.user_id = pm.user_id AND p.answered = TRUE AND p.updated_at >= ? AND p.updated_at < ?), "
+            + "study_comments_made = (SELECT COUNT(*) FROM comments cm "
+            + "JOIN study_materials m ON m.id = cm.study_material_id WHERE m.group_id = pm.group_id "
+            + "AND cm.user_id = pm.user_id AND cm.created_at >= ? AND cm.created_at < ?), "
+            + "total_sessions = ?, recounted = TRUE, last_updated_date = ?, updated_at = ? "
+            + "WHERE pm.group_id = ? AND pm.period_year = ? AND pm.period_month = ? AND pm.recounted = FALSE";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ParticipationMetricsBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Adds the deltas to the members' rows, creating rows that do not exist yet, and sets the total number of
+     * sessions of each group and month in {@code totalSessions} on all of its rows. Every row whose counters
+     * or total changed gets its engagement score recomputed. Counters never go below zero.
+     *
+     * @throws org.springframework.dao.DuplicateKeyException when another writer created one of the rows
+     *                                                       first; the batch can simply be applied again
+     */
+    public void apply(List<ParticipationDelta> deltas, Map<GroupPeriod, Integer> totalSessions) {
+        LocalDate today = LocalDate.now();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        List<Map.Entry<GroupPeriod, Integer>> totals = new ArrayList<>(totalSessions.entrySet());
+        Set<GroupPeriod> rescored = new HashSet<>();
+        int[][] totalCounts = batchUpdate(UPDATE_TOTAL_SESSIONS, totals, (statement, total) -> {
+            statement.setInt(1, total.getValue());
+            statement.setDate(2, Date.valueOf(today));
+            statement.setTimestamp(3, now);
+            statement.setLong(4, total.getKey().groupId());
+            statement.setInt(5, total.getKey().period().getYear());
+            statement.setInt(6, total.getKey().period().getMonthValue());
+            statement.setInt(7, total.getValue());
+        });
+        forEachCount(totals, totalCounts, (total, count) -> {
+            if (count != 0) {
+                rescored.add(total.getKey());
+            }
+        });
+
+        List<ParticipationDelta> missing = new ArrayList<>();
+        int[][] counterCounts = batchUpdate(UPDATE_COUNTERS, deltas, (statement, delta) -> {
+            statement.setInt(1, delta.sessionsAttended());
+            statement.setInt(2, delta.chatMessagesSent());
+            statement.setInt(3, delta.prayerRequestsSubmitted());
+            statement.setInt(4, delta.prayerRequestsAnswered());
+            statement.setInt(5, delta.studyCommentsMade());
+            statement.setDate(6, Date.valueOf(today));
+            statement.setTimestamp(7, now);
+            statement.setLong(8, delta.groupId());
+            statement.setLong(9, delta.userId());
+            statement.setInt(10, delta.period().getYear());
+            statement.setInt(11, delta.period().getMonthValue());
+        });
+        forEachCount(deltas, counterCounts, (delta, count) -> {
+            if (count == 0) {
+                missing.add(delta);
+            }
+        });
+
+        batchUpdate(INSERT, missing, (statement, delta) -> {
+            statement.setLong(1, delta.groupId());
+            statement.setLong(2, delta.userId());
+            statement.setInt(3, delta.period().getYear());
+            statement.setInt(4, delta.period().getMonthValue());
+            statement.setInt(5, Math.max(delta.sessionsAttended(), 0));
+            statement.setInt(6, totalSessions.getOrDefault(delta.groupPeriod(), 0));
+            statement.setInt(7, Math.max(delta.chatMessagesSent(), 0));
+            statement.setInt(8, Math.max(delta.prayerRequestsSubmitted(), 0));
+            statement.setInt(9, Math.max(delta.prayerRequestsAnswered(), 0));
+            statement.setInt(10, Math.max(delta.studyCommentsMade(), 0));
+            statement.setDate(11, Date.valueOf(today));
+            statement.setTimestamp(12, now);
+            statement.setTimestamp(13, now);
+        });
+
+        // Rows of a group and month whose total changed are rescored together, the others one by one
+        List<ParticipationDelta> members = deltas.stream()
+                .filter(delta -> !rescored.contains(delta.groupPeriod()))
+                .toList();
+        batchUpdate(SCORE_MEMBER, members, (statement, delta) -> {
+            statement.setLong(1, delta.groupId());
+            statement.setLong(2, delta.userId());
+            statement.setInt(3, delta.period().getYear());
+            statement.setInt(4, delta.period().getMonthValue());
+        });
+        List<GroupPeriod> groups = new ArrayList<>(rescored);
+        batchUpdate(SCORE_GROUP, groups, (statement, group) -> {
+            statement.setLong(1, group.groupId());
+            statement.setInt(2, group.period().getYear());
+            statement.setInt(3, group.period().getMonthValue());
+        });
+    }
+
+    /**
+     * The groups and months that still have rows with placeholder counters, which were never counted from
+     * actual activity.
+     */
+    public List<GroupPeriod> findPendingRecount() {
+        return jdbcTemplate.query(PENDING_RECOUNT, (rs, rowNum) -> new GroupPeriod(rs.getLong("group_id"),
+                YearMonth.of(rs.getInt("period_year"), rs.getInt("period_month"))));
+    }
+
+    /**
+     * Replaces the placeholder counters of the group's rows for the month with counts of the members' chat
+     * messages, attending RSVPs, prayer requests and study comments, sets the month's total sessions and
+     * rescores the rows. Rows already counted are left alone, so recounting twice changes nothing.
+     *
+     * @return the number of rows recounted
+     */
+    public int recount(GroupPeriod group, int totalSessions) {
+        Date firstDay = Date.valueOf(group.period().atDay(1));
+        Date nextFirstDay = Date.valueOf(group.period().plusMonths(1).atDay(1));
+        Timestamp start = Timestamp.valueOf(group.period().atDay(1).atStartOfDay());
+        Timestamp end = Timestamp.valueOf(group.period().plusMonths(1).atDay(1).atStartOfDay());
+        int recounted = jdbcTemplate.update(RECOUNT, firstDay, nextFirstDay, start, end, start, end, start, end,
+                start, end, totalSessions, Date.valueOf(LocalDate.now()), Timestamp.valueOf(LocalDateTime.now()),
+                group.groupId(), group.period().getYear(), group.period().getMonthValue());
+        if (recounted > 0) {
+            jdbcTemplate.update(SCORE_GROUP, group.groupId(), group.period().getYear(),
+                    group.period().getMonthValue());
+        }
+        return recounted;
+    }
+
+    private <T> int[][] batchUpdate(String sql, List<T> items, ParameterizedPreparedStatementSetter<T> setter) {
+        if (items.isEmpty()) {
+            return new int[0][];
+        }
+        return jdbcTemplate.batchUpdate(sql, items, items.size(), setter);
+    }
+
+    private static <T> void forEachCount(List<T> items, int[][] counts, CountConsumer<T> consumer) {
+        int index = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                consumer.accept(items.get(index++), count);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface CountConsumer<T> {
+        void accept(T item, int count);
+    }
+}
@@ -1,18 +1,22 @@
 package com.brandyodhiambo.bibleApi.feature.analyticsmgt.service;
 
 import com.brandyodhiambo.bibleApi.exception.ResourceNotFoundException;
+import com.brandyodhiambo.bibleApi.feature.analyticsmgt.events.ParticipationDelta;
 import com.brandyodhiambo.bibleApi.feature.analyticsmgt.models.ParticipationMetrics;
 import com.brandyodhiambo.bibleApi.feature.analyticsmgt.models.ReadingProgress;
 import com.brandyodhiambo.bibleApi.feature.analyticsmgt.models.dto.GroupAnalyticsResponse;
 import com.brandyodhiambo.bibleApi.feature.analyticsmgt.models.dto.ParticipationMetricsResponse;
 import com.brandyodhiambo.bibleApi.feature.analyticsmgt.models.dto.ReadingProgressResponse;
+import com.brandyodhiambo.bibleApi.feature.analyticsmgt.repository.ParticipationMetricsBatchRepository;
 import com.brandyodhiambo.bibleApi.feature.analyticsmgt.repository.ParticipationMetricsRepository;
 import com.brandyodhiambo.bibleApi.feature.analyticsmgt.repository.ReadingProgressRepository;
+import com.brandyodhiambo.bibleApi.feature.eventmgt.calendar.SessionCalendar;
 import com.brandyodhiambo.bibleApi.feature.eventmgt.models.RSVPStatus;
 import com.brandyodhiambo.bibleApi.feature.eventmgt.repository.SessionRSVPRepository;
 import com.brandyodhiambo.bibleApi.feature.eventmgt.repository.StudySessionRepository;
 import com.brandyodhiambo.bibleApi.feature.groupmgt.models.Group;
 import com.brandyodhiambo.bibleApi.feature.groupmgt.repository.GroupRepository;
+import com.brandyodhiambo.bibleApi.feature.groupmgt.service.MembershipService;
 import com.brandyodhiambo.bibleApi.feature.prayermgt.repository.PrayerRequestRepository;
 import com.brandyodhiambo.bibleApi.feature.studymgt.models.ReadingPlan;
 import com.brandyodhiambo.bibleApi.feature.studymgt.repository.CommentRepository;
@@ -21,14 +25,19 @@ import com.brandyodhiambo.bibleApi.feature.usermgt.models.Users;
 import com.brandyodhiambo.bibleApi.feature.usermgt.models.dto.UserSummary;
 import com.brandyodhiambo.bibleApi.feature.usermgt.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -45,6 +54,10 @@ public class AnalyticsServiceImpl implements AnalyticsService {
     private final StudySessionRepository studySessionRepository;
     private final PrayerRequestRepository prayerRequestRepository;
     private final CommentRepository commentRepository;
+    private final MembershipService membershipService;
+    private final ParticipationMetricsBatchRepository participationMetricsBatchRepository;
+    private final SessionCalendar sessionCalendar;
+    private final PlatformTransactionManager transactionManager;
 
     @Override
     @Transactional
@@ -174,32 +187,6 @@ public class AnalyticsServiceImpl implements AnalyticsService {
         );
     }
 
-    // Helper method to calculate engagement score
-    private int calculateEngagementScore(int sessionsAttended, int totalSessions, 
-                                        int chatMessagesSent, int prayerRequestsSubmitted, 
-                                        int prayerRequestsAnswered, int studyCommentsMade) {
-        // Simple algorithm to calculate engagement score (0-100)
-        // This can be refined based on specific requirements
-
-        // Attendance component (40% of score)
-        double attendanceScore = totalSessions > 0 
-                ? (double) sessionsAttended / totalSessions * 40 
-                : 0;
-
-        // Chat activity component (20% of score)
-        double chatScore = Math.min(chatMessagesSent, 10) * 2; // Cap at 20 points
-
-        // Prayer request component (20% of score)
-        double prayerScore = Math.min(prayerRequestsSubmitted + prayerRequestsAnswered, 10) * 2; // Cap at 20 points
-
-        // Study comment component (20% of score)
-        double commentScore = Math.min(studyCommentsMade, 10) * 2; // Cap at 20 points
-
-        // Total score
-        return (int) Math.round(attendanceScore + chatScore + prayerScore + commentScore);
-    }
-
-    // The remaining methods will be implemented in subsequent updates
     @Override
     @Transactional
     public ParticipationMetricsResponse updateParticipationMetrics(Long groupId, String username, YearMonth period) {
@@ -209,87 +196,38 @@ public class AnalyticsServiceImpl implements AnalyticsService {
         Users user = userRepository.getUserByName(username);
 
         // Check if user is a member of the group
-        if (!group.isMember(user)) {
+        if (!membershipService.isMember(group, user)) {
             throw new IllegalArgumentException("User is not a member of this group");
         }
 
-        // Get or create participation metrics
-        Optional<ParticipationMetrics> existingMetricsOpt = participationMetricsRepository
-                .findByGroupAndUserAndPeriodYearAndPeriodMonth(
-                        group, user, period.getYear(), period.getMonthValue());
-
-        ParticipationMetrics metrics;
-        if (existingMetricsOpt.isPresent()) {
-            metrics = existingMetricsOpt.get();
-        } else {
-            metrics = ParticipationMetrics.builder()
-                    .group(group)
-                    .user(user)
-                    .periodYear(period.getYear())
-                    .periodMonth(period.getMonthValue())
-                    .sessionsAttended(0)
-                    .totalSessions(0)
-                    .chatMessagesSent(0)
-                    .prayerRequestsSubmitted(0)
-                    .prayerRequestsAnswered(0)
-                    .studyCommentsMade(0)
-                    .engagementScore(0)
-                    .lastUpdatedDate(LocalDate.now())
-                    .build();
+        // The counters are kept up to date by ParticipationEventQueue; only the group's sessions in the period
+        // are counted here, in case they changed since the last event. This also creates the row if the member
+        // has no activity in the period yet.
+        int totalSessions = sessionCalendar.occurrences(groupId, period.atDay(1), period.atEndOfMonth()).size();
+        List<ParticipationDelta> deltas = List.of(ParticipationDelta.none(groupId, user.getId(), period));
+        Map<ParticipationDelta.GroupPeriod, Integer> totals =
+                Map.of(new ParticipationDelta.GroupPeriod(groupId, period), totalSessions);
+        try {
+            applyInNewTransaction(deltas, totals);
+        } catch (DuplicateKeyException e) {
+            // The event consumer created the row first; applying again updates it instead
+            applyInNewTransaction(deltas, totals);
         }
 
-        // Calculate metrics for the period
-        LocalDate startDate = period.atDay(1);
-        LocalDate endDate = period.atEndOfMonth();
-
-        // For a real implementation, we would need to add these methods to the repositories
-        // For now, we'll use placeholder values for demonstration
-
-        // Count sessions attended - placeholder
-        int sessionsAttended = 5; // Example value
-
-        // Count total sessions for the group in this period - placeholder
-        int totalSessions = 8; // Example value
-
-        // Count chat messages sent - placeholder
-        int chatMessagesSent = 12; // Example value
-
-        // Count prayer requests - placeholder
-        int prayerRequestsSubmitted = 3; // Example value
-        int prayerRequestsAnswered = 1; // Example value
-
-        // Count study comments - placeholder
-        int studyCommentsMade = 7; // Example value
-
-        // In a real implementation, we would add custom query methods to the repositories:
-        // 1. Add to SessionRSVPRepository:
-        //    long countByUserAndStatusAndSessionDateBetween(Users user, RSVPStatus status, LocalDate start, LocalDate end);
-        // 2. Add to StudySessionRepository:
-        //    long countByGroupAndSessionDateBetween(Group group, LocalDate start, LocalDate end);
-        // 3. Add to PrayerRequestRepository:
-        //    long countByUserAndGroupAndCreatedAtBetween(Users user, Group group, LocalDateTime start, LocalDateTime end);
-        //    long countByUserAndGroupAndAnsweredAndUpdatedAtBetween(Users user, Group group, boolean answered, LocalDateTime start, LocalDateTime end);
-        // 4. Add to CommentRepository:
-        //    long countByUserAndStudyMaterialGroupAndCreatedAtBetween(Users user, Group group, LocalDateTime start, LocalDateTime end);
-
-        // Calculate engagement score
-        int engagementScore = calculateEngagementScore(
-                (int) sessionsAttended, (int) totalSessions, 
-                (int) chatMessagesSent, (int) prayerRequestsSubmitted, 
-                (int) prayerRequestsAnswered, (int) studyCommentsMade);
-
-        // Update metrics
-        metrics.setSessionsAttended((int) sessionsAttended);
-        metrics.setTotalSessions((int) totalSessions);
-        metrics.setChatMessagesSent((int) chatMessagesSent);
-        metrics.setPrayerRequestsSubmitted((int) prayerRequestsSubmitted);
-        metrics.setPrayerRequestsAnswered((int) prayerRequestsAnswered);
-        metrics.setStudyCommentsMade((int) studyCommentsMade);
-        metrics.setEngagementScore(engagementScore);
-        metrics.setLastUpdatedDate(LocalDate.now());
-
-        ParticipationMetrics savedMetrics = participationMetricsRepository.save(metrics);
-        return mapToParticipationMetricsResponse(savedMetrics);
+        ParticipationMetrics metrics = participationMetricsRepository
+                .findByGroupAndUserAndPeriodYearAndPeriodMonth(
+                        group, user, period.getYear(), period.getMonthValue())
+                .orElseThrow(() -> new ResourceNotFoundException("Participation Metrics",
+                        "group, user, and period", groupId + ", " + username + ", " + period));
+        return mapToParticipationMetricsResponse(metrics);
+    }
+
+    // On its own, a failed insert would abort the surrounding transaction and leave nothing to retry in
+    private void applyInNewTransaction(List<ParticipationDelta> deltas,
+                                       Map<ParticipationDelta.GroupPeriod, Integer> totals) {
+        TransactionTemplate newTransaction = new TransactionTemplate(transactionManager);
+        newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        newTransaction.executeWithoutResult(status -> participationMetricsBatchRepository.apply(deltas, totals));
     }
 
     @Override
@@ -341,10 +279,10 @@ public class AnalyticsServiceImpl implements AnalyticsService {
         List<ReadingPlan> readingPlans = readingPlanRepository.findByGroup(group);
 
         // Calculate attendance metrics
-        int totalMembers = group.getMembers().size();
+        int totalMembers = (int) groupRepository.countMembers(groupId);
 
-        // In a real implementation, we would use actual data from the repositories
-        // For now, we'll use placeholder values or calculate from the metrics we have
+        // Participation figures are summed from the per-member rows kept up to date by the event queue, not
+        // counted from the activity tables
 
         // Calculate average attendance percentage
         Double averageAttendancePercentage = allMetrics.isEmpty() ? 0.0 :
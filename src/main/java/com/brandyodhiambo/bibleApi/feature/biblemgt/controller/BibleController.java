@@ -1,14 +1,25 @@
 package com.brandyodhiambo.bibleApi.feature.biblemgt.controller;
 
+import com.brandyodhiambo.bibleApi.feature.biblemgt.corpus.ChapterETag;
 import com.brandyodhiambo.bibleApi.feature.biblemgt.models.dto.BibleResponse;
 import com.brandyodhiambo.bibleApi.feature.biblemgt.models.dto.BookResponse;
 import com.brandyodhiambo.bibleApi.feature.biblemgt.models.dto.ChapterResponse;
+import com.brandyodhiambo.bibleApi.feature.biblemgt.models.dto.PassageRequest;
+import com.brandyodhiambo.bibleApi.feature.biblemgt.models.dto.PassageResponse;
 import com.brandyodhiambo.bibleApi.feature.biblemgt.models.dto.VerseResponse;
 import com.brandyodhiambo.bibleApi.feature.biblemgt.service.BibleService;
+import com.brandyodhiambo.bibleApi.util.ApiResponse;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.Duration;
 import java.util.List;
 
 @RestController
@@ -16,6 +27,10 @@ import java.util.List;
 @RequiredArgsConstructor
 public class BibleController {
 
+    // Scripture text rarely changes; an edit only shows up after a corpus reload, which also changes the ETag.
+    // Clients revalidate daily, so a reload reaches them within a day and an unchanged chapter costs a 304.
+    private static final CacheControl SCRIPTURE_CACHE = CacheControl.maxAge(Duration.ofDays(1));
+
     private final BibleService bibleService;
 
     // Bible endpoints
@@ -78,8 +93,23 @@ public class BibleController {
 
     // Verse endpoints
     @GetMapping("/chapters/{chapterId}/verses")
-    public ResponseEntity<List<VerseResponse>> getAllVerses(@PathVariable Long chapterId) {
-        return ResponseEntity.ok(bibleService.getAllVerses(chapterId));
+    public ResponseEntity<List<VerseResponse>> getAllVerses(@PathVariable Long chapterId, WebRequest request) {
+        String eTag = bibleService.getChapterETag(chapterId);
+        if (eTag != null && request.checkNotModified(eTag)) {
+            return notModified(eTag);
+        }
+        List<VerseResponse> verses = bibleService.getAllVerses(chapterId);
+        if (eTag == null) {
+            // Without the corpus the ETag is only known once the verses are read, revalidation still saves the body
+            eTag = ChapterETag.of(chapterId, verses);
+            if (request.checkNotModified(eTag)) {
+                return notModified(eTag);
+            }
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(SCRIPTURE_CACHE)
+                .body(verses);
     }
 
     @GetMapping("/verses/{id}")
@@ -100,9 +130,30 @@ public class BibleController {
         return ResponseEntity.ok(bibleService.getVerseByReference(bookName, chapterNumber, verseNumber));
     }
 
-    // Search endpoint
+    // Passage endpoint, resolves references like "John 3:16-21; Rom 8:28-39" in one call
+    @PostMapping("/passages")
+    public ResponseEntity<List<PassageResponse>> getPassages(@Valid @RequestBody PassageRequest request) {
+        return ResponseEntity.ok(bibleService.getPassages(request));
+    }
+
+    // Search endpoint, supports "quoted phrases" and OR between words
     @GetMapping("/search")
-    public ResponseEntity<List<VerseResponse>> searchVersesByKeyword(@RequestParam String keyword) {
-        return ResponseEntity.ok(bibleService.searchVersesByKeyword(keyword));
+    public ResponseEntity<Page<VerseResponse>> searchVersesByKeyword(
+            @RequestParam String keyword,
+            @RequestParam(required = false) String translation,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(bibleService.searchVersesByKeyword(keyword, translation, page, size));
+    }
+
+    // Corpus endpoint, call after importing or editing a translation
+    @PostMapping("/corpus/reload")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<ApiResponse> reloadCorpus() {
+        return ResponseEntity.ok(bibleService.reloadCorpus());
+    }
+
+    private static ResponseEntity<List<VerseResponse>> notModified(String eTag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(SCRIPTURE_CACHE).build();
     }
-}
\ No newline at end of file
+}
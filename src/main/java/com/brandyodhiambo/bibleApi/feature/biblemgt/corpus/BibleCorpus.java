@@ -0,0 +1,743 @@
+package com.brandyodhiambo.bibleApi.feature.biblemgt.corpus;
+
+import com.brandyodhiambo.bibleApi.feature.biblemgt.models.Bible;
+import com.brandyodhiambo.bibleApi.feature.biblemgt.models.Book;
+import com.brandyodhiambo.bibleApi.feature.biblemgt.models.Chapter;
+import com.brandyodhiambo.bibleApi.feature.biblemgt.models.Verse;
+import com.brandyodhiambo.bibleApi.feature.biblemgt.models.dto.ChapterResponse;
+import com.brandyodhiambo.bibleApi.feature.biblemgt.models.dto.VerseResponse;
+import com.brandyodhiambo.bibleApi.feature.biblemgt.reference.PassageReference;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, read-only snapshot of every Bible translation.
+ * <p>
+ * Each translation is laid out as packed primitive arrays: books are ordered by position, chapters and
+ * verses are addressed through offset tables ({@code bookChapterStart}, {@code chapterVerseStart}) and
+ * all verse text lives in one contiguous UTF-8 byte store sliced by {@code textOffsets}.
+ * Entity ids are resolved through sorted id tables so lookups never touch the database, and every
+ * translation carries a {@link VerseIndex} for keyword search.
+ */
+public final class BibleCorpus {
+
+    private static final long NOT_FOUND = -1L;
+
+    private final Translation[] translations;
+    private final IdIndex bookIndex;
+    private final IdIndex chapterIndex;
+    private final IdIndex verseIndex;
+
+    private BibleCorpus(Translation[] translations) {
+        this.translations = translations;
+
+        int books = 0;
+        int chapters = 0;
+        int verses = 0;
+        for (Translation translation : translations) {
+            books += translation.bookCount();
+            chapters += translation.chapterCount();
+            verses += translation.verseCount();
+        }
+
+        IdIndex.Builder bookIds = new IdIndex.Builder(books);
+        IdIndex.Builder chapterIds = new IdIndex.Builder(chapters);
+        IdIndex.Builder verseIds = new IdIndex.Builder(verses);
+        for (int t = 0; t < translations.length; t++) {
+            Translation translation = translations[t];
+            for (int b = 0; b < translation.bookCount(); b++) {
+                bookIds.add(translation.bookIds[b], t, b);
+            }
+            for (int c = 0; c < translation.chapterCount(); c++) {
+                chapterIds.add(translation.chapterIds[c], t, c);
+            }
+            for (int v = 0; v < translation.verseCount(); v++) {
+                verseIds.add(translation.verseIds[v], t, v);
+            }
+        }
+        this.bookIndex = bookIds.build();
+        this.chapterIndex = chapterIds.build();
+        this.verseIndex = verseIds.build();
+    }
+
+    public static BibleCorpus empty() {
+        return new BibleCorpus(new Translation[0]);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int translationCount() {
+        return translations.length;
+    }
+
+    public int verseCount() {
+        int count = 0;
+        for (Translation translation : translations) {
+            count += translation.verseCount();
+        }
+        return count;
+    }
+
+    public Translation translation(int index) {
+        return translations[index];
+    }
+
+    /**
+     * Find a translation by its bible id, or {@code null} if it is not part of this snapshot.
+     */
+    public Translation translationById(long bibleId) {
+        for (Translation translation : translations) {
+            if (translation.bibleId == bibleId) {
+                return translation;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Find a translation by its abbreviation (case-insensitive), or {@code null} if none matches.
+     */
+    public Translation translationByAbbreviation(String abbreviation) {
+        for (Translation translation : translations) {
+            if (translation.abbreviation.equalsIgnoreCase(abbreviation)) {
+                return translation;
+            }
+        }
+        return null;
+    }
+
+    public boolean containsBook(long bookId) {
+        return bookIndex.find(bookId) != NOT_FOUND;
+    }
+
+    public boolean containsChapter(long chapterId) {
+        return chapterIndex.find(chapterId) != NOT_FOUND;
+    }
+
+    public VerseResponse verseById(long verseId) {
+        long ref = verseIndex.find(verseId);
+        if (ref == NOT_FOUND) {
+            return null;
+        }
+        return translations[IdIndex.translationOf(ref)].verse(IdIndex.ordinalOf(ref));
+    }
+
+    public ChapterResponse chapterById(long chapterId) {
+        long ref = chapterIndex.find(chapterId);
+        if (ref == NOT_FOUND) {
+            return null;
+        }
+        return translations[IdIndex.translationOf(ref)].chapter(IdIndex.ordinalOf(ref));
+    }
+
+    /**
+     * All chapters of a book in order, or {@code null} if the book is unknown.
+     */
+    public List<ChapterResponse> chaptersOfBook(long bookId) {
+        long ref = bookIndex.find(bookId);
+        if (ref == NOT_FOUND) {
+            return null;
+        }
+        Translation translation = translations[IdIndex.translationOf(ref)];
+        int book = IdIndex.ordinalOf(ref);
+        List<ChapterResponse> chapters = new ArrayList<>(translation.chapterCountOfBook(book));
+        for (int c = translation.bookChapterStart[book]; c < translation.bookChapterStart[book + 1]; c++) {
+            chapters.add(translation.chapter(c));
+        }
+        return chapters;
+    }
+
+    public ChapterResponse chapterByNumber(long bookId, int chapterNumber) {
+        long ref = bookIndex.find(bookId);
+        if (ref == NOT_FOUND) {
+            return null;
+        }
+        Translation translation = translations[IdIndex.translationOf(ref)];
+        int chapter = translation.chapterOrdinal(IdIndex.ordinalOf(ref), chapterNumber);
+        return chapter < 0 ? null : translation.chapter(chapter);
+    }
+
+    /**
+     * All verses of a chapter in order, or {@code null} if the chapter is unknown.
+     */
+    public List<VerseResponse> versesOfChapter(long chapterId) {
+        long ref = chapterIndex.find(chapterId);
+        if (ref == NOT_FOUND) {
+            return null;
+        }
+        Translation translation = translations[IdIndex.translationOf(ref)];
+        int chapter = IdIndex.ordinalOf(ref);
+        List<VerseResponse> verses = new ArrayList<>(translation.verseCountOfChapter(chapter));
+        for (int v = translation.chapterVerseStart[chapter]; v < translation.chapterVerseStart[chapter + 1]; v++) {
+            verses.add(translation.verse(v));
+        }
+        return verses;
+    }
+
+    /**
+     * Entity tag of the verses of a chapter, computed from the byte store, or {@code null} if the chapter
+     * is unknown.
+     */
+    public String chapterETag(long chapterId) {
+        long ref = chapterIndex.find(chapterId);
+        if (ref == NOT_FOUND) {
+            return null;
+        }
+        return translations[IdIndex.translationOf(ref)].chapterETag(IdIndex.ordinalOf(ref));
+    }
+
+    public VerseResponse verseByNumber(long chapterId, int verseNumber) {
+        long ref = chapterIndex.find(chapterId);
+        if (ref == NOT_FOUND) {
+            return null;
+        }
+        Translation translation = translations[IdIndex.translationOf(ref)];
+        int verse = translation.verseOrdinal(IdIndex.ordinalOf(ref), verseNumber);
+        return verse < 0 ? null : translation.verse(verse);
+    }
+
+    /**
+     * Resolve a reference by book name the same way {@code VerseRepository.findByReference} does:
+     * the first translation (lowest bible id) that has a matching book wins.
+     */
+    public VerseResponse verseByReference(String bookName, int chapterNumber, int verseNumber) {
+        for (Translation translation : translations) {
+            int book = translation.bookOrdinal(bookName);
+            if (book < 0) {
+                continue;
+            }
+            int verse = translation.verseOrdinal(book, chapterNumber, verseNumber);
+            if (verse >= 0) {
+                return translation.verse(verse);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Verses of a passage, in reading order. The book is matched by name or abbreviation; without a
+     * {@code scope} the first translation that has the book is used. Returns {@code null} when no
+     * searched translation has the book.
+     */
+    public List<VerseResponse> passage(PassageReference reference, Translation scope) {
+        Translation[] searched = scope == null ? translations : new Translation[]{scope};
+        for (Translation translation : searched) {
+            int book = translation.findBook(reference.book());
+            if (book < 0) {
+                continue;
+            }
+            int[] range = translation.verseRange(book, reference.startChapter(), reference.startVerse(),
+                    reference.endChapter(), reference.endVerse());
+            List<VerseResponse> verses = new ArrayList<>(range[1] - range[0]);
+            for (int verse = range[0]; verse < range[1]; verse++) {
+                verses.add(translation.verse(verse));
+            }
+            return verses;
+        }
+        return null;
+    }
+
+    /**
+     * Keyword search over one translation, or over all of them when {@code scope} is {@code null}.
+     * Hits from several translations are merged by BM25 score; {@code offset} and {@code limit} select
+     * the requested slice of the ranked list.
+     */
+    public SearchResult searchVerses(VerseQuery query, Translation scope, int offset, int limit) {
+        Translation[] searched = scope == null ? translations : new Translation[]{scope};
+        int wanted = (int) Math.min((long) offset + limit, Integer.MAX_VALUE);
+
+        long totalHits = 0;
+        List<RankedVerse> ranked = new ArrayList<>();
+        for (int t = 0; t < searched.length; t++) {
+            VerseIndex.Hits hits = searched[t].index.search(query, wanted);
+            totalHits += hits.totalHits();
+            for (int rank = 0; rank < hits.size(); rank++) {
+                ranked.add(new RankedVerse(t, hits.verse(rank), hits.score(rank)));
+            }
+        }
+        if (searched.length > 1) {
+            // Each translation's hits are already ranked, ties keep translation then canonical order
+            ranked.sort(Comparator.comparingDouble(RankedVerse::score).reversed());
+        }
+
+        List<VerseResponse> verses = new ArrayList<>();
+        for (int i = offset; i < ranked.size() && i < wanted; i++) {
+            RankedVerse hit = ranked.get(i);
+            verses.add(searched[hit.translation()].verse(hit.verse()));
+        }
+        return new SearchResult(verses, totalHits);
+    }
+
+    /**
+     * One page of ranked search hits and the total number of matching verses.
+     */
+    public record SearchResult(List<VerseResponse> verses, long totalHits) {
+    }
+
+    private record RankedVerse(int translation, int verse, double score) {
+    }
+
+    /**
+     * One translation laid out as packed arrays. Ordinals are dense indexes into the arrays below.
+     */
+    public static final class Translation {
+        private final long bibleId;
+        private final String name;
+        private final String abbreviation;
+
+        private final long[] bookIds;
+        private final String[] bookNames;
+        private final String[] bookAbbreviations;
+        private final int[] bookPositions;
+        private final int[] bookChapterStart;
+        private final Map<String, Integer> bookByName;
+        private final Map<String, Integer> bookByKey;
+
+        private final long[] chapterIds;
+        private final int[] chapterNumbers;
+        private final int[] chapterBook;
+        private final int[] chapterVerseStart;
+        private final long[] chapterCreatedAt;
+
+        private final long[] verseIds;
+        private final int[] verseNumbers;
+        private final int[] verseChapter;
+        private final int[] textOffsets;
+        private final byte[] text;
+        private final long[] verseCreatedAt;
+
+        private final VerseIndex index;
+
+        private Translation(long bibleId, String name, String abbreviation,
+                            long[] bookIds, String[] bookNames, String[] bookAbbreviations, int[] bookPositions,
+                            int[] bookChapterStart, long[] chapterIds, int[] chapterNumbers, int[] chapterBook,
+                            int[] chapterVerseStart, long[] chapterCreatedAt, long[] verseIds, int[] verseNumbers,
+                            int[] verseChapter, int[] textOffsets, byte[] text, long[] verseCreatedAt) {
+            this.bibleId = bibleId;
+            this.name = name;
+            this.abbreviation = abbreviation;
+            this.bookIds = bookIds;
+            this.bookNames = bookNames;
+            this.bookAbbreviations = bookAbbreviations;
+            this.bookPositions = bookPositions;
+            this.bookChapterStart = bookChapterStart;
+            this.chapterIds = chapterIds;
+            this.chapterNumbers = chapterNumbers;
+            this.chapterBook = chapterBook;
+            this.chapterVerseStart = chapterVerseStart;
+            this.chapterCreatedAt = chapterCreatedAt;
+            this.verseIds = verseIds;
+            this.verseNumbers = verseNumbers;
+            this.verseChapter = verseChapter;
+            this.textOffsets = textOffsets;
+            this.text = text;
+            this.verseCreatedAt = verseCreatedAt;
+
+            this.bookByName = new HashMap<>(bookNames.length * 2);
+            this.bookByKey = new HashMap<>(bookNames.length * 4);
+            for (int b = bookNames.length - 1; b >= 0; b--) {
+                bookByName.put(bookNames[b], b);
+                if (bookAbbreviations[b] != null) {
+                    bookByKey.put(PassageReference.bookKey(bookAbbreviations[b]), b);
+                }
+            }
+            // Full names win over an abbreviation that happens to spell another book's name
+            for (int b = bookNames.length - 1; b >= 0; b--) {
+                bookByKey.put(PassageReference.bookKey(bookNames[b]), b);
+            }
+            this.index = VerseIndex.build(this);
+        }
+
+        public long bibleId() {
+            return bibleId;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public String abbreviation() {
+            return abbreviation;
+        }
+
+        public int bookCount() {
+            return bookIds.length;
+        }
+
+        public int chapterCount() {
+            return chapterIds.length;
+        }
+
+        public int verseCount() {
+            return verseIds.length;
+        }
+
+        public int chapterCountOfBook(int book) {
+            return bookChapterStart[book + 1] - bookChapterStart[book];
+        }
+
+        public int verseCountOfChapter(int chapter) {
+            return chapterVerseStart[chapter + 1] - chapterVerseStart[chapter];
+        }
+
+        public String bookName(int book) {
+            return bookNames[book];
+        }
+
+        public String bookAbbreviation(int book) {
+            return bookAbbreviations[book];
+        }
+
+        public int bookPosition(int book) {
+            return bookPositions[book];
+        }
+
+        public int bookOfChapter(int chapter) {
+            return chapterBook[chapter];
+        }
+
+        public int chapterOfVerse(int verse) {
+            return verseChapter[verse];
+        }
+
+        public int chapterNumber(int chapter) {
+            return chapterNumbers[chapter];
+        }
+
+        public int verseNumber(int verse) {
+            return verseNumbers[verse];
+        }
+
+        public long verseId(int verse) {
+            return verseIds[verse];
+        }
+
+        /**
+         * Book ordinal for an exact book name, or -1.
+         */
+        public int bookOrdinal(String bookName) {
+            Integer book = bookByName.get(bookName);
+            return book == null ? -1 : book;
+        }
+
+        /**
+         * Book ordinal for a name or abbreviation, ignoring case, spaces and dots, or -1.
+         */
+        public int findBook(String nameOrAbbreviation) {
+            Integer book = bookByKey.get(PassageReference.bookKey(nameOrAbbreviation));
+            return book == null ? -1 : book;
+        }
+
+        /**
+         * Chapter ordinal for a chapter number within a book, or -1.
+         */
+        public int chapterOrdinal(int book, int chapterNumber) {
+            return ordinalOf(chapterNumbers, bookChapterStart[book], bookChapterStart[book + 1], chapterNumber);
+        }
+
+        /**
+         * Verse ordinal for a verse number within a chapter, or -1.
+         */
+        public int verseOrdinal(int chapter, int verseNumber) {
+            return ordinalOf(verseNumbers, chapterVerseStart[chapter], chapterVerseStart[chapter + 1], verseNumber);
+        }
+
+        /**
+         * Verse ordinal addressed by (book, chapter number, verse number), or -1.
+         */
+        public int verseOrdinal(int book, int chapterNumber, int verseNumber) {
+            int chapter = chapterOrdinal(book, chapterNumber);
+            return chapter < 0 ? -1 : verseOrdinal(chapter, verseNumber);
+        }
+
+        /**
+         * Verse ordinals {@code [from, to)} of an inclusive, possibly cross-chapter range within a book.
+         * Because verses are stored in reading order the range is one contiguous slice. A {@code null}
+         * start or end verse means the start or end of that chapter; numbers past the verses that exist
+         * are clamped rather than rejected.
+         */
+        public int[] verseRange(int book, int startChapter, Integer startVerse, int endChapter, Integer endVerse) {
+            int firstChapter = bookChapterStart[book];
+            int lastChapter = bookChapterStart[book + 1];
+
+            int chapter = lowerBound(chapterNumbers, firstChapter, lastChapter, startChapter);
+            int from = chapterVerseStart[chapter];
+            if (chapter < lastChapter && chapterNumbers[chapter] == startChapter && startVerse != null) {
+                from = lowerBound(verseNumbers, chapterVerseStart[chapter], chapterVerseStart[chapter + 1], startVerse);
+            }
+
+            chapter = lowerBound(chapterNumbers, firstChapter, lastChapter, endChapter + 1) - 1;
+            if (chapter < firstChapter) {
+                return new int[]{from, from};
+            }
+            int to = chapterVerseStart[chapter + 1];
+            if (chapterNumbers[chapter] == endChapter && endVerse != null) {
+                to = lowerBound(verseNumbers, chapterVerseStart[chapter], chapterVerseStart[chapter + 1], endVerse + 1);
+            }
+            return new int[]{from, Math.max(from, to)};
+        }
+
+        /**
+         * Decode the UTF-8 text of a verse straight from the byte store.
+         */
+        public String text(int verse) {
+            int start = textOffsets[verse];
+            return new String(text, start, textOffsets[verse + 1] - start, StandardCharsets.UTF_8);
+        }
+
+        public String chapterETag(int chapter) {
+            ChapterETag tag = new ChapterETag(chapterIds[chapter]);
+            for (int v = chapterVerseStart[chapter]; v < chapterVerseStart[chapter + 1]; v++) {
+                tag.addVerse(verseIds[v], verseNumbers[v], text, textOffsets[v], textOffsets[v + 1] - textOffsets[v]);
+            }
+            return tag.value();
+        }
+
+        public VerseIndex index() {
+            return index;
+        }
+
+        public VerseResponse verse(int verse) {
+            int chapter = verseChapter[verse];
+            int book = chapterBook[chapter];
+            return VerseResponse.builder()
+                    .id(verseIds[verse])
+                    .number(verseNumbers[verse])
+                    .text(text(verse))
+                    .chapterId(chapterIds[chapter])
+                    .chapterNumber(chapterNumbers[chapter])
+                    .bookId(bookIds[book])
+                    .bookName(bookNames[book])
+                    .createdAt(toDateTime(verseCreatedAt[verse]))
+                    .build();
+        }
+
+        public ChapterResponse chapter(int chapter) {
+            int book = chapterBook[chapter];
+            return ChapterResponse.builder()
+                    .id(chapterIds[chapter])
+                    .number(chapterNumbers[chapter])
+                    .bookId(bookIds[book])
+                    .bookName(bookNames[book])
+                    .createdAt(toDateTime(chapterCreatedAt[chapter]))
+                    .build();
+        }
+
+        /**
+         * First index in {@code [from, to)} whose number is not less than {@code number}.
+         */
+        private static int lowerBound(int[] numbers, int from, int to, int number) {
+            int low = from;
+            int high = to;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (numbers[mid] < number) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private static int ordinalOf(int[] numbers, int from, int to, int number) {
+            // Numbering is almost always dense (1..n), so try the direct slot before searching
+            int direct = from + number - 1;
+            if (direct >= from && direct < to && numbers[direct] == number) {
+                return direct;
+            }
+            int found = Arrays.binarySearch(numbers, from, to, number);
+            return found >= 0 ? found : -1;
+        }
+    }
+
+    /**
+     * Collects entities per translation and packs them into a {@link BibleCorpus}.
+     */
+    public static final class Builder {
+        private final List<Translation> translations = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        public Builder addTranslation(Bible bible, List<Book> books, List<Chapter> chapters, List<Verse> verses) {
+            translations.add(pack(bible, books, chapters, verses));
+            return this;
+        }
+
+        public BibleCorpus build() {
+            Translation[] packed = translations.toArray(new Translation[0]);
+            Arrays.sort(packed, Comparator.comparingLong(Translation::bibleId));
+            return new BibleCorpus(packed);
+        }
+
+        private static Translation pack(Bible bible, List<Book> books, List<Chapter> chapters, List<Verse> verses) {
+            List<Book> orderedBooks = new ArrayList<>(books);
+            orderedBooks.sort(Comparator.comparing(Book::getPosition).thenComparing(Book::getId));
+
+            int bookCount = orderedBooks.size();
+            long[] bookIds = new long[bookCount];
+            String[] bookNames = new String[bookCount];
+            String[] bookAbbreviations = new String[bookCount];
+            int[] bookPositions = new int[bookCount];
+            Map<Long, Integer> bookOrdinals = new HashMap<>(bookCount * 2);
+            for (int b = 0; b < bookCount; b++) {
+                Book book = orderedBooks.get(b);
+                bookIds[b] = book.getId();
+                bookNames[b] = book.getName();
+                bookAbbreviations[b] = book.getAbbreviation();
+                bookPositions[b] = book.getPosition();
+                bookOrdinals.put(book.getId(), b);
+            }
+
+            List<Chapter> orderedChapters = new ArrayList<>(chapters.size());
+            for (Chapter chapter : chapters) {
+                if (bookOrdinals.containsKey(chapter.getBook().getId())) {
+                    orderedChapters.add(chapter);
+                }
+            }
+            orderedChapters.sort(Comparator
+                    .comparingInt((Chapter chapter) -> bookOrdinals.get(chapter.getBook().getId()))
+                    .thenComparing(Chapter::getNumber));
+
+            int chapterCount = orderedChapters.size();
+            long[] chapterIds = new long[chapterCount];
+            int[] chapterNumbers = new int[chapterCount];
+            int[] chapterBook = new int[chapterCount];
+            long[] chapterCreatedAt = new long[chapterCount];
+            int[] bookChapterStart = new int[bookCount + 1];
+            Map<Long, Integer> chapterOrdinals = new HashMap<>(chapterCount * 2);
+            for (int c = 0; c < chapterCount; c++) {
+                Chapter chapter = orderedChapters.get(c);
+                int book = bookOrdinals.get(chapter.getBook().getId());
+                chapterIds[c] = chapter.getId();
+                chapterNumbers[c] = chapter.getNumber();
+                chapterBook[c] = book;
+                chapterCreatedAt[c] = toEpochSecond(chapter.getCreatedAt());
+                chapterOrdinals.put(chapter.getId(), c);
+                bookChapterStart[book + 1]++;
+            }
+            prefixSum(bookChapterStart);
+
+            List<Verse> orderedVerses = new ArrayList<>(verses.size());
+            for (Verse verse : verses) {
+                if (chapterOrdinals.containsKey(verse.getChapter().getId())) {
+                    orderedVerses.add(verse);
+                }
+            }
+            orderedVerses.sort(Comparator
+                    .comparingInt((Verse verse) -> chapterOrdinals.get(verse.getChapter().getId()))
+                    .thenComparing(Verse::getNumber));
+
+            int verseCount = orderedVerses.size();
+            long[] verseIds = new long[verseCount];
+            int[] verseNumbers = new int[verseCount];
+            int[] verseChapter = new int[verseCount];
+            long[] verseCreatedAt = new long[verseCount];
+            int[] textOffsets = new int[verseCount + 1];
+            int[] chapterVerseStart = new int[chapterCount + 1];
+            ByteArrayOutputStream textStore = new ByteArrayOutputStream(verseCount * 128);
+            for (int v = 0; v < verseCount; v++) {
+                Verse verse = orderedVerses.get(v);
+                int chapter = chapterOrdinals.get(verse.getChapter().getId());
+                verseIds[v] = verse.getId();
+                verseNumbers[v] = verse.getNumber();
+                verseChapter[v] = chapter;
+                verseCreatedAt[v] = toEpochSecond(verse.getCreatedAt());
+                byte[] bytes = verse.getText().getBytes(StandardCharsets.UTF_8);
+                textStore.write(bytes, 0, bytes.length);
+                textOffsets[v + 1] = textStore.size();
+                chapterVerseStart[chapter + 1]++;
+            }
+            prefixSum(chapterVerseStart);
+
+            return new Translation(bible.getId(), bible.getName(), bible.getAbbreviation(),
+                    bookIds, bookNames, bookAbbreviations, bookPositions, bookChapterStart,
+                    chapterIds, chapterNumbers, chapterBook, chapterVerseStart, chapterCreatedAt,
+                    verseIds, verseNumbers, verseChapter, textOffsets, textStore.toByteArray(), verseCreatedAt);
+        }
+
+        private static void prefixSum(int[] counts) {
+            for (int i = 1; i < counts.length; i++) {
+                counts[i] += counts[i - 1];
+            }
+        }
+    }
+
+    private static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime == null ? Long.MIN_VALUE : dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime toDateTime(long epochSecond) {
+        return epochSecond == Long.MIN_VALUE ? null : LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * Sorted table mapping entity ids to a packed (translation, ordinal) reference.
+     */
+    private static final class IdIndex {
+        private final long[] ids;
+        private final long[] refs;
+
+        private IdIndex(long[] ids, long[] refs) {
+            this.ids = ids;
+            this.refs = refs;
+        }
+
+        long find(long id) {
+            int slot = Arrays.binarySearch(ids, id);
+            return slot < 0 ? NOT_FOUND : refs[slot];
+        }
+
+        static int translationOf(long ref) {
+            return (int) (ref >>> 32);
+        }
+
+        static int ordinalOf(long ref) {
+            return (int) ref;
+        }
+
+        private static final class Builder {
+            private final long[] ids;
+            private final long[] refs;
+            private int size;
+
+            Builder(int capacity) {
+                this.ids = new long[capacity];
+                this.refs = new long[capacity];
+            }
+
+            void add(long id, int translation, int ordinal) {
+                ids[size] = id;
+                refs[size] = ((long) translation << 32) | (ordinal & 0xFFFFFFFFL);
+                size++;
+            }
+
+            IdIndex build() {
+                Integer[] order = new Integer[size];
+                for (int i = 0; i < size; i++) {
+                    order[i] = i;
+                }
+                Arrays.sort(order, Comparator.comparingLong(i -> ids[i]));
+                long[] sortedIds = new long[size];
+                long[] sortedRefs = new long[size];
+                for (int i = 0; i < size; i++) {
+                    sortedIds[i] = ids[order[i]];
+                    sortedRefs[i] = refs[order[i]];
+                }
+                return new IdIndex(sortedIds, sortedRefs);
+            }
+        }
+    }
+}
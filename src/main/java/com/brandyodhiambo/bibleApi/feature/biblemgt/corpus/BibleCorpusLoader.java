@@ -0,0 +1,86 @@
+package com.brandyodhiambo.bibleApi.feature.biblemgt.corpus;
+
+import com.brandyodhiambo.bibleApi.feature.biblemgt.models.Bible;
+import com.brandyodhiambo.bibleApi.feature.biblemgt.repository.BibleRepository;
+import com.brandyodhiambo.bibleApi.feature.biblemgt.repository.BookRepository;
+import com.brandyodhiambo.bibleApi.feature.biblemgt.repository.ChapterRepository;
+import com.brandyodhiambo.bibleApi.feature.biblemgt.repository.VerseRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Owns the current {@link BibleCorpus} snapshot. The corpus is built once at startup and rebuilt
+ * on demand (for example after an admin imports a translation); readers always see a complete
+ * snapshot because the reference is swapped atomically.
+ */
+@Component
+@RequiredArgsConstructor
+public class BibleCorpusLoader {
+
+    private static final Logger logger = LoggerFactory.getLogger(BibleCorpusLoader.class);
+
+    private final BibleRepository bibleRepository;
+    private final BookRepository bookRepository;
+    private final ChapterRepository chapterRepository;
+    private final VerseRepository verseRepository;
+
+    @Value("${bible.corpus.enabled:true}")
+    private boolean enabled;
+
+    private volatile BibleCorpus corpus;
+
+    /**
+     * The current snapshot, or {@code null} when the corpus is disabled or not loaded yet.
+     */
+    public BibleCorpus current() {
+        return corpus;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (!enabled) {
+            logger.info("In-memory Bible corpus is disabled, reads will go to the database");
+            return;
+        }
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            logger.error("Failed to load the Bible corpus, reads will go to the database", e);
+        }
+    }
+
+    /**
+     * Builds a new snapshot from the database and swaps it in.
+     *
+     * @throws IllegalStateException when the corpus is disabled; reads keep going to the database
+     */
+    @Transactional(readOnly = true)
+    public synchronized BibleCorpus reload() {
+        if (!enabled) {
+            throw new IllegalStateException("The in-memory Bible corpus is disabled");
+        }
+        long started = System.nanoTime();
+        BibleCorpus.Builder builder = BibleCorpus.builder();
+        for (Bible bible : bibleRepository.findAll()) {
+            builder.addTranslation(bible,
+                    bookRepository.findByBibleIdOrderByPositionAsc(bible.getId()),
+                    chapterRepository.findByBibleIdOrdered(bible.getId()),
+                    verseRepository.findByBibleIdOrdered(bible.getId()));
+        }
+        BibleCorpus loaded = builder.build();
+        this.corpus = loaded;
+        logger.info("Loaded Bible corpus: {} translations, {} verses in {} ms",
+                loaded.translationCount(), loaded.verseCount(), (System.nanoTime() - started) / 1_000_000);
+        return loaded;
+    }
+}
@@ -0,0 +1,50 @@
+package com.brandyodhiambo.bibleApi.feature.biblemgt.corpus;
+
+import com.brandyodhiambo.bibleApi.feature.biblemgt.models.dto.VerseResponse;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Strong entity tag for the verses of one chapter.
+ * <p>
+ * The tag is a CRC-32C over every verse id, number and UTF-8 text, so the packed corpus and a list of
+ * {@link VerseResponse}s loaded from the database produce the same tag for the same content, and a
+ * corpus reload with edited text produces a new one.
+ */
+public final class ChapterETag {
+
+    private final long chapterId;
+    private final CRC32C checksum = new CRC32C();
+    private final ByteBuffer header = ByteBuffer.allocate(Long.BYTES + Integer.BYTES * 2);
+
+    public ChapterETag(long chapterId) {
+        this.chapterId = chapterId;
+    }
+
+    public static String of(long chapterId, List<VerseResponse> verses) {
+        ChapterETag tag = new ChapterETag(chapterId);
+        for (VerseResponse verse : verses) {
+            byte[] text = verse.getText().getBytes(StandardCharsets.UTF_8);
+            tag.addVerse(verse.getId(), verse.getNumber(), text, 0, text.length);
+        }
+        return tag.value();
+    }
+
+    public ChapterETag addVerse(long verseId, int number, byte[] text, int offset, int length) {
+        header.clear();
+        header.putLong(verseId).putInt(number).putInt(length);
+        checksum.update(header.array(), 0, header.position());
+        checksum.update(text, offset, length);
+        return this;
+    }
+
+    /**
+     * The quoted tag, e.g. {@code "65-1c291ca3"}.
+     */
+    public String value() {
+        return "\"" + Long.toHexString(chapterId) + "-" + Long.toHexString(checksum.getValue()) + "\"";
+    }
+}
@@ -0,0 +1,483 @@
+package com.brandyodhiambo.bibleApi.feature.biblemgt.corpus;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inverted index over the verses of one translation.
+ * <p>
+ * Every term owns a postings list of the verse ordinals it occurs in. Postings are stored back to back
+ * in a single byte array as varints: for each verse the gap to the previous verse ordinal, the term
+ * frequency, then the gaps between the term's token positions (needed for phrase queries).
+ * Matching verses are ranked with BM25.
+ */
+public final class VerseIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int[] NO_DOCS = new int[0];
+
+    private final Map<String, Integer> termIds;
+    private final int[] documentFrequency;
+    private final int[] postingStart;
+    private final byte[] postings;
+    private final int[] verseLength;
+    private final double averageLength;
+
+    private VerseIndex(Map<String, Integer> termIds, int[] documentFrequency, int[] postingStart, byte[] postings,
+                       int[] verseLength, double averageLength) {
+        this.termIds = termIds;
+        this.documentFrequency = documentFrequency;
+        this.postingStart = postingStart;
+        this.postings = postings;
+        this.verseLength = verseLength;
+        this.averageLength = averageLength;
+    }
+
+    static VerseIndex build(BibleCorpus.Translation translation) {
+        int verseCount = translation.verseCount();
+        Map<String, Integer> termIds = new HashMap<>();
+        List<TermWriter> writers = new ArrayList<>();
+        int[] verseLength = new int[verseCount];
+        long totalLength = 0;
+
+        for (int verse = 0; verse < verseCount; verse++) {
+            List<String> tokens = VerseTokenizer.tokenize(translation.text(verse));
+            verseLength[verse] = tokens.size();
+            totalLength += tokens.size();
+            for (int position = 0; position < tokens.size(); position++) {
+                Integer termId = termIds.get(tokens.get(position));
+                if (termId == null) {
+                    termId = writers.size();
+                    termIds.put(tokens.get(position), termId);
+                    writers.add(new TermWriter());
+                }
+                writers.get(termId).add(verse, position);
+            }
+        }
+
+        int termCount = writers.size();
+        int[] documentFrequency = new int[termCount];
+        int[] postingStart = new int[termCount + 1];
+        for (int term = 0; term < termCount; term++) {
+            TermWriter writer = writers.get(term);
+            writer.flush();
+            documentFrequency[term] = writer.documentFrequency;
+            postingStart[term + 1] = postingStart[term] + writer.size;
+        }
+        byte[] postings = new byte[postingStart[termCount]];
+        for (int term = 0; term < termCount; term++) {
+            TermWriter writer = writers.get(term);
+            System.arraycopy(writer.bytes, 0, postings, postingStart[term], writer.size);
+        }
+
+        double averageLength = verseCount == 0 ? 0 : (double) totalLength / verseCount;
+        return new VerseIndex(termIds, documentFrequency, postingStart, postings, verseLength, averageLength);
+    }
+
+    public int termCount() {
+        return documentFrequency.length;
+    }
+
+    /**
+     * Number of verses containing the (already folded) term.
+     */
+    public int documentFrequency(String term) {
+        Integer termId = termIds.get(term);
+        return termId == null ? 0 : documentFrequency[termId];
+    }
+
+    /**
+     * Size of the compressed postings in bytes.
+     */
+    public int postingsSize() {
+        return postings.length;
+    }
+
+    /**
+     * Evaluate a query and return the {@code limit} best ranked verse ordinals together with the total
+     * number of matching verses.
+     */
+    public Hits search(VerseQuery query, int limit) {
+        if (query.isEmpty()) {
+            return Hits.EMPTY;
+        }
+
+        Map<String, Postings> decoded = new HashMap<>();
+        for (List<VerseQuery.Clause> group : query.groups()) {
+            for (VerseQuery.Clause clause : group) {
+                for (String term : clause.terms()) {
+                    Postings existing = decoded.get(term);
+                    if (existing == null || (clause.isPhrase() && existing.positions == null)) {
+                        decoded.put(term, decode(term, clause.isPhrase()));
+                    }
+                }
+            }
+        }
+
+        int[] matched = null;
+        for (List<VerseQuery.Clause> group : query.groups()) {
+            int[] groupDocs = NO_DOCS;
+            for (VerseQuery.Clause clause : group) {
+                int[] clauseDocs = clause.isPhrase()
+                        ? phraseDocs(clause.terms(), decoded)
+                        : decoded.get(clause.terms().get(0)).docs;
+                groupDocs = union(groupDocs, clauseDocs);
+            }
+            matched = matched == null ? groupDocs : intersect(matched, groupDocs);
+            if (matched.length == 0) {
+                return Hits.EMPTY;
+            }
+        }
+
+        List<Postings> scored = new ArrayList<>(decoded.size());
+        for (Postings term : decoded.values()) {
+            if (term.docs.length > 0) {
+                scored.add(term);
+            }
+        }
+        double[] scores = new double[matched.length];
+        for (Postings term : scored) {
+            double idf = Math.log(1 + (verseLength.length - term.docs.length + 0.5) / (term.docs.length + 0.5));
+            int cursor = 0;
+            for (int i = 0; i < matched.length && cursor < term.docs.length; i++) {
+                int verse = matched[i];
+                cursor = seek(term.docs, cursor, verse);
+                if (cursor < term.docs.length && term.docs[cursor] == verse) {
+                    int frequency = term.frequencies[cursor];
+                    double norm = K1 * (1 - B + B * verseLength[verse] / averageLength);
+                    scores[i] += idf * frequency * (K1 + 1) / (frequency + norm);
+                }
+            }
+        }
+
+        return Hits.top(matched, scores, limit);
+    }
+
+    private Postings decode(String term, boolean withPositions) {
+        Integer termId = termIds.get(term);
+        if (termId == null) {
+            return Postings.NONE;
+        }
+        int count = documentFrequency[termId];
+        int[] docs = new int[count];
+        int[] frequencies = new int[count];
+        int[] positionStart = withPositions ? new int[count + 1] : null;
+        int[] positions = withPositions ? new int[16] : null;
+        int positionCount = 0;
+
+        int[] cursor = {postingStart[termId]};
+        int doc = -1;
+        for (int i = 0; i < count; i++) {
+            doc += readVarint(postings, cursor);
+            int frequency = readVarint(postings, cursor);
+            docs[i] = doc;
+            frequencies[i] = frequency;
+            int position = 0;
+            for (int p = 0; p < frequency; p++) {
+                position += readVarint(postings, cursor);
+                if (withPositions) {
+                    if (positionCount == positions.length) {
+                        positions = Arrays.copyOf(positions, positionCount * 2);
+                    }
+                    positions[positionCount++] = position;
+                }
+            }
+            if (withPositions) {
+                positionStart[i + 1] = positionCount;
+            }
+        }
+        return new Postings(docs, frequencies, positionStart, positions);
+    }
+
+    private static int[] phraseDocs(List<String> terms, Map<String, Postings> decoded) {
+        int length = terms.size();
+        Postings[] parts = new Postings[length];
+        int[] cursors = new int[length];
+        for (int i = 0; i < length; i++) {
+            parts[i] = decoded.get(terms.get(i));
+            if (parts[i].docs.length == 0) {
+                return NO_DOCS;
+            }
+        }
+
+        Postings first = parts[0];
+        int[] result = new int[first.docs.length];
+        int found = 0;
+        candidates:
+        for (int d = 0; d < first.docs.length; d++) {
+            int verse = first.docs[d];
+            for (int i = 1; i < length; i++) {
+                cursors[i] = seek(parts[i].docs, cursors[i], verse);
+                if (cursors[i] == parts[i].docs.length) {
+                    break candidates;
+                }
+                if (parts[i].docs[cursors[i]] != verse) {
+                    continue candidates;
+                }
+            }
+            starts:
+            for (int p = first.positionStart[d]; p < first.positionStart[d + 1]; p++) {
+                int start = first.positions[p];
+                for (int i = 1; i < length; i++) {
+                    Postings part = parts[i];
+                    int slot = cursors[i];
+                    if (Arrays.binarySearch(part.positions, part.positionStart[slot], part.positionStart[slot + 1],
+                            start + i) < 0) {
+                        continue starts;
+                    }
+                }
+                result[found++] = verse;
+                break;
+            }
+        }
+        return Arrays.copyOf(result, found);
+    }
+
+    /**
+     * First index at or after {@code from} whose value is not less than {@code target}.
+     */
+    private static int seek(int[] docs, int from, int target) {
+        int index = from;
+        while (index < docs.length && docs[index] < target) {
+            index++;
+        }
+        return index;
+    }
+
+    private static int[] union(int[] a, int[] b) {
+        if (a.length == 0) {
+            return b;
+        }
+        if (b.length == 0) {
+            return a;
+        }
+        int[] result = new int[a.length + b.length];
+        int i = 0;
+        int j = 0;
+        int size = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                result[size++] = a[i++];
+            } else if (a[i] > b[j]) {
+                result[size++] = b[j++];
+            } else {
+                result[size++] = a[i++];
+                j++;
+            }
+        }
+        while (i < a.length) {
+            result[size++] = a[i++];
+        }
+        while (j < b.length) {
+            result[size++] = b[j++];
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] result = new int[Math.min(a.length, b.length)];
+        int i = 0;
+        int j = 0;
+        int size = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[size++] = a[i++];
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    static void writeVarint(TermWriter out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    static int readVarint(byte[] bytes, int[] cursor) {
+        int value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = bytes[cursor[0]++];
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    /**
+     * Verse ordinals of one query, best first, plus the total number of matches.
+     */
+    public static final class Hits {
+        static final Hits EMPTY = new Hits(NO_DOCS, new double[0], 0);
+
+        private final int[] verses;
+        private final double[] scores;
+        private final int totalHits;
+
+        private Hits(int[] verses, double[] scores, int totalHits) {
+            this.verses = verses;
+            this.scores = scores;
+            this.totalHits = totalHits;
+        }
+
+        public int size() {
+            return verses.length;
+        }
+
+        public int verse(int rank) {
+            return verses[rank];
+        }
+
+        public double score(int rank) {
+            return scores[rank];
+        }
+
+        public int totalHits() {
+            return totalHits;
+        }
+
+        /**
+         * Select the {@code limit} best scoring verses with a bounded min-heap, ties going to the verse
+         * that comes first in canonical order.
+         */
+        static Hits top(int[] verses, double[] scores, int limit) {
+            int capacity = Math.min(limit, verses.length);
+            int[] heap = new int[capacity];
+            int size = 0;
+            for (int i = 0; i < verses.length && capacity > 0; i++) {
+                if (size < capacity) {
+                    heap[size] = i;
+                    siftUp(heap, size++, verses, scores);
+                } else if (worse(heap[0], i, verses, scores)) {
+                    heap[0] = i;
+                    siftDown(heap, size, verses, scores);
+                }
+            }
+            int[] topVerses = new int[size];
+            double[] topScores = new double[size];
+            for (int rank = size - 1; rank >= 0; rank--) {
+                int best = heap[0];
+                topVerses[rank] = verses[best];
+                topScores[rank] = scores[best];
+                heap[0] = heap[rank];
+                siftDown(heap, rank, verses, scores);
+            }
+            return new Hits(topVerses, topScores, verses.length);
+        }
+
+        private static boolean worse(int a, int b, int[] verses, double[] scores) {
+            if (scores[a] != scores[b]) {
+                return scores[a] < scores[b];
+            }
+            return verses[a] > verses[b];
+        }
+
+        private static void siftUp(int[] heap, int index, int[] verses, double[] scores) {
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (!worse(heap[index], heap[parent], verses, scores)) {
+                    return;
+                }
+                swap(heap, index, parent);
+                index = parent;
+            }
+        }
+
+        private static void siftDown(int[] heap, int size, int[] verses, double[] scores) {
+            int index = 0;
+            while (true) {
+                int left = 2 * index + 1;
+                if (left >= size) {
+                    return;
+                }
+                int child = left + 1 < size && worse(heap[left + 1], heap[left], verses, scores) ? left + 1 : left;
+                if (!worse(heap[child], heap[index], verses, scores)) {
+                    return;
+                }
+                swap(heap, index, child);
+                index = child;
+            }
+        }
+
+        private static void swap(int[] heap, int a, int b) {
+            int tmp = heap[a];
+            heap[a] = heap[b];
+            heap[b] = tmp;
+        }
+    }
+
+    private static final class Postings {
+        static final Postings NONE = new Postings(NO_DOCS, NO_DOCS, new int[1], NO_DOCS);
+
+        final int[] docs;
+        final int[] frequencies;
+        final int[] positionStart;
+        final int[] positions;
+
+        Postings(int[] docs, int[] frequencies, int[] positionStart, int[] positions) {
+            this.docs = docs;
+            this.frequencies = frequencies;
+            this.positionStart = positionStart;
+            this.positions = positions;
+        }
+    }
+
+    /**
+     * Accumulates the encoded postings of one term while verses are indexed in ordinal order.
+     */
+    static final class TermWriter {
+        private byte[] bytes = new byte[8];
+        private int size;
+        private int documentFrequency;
+        private int lastVerse = -1;
+        private int currentVerse = -1;
+        private int[] positions = new int[4];
+        private int positionCount;
+
+        void add(int verse, int position) {
+            if (verse != currentVerse) {
+                flush();
+                currentVerse = verse;
+            }
+            if (positionCount == positions.length) {
+                positions = Arrays.copyOf(positions, positionCount * 2);
+            }
+            positions[positionCount++] = position;
+        }
+
+        void flush() {
+            if (positionCount == 0) {
+                return;
+            }
+            writeVarint(this, currentVerse - lastVerse);
+            writeVarint(this, positionCount);
+            int previous = 0;
+            for (int p = 0; p < positionCount; p++) {
+                writeVarint(this, positions[p] - previous);
+                previous = positions[p];
+            }
+            documentFrequency++;
+            lastVerse = currentVerse;
+            positionCount = 0;
+        }
+
+        void write(int b) {
+            if (size == bytes.length) {
+                bytes = Arrays.copyOf(bytes, size * 2);
+            }
+            bytes[size++] = (byte) b;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.brandyodhiambo.bibleApi.feature.biblemgt.corpus;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Parsed keyword query for the {@link VerseIndex}.
+ * <p>
+ * Words are ANDed together, {@code OR} (or {@code |}) between two words or phrases makes them
+ * alternatives, and double quotes mark a phrase whose terms must appear next to each other.
+ * For example {@code "so loved" world OR earth} matches verses containing the phrase "so loved"
+ * and either "world" or "earth". A word that folds to several terms (such as {@code LORD's}) is
+ * treated as a phrase.
+ */
+public final class VerseQuery {
+
+    private final List<List<Clause>> groups;
+
+    private VerseQuery(List<List<Clause>> groups) {
+        this.groups = groups;
+    }
+
+    public static VerseQuery parse(String query) {
+        List<List<Clause>> groups = new ArrayList<>();
+        if (query == null) {
+            return new VerseQuery(groups);
+        }
+        boolean alternative = false;
+        int length = query.length();
+        int i = 0;
+        while (i < length) {
+            char c = query.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+                continue;
+            }
+            String raw;
+            if (c == '"') {
+                int end = query.indexOf('"', i + 1);
+                if (end < 0) {
+                    end = length;
+                }
+                raw = query.substring(i + 1, end);
+                i = end + 1;
+            } else {
+                int end = i;
+                while (end < length && !Character.isWhitespace(query.charAt(end)) && query.charAt(end) != '"') {
+                    end++;
+                }
+                raw = query.substring(i, end);
+                i = end;
+                if (raw.equals("OR") || raw.equals("|")) {
+                    alternative = true;
+                    continue;
+                }
+                if (raw.equals("AND") || raw.equals("&")) {
+                    continue;
+                }
+            }
+            List<String> terms = VerseTokenizer.tokenize(raw);
+            if (terms.isEmpty()) {
+                continue;
+            }
+            Clause clause = new Clause(Collections.unmodifiableList(terms));
+            if (alternative && !groups.isEmpty()) {
+                groups.get(groups.size() - 1).add(clause);
+            } else {
+                List<Clause> group = new ArrayList<>();
+                group.add(clause);
+                groups.add(group);
+            }
+            alternative = false;
+        }
+        return new VerseQuery(groups);
+    }
+
+    public boolean isEmpty() {
+        return groups.isEmpty();
+    }
+
+    /**
+     * Clauses grouped as a conjunction of disjunctions: every group must match, and a group matches
+     * when any one of its clauses does.
+     */
+    public List<List<Clause>> groups() {
+        return groups;
+    }
+
+    /**
+     * Every distinct term mentioned by the query, in the order they appear.
+     */
+    public Set<String> terms() {
+        Set<String> terms = new LinkedHashSet<>();
+        for (List<Clause> group : groups) {
+            for (Clause clause : group) {
+                terms.addAll(clause.terms());
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * A single term, or a phrase when it holds more than one term.
+     */
+    public record Clause(List<String> terms) {
+        public boolean isPhrase() {
+            return terms.size() > 1;
+        }
+    }
+}
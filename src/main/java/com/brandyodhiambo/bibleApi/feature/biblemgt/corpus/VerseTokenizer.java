@@ -0,0 +1,79 @@
+package com.brandyodhiambo.bibleApi.feature.biblemgt.corpus;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Splits verse text into search terms. A term is a maximal run of letters and digits; everything else
+ * (spaces, punctuation, apostrophes) separates terms. Terms are folded to lower case and stripped of
+ * diacritics so that "Amó", "amo" and "AMO" all index and query as {@code amo}.
+ */
+public final class VerseTokenizer {
+
+    private VerseTokenizer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        int length = text.length();
+        int start = -1;
+        boolean ascii = true;
+        for (int i = 0; i < length; ) {
+            int codePoint = text.codePointAt(i);
+            if (Character.isLetterOrDigit(codePoint) || (start >= 0 && isCombiningMark(codePoint))) {
+                if (start < 0) {
+                    start = i;
+                    ascii = true;
+                }
+                ascii &= codePoint < 0x80;
+            } else if (start >= 0) {
+                terms.add(fold(text.substring(start, i), ascii));
+                start = -1;
+            }
+            i += Character.charCount(codePoint);
+        }
+        if (start >= 0) {
+            terms.add(fold(text.substring(start), ascii));
+        }
+        return terms;
+    }
+
+    /**
+     * Fold a single word the same way indexed text is folded.
+     */
+    public static String fold(String word) {
+        boolean ascii = true;
+        for (int i = 0; i < word.length() && ascii; i++) {
+            ascii = word.charAt(i) < 0x80;
+        }
+        return fold(word, ascii);
+    }
+
+    private static String fold(String word, boolean ascii) {
+        if (ascii) {
+            return word.toLowerCase(Locale.ROOT);
+        }
+        String decomposed = Normalizer.normalize(word, Normalizer.Form.NFD);
+        StringBuilder folded = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); ) {
+            int codePoint = decomposed.codePointAt(i);
+            if (!isCombiningMark(codePoint)) {
+                folded.appendCodePoint(Character.toLowerCase(codePoint));
+            }
+            i += Character.charCount(codePoint);
+        }
+        return folded.toString();
+    }
+
+    private static boolean isCombiningMark(int codePoint) {
+        int type = Character.getType(codePoint);
+        return type == Character.NON_SPACING_MARK
+                || type == Character.COMBINING_SPACING_MARK
+                || type == Character.ENCLOSING_MARK;
+    }
+}
@@ -0,0 +1,23 @@
+package com.brandyodhiambo.bibleApi.feature.biblemgt.models.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PassageRequest {
+
+    // Each entry may itself hold several references, e.g. "John 3:16-21; Rom 8:28-39"
+    @NotEmpty(message = "At least one reference is required")
+    @Size(max = 50, message = "At most 50 references can be resolved at once")
+    private List<String> references;
+
+    // Bible abbreviation, defaults to the first translation that has the book
+    private String translation;
+}
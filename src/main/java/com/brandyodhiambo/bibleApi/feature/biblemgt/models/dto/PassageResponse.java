@@ -0,0 +1,18 @@
+package com.brandyodhiambo.bibleApi.feature.biblemgt.models.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PassageResponse {
+    private String reference;
+    private String bookName;
+    private List<VerseResponse> verses;
+}
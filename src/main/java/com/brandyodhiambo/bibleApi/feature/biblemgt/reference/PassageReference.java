@@ -0,0 +1,61 @@
+package com.brandyodhiambo.bibleApi.feature.biblemgt.reference;
+
+import java.util.Locale;
+
+/**
+ * A parsed passage such as {@code John 3:16-21} or {@code Genesis 1-2}. A {@code null} start verse means the
+ * passage starts at the beginning of its first chapter, a {@code null} end verse that it runs to the end of
+ * its last chapter. The range is inclusive and may cross chapters.
+ */
+public record PassageReference(String book, int startChapter, Integer startVerse, int endChapter, Integer endVerse) {
+
+    /**
+     * Lookup key for a book name or abbreviation: lower case with spaces and dots removed, so that
+     * "1 John", "1John" and "1 john." all compare equal.
+     */
+    public static String bookKey(String book) {
+        StringBuilder key = new StringBuilder(book.length());
+        for (int i = 0; i < book.length(); i++) {
+            char c = book.charAt(i);
+            if (!Character.isWhitespace(c) && c != '.') {
+                key.append(c);
+            }
+        }
+        return key.toString().toLowerCase(Locale.ROOT);
+    }
+
+    public String bookKey() {
+        return bookKey(book);
+    }
+
+    /**
+     * Whether a verse at (chapter, verse) falls inside this passage.
+     */
+    public boolean contains(int chapter, int verse) {
+        boolean afterStart = chapter > startChapter
+                || (chapter == startChapter && (startVerse == null || verse >= startVerse));
+        boolean beforeEnd = chapter < endChapter
+                || (chapter == endChapter && (endVerse == null || verse <= endVerse));
+        return afterStart && beforeEnd;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder(book).append(' ').append(startChapter);
+        if (startVerse != null) {
+            text.append(':').append(startVerse);
+        }
+        boolean singleChapter = endChapter == startChapter;
+        if (singleChapter && startVerse != null && endVerse != null) {
+            if (!endVerse.equals(startVerse)) {
+                text.append('-').append(endVerse);
+            }
+        } else if (!singleChapter || (startVerse != null) != (endVerse != null)) {
+            text.append('-').append(endChapter);
+            if (endVerse != null) {
+                text.append(':').append(endVerse);
+            }
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,114 @@
+package com.brandyodhiambo.bibleApi.feature.biblemgt.reference;
+
+import com.brandyodhiambo.bibleApi.exception.BadRequestException;
+import com.brandyodhiambo.bibleApi.util.ApiResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parses human written references into {@link PassageReference}s.
+ * <p>
+ * Supported forms are {@code John 3:16}, {@code John 3:16-21}, {@code John 3:16-4:2}, {@code John 3} and
+ * {@code John 3-4}. References are separated by {@code ;} or {@code ,}. A segment without a book continues
+ * the previous book, and after a comma a bare number continues the previous chapter, so
+ * {@code "John 3:16, 18; 4:1-6; Rom 8:28-39"} yields four passages.
+ */
+public final class PassageReferenceParser {
+
+    private static final Pattern BOOK = Pattern.compile("^((?:[1-3]\\s*)?\\p{L}[\\p{L} .']*?)\\s*(?=\\d|$)");
+    private static final Pattern RANGE =
+            Pattern.compile("^(\\d{1,3})(?::(\\d{1,3}))?(?:\\s*[-–]\\s*(\\d{1,3})(?::(\\d{1,3}))?)?$");
+
+    private PassageReferenceParser() {
+    }
+
+    public static List<PassageReference> parse(String input) {
+        List<PassageReference> references = new ArrayList<>();
+        if (input == null) {
+            return references;
+        }
+        String book = null;
+        PassageReference previous = null;
+        char separator = ';';
+        int start = 0;
+        for (int i = 0; i <= input.length(); i++) {
+            char c = i < input.length() ? input.charAt(i) : ';';
+            if (c != ';' && c != ',') {
+                continue;
+            }
+            String segment = input.substring(start, i).trim();
+            start = i + 1;
+            if (!segment.isEmpty()) {
+                Matcher bookMatch = BOOK.matcher(segment);
+                String range = segment;
+                boolean bookGiven = bookMatch.find();
+                if (bookGiven) {
+                    book = bookMatch.group(1).trim().replaceAll("\\s+", " ");
+                    range = segment.substring(bookMatch.end()).trim();
+                } else if (book == null) {
+                    throw invalid(segment);
+                }
+                boolean continuesVerses = !bookGiven && separator == ',' && previous != null
+                        && previous.endVerse() != null;
+                previous = parseRange(book, range, continuesVerses ? previous.endChapter() : null, segment);
+                references.add(previous);
+            }
+            separator = c;
+        }
+        return references;
+    }
+
+    private static PassageReference parseRange(String book, String range, Integer currentChapter, String segment) {
+        Matcher matcher = RANGE.matcher(range);
+        if (!matcher.matches()) {
+            throw invalid(segment);
+        }
+        int first = Integer.parseInt(matcher.group(1));
+        Integer firstVerse = number(matcher.group(2));
+        Integer second = number(matcher.group(3));
+        Integer secondVerse = number(matcher.group(4));
+
+        PassageReference reference;
+        if (currentChapter != null && firstVerse == null) {
+            // "John 3:16, 18-20": bare numbers after a comma are verses of the current chapter
+            reference = secondVerse != null
+                    ? new PassageReference(book, currentChapter, first, second, secondVerse)
+                    : new PassageReference(book, currentChapter, first, currentChapter, second != null ? second : first);
+        } else if (firstVerse == null) {
+            reference = new PassageReference(book, first, null, second != null ? second : first, secondVerse);
+        } else if (second == null) {
+            reference = new PassageReference(book, first, firstVerse, first, firstVerse);
+        } else if (secondVerse == null) {
+            reference = new PassageReference(book, first, firstVerse, first, second);
+        } else {
+            reference = new PassageReference(book, first, firstVerse, second, secondVerse);
+        }
+
+        if (!isOrdered(reference)) {
+            throw invalid(segment);
+        }
+        return reference;
+    }
+
+    private static boolean isOrdered(PassageReference reference) {
+        if (reference.startChapter() < 1 || (reference.startVerse() != null && reference.startVerse() < 1)) {
+            return false;
+        }
+        if (reference.endChapter() != reference.startChapter()) {
+            return reference.endChapter() > reference.startChapter();
+        }
+        return reference.startVerse() == null || reference.endVerse() == null
+                || reference.endVerse() >= reference.startVerse();
+    }
+
+    private static Integer number(String group) {
+        return group == null ? null : Integer.valueOf(group);
+    }
+
+    private static BadRequestException invalid(String segment) {
+        return new BadRequestException(new ApiResponse(Boolean.FALSE, "Invalid passage reference: '" + segment + "'"));
+    }
+}
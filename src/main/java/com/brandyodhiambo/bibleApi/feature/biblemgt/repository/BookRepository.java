@@ -12,6 +12,7 @@ import java.util.Optional;
 public interface BookRepository extends JpaRepository<Book, Long> {
     List<Book> findByBible(Bible bible);
     List<Book> findByBibleId(Long bibleId);
+    List<Book> findByBibleIdOrderByPositionAsc(Long bibleId);
     Optional<Book> findByBibleAndName(Bible bible, String name);
     Optional<Book> findByBibleIdAndName(Long bibleId, String name);
     Optional<Book> findByBibleAndAbbreviation(Bible bible, String abbreviation);
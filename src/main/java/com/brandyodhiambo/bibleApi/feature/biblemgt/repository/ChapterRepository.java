@@ -3,6 +3,8 @@ package com.brandyodhiambo.bibleApi.feature.biblemgt.repository;
 import com.brandyodhiambo.bibleApi.feature.biblemgt.models.Book;
 import com.brandyodhiambo.bibleApi.feature.biblemgt.models.Chapter;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -14,4 +16,7 @@ public interface ChapterRepository extends JpaRepository<Chapter, Long> {
     List<Chapter> findByBookId(Long bookId);
     Optional<Chapter> findByBookAndNumber(Book book, Integer number);
     Optional<Chapter> findByBookIdAndNumber(Long bookId, Integer number);
+
+    @Query("SELECT c FROM Chapter c JOIN c.book b WHERE b.bible.id = :bibleId ORDER BY b.position ASC, c.number ASC")
+    List<Chapter> findByBibleIdOrdered(@Param("bibleId") Long bibleId);
 }
\ No newline at end of file
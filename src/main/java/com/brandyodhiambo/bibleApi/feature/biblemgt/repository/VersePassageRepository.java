@@ -0,0 +1,20 @@
+package com.brandyodhiambo.bibleApi.feature.biblemgt.repository;
+
+import com.brandyodhiambo.bibleApi.feature.biblemgt.models.Verse;
+import com.brandyodhiambo.bibleApi.feature.biblemgt.reference.PassageReference;
+
+import java.util.List;
+
+/**
+ * Loads the verses of many passages at once.
+ */
+public interface VersePassageRepository {
+
+    /**
+     * Every verse covered by any of the passages, with chapter and book fetched, in reading order.
+     * Books are matched by name or abbreviation the way {@link PassageReference#bookKey(String)} does.
+     *
+     * @param translation bible abbreviation to restrict the lookup to, or {@code null} for every translation
+     */
+    List<Verse> findPassages(List<PassageReference> references, String translation);
+}
@@ -0,0 +1,69 @@
+package com.brandyodhiambo.bibleApi.feature.biblemgt.repository;
+
+import com.brandyodhiambo.bibleApi.feature.biblemgt.models.Verse;
+import com.brandyodhiambo.bibleApi.feature.biblemgt.reference.PassageReference;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.List;
+
+public class VersePassageRepositoryImpl implements VersePassageRepository {
+
+    private static final String BOOK_KEY = "LOWER(REPLACE(REPLACE(%s, ' ', ''), '.', ''))";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Verse> findPassages(List<PassageReference> references, String translation) {
+        if (references.isEmpty()) {
+            return List.of();
+        }
+        // One query for the whole request: each passage becomes one OR'ed range predicate
+        StringBuilder jpql = new StringBuilder(
+                "SELECT v FROM Verse v JOIN FETCH v.chapter c JOIN FETCH c.book b WHERE (");
+        for (int i = 0; i < references.size(); i++) {
+            PassageReference reference = references.get(i);
+            if (i > 0) {
+                jpql.append(" OR ");
+            }
+            jpql.append("((").append(BOOK_KEY.formatted("b.name")).append(" = :book").append(i)
+                    .append(" OR ").append(BOOK_KEY.formatted("b.abbreviation")).append(" = :book").append(i).append(")")
+                    .append(" AND (c.number > :startChapter").append(i)
+                    .append(" OR (c.number = :startChapter").append(i);
+            if (reference.startVerse() != null) {
+                jpql.append(" AND v.number >= :startVerse").append(i);
+            }
+            jpql.append(")) AND (c.number < :endChapter").append(i)
+                    .append(" OR (c.number = :endChapter").append(i);
+            if (reference.endVerse() != null) {
+                jpql.append(" AND v.number <= :endVerse").append(i);
+            }
+            jpql.append(")))");
+        }
+        jpql.append(")");
+        if (translation != null) {
+            jpql.append(" AND b.bible.abbreviation = :translation");
+        }
+        jpql.append(" ORDER BY b.bible.id, b.position, c.number, v.number");
+
+        TypedQuery<Verse> query = entityManager.createQuery(jpql.toString(), Verse.class);
+        for (int i = 0; i < references.size(); i++) {
+            PassageReference reference = references.get(i);
+            query.setParameter("book" + i, reference.bookKey());
+            query.setParameter("startChapter" + i, reference.startChapter());
+            query.setParameter("endChapter" + i, reference.endChapter());
+            if (reference.startVerse() != null) {
+                query.setParameter("startVerse" + i, reference.startVerse());
+            }
+            if (reference.endVerse() != null) {
+                query.setParameter("endVerse" + i, reference.endVerse());
+            }
+        }
+        if (translation != null) {
+            query.setParameter("translation", translation);
+        }
+        return query.getResultList();
+    }
+}
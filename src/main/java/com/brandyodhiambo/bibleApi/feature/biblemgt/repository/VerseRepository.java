@@ -2,6 +2,7 @@ package com.brandyodhiambo.bibleApi.feature.biblemgt.repository;
 
 import com.brandyodhiambo.bibleApi.feature.biblemgt.models.Chapter;
 import com.brandyodhiambo.bibleApi.feature.biblemgt.models.Verse;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -11,9 +12,13 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface VerseRepository extends JpaRepository<Verse, Long> {
+public interface VerseRepository extends JpaRepository<Verse, Long>, VerseSearchRepository, VersePassageRepository {
     List<Verse> findByChapter(Chapter chapter);
     List<Verse> findByChapterId(Long chapterId);
+
+    // Whole-chapter read: verses, chapter and book in a single statement
+    @EntityGraph(attributePaths = {"chapter", "chapter.book"})
+    List<Verse> findAllByChapterIdOrderByNumberAsc(Long chapterId);
     Optional<Verse> findByChapterAndNumber(Chapter chapter, Integer number);
     Optional<Verse> findByChapterIdAndNumber(Long chapterId, Integer number);
     
@@ -22,4 +27,7 @@ public interface VerseRepository extends JpaRepository<Verse, Long> {
     
     @Query("SELECT v FROM Verse v JOIN v.chapter c JOIN c.book b WHERE b.name = :bookName AND c.number = :chapterNumber AND v.number = :verseNumber")
     Optional<Verse> findByReference(@Param("bookName") String bookName, @Param("chapterNumber") Integer chapterNumber, @Param("verseNumber") Integer verseNumber);
+
+    @Query("SELECT v FROM Verse v JOIN v.chapter c JOIN c.book b WHERE b.bible.id = :bibleId ORDER BY b.position ASC, c.number ASC, v.number ASC")
+    List<Verse> findByBibleIdOrdered(@Param("bibleId") Long bibleId);
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.brandyodhiambo.bibleApi.feature.biblemgt.repository;
+
+import com.brandyodhiambo.bibleApi.feature.biblemgt.models.Verse;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Keyword search over verses, answered by whichever search engine is active.
+ */
+public interface VerseSearchRepository {
+
+    /**
+     * Page of verses matching the keyword, with chapter and book already fetched.
+     *
+     * @param translation bible abbreviation to restrict the search to, or {@code null} for every translation
+     */
+    Page<Verse> searchByKeyword(String keyword, String translation, Pageable pageable);
+}
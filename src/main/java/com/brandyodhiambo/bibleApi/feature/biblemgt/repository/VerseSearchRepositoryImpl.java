@@ -0,0 +1,104 @@
+package com.brandyodhiambo.bibleApi.feature.biblemgt.repository;
+
+import com.brandyodhiambo.bibleApi.feature.biblemgt.models.Verse;
+import com.brandyodhiambo.bibleApi.search.SearchEngineSelector;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class VerseSearchRepositoryImpl implements VerseSearchRepository {
+
+    private static final String FULL_TEXT_FROM =
+            " FROM verses v JOIN chapters c ON c.id = v.chapter_id JOIN books b ON b.id = c.book_id" +
+            " JOIN bibles bi ON bi.id = b.bible_id" +
+            " WHERE v.search_vector @@ websearch_to_tsquery('simple', :keyword)";
+
+    private static final String LIKE_FROM =
+            " FROM Verse v JOIN v.chapter c JOIN c.book b WHERE v.text LIKE CONCAT('%', :keyword, '%')";
+
+    private final SearchEngineSelector searchEngine;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<Verse> searchByKeyword(String keyword, String translation, Pageable pageable) {
+        return searchEngine.useDatabaseFullText()
+                ? fullTextSearch(keyword, translation, pageable)
+                : likeSearch(keyword, translation, pageable);
+    }
+
+    private Page<Verse> fullTextSearch(String keyword, String translation, Pageable pageable) {
+        String filter = translation == null ? "" : " AND bi.abbreviation = :translation";
+        Query ids = entityManager.createNativeQuery("SELECT v.id" + FULL_TEXT_FROM + filter +
+                " ORDER BY ts_rank(v.search_vector, websearch_to_tsquery('simple', :keyword)) DESC, v.id");
+        Query count = entityManager.createNativeQuery("SELECT COUNT(*)" + FULL_TEXT_FROM + filter);
+        bind(ids, keyword, translation);
+        bind(count, keyword, translation);
+        page(ids, pageable);
+
+        List<Long> rankedIds = new ArrayList<>();
+        for (Object id : ids.getResultList()) {
+            rankedIds.add(((Number) id).longValue());
+        }
+        long total = ((Number) count.getSingleResult()).longValue();
+        if (rankedIds.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, total);
+        }
+
+        // Load the page with its chapter and book in one query, then restore the rank order
+        Map<Long, Verse> byId = new HashMap<>();
+        for (Verse verse : entityManager.createQuery(
+                        "SELECT v FROM Verse v JOIN FETCH v.chapter c JOIN FETCH c.book WHERE v.id IN :ids", Verse.class)
+                .setParameter("ids", rankedIds)
+                .getResultList()) {
+            byId.put(verse.getId(), verse);
+        }
+        List<Verse> verses = new ArrayList<>(rankedIds.size());
+        for (Long id : rankedIds) {
+            Verse verse = byId.get(id);
+            if (verse != null) {
+                verses.add(verse);
+            }
+        }
+        return new PageImpl<>(verses, pageable, total);
+    }
+
+    private Page<Verse> likeSearch(String keyword, String translation, Pageable pageable) {
+        String filter = translation == null ? "" : " AND b.bible.abbreviation = :translation";
+        TypedQuery<Verse> verses = entityManager.createQuery(
+                "SELECT v FROM Verse v JOIN FETCH v.chapter c JOIN FETCH c.book b" +
+                " WHERE v.text LIKE CONCAT('%', :keyword, '%')" + filter +
+                " ORDER BY b.position, c.number, v.number", Verse.class);
+        TypedQuery<Long> count = entityManager.createQuery("SELECT COUNT(v)" + LIKE_FROM + filter, Long.class);
+        bind(verses, keyword, translation);
+        bind(count, keyword, translation);
+        page(verses, pageable);
+        return new PageImpl<>(verses.getResultList(), pageable, count.getSingleResult());
+    }
+
+    private static void bind(Query query, String keyword, String translation) {
+        query.setParameter("keyword", keyword);
+        if (translation != null) {
+            query.setParameter("translation", translation);
+        }
+    }
+
+    private static void page(Query query, Pageable pageable) {
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+    }
+}
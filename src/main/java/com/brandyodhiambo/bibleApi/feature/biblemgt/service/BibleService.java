@@ -3,7 +3,11 @@ package com.brandyodhiambo.bibleApi.feature.biblemgt.service;
 import com.brandyodhiambo.bibleApi.feature.biblemgt.models.dto.BibleResponse;
 import com.brandyodhiambo.bibleApi.feature.biblemgt.models.dto.BookResponse;
 import com.brandyodhiambo.bibleApi.feature.biblemgt.models.dto.ChapterResponse;
+import com.brandyodhiambo.bibleApi.feature.biblemgt.models.dto.PassageRequest;
+import com.brandyodhiambo.bibleApi.feature.biblemgt.models.dto.PassageResponse;
 import com.brandyodhiambo.bibleApi.feature.biblemgt.models.dto.VerseResponse;
+import com.brandyodhiambo.bibleApi.util.ApiResponse;
+import org.springframework.data.domain.Page;
 
 import java.util.List;
 
@@ -27,10 +31,16 @@ public interface BibleService {
     
     // Verse operations
     List<VerseResponse> getAllVerses(Long chapterId);
+    String getChapterETag(Long chapterId);
     VerseResponse getVerseById(Long id);
     VerseResponse getVerseByNumber(Long chapterId, Integer number);
     VerseResponse getVerseByReference(String bookName, Integer chapterNumber, Integer verseNumber);
+    List<PassageResponse> getPassages(PassageRequest request);
     
     // Search operations
     List<VerseResponse> searchVersesByKeyword(String keyword);
+    Page<VerseResponse> searchVersesByKeyword(String keyword, String translation, int page, int size);
+
+    // Corpus operations
+    ApiResponse reloadCorpus();
 }
\ No newline at end of file
@@ -1,5 +1,8 @@
 package com.brandyodhiambo.bibleApi.feature.biblemgt.service;
 
+import com.brandyodhiambo.bibleApi.feature.biblemgt.corpus.BibleCorpus;
+import com.brandyodhiambo.bibleApi.feature.biblemgt.corpus.BibleCorpusLoader;
+import com.brandyodhiambo.bibleApi.feature.biblemgt.corpus.VerseQuery;
 import com.brandyodhiambo.bibleApi.feature.biblemgt.models.Bible;
 import com.brandyodhiambo.bibleApi.feature.biblemgt.models.Book;
 import com.brandyodhiambo.bibleApi.feature.biblemgt.models.Chapter;
@@ -7,15 +10,27 @@ import com.brandyodhiambo.bibleApi.feature.biblemgt.models.Verse;
 import com.brandyodhiambo.bibleApi.feature.biblemgt.models.dto.BibleResponse;
 import com.brandyodhiambo.bibleApi.feature.biblemgt.models.dto.BookResponse;
 import com.brandyodhiambo.bibleApi.feature.biblemgt.models.dto.ChapterResponse;
+import com.brandyodhiambo.bibleApi.feature.biblemgt.models.dto.PassageRequest;
+import com.brandyodhiambo.bibleApi.feature.biblemgt.models.dto.PassageResponse;
 import com.brandyodhiambo.bibleApi.feature.biblemgt.models.dto.VerseResponse;
+import com.brandyodhiambo.bibleApi.feature.biblemgt.reference.PassageReference;
+import com.brandyodhiambo.bibleApi.feature.biblemgt.reference.PassageReferenceParser;
 import com.brandyodhiambo.bibleApi.feature.biblemgt.repository.BibleRepository;
 import com.brandyodhiambo.bibleApi.feature.biblemgt.repository.BookRepository;
 import com.brandyodhiambo.bibleApi.feature.biblemgt.repository.ChapterRepository;
 import com.brandyodhiambo.bibleApi.feature.biblemgt.repository.VerseRepository;
+import com.brandyodhiambo.bibleApi.exception.BadRequestException;
+import com.brandyodhiambo.bibleApi.search.SearchEngineSelector;
+import com.brandyodhiambo.bibleApi.util.ApiResponse;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -23,10 +38,15 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class BibleServiceImpl implements BibleService {
 
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+    private static final int MAX_PASSAGES = 50;
+
     private final BibleRepository bibleRepository;
     private final BookRepository bookRepository;
     private final ChapterRepository chapterRepository;
     private final VerseRepository verseRepository;
+    private final BibleCorpusLoader corpusLoader;
+    private final SearchEngineSelector searchEngine;
 
     @Override
     public List<BibleResponse> getAllBibles() {
@@ -92,6 +112,14 @@ public class BibleServiceImpl implements BibleService {
 
     @Override
     public List<ChapterResponse> getAllChapters(Long bookId) {
+        BibleCorpus corpus = corpusLoader.current();
+        if (corpus != null) {
+            List<ChapterResponse> chapters = corpus.chaptersOfBook(bookId);
+            if (chapters == null) {
+                throw new EntityNotFoundException("Book not found with id: " + bookId);
+            }
+            return chapters;
+        }
         Book book = bookRepository.findById(bookId)
                 .orElseThrow(() -> new EntityNotFoundException("Book not found with id: " + bookId));
         return chapterRepository.findByBook(book).stream()
@@ -101,6 +129,14 @@ public class BibleServiceImpl implements BibleService {
 
     @Override
     public ChapterResponse getChapterById(Long id) {
+        BibleCorpus corpus = corpusLoader.current();
+        if (corpus != null) {
+            ChapterResponse chapter = corpus.chapterById(id);
+            if (chapter == null) {
+                throw new EntityNotFoundException("Chapter not found with id: " + id);
+            }
+            return chapter;
+        }
         Chapter chapter = chapterRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Chapter not found with id: " + id));
         return mapToChapterResponse(chapter);
@@ -108,6 +144,17 @@ public class BibleServiceImpl implements BibleService {
 
     @Override
     public ChapterResponse getChapterByNumber(Long bookId, Integer number) {
+        BibleCorpus corpus = corpusLoader.current();
+        if (corpus != null) {
+            if (!corpus.containsBook(bookId)) {
+                throw new EntityNotFoundException("Book not found with id: " + bookId);
+            }
+            ChapterResponse chapter = corpus.chapterByNumber(bookId, number);
+            if (chapter == null) {
+                throw new EntityNotFoundException("Chapter not found with number: " + number);
+            }
+            return chapter;
+        }
         Book book = bookRepository.findById(bookId)
                 .orElseThrow(() -> new EntityNotFoundException("Book not found with id: " + bookId));
         Chapter chapter = chapterRepository.findByBookAndNumber(book, number)
@@ -117,15 +164,41 @@ public class BibleServiceImpl implements BibleService {
 
     @Override
     public List<VerseResponse> getAllVerses(Long chapterId) {
-        Chapter chapter = chapterRepository.findById(chapterId)
-                .orElseThrow(() -> new EntityNotFoundException("Chapter not found with id: " + chapterId));
-        return verseRepository.findByChapter(chapter).stream()
+        BibleCorpus corpus = corpusLoader.current();
+        if (corpus != null) {
+            List<VerseResponse> verses = corpus.versesOfChapter(chapterId);
+            if (verses == null) {
+                throw new EntityNotFoundException("Chapter not found with id: " + chapterId);
+            }
+            return verses;
+        }
+        // Verses come with their chapter and book already joined, so mapping issues no further selects
+        List<Verse> verses = verseRepository.findAllByChapterIdOrderByNumberAsc(chapterId);
+        if (verses.isEmpty() && !chapterRepository.existsById(chapterId)) {
+            throw new EntityNotFoundException("Chapter not found with id: " + chapterId);
+        }
+        return verses.stream()
                 .map(this::mapToVerseResponse)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public String getChapterETag(Long chapterId) {
+        // Only answerable without the database when the corpus is loaded
+        BibleCorpus corpus = corpusLoader.current();
+        return corpus == null ? null : corpus.chapterETag(chapterId);
+    }
+
     @Override
     public VerseResponse getVerseById(Long id) {
+        BibleCorpus corpus = corpusLoader.current();
+        if (corpus != null) {
+            VerseResponse verse = corpus.verseById(id);
+            if (verse == null) {
+                throw new EntityNotFoundException("Verse not found with id: " + id);
+            }
+            return verse;
+        }
         Verse verse = verseRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Verse not found with id: " + id));
         return mapToVerseResponse(verse);
@@ -133,6 +206,17 @@ public class BibleServiceImpl implements BibleService {
 
     @Override
     public VerseResponse getVerseByNumber(Long chapterId, Integer number) {
+        BibleCorpus corpus = corpusLoader.current();
+        if (corpus != null) {
+            if (!corpus.containsChapter(chapterId)) {
+                throw new EntityNotFoundException("Chapter not found with id: " + chapterId);
+            }
+            VerseResponse verse = corpus.verseByNumber(chapterId, number);
+            if (verse == null) {
+                throw new EntityNotFoundException("Verse not found with number: " + number);
+            }
+            return verse;
+        }
         Chapter chapter = chapterRepository.findById(chapterId)
                 .orElseThrow(() -> new EntityNotFoundException("Chapter not found with id: " + chapterId));
         Verse verse = verseRepository.findByChapterAndNumber(chapter, number)
@@ -142,6 +226,14 @@ public class BibleServiceImpl implements BibleService {
 
     @Override
     public VerseResponse getVerseByReference(String bookName, Integer chapterNumber, Integer verseNumber) {
+        BibleCorpus corpus = corpusLoader.current();
+        if (corpus != null) {
+            VerseResponse verse = corpus.verseByReference(bookName, chapterNumber, verseNumber);
+            if (verse == null) {
+                throw new EntityNotFoundException("Verse not found with reference: " + bookName + " " + chapterNumber + ":" + verseNumber);
+            }
+            return verse;
+        }
         Verse verse = verseRepository.findByReference(bookName, chapterNumber, verseNumber)
                 .orElseThrow(() -> new EntityNotFoundException("Verse not found with reference: " + bookName + " " + chapterNumber + ":" + verseNumber));
         return mapToVerseResponse(verse);
@@ -149,11 +241,111 @@ public class BibleServiceImpl implements BibleService {
 
     @Override
     public List<VerseResponse> searchVersesByKeyword(String keyword) {
+        if (searchEngine.useDatabaseFullText()) {
+            return verseRepository.searchByKeyword(keyword, null, Pageable.unpaged()).stream()
+                    .map(this::mapToVerseResponse)
+                    .collect(Collectors.toList());
+        }
+        BibleCorpus corpus = corpusLoader.current();
+        if (corpus != null) {
+            return corpus.searchVerses(VerseQuery.parse(keyword), null, 0, Integer.MAX_VALUE).verses();
+        }
         return verseRepository.searchByKeyword(keyword).stream()
                 .map(this::mapToVerseResponse)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public Page<VerseResponse> searchVersesByKeyword(String keyword, String translation, int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_SEARCH_PAGE_SIZE) {
+            throw new BadRequestException(new ApiResponse(Boolean.FALSE,
+                    "Page must not be negative and size must be between 1 and " + MAX_SEARCH_PAGE_SIZE));
+        }
+        Pageable pageable = PageRequest.of(page, size);
+        String abbreviation = translation == null || translation.isBlank() ? null : translation;
+
+        BibleCorpus corpus = searchEngine.useDatabaseFullText() ? null : corpusLoader.current();
+        if (corpus != null) {
+            BibleCorpus.Translation scope = null;
+            if (abbreviation != null) {
+                scope = corpus.translationByAbbreviation(abbreviation);
+                if (scope == null) {
+                    throw new EntityNotFoundException("Bible not found with abbreviation: " + abbreviation);
+                }
+            }
+            int offset = (int) Math.min(pageable.getOffset(), Integer.MAX_VALUE);
+            BibleCorpus.SearchResult result = corpus.searchVerses(VerseQuery.parse(keyword), scope, offset, size);
+            return new PageImpl<>(result.verses(), pageable, result.totalHits());
+        }
+        return verseRepository.searchByKeyword(keyword, abbreviation, pageable)
+                .map(this::mapToVerseResponse);
+    }
+
+    @Override
+    public List<PassageResponse> getPassages(PassageRequest request) {
+        List<PassageReference> references = new ArrayList<>();
+        for (String text : request.getReferences()) {
+            references.addAll(PassageReferenceParser.parse(text));
+        }
+        if (references.size() > MAX_PASSAGES) {
+            throw new BadRequestException(new ApiResponse(Boolean.FALSE,
+                    "At most " + MAX_PASSAGES + " passages can be resolved at once"));
+        }
+        String translation = request.getTranslation();
+        String abbreviation = translation == null || translation.isBlank() ? null : translation;
+
+        List<PassageResponse> passages = new ArrayList<>(references.size());
+        BibleCorpus corpus = corpusLoader.current();
+        if (corpus != null) {
+            BibleCorpus.Translation scope = null;
+            if (abbreviation != null) {
+                scope = corpus.translationByAbbreviation(abbreviation);
+                if (scope == null) {
+                    throw new EntityNotFoundException("Bible not found with abbreviation: " + abbreviation);
+                }
+            }
+            for (PassageReference reference : references) {
+                List<VerseResponse> verses = corpus.passage(reference, scope);
+                passages.add(mapToPassageResponse(reference, verses == null ? List.of() : verses));
+            }
+            return passages;
+        }
+
+        // Without the corpus every passage is loaded by a single query and split up here
+        List<Verse> verses = verseRepository.findPassages(references, abbreviation);
+        for (PassageReference reference : references) {
+            Long bibleId = null;
+            List<VerseResponse> matched = new ArrayList<>();
+            for (Verse verse : verses) {
+                Book book = verse.getChapter().getBook();
+                if (!matchesBook(book, reference)
+                        || !reference.contains(verse.getChapter().getNumber(), verse.getNumber())) {
+                    continue;
+                }
+                // Verses come ordered by bible id, so the first translation with the passage wins
+                if (bibleId == null) {
+                    bibleId = book.getBible().getId();
+                }
+                if (bibleId.equals(book.getBible().getId())) {
+                    matched.add(mapToVerseResponse(verse));
+                }
+            }
+            passages.add(mapToPassageResponse(reference, matched));
+        }
+        return passages;
+    }
+
+    @Override
+    public ApiResponse reloadCorpus() {
+        if (!corpusLoader.isEnabled()) {
+            throw new BadRequestException(new ApiResponse(Boolean.FALSE,
+                    "The in-memory Bible corpus is disabled, reads go to the database"));
+        }
+        BibleCorpus corpus = corpusLoader.reload();
+        return new ApiResponse(Boolean.TRUE, "Bible corpus reloaded with " + corpus.translationCount()
+                + " translations and " + corpus.verseCount() + " verses");
+    }
+
     private BibleResponse mapToBibleResponse(Bible bible) {
         return BibleResponse.builder()
                 .id(bible.getId())
@@ -188,6 +380,23 @@ public class BibleServiceImpl implements BibleService {
                 .build();
     }
 
+    private static boolean matchesBook(Book book, PassageReference reference) {
+        String key = reference.bookKey();
+        return key.equals(PassageReference.bookKey(book.getName()))
+                || (book.getAbbreviation() != null && key.equals(PassageReference.bookKey(book.getAbbreviation())));
+    }
+
+    private PassageResponse mapToPassageResponse(PassageReference reference, List<VerseResponse> verses) {
+        String bookName = verses.isEmpty() ? reference.book() : verses.get(0).getBookName();
+        PassageReference resolved = new PassageReference(bookName, reference.startChapter(), reference.startVerse(),
+                reference.endChapter(), reference.endVerse());
+        return PassageResponse.builder()
+                .reference(resolved.toString())
+                .bookName(bookName)
+                .verses(verses)
+                .build();
+    }
+
     private VerseResponse mapToVerseResponse(Verse verse) {
         return VerseResponse.builder()
                 .id(verse.getId())
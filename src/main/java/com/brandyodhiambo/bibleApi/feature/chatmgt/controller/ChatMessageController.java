@@ -1,14 +1,21 @@
 package com.brandyodhiambo.bibleApi.feature.chatmgt.controller;
 
 import com.brandyodhiambo.bibleApi.feature.chatmgt.models.dto.ChatMessageResponse;
+import com.brandyodhiambo.bibleApi.feature.chatmgt.service.ChatMessageBroker;
 import com.brandyodhiambo.bibleApi.feature.chatmgt.service.ChatMessageService;
+import com.brandyodhiambo.bibleApi.util.CursorPage;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.util.Map;
 
 @RestController
@@ -18,6 +25,9 @@ public class ChatMessageController {
 
     private final ChatMessageService chatMessageService;
 
+    @Value("${chat.stream.timeout:30m}")
+    private Duration streamTimeout;
+
     @PostMapping("/groups/{groupId}/messages")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<ChatMessageResponse> sendMessage(
@@ -33,11 +43,37 @@ public class ChatMessageController {
 
     @GetMapping("/groups/{groupId}/messages")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<List<ChatMessageResponse>> getGroupMessages(@PathVariable Long groupId) {
-        List<ChatMessageResponse> messages = chatMessageService.getGroupMessages(groupId);
+    public ResponseEntity<CursorPage<ChatMessageResponse>> getGroupMessages(
+            @PathVariable Long groupId,
+            @RequestParam(required = false) String before,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "50") int size) {
+        CursorPage<ChatMessageResponse> messages = chatMessageService.getGroupMessages(groupId, before, after, size);
         return ResponseEntity.ok(messages);
     }
 
+    /**
+     * Server-sent event stream of new messages in the group. Each event carries the message cursor as its
+     * id, so a reconnecting client can fetch what it missed with {@code ?after=<Last-Event-ID>}.
+     */
+    @GetMapping(value = "/groups/{groupId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("isAuthenticated()")
+    public SseEmitter streamGroupMessages(@PathVariable Long groupId) {
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        ChatMessageBroker.Subscription subscription = chatMessageService.subscribe(groupId, message -> {
+            try {
+                emitter.send(SseEmitter.event().id(message.getCursor()).name("message").data(message));
+            } catch (IOException e) {
+                // The client went away; failing the delivery cancels the subscription
+                throw new UncheckedIOException(e);
+            }
+        });
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        emitter.onError(error -> subscription.cancel());
+        return emitter;
+    }
+
     @GetMapping("/messages/{messageId}")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<ChatMessageResponse> getMessage(@PathVariable Long messageId) {
@@ -17,10 +17,18 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Table(name = "chat_messages")
+// Backs the (created_at, id) seek over a group's history, newest first or oldest first
+@Table(name = "chat_messages",
+        indexes = @Index(name = "idx_chat_messages_group_created_id", columnList = "group_id, created_at, id"))
 public class ChatMessage {
+    // Ids come from a sequence in blocks, so inserts can be batched and the write-behind writer can hand out
+    // ids before the row exists (both use the pooled-lo optimizer on the same sequence)
+    public static final String ID_SEQUENCE = "chat_messages_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(columnDefinition = "TEXT", nullable = false)
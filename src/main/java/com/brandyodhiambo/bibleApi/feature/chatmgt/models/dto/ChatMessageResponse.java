@@ -19,4 +19,6 @@ public class ChatMessageResponse {
     private Long senderId;
     private String senderUsername;
     private LocalDateTime createdAt;
+    // Opaque position of this message, usable as the before or after cursor of the history
+    private String cursor;
 }
\ No newline at end of file
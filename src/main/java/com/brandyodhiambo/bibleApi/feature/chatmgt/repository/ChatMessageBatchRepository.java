@@ -0,0 +1,88 @@
+package com.brandyodhiambo.bibleApi.feature.chatmgt.repository;
+
+import com.brandyodhiambo.bibleApi.feature.chatmgt.models.ChatMessage;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Repository;
+
+import java.sql.DatabaseMetaData;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Plain JDBC access for the chat write-behind path: id blocks from {@link ChatMessage#ID_SEQUENCE} and
+ * multi-row batch inserts, without going through the persistence context.
+ * <p>
+ * Chat messages used IDENTITY ids before, so on startup the sequence is moved past the highest existing id
+ * if it is behind.
+ */
+@Repository
+@DependsOn("entityManagerFactory")
+public class ChatMessageBatchRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChatMessageBatchRepository.class);
+
+    private static final String INSERT = "INSERT INTO chat_messages (id, content, group_id, sender_id, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String nextValue;
+
+    public ChatMessageBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.nextValue = isPostgres(jdbcTemplate)
+                ? "SELECT nextval('" + ChatMessage.ID_SEQUENCE + "')"
+                : "SELECT NEXT VALUE FOR " + ChatMessage.ID_SEQUENCE;
+    }
+
+    @PostConstruct
+    void alignSequence() {
+        long next = nextIdBlock();
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM chat_messages", Long.class);
+        if (maxId != null && next <= maxId) {
+            jdbcTemplate.execute("ALTER SEQUENCE " + ChatMessage.ID_SEQUENCE + " RESTART WITH " + (maxId + 1));
+            logger.info("Moved {} past the existing chat message ids to {}", ChatMessage.ID_SEQUENCE, maxId + 1);
+        }
+    }
+
+    /**
+     * First id of a fresh block of {@link ChatMessage#ID_ALLOCATION_SIZE} ids (pooled-lo semantics).
+     */
+    public long nextIdBlock() {
+        Long value = jdbcTemplate.queryForObject(nextValue, Long.class);
+        if (value == null) {
+            throw new IllegalStateException("Sequence " + ChatMessage.ID_SEQUENCE + " returned no value");
+        }
+        return value;
+    }
+
+    /**
+     * Inserts the messages, which must already carry their ids and timestamps, in JDBC batches.
+     */
+    public void insertAll(List<ChatMessage> messages) {
+        jdbcTemplate.batchUpdate(INSERT, messages, messages.size(), (statement, message) -> {
+            statement.setLong(1, message.getId());
+            statement.setString(2, message.getContent());
+            statement.setLong(3, message.getGroup().getId());
+            statement.setLong(4, message.getSender().getId());
+            statement.setTimestamp(5, Timestamp.valueOf(message.getCreatedAt()));
+            statement.setTimestamp(6, Timestamp.valueOf(message.getUpdatedAt()));
+        });
+    }
+
+    private static boolean isPostgres(JdbcTemplate jdbcTemplate) {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(),
+                    DatabaseMetaData::getDatabaseProductName);
+            return "PostgreSQL".equalsIgnoreCase(product);
+        } catch (MetaDataAccessException e) {
+            logger.warn("Could not determine the database, using standard sequence syntax", e);
+            return false;
+        }
+    }
+}
@@ -2,13 +2,35 @@ package com.brandyodhiambo.bibleApi.feature.chatmgt.repository;
 
 import com.brandyodhiambo.bibleApi.feature.chatmgt.models.ChatMessage;
 import com.brandyodhiambo.bibleApi.feature.groupmgt.models.Group;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long> {
     List<ChatMessage> findByGroupOrderByCreatedAtDesc(Group group);
     List<ChatMessage> findByGroupIdOrderByCreatedAtDesc(Long groupId);
-}
\ No newline at end of file
+
+    // Keyset pages over idx_chat_messages_group_created_id; the sender is fetched in the same statement
+
+    @Query("SELECT m FROM ChatMessage m JOIN FETCH m.sender WHERE m.group.id = :groupId "
+            + "ORDER BY m.createdAt DESC, m.id DESC")
+    List<ChatMessage> findLatest(@Param("groupId") Long groupId, Limit limit);
+
+    @Query("SELECT m FROM ChatMessage m JOIN FETCH m.sender WHERE m.group.id = :groupId "
+            + "AND (m.createdAt < :createdAt OR (m.createdAt = :createdAt AND m.id < :id)) "
+            + "ORDER BY m.createdAt DESC, m.id DESC")
+    List<ChatMessage> findBefore(@Param("groupId") Long groupId, @Param("createdAt") LocalDateTime createdAt,
+                                 @Param("id") long id, Limit limit);
+
+    @Query("SELECT m FROM ChatMessage m JOIN FETCH m.sender WHERE m.group.id = :groupId "
+            + "AND (m.createdAt > :createdAt OR (m.createdAt = :createdAt AND m.id > :id)) "
+            + "ORDER BY m.createdAt ASC, m.id ASC")
+    List<ChatMessage> findAfter(@Param("groupId") Long groupId, @Param("createdAt") LocalDateTime createdAt,
+                                @Param("id") long id, Limit limit);
+}
@@ -0,0 +1,192 @@
+package com.brandyodhiambo.bibleApi.feature.chatmgt.service;
+
+import com.brandyodhiambo.bibleApi.feature.chatmgt.models.dto.ChatMessageResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * In-process publish/subscribe for group chat with fan-out to the other instances over Redis pub/sub.
+ * <p>
+ * Subscribers register per group; membership is checked by the caller once, when subscribing, not for every
+ * message. A published message is handed to the local subscribers of its group and relayed on the Redis
+ * channel as {@code node<TAB>json}. Every instance delivers relayed messages to its own subscribers and
+ * ignores the ones it sent itself. Delivery runs on a small set of single-threaded lanes chosen by group id,
+ * so messages of one group arrive in order and a slow subscriber never holds up the sender.
+ * <p>
+ * Reported meters: {@code chat.stream.subscribers} and {@code chat.stream.deliveries} (tagged
+ * {@code result=ok|failed}).
+ */
+@Component
+public class ChatMessageBroker implements MessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChatMessageBroker.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final String channel;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final ConcurrentMap<Long, Set<Subscription>> subscriptions = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ExecutorService[] lanes;
+    private final Counter delivered;
+    private final Counter failed;
+
+    public ChatMessageBroker(StringRedisTemplate redisTemplate, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                             @Value("${chat.broker.channel:chat:messages}") String channel,
+                             @Value("${chat.broker.delivery-threads:4}") int deliveryThreads) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.channel = channel;
+        this.lanes = new ExecutorService[Math.max(1, deliveryThreads)];
+        for (int i = 0; i < lanes.length; i++) {
+            int lane = i;
+            lanes[i] = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "chat-delivery-" + lane);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        Gauge.builder("chat.stream.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open chat subscriptions on this instance")
+                .register(meterRegistry);
+        this.delivered = Counter.builder("chat.stream.deliveries").tag("result", "ok").register(meterRegistry);
+        this.failed = Counter.builder("chat.stream.deliveries").tag("result", "failed").register(meterRegistry);
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    /**
+     * Registers a listener for new messages of a group. The listener is called on a delivery thread; if it
+     * throws, the subscription is cancelled.
+     */
+    public Subscription subscribe(Long groupId, Consumer<ChatMessageResponse> listener) {
+        Subscription subscription = new Subscription(groupId, listener);
+        subscriptions.compute(groupId, (id, subscribers) -> {
+            Set<Subscription> group = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+            group.add(subscription);
+            return group;
+        });
+        subscriberCount.incrementAndGet();
+        return subscription;
+    }
+
+    /**
+     * Delivers a message to the subscribers on this instance and relays it to the other instances.
+     */
+    public void publish(ChatMessageResponse message) {
+        deliverLocally(message);
+        try {
+            String payload = nodeId + "\t" + objectMapper.writeValueAsString(message);
+            redisTemplate.convertAndSend(channel, payload);
+        } catch (JsonProcessingException | RuntimeException e) {
+            // Subscribers on other instances miss the push and catch up through the history endpoint
+            logger.warn("Could not relay chat message {} of group {}", message.getId(), message.getGroupId(), e);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int tab = body.indexOf('\t');
+        if (tab < 0 || nodeId.equals(body.substring(0, tab))) {
+            return;
+        }
+        try {
+            deliverLocally(objectMapper.readValue(body.substring(tab + 1), ChatMessageResponse.class));
+        } catch (JsonProcessingException e) {
+            logger.warn("Ignoring malformed chat relay message", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ExecutorService lane : lanes) {
+            lane.shutdown();
+        }
+    }
+
+    private void deliverLocally(ChatMessageResponse message) {
+        Set<Subscription> subscribers = subscriptions.get(message.getGroupId());
+        if (subscribers == null || subscribers.isEmpty()) {
+            return;
+        }
+        lanes[Math.floorMod(message.getGroupId().hashCode(), lanes.length)].execute(() -> {
+            for (Subscription subscription : subscribers) {
+                subscription.deliver(message);
+            }
+        });
+    }
+
+    public final class Subscription {
+
+        private final Long groupId;
+        private final Consumer<ChatMessageResponse> listener;
+        private final AtomicBoolean active = new AtomicBoolean(true);
+
+        private Subscription(Long groupId, Consumer<ChatMessageResponse> listener) {
+            this.groupId = groupId;
+            this.listener = listener;
+        }
+
+        public Long getGroupId() {
+            return groupId;
+        }
+
+        public boolean isActive() {
+            return active.get();
+        }
+
+        public void cancel() {
+            if (!active.compareAndSet(true, false)) {
+                return;
+            }
+            subscriberCount.decrementAndGet();
+            subscriptions.computeIfPresent(groupId, (id, subscribers) -> {
+                subscribers.remove(this);
+                return subscribers.isEmpty() ? null : subscribers;
+            });
+        }
+
+        private void deliver(ChatMessageResponse message) {
+            if (!active.get()) {
+                return;
+            }
+            try {
+                listener.accept(message);
+                delivered.increment();
+            } catch (RuntimeException e) {
+                failed.increment();
+                logger.debug("Dropping chat subscription for group {}", groupId, e);
+                cancel();
+            }
+        }
+    }
+}
@@ -2,12 +2,24 @@ package com.brandyodhiambo.bibleApi.feature.chatmgt.service;
 
 import com.brandyodhiambo.bibleApi.feature.chatmgt.models.ChatMessage;
 import com.brandyodhiambo.bibleApi.feature.chatmgt.models.dto.ChatMessageResponse;
+import com.brandyodhiambo.bibleApi.util.CursorPage;
 
-import java.util.List;
+import java.util.function.Consumer;
 
 public interface ChatMessageService {
     ChatMessageResponse sendMessage(Long groupId, String content);
-    List<ChatMessageResponse> getGroupMessages(Long groupId);
+    /**
+     * One page of a group's history. Without a cursor, or with {@code before}, messages come newest first and
+     * {@code nextCursor} continues into older ones; with {@code after} they come oldest first from that
+     * position, for catching up on new messages.
+     */
+    CursorPage<ChatMessageResponse> getGroupMessages(Long groupId, String before, String after, int size);
     ChatMessageResponse getMessage(Long messageId);
+
+    /**
+     * Pushes every new message of the group to the listener until the subscription is cancelled. Membership
+     * is checked here, once, rather than for each delivered message.
+     */
+    ChatMessageBroker.Subscription subscribe(Long groupId, Consumer<ChatMessageResponse> listener);
     void deleteMessage(Long messageId);
 }
\ No newline at end of file
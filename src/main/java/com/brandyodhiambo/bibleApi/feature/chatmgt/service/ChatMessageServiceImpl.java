@@ -1,26 +1,41 @@
 package com.brandyodhiambo.bibleApi.feature.chatmgt.service;
 
+import com.brandyodhiambo.bibleApi.exception.BadRequestException;
+import com.brandyodhiambo.bibleApi.feature.analyticsmgt.events.ParticipationEvent;
+import com.brandyodhiambo.bibleApi.feature.analyticsmgt.events.ParticipationEventQueue;
 import com.brandyodhiambo.bibleApi.feature.chatmgt.models.ChatMessage;
 import com.brandyodhiambo.bibleApi.feature.chatmgt.models.dto.ChatMessageResponse;
 import com.brandyodhiambo.bibleApi.feature.chatmgt.repository.ChatMessageRepository;
 import com.brandyodhiambo.bibleApi.feature.groupmgt.models.Group;
 import com.brandyodhiambo.bibleApi.feature.groupmgt.repository.GroupRepository;
+import com.brandyodhiambo.bibleApi.feature.groupmgt.service.MembershipService;
 import com.brandyodhiambo.bibleApi.feature.usermgt.models.Users;
+import com.brandyodhiambo.bibleApi.util.ApiResponse;
+import com.brandyodhiambo.bibleApi.util.CursorPage;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ChatMessageServiceImpl implements ChatMessageService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final ChatMessageRepository chatMessageRepository;
     private final GroupRepository groupRepository;
+    private final ChatMessageBroker chatMessageBroker;
+    private final ChatMessageWriteBehind chatMessageWriteBehind;
+    private final MembershipService membershipService;
+    private final ParticipationEventQueue participationEventQueue;
 
     @Override
     public ChatMessageResponse sendMessage(Long groupId, String content) {
@@ -31,7 +46,7 @@ public class ChatMessageServiceImpl implements ChatMessageService {
                 .orElseThrow(() -> new EntityNotFoundException("Group not found with id: " + groupId));
 
         // Check if user is a member of the group
-        if (!group.isMember(currentUser) && !group.isLeader(currentUser)) {
+        if (!membershipService.isMemberOrLeader(group, currentUser)) {
             throw new IllegalStateException("You must be a member of the group to send messages");
         }
 
@@ -41,12 +56,28 @@ public class ChatMessageServiceImpl implements ChatMessageService {
                 .sender(currentUser)
                 .build();
 
-        ChatMessage savedMessage = chatMessageRepository.save(chatMessage);
-        return mapToResponse(savedMessage);
+        // With write-behind the message is acknowledged once buffered and written in a later batch
+        ChatMessage savedMessage = chatMessageWriteBehind.isEnabled()
+                ? chatMessageWriteBehind.enqueue(chatMessage)
+                : chatMessageRepository.save(chatMessage);
+        ChatMessageResponse response = mapToResponse(savedMessage);
+        chatMessageBroker.publish(response);
+        participationEventQueue.publish(
+                ParticipationEvent.of(ParticipationEvent.Kind.CHAT_MESSAGE_SENT, group, currentUser));
+        return response;
     }
 
     @Override
-    public List<ChatMessageResponse> getGroupMessages(Long groupId) {
+    @Transactional(readOnly = true)
+    public CursorPage<ChatMessageResponse> getGroupMessages(Long groupId, String before, String after, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException(new ApiResponse(Boolean.FALSE,
+                    "Page size must be between 1 and " + MAX_PAGE_SIZE));
+        }
+        if (before != null && after != null) {
+            throw new BadRequestException(new ApiResponse(Boolean.FALSE, "Use either a before or an after cursor, not both"));
+        }
+
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         Users currentUser = (Users) authentication.getPrincipal();
 
@@ -54,14 +85,33 @@ public class ChatMessageServiceImpl implements ChatMessageService {
                 .orElseThrow(() -> new EntityNotFoundException("Group not found with id: " + groupId));
 
         // Check if user is a member of the group
-        if (!group.isMember(currentUser) && !group.isLeader(currentUser)) {
+        if (!membershipService.isMemberOrLeader(group, currentUser)) {
             throw new IllegalStateException("You must be a member of the group to view messages");
         }
 
-        List<ChatMessage> messages = chatMessageRepository.findByGroupIdOrderByCreatedAtDesc(groupId);
-        return messages.stream()
-                .map(this::mapToResponse)
+        // One row past the page tells whether there is a next one without a count query
+        Limit limit = Limit.of(size + 1);
+        List<ChatMessage> messages;
+        if (after != null) {
+            MessageCursor cursor = MessageCursor.decode(after);
+            messages = chatMessageRepository.findAfter(groupId, cursor.createdAt(), cursor.id(), limit);
+        } else if (before != null) {
+            MessageCursor cursor = MessageCursor.decode(before);
+            messages = chatMessageRepository.findBefore(groupId, cursor.createdAt(), cursor.id(), limit);
+        } else {
+            messages = chatMessageRepository.findLatest(groupId, limit);
+        }
+
+        String nextCursor = null;
+        if (messages.size() > size) {
+            messages = messages.subList(0, size);
+            ChatMessage last = messages.get(size - 1);
+            nextCursor = MessageCursor.encode(last.getCreatedAt(), last.getId());
+        }
+        List<ChatMessageResponse> content = messages.stream()
+                .map(message -> mapToResponse(message, group))
                 .collect(Collectors.toList());
+        return new CursorPage<>(content, content.size(), nextCursor);
     }
 
     @Override
@@ -75,13 +125,30 @@ public class ChatMessageServiceImpl implements ChatMessageService {
         Group group = message.getGroup();
 
         // Check if user is a member of the group
-        if (!group.isMember(currentUser) && !group.isLeader(currentUser)) {
+        if (!membershipService.isMemberOrLeader(group, currentUser)) {
             throw new IllegalStateException("You must be a member of the group to view this message");
         }
 
         return mapToResponse(message);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public ChatMessageBroker.Subscription subscribe(Long groupId, Consumer<ChatMessageResponse> listener) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        Users currentUser = (Users) authentication.getPrincipal();
+
+        Group group = groupRepository.findById(groupId)
+                .orElseThrow(() -> new EntityNotFoundException("Group not found with id: " + groupId));
+
+        // Check if user is a member of the group
+        if (!membershipService.isMemberOrLeader(group, currentUser)) {
+            throw new IllegalStateException("You must be a member of the group to receive messages");
+        }
+
+        return chatMessageBroker.subscribe(groupId, listener);
+    }
+
     @Override
     public void deleteMessage(Long messageId) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -99,14 +166,19 @@ public class ChatMessageServiceImpl implements ChatMessageService {
     }
 
     private ChatMessageResponse mapToResponse(ChatMessage chatMessage) {
+        return mapToResponse(chatMessage, chatMessage.getGroup());
+    }
+
+    private ChatMessageResponse mapToResponse(ChatMessage chatMessage, Group group) {
         return ChatMessageResponse.builder()
                 .id(chatMessage.getId())
                 .content(chatMessage.getContent())
-                .groupId(chatMessage.getGroup().getId())
-                .groupName(chatMessage.getGroup().getName())
+                .groupId(group.getId())
+                .groupName(group.getName())
                 .senderId(chatMessage.getSender().getId())
                 .senderUsername(chatMessage.getSender().getUsername())
                 .createdAt(chatMessage.getCreatedAt())
+                .cursor(MessageCursor.encode(chatMessage.getCreatedAt(), chatMessage.getId()))
                 .build();
     }
 }
\ No newline at end of file
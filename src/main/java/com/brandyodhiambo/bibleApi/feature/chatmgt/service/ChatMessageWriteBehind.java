@@ -0,0 +1,220 @@
+package com.brandyodhiambo.bibleApi.feature.chatmgt.service;
+
+import com.brandyodhiambo.bibleApi.exception.BibleApiException;
+import com.brandyodhiambo.bibleApi.feature.chatmgt.models.ChatMessage;
+import com.brandyodhiambo.bibleApi.feature.chatmgt.repository.ChatMessageBatchRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Optional write-behind persistence for chat messages ({@code chat.write-behind.enabled}).
+ * <p>
+ * A sent message gets its id from a pre-allocated sequence block and is acknowledged as soon as it is in a
+ * bounded in-memory buffer; a background writer flushes the buffer to the database in JDBC batches. When the
+ * buffer is full, senders wait up to {@code enqueue-timeout} and are then turned away with 503, so a slow or
+ * unavailable database pushes back on clients instead of growing the heap. Failed batches are retried with
+ * backoff and never dropped.
+ * <p>
+ * On shutdown, after the web server has stopped taking requests, the buffer is drained before the data
+ * source closes. Acknowledged messages that are still buffered are lost only if the
+ * process dies without a shutdown; keep the pipeline disabled where that is not acceptable.
+ * <p>
+ * Reported meters: {@code chat.writebehind.buffered}, {@code chat.writebehind.batch.size},
+ * {@code chat.writebehind.flush}, {@code chat.writebehind.failures} and {@code chat.writebehind.rejected}.
+ */
+@Component
+public class ChatMessageWriteBehind implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChatMessageWriteBehind.class);
+    private static final long MAX_BACKOFF_MILLIS = 5_000;
+
+    private final ChatMessageBatchRepository batchRepository;
+    private final boolean enabled;
+    private final BlockingQueue<ChatMessage> buffer;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final Duration enqueueTimeout;
+    private final Duration shutdownTimeout;
+    private final DistributionSummary batchSizes;
+    private final Timer flushTimer;
+    private final Counter failures;
+    private final Counter rejected;
+
+    private long nextId;
+    private long blockEnd;
+    private final ReadWriteLock runningLock = new ReentrantReadWriteLock();
+    private volatile boolean running;
+    private Thread writer;
+
+    public ChatMessageWriteBehind(ChatMessageBatchRepository batchRepository, MeterRegistry meterRegistry,
+                                  @Value("${chat.write-behind.enabled:false}") boolean enabled,
+                                  @Value("${chat.write-behind.capacity:10000}") int capacity,
+                                  @Value("${chat.write-behind.batch-size:500}") int batchSize,
+                                  @Value("${chat.write-behind.flush-interval:200ms}") Duration flushInterval,
+                                  @Value("${chat.write-behind.enqueue-timeout:100ms}") Duration enqueueTimeout,
+                                  @Value("${chat.write-behind.shutdown-timeout:30s}") Duration shutdownTimeout) {
+        this.batchRepository = batchRepository;
+        this.enabled = enabled;
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.enqueueTimeout = enqueueTimeout;
+        this.shutdownTimeout = shutdownTimeout;
+        Gauge.builder("chat.writebehind.buffered", buffer, BlockingQueue::size)
+                .description("Acknowledged chat messages not yet written")
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("chat.writebehind.batch.size").register(meterRegistry);
+        this.flushTimer = Timer.builder("chat.writebehind.flush").register(meterRegistry);
+        this.failures = Counter.builder("chat.writebehind.failures").register(meterRegistry);
+        this.rejected = Counter.builder("chat.writebehind.rejected").register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Assigns the message its id and timestamps and buffers it for the writer.
+     *
+     * @throws BibleApiException with 503 when the buffer stays full for the enqueue timeout or the
+     *                           application is shutting down
+     */
+    public ChatMessage enqueue(ChatMessage message) {
+        // Held from the check to the offer: stop cannot end the writer's final drain between the two
+        Lock accepting = runningLock.readLock();
+        accepting.lock();
+        try {
+            if (!running) {
+                throw new BibleApiException(HttpStatus.SERVICE_UNAVAILABLE,
+                        "Chat is not accepting messages right now");
+            }
+            LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+            message.setId(allocateId());
+            message.setCreatedAt(now);
+            message.setUpdatedAt(now);
+            if (buffer.offer(message, enqueueTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                return message;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            accepting.unlock();
+        }
+        rejected.increment();
+        throw new BibleApiException(HttpStatus.SERVICE_UNAVAILABLE, "Chat is busy, please try again shortly");
+    }
+
+    @Override
+    public synchronized void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::drainLoop, "chat-write-behind");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void stop() {
+        Thread current;
+        synchronized (this) {
+            if (!running) {
+                return;
+            }
+            current = writer;
+        }
+        // Waits for enqueues already past the running check, so everything acknowledged is in the buffer
+        // before the writer sees it stopped and drains it
+        runningLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            runningLock.writeLock().unlock();
+        }
+        try {
+            current.join(shutdownTimeout.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!buffer.isEmpty()) {
+            logger.error("{} acknowledged chat messages could not be written before shutdown", buffer.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // Below the web server's phases: requests have stopped coming in before the buffer drains, and the
+        // data source is only closed once every lifecycle bean has stopped
+        return Integer.MAX_VALUE - 4096;
+    }
+
+    private synchronized long allocateId() {
+        if (nextId == blockEnd) {
+            nextId = batchRepository.nextIdBlock();
+            blockEnd = nextId + ChatMessage.ID_ALLOCATION_SIZE;
+        }
+        return nextId++;
+    }
+
+    private void drainLoop() {
+        List<ChatMessage> batch = new ArrayList<>(batchSize);
+        while (running || !buffer.isEmpty()) {
+            try {
+                ChatMessage first = buffer.poll(flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                buffer.drainTo(batch, batchSize - 1);
+                write(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void write(List<ChatMessage> batch) throws InterruptedException {
+        long backoff = 100;
+        while (true) {
+            try {
+                flushTimer.record(() -> batchRepository.insertAll(batch));
+                batchSizes.record(batch.size());
+                return;
+            } catch (RuntimeException e) {
+                failures.increment();
+                logger.warn("Writing {} chat messages failed, retrying in {} ms", batch.size(), backoff, e);
+                Thread.sleep(backoff);
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+            }
+        }
+    }
+}
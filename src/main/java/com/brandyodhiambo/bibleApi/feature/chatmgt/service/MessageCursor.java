@@ -0,0 +1,49 @@
+package com.brandyodhiambo.bibleApi.feature.chatmgt.service;
+
+import com.brandyodhiambo.bibleApi.exception.BadRequestException;
+import com.brandyodhiambo.bibleApi.util.ApiResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+
+/**
+ * Position of a message in a group's history, ordered by {@code (createdAt, id)}. Clients only ever see the
+ * opaque url-safe token; the timestamp is kept to the microsecond because that is what the database stores.
+ */
+record MessageCursor(LocalDateTime createdAt, long id) {
+
+    static String encode(LocalDateTime createdAt, Long id) {
+        if (createdAt == null || id == null) {
+            return null;
+        }
+        LocalDateTime micros = createdAt.truncatedTo(ChronoUnit.MICROS);
+        long epochMicros = micros.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + micros.getNano() / 1_000;
+        String raw = epochMicros + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    static MessageCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII);
+            int colon = raw.indexOf(':');
+            if (colon < 0) {
+                throw invalid(token);
+            }
+            long epochMicros = Long.parseLong(raw.substring(0, colon));
+            long id = Long.parseLong(raw.substring(colon + 1));
+            LocalDateTime createdAt = LocalDateTime.ofEpochSecond(Math.floorDiv(epochMicros, 1_000_000L),
+                    (int) Math.floorMod(epochMicros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+            return new MessageCursor(createdAt, id);
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw invalid(token);
+        }
+    }
+
+    private static BadRequestException invalid(String token) {
+        return new BadRequestException(new ApiResponse(Boolean.FALSE, "Invalid cursor: " + token));
+    }
+}
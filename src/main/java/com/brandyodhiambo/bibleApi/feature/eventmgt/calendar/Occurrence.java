@@ -0,0 +1,20 @@
+package com.brandyodhiambo.bibleApi.feature.eventmgt.calendar;
+
+import java.time.LocalDate;
+
+/**
+ * One occurrence of a session: its date in the series and the override applied to it, if any.
+ */
+public record Occurrence(SessionSeries series, LocalDate occurrenceDate, OccurrenceOverride override) {
+
+    public Long sessionId() {
+        return series.sessionId();
+    }
+
+    /**
+     * The date the occurrence takes place on, after any rescheduling.
+     */
+    public LocalDate date() {
+        return override != null ? override.date() : occurrenceDate;
+    }
+}
@@ -0,0 +1,24 @@
+package com.brandyodhiambo.bibleApi.feature.eventmgt.calendar;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * A change to one occurrence of a session, identified by the date it has in the series: cancelled, or moved
+ * to another date, time or place. Fields left {@code null} keep the session's value.
+ */
+public record OccurrenceOverride(Long sessionId, LocalDate occurrenceDate, boolean cancelled,
+                                 LocalDate sessionDate, LocalTime startTime, LocalTime endTime,
+                                 String location) {
+
+    /**
+     * The date the occurrence takes place on.
+     */
+    public LocalDate date() {
+        return sessionDate != null ? sessionDate : occurrenceDate;
+    }
+
+    public boolean isRescheduled() {
+        return !date().equals(occurrenceDate);
+    }
+}
@@ -0,0 +1,81 @@
+package com.brandyodhiambo.bibleApi.feature.eventmgt.calendar;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.function.Consumer;
+
+/**
+ * Immutable interval index over session series, each spanning {@code [startDate, lastDate]}, answering which
+ * series can have an occurrence in a date window.
+ * <p>
+ * The series are sorted by start date and read as an implicit balanced tree, the middle of every range being
+ * its root, where each node also stores the latest end in its subtree. A query skips subtrees that end before
+ * the window and, being sorted, everything right of a node that starts after it, so it costs
+ * {@code O(log n + k)} for {@code k} matching series instead of a scan over all of them.
+ */
+public final class SeriesIndex {
+
+    private final SessionSeries[] series;
+    private final long[] starts;
+    private final long[] ends;
+    private final long[] maxEnds;
+
+    public SeriesIndex(Collection<SessionSeries> all) {
+        this.series = all.toArray(new SessionSeries[0]);
+        Arrays.sort(series, Comparator.comparing(SessionSeries::startDate));
+        this.starts = new long[series.length];
+        this.ends = new long[series.length];
+        this.maxEnds = new long[series.length];
+        for (int i = 0; i < series.length; i++) {
+            starts[i] = series[i].startDate().toEpochDay();
+            ends[i] = series[i].lastDate().toEpochDay();
+        }
+        buildMaxEnds(0, series.length - 1);
+    }
+
+    public int size() {
+        return series.length;
+    }
+
+    /**
+     * Calls {@code action} for every series whose span overlaps {@code [from, to]}, in start date order.
+     */
+    public void forEachOverlapping(LocalDate from, LocalDate to, Consumer<SessionSeries> action) {
+        if (from.isAfter(to)) {
+            return;
+        }
+        visit(0, series.length - 1, from.toEpochDay(), to.toEpochDay(), action);
+    }
+
+    private long buildMaxEnds(int low, int high) {
+        if (low > high) {
+            return Long.MIN_VALUE;
+        }
+        int mid = (low + high) >>> 1;
+        long maxEnd = Math.max(ends[mid], Math.max(buildMaxEnds(low, mid - 1), buildMaxEnds(mid + 1, high)));
+        maxEnds[mid] = maxEnd;
+        return maxEnd;
+    }
+
+    private void visit(int low, int high, long from, long to, Consumer<SessionSeries> action) {
+        if (low > high) {
+            return;
+        }
+        int mid = (low + high) >>> 1;
+        if (maxEnds[mid] < from) {
+            // Everything in this subtree ended before the window
+            return;
+        }
+        visit(low, mid - 1, from, to, action);
+        if (starts[mid] > to) {
+            // This series and all to its right start after the window
+            return;
+        }
+        if (ends[mid] >= from) {
+            action.accept(series[mid]);
+        }
+        visit(mid + 1, high, from, to, action);
+    }
+}
@@ -0,0 +1,255 @@
+package com.brandyodhiambo.bibleApi.feature.eventmgt.calendar;
+
+import com.brandyodhiambo.bibleApi.exception.BadRequestException;
+import com.brandyodhiambo.bibleApi.feature.eventmgt.repository.SessionOccurrenceOverrideRepository;
+import com.brandyodhiambo.bibleApi.feature.eventmgt.repository.StudySessionRepository;
+import com.brandyodhiambo.bibleApi.util.ApiResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Expands sessions into their occurrences for a date window, without storing occurrences anywhere.
+ * <p>
+ * Every session's span ({@link SessionSeries}) and every occurrence override are held in memory, in an
+ * {@link SeriesIndex} over all sessions and one per group, so a calendar query touches only the series that
+ * overlap its window and expands them lazily. Cancelled occurrences are left out; rescheduled ones are
+ * reported on their new date, including those moved into the window from outside it.
+ * <p>
+ * Session and override changes mark the calendar stale once they commit, here and, through a Redis channel
+ * carrying the id of the instance that made the change, on every other instance; the next query reloads it
+ * with two queries. If that message is lost, {@code max-age} bounds how long the old calendar is served.
+ * Windows longer than {@code max-window} are refused, an open-ended daily series would otherwise expand
+ * without limit.
+ * <p>
+ * Reported meters: {@code session.calendar.query}, {@code session.calendar.reloads} and
+ * {@code session.calendar.series}.
+ */
+@Component
+public class SessionCalendar implements MessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionCalendar.class);
+
+    private static final Comparator<Occurrence> BY_DATE =
+            Comparator.comparing(Occurrence::date).thenComparing(Occurrence::sessionId);
+
+    private final StudySessionRepository studySessionRepository;
+    private final SessionOccurrenceOverrideRepository overrideRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final Duration maxAge;
+    private final Duration maxWindow;
+    private final Duration upcomingHorizon;
+    private final String channel;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final AtomicLong generation = new AtomicLong();
+    private final Timer queryTimer;
+    private final Counter reloads;
+
+    private volatile Snapshot snapshot;
+
+    public SessionCalendar(StudySessionRepository studySessionRepository,
+                           SessionOccurrenceOverrideRepository overrideRepository,
+                           StringRedisTemplate redisTemplate, MeterRegistry meterRegistry,
+                           @Value("${session.calendar.max-age:5m}") Duration maxAge,
+                           @Value("${session.calendar.max-window:366d}") Duration maxWindow,
+                           @Value("${session.calendar.upcoming-horizon:365d}") Duration upcomingHorizon,
+                           @Value("${session.calendar.channel:session:calendar:invalidation}") String channel) {
+        this.studySessionRepository = studySessionRepository;
+        this.overrideRepository = overrideRepository;
+        this.redisTemplate = redisTemplate;
+        this.maxAge = maxAge;
+        this.maxWindow = maxWindow;
+        this.upcomingHorizon = upcomingHorizon;
+        this.channel = channel;
+        this.queryTimer = Timer.builder("session.calendar.query").register(meterRegistry);
+        this.reloads = Counter.builder("session.calendar.reloads").register(meterRegistry);
+        Gauge.builder("session.calendar.series", this, calendar -> {
+                    Snapshot current = calendar.snapshot;
+                    return current != null ? current.all().size() : 0;
+                })
+                .description("Sessions held in the calendar index")
+                .register(meterRegistry);
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    /**
+     * How far ahead the upcoming session lists look.
+     */
+    public Duration getUpcomingHorizon() {
+        return upcomingHorizon;
+    }
+
+    /**
+     * The occurrences of all sessions between {@code from} and {@code to}, both inclusive, by date.
+     *
+     * @throws BadRequestException when the window is longer than {@code max-window}
+     */
+    public List<Occurrence> occurrences(LocalDate from, LocalDate to) {
+        return occurrences(null, from, to);
+    }
+
+    /**
+     * The occurrences of a group's sessions between {@code from} and {@code to}, both inclusive, by date; all
+     * groups when {@code groupId} is {@code null}.
+     *
+     * @throws BadRequestException when the window is longer than {@code max-window}
+     */
+    public List<Occurrence> occurrences(Long groupId, LocalDate from, LocalDate to) {
+        if (ChronoUnit.DAYS.between(from, to) >= maxWindow.toDays()) {
+            throw new BadRequestException(new ApiResponse(Boolean.FALSE,
+                    "Date range cannot be longer than " + maxWindow.toDays() + " days"));
+        }
+        if (from.isAfter(to)) {
+            return List.of();
+        }
+        Snapshot current = current();
+        return queryTimer.record(() -> current.expand(groupId, from, to));
+    }
+
+    /**
+     * Marks the calendar stale on every instance once the surrounding transaction commits.
+     */
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidateNow();
+                }
+            });
+        } else {
+            invalidateNow();
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        if (!nodeId.equals(new String(message.getBody(), StandardCharsets.UTF_8))) {
+            generation.incrementAndGet();
+        }
+    }
+
+    private void invalidateNow() {
+        generation.incrementAndGet();
+        try {
+            redisTemplate.convertAndSend(channel, nodeId);
+        } catch (RuntimeException e) {
+            // The max age bounds how long other instances serve the old calendar
+            logger.warn("Could not publish session calendar invalidation", e);
+        }
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current != null && current.isFresh(generation.get(), maxAge)) {
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot;
+            if (current != null && current.isFresh(generation.get(), maxAge)) {
+                return current;
+            }
+            // Read the generation first, a change committed while loading leaves the result stale
+            long loadedGeneration = generation.get();
+            current = Snapshot.of(loadedGeneration, studySessionRepository.findAllSeries(),
+                    overrideRepository.findAllOverrides());
+            snapshot = current;
+            reloads.increment();
+            return current;
+        }
+    }
+
+    private record Snapshot(long generation, long loadedAtNanos, SeriesIndex all, Map<Long, SeriesIndex> byGroup,
+                            Map<Long, SessionSeries> seriesById,
+                            Map<Long, Map<LocalDate, OccurrenceOverride>> overridesBySession,
+                            NavigableMap<LocalDate, List<OccurrenceOverride>> rescheduledByDate) {
+
+        static Snapshot of(long generation, List<SessionSeries> series, List<OccurrenceOverride> overrides) {
+            Map<Long, SessionSeries> seriesById = new HashMap<>();
+            series.forEach(s -> seriesById.put(s.sessionId(), s));
+            Map<Long, SeriesIndex> byGroup = series.stream()
+                    .collect(Collectors.groupingBy(SessionSeries::groupId,
+                            Collectors.collectingAndThen(Collectors.toList(), SeriesIndex::new)));
+
+            Map<Long, Map<LocalDate, OccurrenceOverride>> overridesBySession = new HashMap<>();
+            NavigableMap<LocalDate, List<OccurrenceOverride>> rescheduledByDate = new TreeMap<>();
+            for (OccurrenceOverride override : overrides) {
+                overridesBySession.computeIfAbsent(override.sessionId(), id -> new HashMap<>())
+                        .put(override.occurrenceDate(), override);
+                if (!override.cancelled() && override.isRescheduled()) {
+                    rescheduledByDate.computeIfAbsent(override.date(), date -> new ArrayList<>()).add(override);
+                }
+            }
+            return new Snapshot(generation, System.nanoTime(), new SeriesIndex(series), byGroup, seriesById,
+                    overridesBySession, rescheduledByDate);
+        }
+
+        boolean isFresh(long currentGeneration, Duration maxAge) {
+            return generation == currentGeneration && System.nanoTime() - loadedAtNanos < maxAge.toNanos();
+        }
+
+        List<Occurrence> expand(Long groupId, LocalDate from, LocalDate to) {
+            SeriesIndex index = groupId == null ? all : byGroup.get(groupId);
+            List<Occurrence> occurrences = new ArrayList<>();
+            if (index != null) {
+                index.forEachOverlapping(from, to, series -> {
+                    Map<LocalDate, OccurrenceOverride> overrides =
+                            overridesBySession.getOrDefault(series.sessionId(), Map.of());
+                    series.datesBetween(from, to).forEach(date -> {
+                        OccurrenceOverride override = overrides.get(date);
+                        if (override == null) {
+                            occurrences.add(new Occurrence(series, date, null));
+                        } else if (!override.cancelled() && isWithin(override.date(), from, to)) {
+                            occurrences.add(new Occurrence(series, date, override));
+                        }
+                    });
+                });
+            }
+            // Occurrences moved into the window from a date outside it
+            for (List<OccurrenceOverride> moved : rescheduledByDate.subMap(from, true, to, true).values()) {
+                for (OccurrenceOverride override : moved) {
+                    SessionSeries series = seriesById.get(override.sessionId());
+                    if (series != null && !isWithin(override.occurrenceDate(), from, to)
+                            && (groupId == null || groupId.equals(series.groupId()))
+                            && series.occursOn(override.occurrenceDate())) {
+                        occurrences.add(new Occurrence(series, override.occurrenceDate(), override));
+                    }
+                }
+            }
+            occurrences.sort(BY_DATE);
+            return occurrences;
+        }
+
+        private static boolean isWithin(LocalDate date, LocalDate from, LocalDate to) {
+            return !date.isBefore(from) && !date.isAfter(to);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.brandyodhiambo.bibleApi.feature.eventmgt.calendar;
+
+import com.brandyodhiambo.bibleApi.feature.eventmgt.models.RecurrencePattern;
+import com.brandyodhiambo.bibleApi.feature.eventmgt.models.StudySession;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * The dates a session takes place on: its {@code sessionDate} and, for a recurring session, every repetition
+ * up to {@code recurrenceEndDate}, or without end when that is not set.
+ * <p>
+ * The n-th occurrence is always computed from the first one, so monthly sessions on the 31st fall on the last
+ * day of shorter months without drifting to the 28th afterwards. {@link RecurrencePattern#CUSTOM} has no rule
+ * stored with the session and is treated as a one-time session.
+ */
+public record SessionSeries(Long sessionId, Long groupId, LocalDate startDate, RecurrencePattern pattern,
+                            LocalDate recurrenceEndDate) {
+
+    /**
+     * Last date of a series without end date.
+     */
+    public static final LocalDate OPEN_END = LocalDate.MAX;
+
+    public static SessionSeries of(StudySession session) {
+        return new SessionSeries(session.getId(), session.getGroup().getId(), session.getSessionDate(),
+                session.getRecurrencePattern(), session.getRecurrenceEndDate());
+    }
+
+    public boolean recurs() {
+        return pattern == RecurrencePattern.DAILY || pattern == RecurrencePattern.WEEKLY
+                || pattern == RecurrencePattern.BI_WEEKLY || pattern == RecurrencePattern.MONTHLY;
+    }
+
+    /**
+     * The date of the last occurrence or a date after it, {@link #OPEN_END} for a series without end.
+     */
+    public LocalDate lastDate() {
+        if (!recurs()) {
+            return startDate;
+        }
+        if (recurrenceEndDate == null) {
+            return OPEN_END;
+        }
+        return recurrenceEndDate.isBefore(startDate) ? startDate : recurrenceEndDate;
+    }
+
+    /**
+     * The occurrences between {@code from} and {@code to}, both inclusive, in order; computed as the stream is
+     * consumed.
+     */
+    public Stream<LocalDate> datesBetween(LocalDate from, LocalDate to) {
+        LocalDate first = from.isBefore(startDate) ? startDate : from;
+        LocalDate last = to.isBefore(lastDate()) ? to : lastDate();
+        if (first.isAfter(last)) {
+            return Stream.empty();
+        }
+        if (!recurs()) {
+            return Stream.of(startDate);
+        }
+        return LongStream.iterate(firstIndexOnOrAfter(first), n -> n + 1)
+                .mapToObj(this::nth)
+                .takeWhile(date -> !date.isAfter(last));
+    }
+
+    /**
+     * Whether the series has an occurrence on {@code date}.
+     */
+    public boolean occursOn(LocalDate date) {
+        if (date.isBefore(startDate) || date.isAfter(lastDate())) {
+            return false;
+        }
+        return !recurs() ? date.equals(startDate) : nth(firstIndexOnOrAfter(date)).equals(date);
+    }
+
+    private LocalDate nth(long n) {
+        return switch (pattern) {
+            case DAILY -> startDate.plusDays(n);
+            case WEEKLY -> startDate.plusWeeks(n);
+            case BI_WEEKLY -> startDate.plusWeeks(2 * n);
+            case MONTHLY -> startDate.plusMonths(n);
+            default -> startDate;
+        };
+    }
+
+    // Index of the first occurrence on or after a date that is not before the start
+    private long firstIndexOnOrAfter(LocalDate date) {
+        long days = ChronoUnit.DAYS.between(startDate, date);
+        return switch (pattern) {
+            case DAILY -> days;
+            case WEEKLY -> Math.floorDiv(days + 6, 7);
+            case BI_WEEKLY -> Math.floorDiv(days + 13, 14);
+            case MONTHLY -> {
+                // Whole months never overshoot, at most one more step when the day of month was clamped
+                long n = ChronoUnit.MONTHS.between(startDate, date);
+                while (nth(n).isBefore(date)) {
+                    n++;
+                }
+                yield n;
+            }
+            default -> 0;
+        };
+    }
+}
@@ -1,6 +1,7 @@
 package com.brandyodhiambo.bibleApi.feature.eventmgt.controller;
 
 import com.brandyodhiambo.bibleApi.feature.eventmgt.models.dto.CreateSessionRequest;
+import com.brandyodhiambo.bibleApi.feature.eventmgt.models.dto.OccurrenceOverrideRequest;
 import com.brandyodhiambo.bibleApi.feature.eventmgt.models.dto.SessionResponse;
 import com.brandyodhiambo.bibleApi.feature.eventmgt.models.dto.UpdateSessionRequest;
 import com.brandyodhiambo.bibleApi.feature.eventmgt.service.StudySessionService;
@@ -94,6 +95,37 @@ public class StudySessionController {
         return ResponseEntity.ok(sessions);
     }
 
+    @PutMapping("/{sessionId}/occurrences/{occurrenceDate}")
+    @PreAuthorize("hasAnyRole('ROLE_LEADER', 'ROLE_ADMIN')")
+    public ResponseEntity<SessionResponse> overrideOccurrence(
+            @PathVariable Long sessionId,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate occurrenceDate,
+            @Valid @RequestBody OccurrenceOverrideRequest request,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        SessionResponse response = studySessionService.overrideOccurrence(sessionId, occurrenceDate, request, userDetails.getUsername());
+        return ResponseEntity.ok(response);
+    }
+
+    @DeleteMapping("/{sessionId}/occurrences/{occurrenceDate}")
+    @PreAuthorize("hasAnyRole('ROLE_LEADER', 'ROLE_ADMIN')")
+    public ResponseEntity<Void> cancelOccurrence(
+            @PathVariable Long sessionId,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate occurrenceDate,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        studySessionService.cancelOccurrence(sessionId, occurrenceDate, userDetails.getUsername());
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/{sessionId}/occurrences/{occurrenceDate}/override")
+    @PreAuthorize("hasAnyRole('ROLE_LEADER', 'ROLE_ADMIN')")
+    public ResponseEntity<Void> restoreOccurrence(
+            @PathVariable Long sessionId,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate occurrenceDate,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        studySessionService.restoreOccurrence(sessionId, occurrenceDate, userDetails.getUsername());
+        return ResponseEntity.noContent().build();
+    }
+
     @PostMapping("/send-reminders")
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     public ResponseEntity<Void> sendSessionReminders() {
@@ -0,0 +1,62 @@
+package com.brandyodhiambo.bibleApi.feature.eventmgt.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "session_occurrence_overrides",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"session_id", "occurrence_date"}))
+public class SessionOccurrenceOverride {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Removed with the session by the database, the session does not map its overrides
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "session_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private StudySession session;
+
+    // The date of the occurrence in the series, which identifies it however it is moved
+    @Column(name = "occurrence_date", nullable = false)
+    private LocalDate occurrenceDate;
+
+    @Column(nullable = false)
+    private boolean cancelled;
+
+    // Fields left null keep the session's value
+    private LocalDate sessionDate;
+
+    private LocalTime startTime;
+
+    private LocalTime endTime;
+
+    private String location;
+
+    @CreationTimestamp
+    @Column(updatable = false, name = "created_at")
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Constructor for overriding a new occurrence
+    public SessionOccurrenceOverride(StudySession session, LocalDate occurrenceDate) {
+        this.session = session;
+        this.occurrenceDate = occurrenceDate;
+    }
+}
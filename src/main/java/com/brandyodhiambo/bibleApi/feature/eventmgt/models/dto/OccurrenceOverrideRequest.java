@@ -0,0 +1,23 @@
+package com.brandyodhiambo.bibleApi.feature.eventmgt.models.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OccurrenceOverrideRequest {
+    
+    // Fields left empty keep the session's value
+    private LocalDate sessionDate;
+    
+    private LocalTime startTime;
+    
+    private LocalTime endTime;
+    
+    private String location;
+}
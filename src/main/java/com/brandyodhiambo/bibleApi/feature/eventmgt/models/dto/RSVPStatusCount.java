@@ -0,0 +1,9 @@
+package com.brandyodhiambo.bibleApi.feature.eventmgt.models.dto;
+
+import com.brandyodhiambo.bibleApi.feature.eventmgt.models.RSVPStatus;
+
+/**
+ * How many RSVPs one session has with one status, a row of the grouped count over a page of sessions.
+ */
+public record RSVPStatusCount(Long sessionId, RSVPStatus status, Long count) {
+}
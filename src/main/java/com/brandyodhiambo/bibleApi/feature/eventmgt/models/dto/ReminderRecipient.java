@@ -0,0 +1,10 @@
+package com.brandyodhiambo.bibleApi.feature.eventmgt.models.dto;
+
+import java.time.LocalTime;
+
+/**
+ * One reminder to send: a session and one member of its group, read together by a single query.
+ */
+public record ReminderRecipient(Long sessionId, String title, LocalTime startTime, LocalTime endTime,
+                                String location, Long userId, String email, String firstName) {
+}
@@ -36,6 +36,9 @@ public class SessionResponse {
     
     private LocalDate recurrenceEndDate;
     
+    // For an occurrence of a session, its date in the series; sessionDate is the day it takes place on
+    private LocalDate occurrenceDate;
+    
     private Long groupId;
     
     private String groupName;
@@ -0,0 +1,25 @@
+package com.brandyodhiambo.bibleApi.feature.eventmgt.repository;
+
+import com.brandyodhiambo.bibleApi.feature.eventmgt.calendar.OccurrenceOverride;
+import com.brandyodhiambo.bibleApi.feature.eventmgt.models.SessionOccurrenceOverride;
+import com.brandyodhiambo.bibleApi.feature.eventmgt.models.StudySession;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SessionOccurrenceOverrideRepository extends JpaRepository<SessionOccurrenceOverride, Long> {
+
+    // Find the override of one occurrence of a session
+    Optional<SessionOccurrenceOverride> findBySessionAndOccurrenceDate(StudySession session, LocalDate occurrenceDate);
+
+    // All overrides, as loaded into the session calendar
+    @Query("SELECT new com.brandyodhiambo.bibleApi.feature.eventmgt.calendar.OccurrenceOverride(" +
+            "o.session.id, o.occurrenceDate, o.cancelled, o.sessionDate, o.startTime, o.endTime, o.location) " +
+            "FROM SessionOccurrenceOverride o")
+    List<OccurrenceOverride> findAllOverrides();
+}
@@ -3,12 +3,14 @@ package com.brandyodhiambo.bibleApi.feature.eventmgt.repository;
 import com.brandyodhiambo.bibleApi.feature.eventmgt.models.RSVPStatus;
 import com.brandyodhiambo.bibleApi.feature.eventmgt.models.SessionRSVP;
 import com.brandyodhiambo.bibleApi.feature.eventmgt.models.StudySession;
+import com.brandyodhiambo.bibleApi.feature.eventmgt.models.dto.RSVPStatusCount;
 import com.brandyodhiambo.bibleApi.feature.usermgt.models.Users;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -31,6 +33,11 @@ public interface SessionRSVPRepository extends JpaRepository<SessionRSVP, Long>
     @Query("SELECT COUNT(r) FROM SessionRSVP r WHERE r.session = :session AND r.status = :status")
     long countBySessionAndStatus(@Param("session") StudySession session, @Param("status") RSVPStatus status);
     
+    // Count RSVPs by status for a whole page of sessions in one query; statuses without RSVPs have no row
+    @Query("SELECT new com.brandyodhiambo.bibleApi.feature.eventmgt.models.dto.RSVPStatusCount(r.session.id, r.status, COUNT(r)) " +
+            "FROM SessionRSVP r WHERE r.session.id IN :sessionIds GROUP BY r.session.id, r.status")
+    List<RSVPStatusCount> countByStatusForSessions(@Param("sessionIds") Collection<Long> sessionIds);
+    
     // Check if a user has RSVP'd to a session
     boolean existsBySessionAndUser(StudySession session, Users user);
     
@@ -1,38 +1,52 @@
 package com.brandyodhiambo.bibleApi.feature.eventmgt.repository;
 
+import com.brandyodhiambo.bibleApi.feature.eventmgt.calendar.SessionSeries;
 import com.brandyodhiambo.bibleApi.feature.eventmgt.models.StudySession;
+import com.brandyodhiambo.bibleApi.feature.eventmgt.models.dto.ReminderRecipient;
 import com.brandyodhiambo.bibleApi.feature.groupmgt.models.Group;
 import com.brandyodhiambo.bibleApi.feature.usermgt.models.Users;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface StudySessionRepository extends JpaRepository<StudySession, Long> {
     
+    // The list queries fetch the group, its leader and the creator in the same select; left to their EAGER
+    // mappings they would each cost a query per distinct group or user
+    
     // Find sessions by group
+    @EntityGraph(attributePaths = {"group", "group.leader", "group.leader.role", "createdBy", "createdBy.role"})
     List<StudySession> findByGroup(Group group);
     
     // Find sessions created by a specific user
+    @EntityGraph(attributePaths = {"group", "group.leader", "group.leader.role", "createdBy", "createdBy.role"})
     List<StudySession> findByCreatedBy(Users user);
     
-    // Find upcoming sessions for a group
-    @Query("SELECT s FROM StudySession s WHERE s.group = :group AND s.sessionDate >= :today ORDER BY s.sessionDate ASC, s.startTime ASC")
-    List<StudySession> findUpcomingSessionsByGroup(@Param("group") Group group, @Param("today") LocalDate today);
-    
-    // Find upcoming sessions for a user (sessions from groups they are members of)
-    @Query("SELECT s FROM StudySession s JOIN s.group g JOIN g.members m WHERE m = :user AND s.sessionDate >= :today ORDER BY s.sessionDate ASC, s.startTime ASC")
-    List<StudySession> findUpcomingSessionsForUser(@Param("user") Users user, @Param("today") LocalDate today);
+    // Sessions by id, for the occurrences the session calendar found
+    @EntityGraph(attributePaths = {"group", "group.leader", "group.leader.role", "createdBy", "createdBy.role"})
+    @Query("SELECT s FROM StudySession s WHERE s.id IN :ids")
+    List<StudySession> findWithDetailsByIdIn(@Param("ids") Collection<Long> ids);
     
-    // Find sessions by date range
-    @Query("SELECT s FROM StudySession s WHERE s.sessionDate BETWEEN :startDate AND :endDate ORDER BY s.sessionDate ASC, s.startTime ASC")
-    List<StudySession> findSessionsByDateRange(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+    // The dates of every session, as loaded into the session calendar
+    @Query("SELECT new com.brandyodhiambo.bibleApi.feature.eventmgt.calendar.SessionSeries(" +
+            "s.id, s.group.id, s.sessionDate, s.recurrencePattern, s.recurrenceEndDate) FROM StudySession s")
+    List<SessionSeries> findAllSeries();
     
-    // Find sessions by date range for a specific group
-    @Query("SELECT s FROM StudySession s WHERE s.group = :group AND s.sessionDate BETWEEN :startDate AND :endDate ORDER BY s.sessionDate ASC, s.startTime ASC")
-    List<StudySession> findSessionsByDateRangeAndGroup(@Param("group") Group group, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
-}
\ No newline at end of file
+    // Every (session, member) pair for the given sessions, streamed from a cursor; close the stream and read it
+    // inside a transaction
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query("SELECT new com.brandyodhiambo.bibleApi.feature.eventmgt.models.dto.ReminderRecipient(" +
+            "s.id, s.title, s.startTime, s.endTime, s.location, m.id, m.email, m.firstName) " +
+            "FROM StudySession s JOIN s.group g JOIN g.members m " +
+            "WHERE s.id IN :sessionIds AND m.email IS NOT NULL ORDER BY s.id, m.id")
+    Stream<ReminderRecipient> streamReminderRecipients(@Param("sessionIds") Collection<Long> sessionIds);
+}
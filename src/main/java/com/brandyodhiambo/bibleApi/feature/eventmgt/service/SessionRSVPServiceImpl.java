@@ -1,6 +1,8 @@
 package com.brandyodhiambo.bibleApi.feature.eventmgt.service;
 
 import com.brandyodhiambo.bibleApi.exception.ResourceNotFoundException;
+import com.brandyodhiambo.bibleApi.feature.analyticsmgt.events.ParticipationEvent;
+import com.brandyodhiambo.bibleApi.feature.analyticsmgt.events.ParticipationEventQueue;
 import com.brandyodhiambo.bibleApi.feature.eventmgt.models.RSVPStatus;
 import com.brandyodhiambo.bibleApi.feature.eventmgt.models.SessionRSVP;
 import com.brandyodhiambo.bibleApi.feature.eventmgt.models.StudySession;
@@ -8,6 +10,7 @@ import com.brandyodhiambo.bibleApi.feature.eventmgt.models.dto.RSVPRequest;
 import com.brandyodhiambo.bibleApi.feature.eventmgt.models.dto.RSVPResponse;
 import com.brandyodhiambo.bibleApi.feature.eventmgt.repository.SessionRSVPRepository;
 import com.brandyodhiambo.bibleApi.feature.eventmgt.repository.StudySessionRepository;
+import com.brandyodhiambo.bibleApi.feature.groupmgt.service.MembershipService;
 import com.brandyodhiambo.bibleApi.feature.usermgt.models.Users;
 import com.brandyodhiambo.bibleApi.feature.usermgt.models.dto.UserSummary;
 import com.brandyodhiambo.bibleApi.feature.usermgt.repository.UserRepository;
@@ -16,6 +19,7 @@ import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.YearMonth;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -26,6 +30,8 @@ public class SessionRSVPServiceImpl implements SessionRSVPService {
     private final SessionRSVPRepository sessionRSVPRepository;
     private final StudySessionRepository studySessionRepository;
     private final UserRepository userRepository;
+    private final MembershipService membershipService;
+    private final ParticipationEventQueue participationEventQueue;
 
     @Override
     @Transactional
@@ -36,7 +42,7 @@ public class SessionRSVPServiceImpl implements SessionRSVPService {
         Users user = userRepository.getUserByName(username);
         
         // Check if the user is a member of the group
-        if (!session.getGroup().isMember(user)) {
+        if (!membershipService.isMember(session.getGroup(), user)) {
             throw new AccessDeniedException("Only group members can RSVP to sessions");
         }
         
@@ -45,6 +51,7 @@ public class SessionRSVPServiceImpl implements SessionRSVPService {
         
         if (existingRSVP != null) {
             // Update existing RSVP
+            publishAttendance(session, user, existingRSVP.getStatus(), request.getStatus());
             existingRSVP.setStatus(request.getStatus());
             existingRSVP.setComment(request.getComment());
             
@@ -53,6 +60,7 @@ public class SessionRSVPServiceImpl implements SessionRSVPService {
         } else {
             // Create new RSVP
             SessionRSVP rsvp = new SessionRSVP(session, user, request.getStatus(), request.getComment());
+            publishAttendance(session, user, null, request.getStatus());
             
             SessionRSVP savedRSVP = sessionRSVPRepository.save(rsvp);
             return mapToRSVPResponse(savedRSVP);
@@ -72,6 +80,7 @@ public class SessionRSVPServiceImpl implements SessionRSVPService {
             throw new AccessDeniedException("You can only update your own RSVPs");
         }
         
+        publishAttendance(rsvp.getSession(), user, rsvp.getStatus(), request.getStatus());
         rsvp.setStatus(request.getStatus());
         rsvp.setComment(request.getComment());
         
@@ -92,6 +101,7 @@ public class SessionRSVPServiceImpl implements SessionRSVPService {
             throw new AccessDeniedException("You can only delete your own RSVPs");
         }
         
+        publishAttendance(rsvp.getSession(), user, rsvp.getStatus(), null);
         sessionRSVPRepository.delete(rsvp);
     }
 
@@ -153,6 +163,15 @@ public class SessionRSVPServiceImpl implements SessionRSVPService {
         return sessionRSVPRepository.countBySessionAndStatus(session, status);
     }
     
+    // Counts the RSVP towards the member's attendance in the session's month while it says attending
+    private void publishAttendance(StudySession session, Users user, RSVPStatus previous, RSVPStatus current) {
+        int delta = (current == RSVPStatus.ATTENDING ? 1 : 0) - (previous == RSVPStatus.ATTENDING ? 1 : 0);
+        if (delta != 0) {
+            participationEventQueue.publish(ParticipationEvent.of(ParticipationEvent.Kind.SESSION_ATTENDED,
+                    session.getGroup(), user, YearMonth.from(session.getSessionDate()), delta));
+        }
+    }
+
     // Helper method to map SessionRSVP entity to RSVPResponse DTO
     private RSVPResponse mapToRSVPResponse(SessionRSVP rsvp) {
         UserSummary userSummary = mapToUserSummary(rsvp.getUser());
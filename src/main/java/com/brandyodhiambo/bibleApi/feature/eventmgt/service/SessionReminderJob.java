@@ -0,0 +1,324 @@
+package com.brandyodhiambo.bibleApi.feature.eventmgt.service;
+
+import com.brandyodhiambo.bibleApi.exception.BibleApiException;
+import com.brandyodhiambo.bibleApi.feature.eventmgt.calendar.Occurrence;
+import com.brandyodhiambo.bibleApi.feature.eventmgt.calendar.OccurrenceOverride;
+import com.brandyodhiambo.bibleApi.feature.eventmgt.calendar.SessionCalendar;
+import com.brandyodhiambo.bibleApi.feature.eventmgt.models.dto.ReminderRecipient;
+import com.brandyodhiambo.bibleApi.feature.eventmgt.repository.StudySessionRepository;
+import com.brandyodhiambo.bibleApi.mail.MailDispatcher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Sends the reminders for one day's sessions.
+ * <p>
+ * The {@link SessionCalendar} finds the sessions with an occurrence that day, recurring ones included, and one
+ * query streams every (session, member) pair of those from a database cursor; the reading thread cuts it into
+ * chunks of {@code chunk-size} and hands them to {@code parallelism} workers, with at most twice that many
+ * chunks read ahead. Per chunk, a worker claims a marker per pair in the Redis set
+ * {@code session:reminders:sent:<day>} with one pipelined round trip and queues mail only for the pairs it
+ * claimed, so a run that is repeated or resumed after a crash skips everyone already reminded. Markers are
+ * claimed before the mail is queued: a reminder still in the mail queue when the process dies is not sent
+ * again (at most once). A marker is given back when the mail queue turns the reminder away.
+ * <p>
+ * A run holds the lock {@code session:reminders:lock:<day>} for up to {@code lock-ttl}, so only one node works
+ * on a day at a time; a node that finds it taken skips the run.
+ * <p>
+ * Reported meters: {@code session.reminders.run}, {@code session.reminders} (tagged
+ * {@code outcome=queued|already_sent|failed}) and {@code session.reminders.lock.contended}.
+ */
+@Component
+public class SessionReminderJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionReminderJob.class);
+
+    static final String LOCK_PREFIX = "session:reminders:lock:";
+    static final String SENT_PREFIX = "session:reminders:sent:";
+
+    // Deletes the lock only while this run still holds it, so a run that outlived its TTL cannot free a
+    // lock another node has taken since
+    private static final RedisScript<Long> RELEASE_LOCK = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final StudySessionRepository studySessionRepository;
+    private final SessionCalendar sessionCalendar;
+    private final MailDispatcher mailDispatcher;
+    private final StringRedisTemplate redisTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int chunkSize;
+    private final int parallelism;
+    private final Duration lockTtl;
+    private final Duration markerTtl;
+    private final Duration dispatchWait;
+    private final Timer runTimer;
+    private final Counter queuedCounter;
+    private final Counter alreadySentCounter;
+    private final Counter failedCounter;
+    private final Counter lockContended;
+
+    public SessionReminderJob(StudySessionRepository studySessionRepository, SessionCalendar sessionCalendar,
+                              MailDispatcher mailDispatcher,
+                              StringRedisTemplate redisTemplate, PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${session.reminders.chunk-size:500}") int chunkSize,
+                              @Value("${session.reminders.parallelism:4}") int parallelism,
+                              @Value("${session.reminders.lock-ttl:30m}") Duration lockTtl,
+                              @Value("${session.reminders.marker-ttl:3d}") Duration markerTtl,
+                              @Value("${session.reminders.dispatch-wait:30s}") Duration dispatchWait) {
+        this.studySessionRepository = studySessionRepository;
+        this.sessionCalendar = sessionCalendar;
+        this.mailDispatcher = mailDispatcher;
+        this.redisTemplate = redisTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.parallelism = Math.max(1, parallelism);
+        this.lockTtl = lockTtl;
+        this.markerTtl = markerTtl;
+        this.dispatchWait = dispatchWait;
+        this.runTimer = Timer.builder("session.reminders.run").register(meterRegistry);
+        this.queuedCounter = meterRegistry.counter("session.reminders", "outcome", "queued");
+        this.alreadySentCounter = meterRegistry.counter("session.reminders", "outcome", "already_sent");
+        this.failedCounter = meterRegistry.counter("session.reminders", "outcome", "failed");
+        this.lockContended = meterRegistry.counter("session.reminders.lock.contended");
+    }
+
+    /**
+     * What one run did; {@code ran} is false when another node held the day's lock.
+     */
+    public record Result(boolean ran, long queued, long alreadySent, long failed) {
+
+        static Result skipped() {
+            return new Result(false, 0, 0, 0);
+        }
+    }
+
+    /**
+     * Reminds the members of every group with a session on {@code day}, unless another node is already
+     * doing so.
+     */
+    public Result run(LocalDate day) {
+        String lockKey = LOCK_PREFIX + day;
+        String owner = UUID.randomUUID().toString();
+        if (!Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(lockKey, owner, lockTtl))) {
+            lockContended.increment();
+            logger.info("Reminders for {} are being sent by another node", day);
+            return Result.skipped();
+        }
+        try {
+            Result result = runTimer.record(() -> remind(day));
+            logger.info("Reminders for {}: {} queued, {} already sent, {} failed",
+                    day, result.queued(), result.alreadySent(), result.failed());
+            return result;
+        } finally {
+            try {
+                redisTemplate.execute(RELEASE_LOCK, List.of(lockKey), owner);
+            } catch (RuntimeException e) {
+                logger.warn("Could not release {}, it expires in {}", lockKey, lockTtl, e);
+            }
+        }
+    }
+
+    private Result remind(LocalDate day) {
+        Tally tally = new Tally();
+        // A session rescheduled onto the day of another of its occurrences is reminded of once
+        Map<Long, Occurrence> occurrences = sessionCalendar.occurrences(day, day).stream()
+                .collect(Collectors.toMap(Occurrence::sessionId, Function.identity(), (first, second) -> first));
+        if (occurrences.isEmpty()) {
+            return new Result(true, 0, 0, 0);
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism, task -> {
+            Thread thread = new Thread(task, "session-reminders-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Semaphore readAhead = new Semaphore(parallelism * 2);
+        try {
+            // The cursor stays open in this transaction while the workers send what has been read so far
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<ReminderRecipient> recipients =
+                             studySessionRepository.streamReminderRecipients(occurrences.keySet())) {
+                    Iterator<ReminderRecipient> iterator = recipients.iterator();
+                    List<ReminderRecipient> chunk = new ArrayList<>(chunkSize);
+                    while (iterator.hasNext()) {
+                        chunk.add(iterator.next());
+                        if (chunk.size() == chunkSize) {
+                            submit(workers, readAhead, day, occurrences, chunk, tally);
+                            chunk = new ArrayList<>(chunkSize);
+                        }
+                    }
+                    if (!chunk.isEmpty()) {
+                        submit(workers, readAhead, day, occurrences, chunk, tally);
+                    }
+                }
+            });
+        } finally {
+            workers.shutdown();
+            try {
+                if (!workers.awaitTermination(lockTtl.toMillis(), TimeUnit.MILLISECONDS)) {
+                    logger.error("Reminders for {} did not finish within {}", day, lockTtl);
+                    workers.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                workers.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+        return new Result(true, tally.queued.get(), tally.alreadySent.get(), tally.failed.get());
+    }
+
+    private void submit(ExecutorService workers, Semaphore readAhead, LocalDate day,
+                        Map<Long, Occurrence> occurrences, List<ReminderRecipient> chunk, Tally tally) {
+        try {
+            readAhead.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while sending reminders for " + day, e);
+        }
+        workers.execute(() -> {
+            try {
+                sendChunk(day, occurrences, chunk, tally);
+            } catch (RuntimeException e) {
+                // Usually Redis being down, in which case nothing was claimed and the next run retries the chunk
+                tally.failed(chunk.size());
+                logger.error("Could not send {} reminders for {}", chunk.size(), day, e);
+            } finally {
+                readAhead.release();
+            }
+        });
+    }
+
+    private void sendChunk(LocalDate day, Map<Long, Occurrence> occurrences, List<ReminderRecipient> chunk,
+                           Tally tally) {
+        String sentKey = SENT_PREFIX + day;
+        byte[] rawSentKey = sentKey.getBytes(StandardCharsets.UTF_8);
+        long markerTtlSeconds = markerTtl.toSeconds();
+        List<Object> claims = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (ReminderRecipient recipient : chunk) {
+                connection.setCommands().sAdd(rawSentKey, marker(recipient).getBytes(StandardCharsets.UTF_8));
+            }
+            connection.keyCommands().expire(rawSentKey, markerTtlSeconds);
+            return null;
+        });
+
+        for (int i = 0; i < chunk.size(); i++) {
+            ReminderRecipient recipient = chunk.get(i);
+            // SADD answers 1 when this run added the marker, 0 when an earlier run already had
+            if (!Long.valueOf(1L).equals(claims.get(i))) {
+                tally.alreadySent();
+                continue;
+            }
+            try {
+                mailDispatcher.dispatch(reminder(recipient, occurrences.get(recipient.sessionId())), dispatchWait);
+                tally.queued();
+            } catch (BibleApiException e) {
+                release(sentKey, recipient);
+                tally.failed(1);
+                logger.warn("Reminder for session {} to user {} was not queued: {}",
+                        recipient.sessionId(), recipient.userId(), e.getMessage());
+            } catch (RuntimeException e) {
+                // Whatever went wrong, the reminder was not sent; a claimed marker would stop every retry
+                release(sentKey, recipient);
+                tally.failed(1);
+                logger.error("Reminder for session {} to user {} could not be built or queued",
+                        recipient.sessionId(), recipient.userId(), e);
+            }
+        }
+    }
+
+    private void release(String sentKey, ReminderRecipient recipient) {
+        try {
+            redisTemplate.opsForSet().remove(sentKey, marker(recipient));
+        } catch (RuntimeException e) {
+            logger.error("Could not release the reminder marker of session {} for user {}, it expires with the "
+                    + "marker TTL", recipient.sessionId(), recipient.userId(), e);
+        }
+    }
+
+    private static String marker(ReminderRecipient recipient) {
+        return recipient.sessionId() + ":" + recipient.userId();
+    }
+
+    private static SimpleMailMessage reminder(ReminderRecipient recipient, Occurrence occurrence) {
+        // The session's own time and place unless this occurrence was moved
+        OccurrenceOverride override = occurrence.override();
+        LocalTime startTime = recipient.startTime();
+        LocalTime endTime = recipient.endTime();
+        String location = recipient.location();
+        if (override != null) {
+            startTime = override.startTime() != null ? override.startTime() : startTime;
+            endTime = override.endTime() != null ? override.endTime() : endTime;
+            location = override.location() != null ? override.location() : location;
+        }
+        
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setTo(recipient.email());
+        message.setSubject("Reminder: " + recipient.title());
+        message.setFrom("System");
+        message.setText(
+                "Hello " + recipient.firstName() + ",\n\n" +
+                "This is a reminder for the study session \"" + recipient.title() + "\" tomorrow.\n\n" +
+                "Date: " + occurrence.date() + "\n" +
+                "Time: " + startTime + " - " + (endTime != null ? endTime : "End time not specified") + "\n" +
+                "Location: " + (location != null ? location : "Location not specified") + "\n\n" +
+                "We look forward to seeing you!"
+        );
+        return message;
+    }
+
+    private final class Tally {
+
+        private final AtomicLong queued = new AtomicLong();
+        private final AtomicLong alreadySent = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+
+        void queued() {
+            queued.incrementAndGet();
+            queuedCounter.increment();
+        }
+
+        void alreadySent() {
+            alreadySent.incrementAndGet();
+            alreadySentCounter.increment();
+        }
+
+        void failed(int count) {
+            failed.addAndGet(count);
+            failedCounter.increment(count);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.brandyodhiambo.bibleApi.feature.eventmgt.service;
 
 import com.brandyodhiambo.bibleApi.feature.eventmgt.models.StudySession;
 import com.brandyodhiambo.bibleApi.feature.eventmgt.models.dto.CreateSessionRequest;
+import com.brandyodhiambo.bibleApi.feature.eventmgt.models.dto.OccurrenceOverrideRequest;
 import com.brandyodhiambo.bibleApi.feature.eventmgt.models.dto.SessionResponse;
 import com.brandyodhiambo.bibleApi.feature.eventmgt.models.dto.UpdateSessionRequest;
 
@@ -37,6 +38,15 @@ public interface StudySessionService {
     // Get study sessions by date range for a specific group
     List<SessionResponse> getSessionsByDateRangeAndGroup(Long groupId, LocalDate startDate, LocalDate endDate);
 
+    // Move one occurrence of a session to another date, time or place
+    SessionResponse overrideOccurrence(Long sessionId, LocalDate occurrenceDate, OccurrenceOverrideRequest request, String username);
+
+    // Cancel one occurrence of a session
+    void cancelOccurrence(Long sessionId, LocalDate occurrenceDate, String username);
+
+    // Undo the changes made to one occurrence of a session
+    void restoreOccurrence(Long sessionId, LocalDate occurrenceDate, String username);
+
     // Send notifications for upcoming sessions
     void sendSessionReminders();
 }
@@ -1,29 +1,47 @@
 package com.brandyodhiambo.bibleApi.feature.eventmgt.service;
 
+import com.brandyodhiambo.bibleApi.exception.BadRequestException;
 import com.brandyodhiambo.bibleApi.exception.ResourceNotFoundException;
+import com.brandyodhiambo.bibleApi.feature.eventmgt.calendar.Occurrence;
+import com.brandyodhiambo.bibleApi.feature.eventmgt.calendar.OccurrenceOverride;
+import com.brandyodhiambo.bibleApi.feature.eventmgt.calendar.SessionCalendar;
+import com.brandyodhiambo.bibleApi.feature.eventmgt.calendar.SessionSeries;
 import com.brandyodhiambo.bibleApi.feature.eventmgt.models.RSVPStatus;
+import com.brandyodhiambo.bibleApi.feature.eventmgt.models.SessionOccurrenceOverride;
 import com.brandyodhiambo.bibleApi.feature.eventmgt.models.StudySession;
 import com.brandyodhiambo.bibleApi.feature.eventmgt.models.dto.CreateSessionRequest;
+import com.brandyodhiambo.bibleApi.feature.eventmgt.models.dto.OccurrenceOverrideRequest;
+import com.brandyodhiambo.bibleApi.feature.eventmgt.models.dto.RSVPStatusCount;
 import com.brandyodhiambo.bibleApi.feature.eventmgt.models.dto.SessionResponse;
 import com.brandyodhiambo.bibleApi.feature.eventmgt.models.dto.UpdateSessionRequest;
+import com.brandyodhiambo.bibleApi.feature.eventmgt.repository.SessionOccurrenceOverrideRepository;
 import com.brandyodhiambo.bibleApi.feature.eventmgt.repository.SessionRSVPRepository;
 import com.brandyodhiambo.bibleApi.feature.eventmgt.repository.StudySessionRepository;
 import com.brandyodhiambo.bibleApi.feature.groupmgt.models.Group;
 import com.brandyodhiambo.bibleApi.feature.groupmgt.repository.GroupRepository;
+import com.brandyodhiambo.bibleApi.feature.groupmgt.service.MembershipService;
 import com.brandyodhiambo.bibleApi.feature.usermgt.models.RoleName;
 import com.brandyodhiambo.bibleApi.feature.usermgt.models.Users;
 import com.brandyodhiambo.bibleApi.feature.usermgt.models.dto.UserSummary;
 import com.brandyodhiambo.bibleApi.feature.usermgt.repository.UserRepository;
+import com.brandyodhiambo.bibleApi.util.ApiResponse;
 import lombok.RequiredArgsConstructor;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -34,7 +52,10 @@ public class StudySessionServiceImpl implements StudySessionService {
     private final GroupRepository groupRepository;
     private final UserRepository userRepository;
     private final SessionRSVPRepository sessionRSVPRepository;
-    private final JavaMailSender mailSender;
+    private final SessionOccurrenceOverrideRepository sessionOccurrenceOverrideRepository;
+    private final SessionCalendar sessionCalendar;
+    private final SessionReminderJob sessionReminderJob;
+    private final MembershipService membershipService;
 
     @Override
     @Transactional
@@ -65,6 +86,7 @@ public class StudySessionServiceImpl implements StudySessionService {
         session.setCreatedBy(user);
         
         StudySession savedSession = studySessionRepository.save(session);
+        sessionCalendar.invalidate();
         
         return mapToSessionResponse(savedSession);
     }
@@ -123,6 +145,7 @@ public class StudySessionServiceImpl implements StudySessionService {
         }
         
         StudySession updatedSession = studySessionRepository.save(session);
+        sessionCalendar.invalidate();
         
         return mapToSessionResponse(updatedSession);
     }
@@ -144,6 +167,7 @@ public class StudySessionServiceImpl implements StudySessionService {
         }
         
         studySessionRepository.delete(session);
+        sessionCalendar.invalidate();
     }
 
     @Override
@@ -159,9 +183,7 @@ public class StudySessionServiceImpl implements StudySessionService {
         Group group = groupRepository.findById(groupId)
                 .orElseThrow(() -> new ResourceNotFoundException("Group", "id", groupId.toString()));
         
-        return studySessionRepository.findByGroup(group).stream()
-                .map(this::mapToSessionResponse)
-                .collect(Collectors.toList());
+        return mapToSessionResponses(studySessionRepository.findByGroup(group));
     }
 
     @Override
@@ -169,25 +191,30 @@ public class StudySessionServiceImpl implements StudySessionService {
         Group group = groupRepository.findById(groupId)
                 .orElseThrow(() -> new ResourceNotFoundException("Group", "id", groupId.toString()));
         
-        return studySessionRepository.findUpcomingSessionsByGroup(group, LocalDate.now()).stream()
-                .map(this::mapToSessionResponse)
-                .collect(Collectors.toList());
+        LocalDate today = LocalDate.now();
+        LocalDate horizon = today.plusDays(sessionCalendar.getUpcomingHorizon().toDays());
+        return mapToOccurrenceResponses(sessionCalendar.occurrences(group.getId(), today, horizon),
+                studySessionRepository::findWithDetailsByIdIn);
     }
 
     @Override
     public List<SessionResponse> getUpcomingSessionsForUser(String username) {
         Users user = userRepository.getUserByName(username);
         
-        return studySessionRepository.findUpcomingSessionsForUser(user, LocalDate.now()).stream()
-                .map(this::mapToSessionResponse)
-                .collect(Collectors.toList());
+        LocalDate today = LocalDate.now();
+        LocalDate horizon = today.plusDays(sessionCalendar.getUpcomingHorizon().toDays());
+        // Only the user's groups are expanded, so only their sessions are loaded
+        List<Occurrence> occurrences = new ArrayList<>();
+        for (long groupId : membershipService.groupIds(user.getId())) {
+            occurrences.addAll(sessionCalendar.occurrences(groupId, today, horizon));
+        }
+        return mapToOccurrenceResponses(occurrences, studySessionRepository::findWithDetailsByIdIn);
     }
 
     @Override
     public List<SessionResponse> getSessionsByDateRange(LocalDate startDate, LocalDate endDate) {
-        return studySessionRepository.findSessionsByDateRange(startDate, endDate).stream()
-                .map(this::mapToSessionResponse)
-                .collect(Collectors.toList());
+        return mapToOccurrenceResponses(sessionCalendar.occurrences(startDate, endDate),
+                studySessionRepository::findWithDetailsByIdIn);
     }
 
     @Override
@@ -195,55 +222,183 @@ public class StudySessionServiceImpl implements StudySessionService {
         Group group = groupRepository.findById(groupId)
                 .orElseThrow(() -> new ResourceNotFoundException("Group", "id", groupId.toString()));
         
-        return studySessionRepository.findSessionsByDateRangeAndGroup(group, startDate, endDate).stream()
-                .map(this::mapToSessionResponse)
-                .collect(Collectors.toList());
+        return mapToOccurrenceResponses(sessionCalendar.occurrences(group.getId(), startDate, endDate),
+                studySessionRepository::findWithDetailsByIdIn);
+    }
+
+    @Override
+    @Transactional
+    public SessionResponse overrideOccurrence(Long sessionId, LocalDate occurrenceDate, OccurrenceOverrideRequest request,
+                                              String username) {
+        SessionOccurrenceOverride override = findOrCreateOverride(sessionId, occurrenceDate, username);
+        
+        // Update the override fields if provided
+        if (request.getSessionDate() != null) {
+            override.setSessionDate(request.getSessionDate());
+        }
+        
+        if (request.getStartTime() != null) {
+            override.setStartTime(request.getStartTime());
+        }
+        
+        if (request.getEndTime() != null) {
+            override.setEndTime(request.getEndTime());
+        }
+        
+        if (request.getLocation() != null) {
+            override.setLocation(request.getLocation());
+        }
+        
+        override.setCancelled(false);
+        SessionOccurrenceOverride savedOverride = sessionOccurrenceOverrideRepository.save(override);
+        sessionCalendar.invalidate();
+        
+        StudySession session = savedOverride.getSession();
+        Occurrence occurrence =
+                new Occurrence(SessionSeries.of(session), occurrenceDate, toOccurrenceOverride(savedOverride));
+        Map<RSVPStatus, Long> rsvpCounts = countRsvps(List.of(session.getId())).getOrDefault(session.getId(), Map.of());
+        return mapToOccurrenceResponse(session, occurrence, rsvpCounts);
+    }
+
+    @Override
+    @Transactional
+    public void cancelOccurrence(Long sessionId, LocalDate occurrenceDate, String username) {
+        SessionOccurrenceOverride override = findOrCreateOverride(sessionId, occurrenceDate, username);
+        override.setCancelled(true);
+        sessionOccurrenceOverrideRepository.save(override);
+        sessionCalendar.invalidate();
     }
 
     @Override
-    @Scheduled(cron = "0 0 8 * * ?") // Run at 8:00 AM every day
+    @Transactional
+    public void restoreOccurrence(Long sessionId, LocalDate occurrenceDate, String username) {
+        StudySession session = findSessionForChange(sessionId, username);
+        
+        sessionOccurrenceOverrideRepository.findBySessionAndOccurrenceDate(session, occurrenceDate)
+                .ifPresent(override -> {
+                    sessionOccurrenceOverrideRepository.delete(override);
+                    sessionCalendar.invalidate();
+                });
+    }
+
+    @Override
+    @Scheduled(cron = "${session.reminders.cron:0 0 8 * * ?}") // Run at 8:00 AM every day by default
     public void sendSessionReminders() {
-        LocalDate today = LocalDate.now();
-        LocalDate tomorrow = today.plusDays(1);
+        // Remind members of the sessions scheduled for tomorrow
+        sessionReminderJob.run(LocalDate.now().plusDays(1));
+    }
+    
+    // Helper method to load a session that the user may change occurrences of
+    private StudySession findSessionForChange(Long sessionId, String username) {
+        StudySession session = studySessionRepository.findById(sessionId)
+                .orElseThrow(() -> new ResourceNotFoundException("Study Session", "id", sessionId.toString()));
         
-        // Get all sessions scheduled for tomorrow
-        List<StudySession> tomorrowSessions = studySessionRepository.findSessionsByDateRange(tomorrow, tomorrow);
+        Users user = userRepository.getUserByName(username);
         
-        for (StudySession session : tomorrowSessions) {
-            // Send reminder to all members of the group
-            for (Users member : session.getGroup().getMembers()) {
-                sendReminderEmail(member, session);
-            }
+        // Check if the user is the session creator, group leader, or an admin
+        boolean isAdmin = user.getRole().stream()
+                .anyMatch(role -> role.getName() == RoleName.ROLE_ADMIN);
+        
+        if (!session.getCreatedBy().equals(user) && !session.getGroup().isLeader(user) && !isAdmin) {
+            throw new AccessDeniedException("Only the session creator, group leader, or an admin can change occurrences");
         }
+        return session;
     }
     
-    // Helper method to send reminder email
-    private void sendReminderEmail(Users user, StudySession session) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(user.getEmail());
-        message.setSubject("Reminder: " + session.getTitle());
-        message.setFrom("System");
-        message.setText(
-                "Hello " + user.getFirstName() + ",\n\n" +
-                "This is a reminder for the study session \"" + session.getTitle() + "\" tomorrow.\n\n" +
-                "Date: " + session.getSessionDate() + "\n" +
-                "Time: " + session.getStartTime() + " - " + (session.getEndTime() != null ? session.getEndTime() : "End time not specified") + "\n" +
-                "Location: " + (session.getLocation() != null ? session.getLocation() : "Location not specified") + "\n\n" +
-                "We look forward to seeing you!"
-        );
+    // Helper method to find the override of an occurrence, starting a new one if it has none
+    private SessionOccurrenceOverride findOrCreateOverride(Long sessionId, LocalDate occurrenceDate, String username) {
+        StudySession session = findSessionForChange(sessionId, username);
         
-        mailSender.send(message);
+        if (!SessionSeries.of(session).occursOn(occurrenceDate)) {
+            throw new BadRequestException(new ApiResponse(Boolean.FALSE,
+                    "Session " + sessionId + " has no occurrence on " + occurrenceDate));
+        }
+        return sessionOccurrenceOverrideRepository.findBySessionAndOccurrenceDate(session, occurrenceDate)
+                .orElseGet(() -> new SessionOccurrenceOverride(session, occurrenceDate));
+    }
+    
+    private static OccurrenceOverride toOccurrenceOverride(SessionOccurrenceOverride override) {
+        return new OccurrenceOverride(override.getSession().getId(), override.getOccurrenceDate(),
+                override.isCancelled(), override.getSessionDate(), override.getStartTime(), override.getEndTime(),
+                override.getLocation());
     }
     
     // Helper method to map StudySession entity to SessionResponse DTO
     private SessionResponse mapToSessionResponse(StudySession session) {
+        return mapToSessionResponses(List.of(session)).get(0);
+    }
+    
+    // Helper method to map a list of sessions, counting the RSVPs of all of them with one grouped query
+    private List<SessionResponse> mapToSessionResponses(List<StudySession> sessions) {
+        if (sessions.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Map<RSVPStatus, Long>> rsvpCounts =
+                countRsvps(sessions.stream().map(StudySession::getId).collect(Collectors.toList()));
+        return sessions.stream()
+                .map(session -> mapToSessionResponse(session, rsvpCounts.getOrDefault(session.getId(), Map.of())))
+                .collect(Collectors.toList());
+    }
+    
+    // Helper method to map occurrences, loading their sessions and counting their RSVPs with one query each;
+    // occurrences of sessions the loader does not return are left out
+    private List<SessionResponse> mapToOccurrenceResponses(List<Occurrence> occurrences,
+                                                           Function<Collection<Long>, List<StudySession>> loader) {
+        if (occurrences.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> sessionIds = occurrences.stream()
+                .map(Occurrence::sessionId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<Long, StudySession> sessions = loader.apply(sessionIds).stream()
+                .collect(Collectors.toMap(StudySession::getId, Function.identity()));
+        if (sessions.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Map<RSVPStatus, Long>> rsvpCounts = countRsvps(sessions.keySet());
+        return occurrences.stream()
+                .filter(occurrence -> sessions.containsKey(occurrence.sessionId()))
+                .map(occurrence -> mapToOccurrenceResponse(sessions.get(occurrence.sessionId()), occurrence,
+                        rsvpCounts.getOrDefault(occurrence.sessionId(), Map.of())))
+                .sorted(Comparator.comparing(SessionResponse::getSessionDate)
+                        .thenComparing(SessionResponse::getStartTime))
+                .collect(Collectors.toList());
+    }
+    
+    // RSVPs belong to the session, every occurrence reports the session's counts
+    private SessionResponse mapToOccurrenceResponse(StudySession session, Occurrence occurrence,
+                                                    Map<RSVPStatus, Long> rsvpCounts) {
+        SessionResponse response = mapToSessionResponse(session, rsvpCounts);
+        response.setOccurrenceDate(occurrence.occurrenceDate());
+        response.setSessionDate(occurrence.date());
+        OccurrenceOverride override = occurrence.override();
+        if (override != null) {
+            if (override.startTime() != null) {
+                response.setStartTime(override.startTime());
+            }
+            if (override.endTime() != null) {
+                response.setEndTime(override.endTime());
+            }
+            if (override.location() != null) {
+                response.setLocation(override.location());
+            }
+        }
+        return response;
+    }
+    
+    // Helper method to count the RSVPs of sessions by status with one grouped query
+    private Map<Long, Map<RSVPStatus, Long>> countRsvps(Collection<Long> sessionIds) {
+        Map<Long, Map<RSVPStatus, Long>> rsvpCounts = new HashMap<>();
+        for (RSVPStatusCount count : sessionRSVPRepository.countByStatusForSessions(sessionIds)) {
+            rsvpCounts.computeIfAbsent(count.sessionId(), id -> new EnumMap<>(RSVPStatus.class))
+                    .put(count.status(), count.count());
+        }
+        return rsvpCounts;
+    }
+    
+    private SessionResponse mapToSessionResponse(StudySession session, Map<RSVPStatus, Long> rsvpCounts) {
         UserSummary createdBySummary = mapToUserSummary(session.getCreatedBy());
         
-        // Count RSVPs by status
-        long attendingCount = sessionRSVPRepository.countBySessionAndStatus(session, RSVPStatus.ATTENDING);
-        long notAttendingCount = sessionRSVPRepository.countBySessionAndStatus(session, RSVPStatus.NOT_ATTENDING);
-        long maybeCount = sessionRSVPRepository.countBySessionAndStatus(session, RSVPStatus.MAYBE);
-        
         return new SessionResponse(
                 session.getId(),
                 session.getTitle(),
@@ -255,12 +410,13 @@ public class StudySessionServiceImpl implements StudySessionService {
                 session.getType(),
                 session.getRecurrencePattern(),
                 session.getRecurrenceEndDate(),
+                null,
                 session.getGroup().getId(),
                 session.getGroup().getName(),
                 createdBySummary,
-                (int) attendingCount,
-                (int) notAttendingCount,
-                (int) maybeCount,
+                rsvpCounts.getOrDefault(RSVPStatus.ATTENDING, 0L).intValue(),
+                rsvpCounts.getOrDefault(RSVPStatus.NOT_ATTENDING, 0L).intValue(),
+                rsvpCounts.getOrDefault(RSVPStatus.MAYBE, 0L).intValue(),
                 session.getCreatedAt(),
                 session.getUpdatedAt()
         );
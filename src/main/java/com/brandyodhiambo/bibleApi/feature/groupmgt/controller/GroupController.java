@@ -3,10 +3,14 @@ package com.brandyodhiambo.bibleApi.feature.groupmgt.controller;
 import com.brandyodhiambo.bibleApi.feature.groupmgt.models.dto.CreateGroupRequest;
 import com.brandyodhiambo.bibleApi.feature.groupmgt.models.dto.GroupMemberRequest;
 import com.brandyodhiambo.bibleApi.feature.groupmgt.models.dto.GroupResponse;
+import com.brandyodhiambo.bibleApi.feature.groupmgt.models.dto.GroupSummary;
 import com.brandyodhiambo.bibleApi.feature.groupmgt.models.dto.UpdateGroupRequest;
 import com.brandyodhiambo.bibleApi.feature.groupmgt.service.GroupService;
+import com.brandyodhiambo.bibleApi.feature.usermgt.models.dto.UserSummary;
+import com.brandyodhiambo.bibleApi.util.CursorPage;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -55,12 +59,32 @@ public class GroupController {
         return ResponseEntity.ok(group);
     }
 
+    /**
+     * @deprecated returns every member of every group, use {@code GET /api/v1/groups} and
+     * {@code GET /api/v1/groups/{groupId}/members}
+     */
+    @Deprecated
     @GetMapping("/all-groups")
     public ResponseEntity<List<GroupResponse>> getAllGroups() {
         List<GroupResponse> groups = groupService.getAllGroups();
         return ResponseEntity.ok(groups);
     }
 
+    @GetMapping
+    public ResponseEntity<CursorPage<GroupSummary>> getGroupSummaries(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(groupService.getGroupSummaries(cursor, size));
+    }
+
+    @GetMapping("/{groupId}/members")
+    public ResponseEntity<Page<UserSummary>> getGroupMembers(
+            @PathVariable Long groupId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(groupService.getGroupMembers(groupId, page, size));
+    }
+
     @GetMapping("group-leader/leader")
     public ResponseEntity<List<GroupResponse>> getGroupsByLeader(
             @AuthenticationPrincipal UserDetails userDetails) {
@@ -44,7 +44,9 @@ public class Group {
     @JoinTable(
         name = "group_members",
         joinColumns = @JoinColumn(name = "group_id"),
-        inverseJoinColumns = @JoinColumn(name = "user_id")
+        inverseJoinColumns = @JoinColumn(name = "user_id"),
+        // The primary key covers lookups by group, this one the "groups of a user" lookups
+        indexes = @Index(name = "idx_group_members_user", columnList = "user_id")
     )
     private Set<Users> members = new HashSet<>();
 
@@ -0,0 +1,41 @@
+package com.brandyodhiambo.bibleApi.feature.groupmgt.models.dto;
+
+import com.brandyodhiambo.bibleApi.feature.groupmgt.models.GroupType;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Group listing entry: the group's own fields and its member count, without the members themselves.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class GroupSummary implements Serializable {
+
+    private Long id;
+
+    private String name;
+
+    private String description;
+
+    private String location;
+
+    private LocalTime meetingTime;
+
+    private GroupType type;
+
+    private Long leaderId;
+
+    private String leaderUsername;
+
+    private Long memberCount;
+
+    private LocalDate createdAt;
+}
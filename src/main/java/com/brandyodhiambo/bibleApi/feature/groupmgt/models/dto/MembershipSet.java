@@ -0,0 +1,22 @@
+package com.brandyodhiambo.bibleApi.feature.groupmgt.models.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * The ids of the groups a user belongs to, sorted so a membership test is a binary search over a few longs.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MembershipSet implements Serializable {
+    private long[] groupIds;
+
+    public boolean contains(long groupId) {
+        return Arrays.binarySearch(groupIds, groupId) >= 0;
+    }
+}
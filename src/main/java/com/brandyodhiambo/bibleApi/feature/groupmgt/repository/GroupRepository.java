@@ -1,9 +1,16 @@
 package com.brandyodhiambo.bibleApi.feature.groupmgt.repository;
 
 import com.brandyodhiambo.bibleApi.feature.groupmgt.models.Group;
+import com.brandyodhiambo.bibleApi.feature.groupmgt.models.dto.GroupSummary;
 import com.brandyodhiambo.bibleApi.feature.usermgt.models.Users;
+import com.brandyodhiambo.bibleApi.feature.usermgt.models.dto.UserSummary;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -20,4 +27,48 @@ public interface GroupRepository extends JpaRepository<Group, Long> {
     List<Group> findByMember(Users member);
     
     boolean existsByName(String name);
+
+    // Membership checks that never load a members collection
+
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM group_members WHERE group_id = :groupId AND user_id = :userId)",
+            nativeQuery = true)
+    boolean existsMember(@Param("groupId") Long groupId, @Param("userId") Long userId);
+
+    @Query("SELECT g.id FROM Group g JOIN g.members m WHERE m.id = :userId ORDER BY g.id")
+    List<Long> findGroupIdsByMemberId(@Param("userId") Long userId);
+
+    @Query("SELECT m.id FROM Group g JOIN g.members m WHERE g.id = :groupId")
+    List<Long> findMemberIds(@Param("groupId") Long groupId);
+
+    @Query("SELECT COUNT(m) FROM Group g JOIN g.members m WHERE g.id = :groupId")
+    long countMembers(@Param("groupId") Long groupId);
+
+    // Joining and leaving write the one join-table row instead of loading the members collection to change it
+
+    @Modifying
+    @Query(value = "INSERT INTO group_members (group_id, user_id) VALUES (:groupId, :userId)", nativeQuery = true)
+    int insertMember(@Param("groupId") Long groupId, @Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "DELETE FROM group_members WHERE group_id = :groupId AND user_id = :userId", nativeQuery = true)
+    int deleteMember(@Param("groupId") Long groupId, @Param("userId") Long userId);
+
+    // Keyset page of groups with their member counts, one statement and no member rows loaded
+    @Query("SELECT new com.brandyodhiambo.bibleApi.feature.groupmgt.models.dto.GroupSummary("
+            + "g.id, g.name, g.description, g.location, g.meetingTime, g.type, l.id, l.username, COUNT(m), g.createdAt) "
+            + "FROM Group g JOIN g.leader l LEFT JOIN g.members m WHERE g.id > :afterId "
+            + "GROUP BY g.id, g.name, g.description, g.location, g.meetingTime, g.type, l.id, l.username, g.createdAt "
+            + "ORDER BY g.id ASC")
+    List<GroupSummary> findSummariesAfter(@Param("afterId") long afterId, Limit limit);
+
+    @Query(value = "SELECT new com.brandyodhiambo.bibleApi.feature.usermgt.models.dto.UserSummary("
+            + "m.id, m.username, m.firstName, m.lastName, m.email) "
+            + "FROM Group g JOIN g.members m WHERE g.id = :groupId ORDER BY m.id ASC",
+            countQuery = "SELECT COUNT(m) FROM Group g JOIN g.members m WHERE g.id = :groupId")
+    Page<UserSummary> findMembers(@Param("groupId") Long groupId, Pageable pageable);
+
+    @Query("SELECT new com.brandyodhiambo.bibleApi.feature.usermgt.models.dto.UserSummary("
+            + "m.id, m.username, m.firstName, m.lastName, m.email) "
+            + "FROM Group g JOIN g.members m WHERE g.id = :groupId")
+    List<UserSummary> findMemberSummaries(@Param("groupId") Long groupId);
 }
\ No newline at end of file
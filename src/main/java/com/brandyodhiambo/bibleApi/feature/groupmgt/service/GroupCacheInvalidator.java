@@ -0,0 +1,202 @@
+package com.brandyodhiambo.bibleApi.feature.groupmgt.service;
+
+import com.brandyodhiambo.bibleApi.cache.TwoTierCacheProperties;
+import com.brandyodhiambo.bibleApi.feature.groupmgt.models.dto.GroupResponse;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the group caches consistent without clearing them wholesale.
+ * <p>
+ * Every cached page of groups is recorded in a Redis set per group ({@code groups:pages:<groupId>}), so a
+ * change to one group evicts that group's entry and only the pages that contain it. That only holds while a
+ * change cannot move the group to another page, so it applies to pages sorted by immutable keys (id and
+ * creation date) or not at all. Pages sorted by anything a group can change, such as its name, are recorded
+ * in one shared set ({@code groups:pages:mutable-sort}) instead and all of them are evicted by any group
+ * change. Creating or deleting a group shifts every later page, so those still clear the paged cache. Evictions run after the surrounding
+ * transaction commits, so a concurrent reader cannot cache the pre-commit state again.
+ * <p>
+ * Evictions never fail the request that triggered them, the change is already committed: a failed eviction
+ * is logged and counted, and the stale entries expire with their TTL.
+ * <p>
+ * Reported meters: {@code group.cache.evictions} and {@code group.cache.eviction.failures} (both tagged
+ * {@code scope=group|all}), and {@code group.cache.eviction.fanout}, the number of pages each group change
+ * evicted.
+ */
+@Component
+public class GroupCacheInvalidator {
+
+    private static final Logger logger = LoggerFactory.getLogger(GroupCacheInvalidator.class);
+
+    static final String GROUPS = "groups";
+    static final String ALL_GROUPS = "allGroups";
+    static final String PAGED_GROUPS = "pagedGroups";
+    static final String PAGE_INDEX_PREFIX = "groups:pages:";
+    static final String MUTABLE_SORT_PAGES = PAGE_INDEX_PREFIX + "mutable-sort";
+
+    // Group fields that never change once the group exists, so sorting by them keeps a group on its page
+    private static final Set<String> IMMUTABLE_SORT_KEYS = Set.of("id", "createdAt");
+
+    private final CacheManager cacheManager;
+    private final StringRedisTemplate redisTemplate;
+    private final TwoTierCacheProperties cacheProperties;
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary fanout;
+
+    public GroupCacheInvalidator(CacheManager cacheManager, StringRedisTemplate redisTemplate,
+                                 TwoTierCacheProperties cacheProperties, MeterRegistry meterRegistry) {
+        this.cacheManager = cacheManager;
+        this.redisTemplate = redisTemplate;
+        this.cacheProperties = cacheProperties;
+        this.meterRegistry = meterRegistry;
+        this.fanout = DistributionSummary.builder("group.cache.eviction.fanout")
+                .description("Cached pages evicted per group change")
+                .register(meterRegistry);
+    }
+
+    /**
+     * A page of groups from the {@code pagedGroups} cache, loading and indexing it on a miss.
+     */
+    @SuppressWarnings("unchecked")
+    public Page<GroupResponse> getPage(Pageable pageable, Supplier<Page<GroupResponse>> loader) {
+        Cache pages = cacheManager.getCache(PAGED_GROUPS);
+        if (pages == null || pageable.isUnpaged()) {
+            return loader.get();
+        }
+        String pageKey = pageKey(pageable);
+        Cache.ValueWrapper cached = pages.get(pageKey);
+        if (cached != null && cached.get() != null) {
+            return (Page<GroupResponse>) cached.get();
+        }
+        Page<GroupResponse> page = loader.get();
+        // Index before caching: a page that is cached but not indexed could never be evicted by a group change
+        if (indexPage(pageKey, page, sortsOnImmutableKeys(pageable))) {
+            pages.put(pageKey, page);
+        }
+        return page;
+    }
+
+    /**
+     * A group's fields or members changed: evict it, the all-groups list and the pages that show it.
+     */
+    public void evictGroup(Long groupId) {
+        afterCommit("group", () -> {
+            evict(GROUPS, groupId);
+            evict(ALL_GROUPS, SimpleKey.EMPTY);
+
+            // The pages that show the group, and every page whose order the change may have shuffled
+            String indexKey = PAGE_INDEX_PREFIX + groupId;
+            Set<String> pageKeys = new HashSet<>();
+            addAll(pageKeys, redisTemplate.opsForSet().members(indexKey));
+            addAll(pageKeys, redisTemplate.opsForSet().members(MUTABLE_SORT_PAGES));
+            redisTemplate.delete(List.of(indexKey, MUTABLE_SORT_PAGES));
+            for (String pageKey : pageKeys) {
+                evict(PAGED_GROUPS, pageKey);
+            }
+            fanout.record(pageKeys.size());
+        });
+    }
+
+    /**
+     * A group was created or deleted, which moves groups between pages: clear all pages and the list.
+     */
+    public void evictAllPages() {
+        afterCommit("all", () -> {
+            evict(ALL_GROUPS, SimpleKey.EMPTY);
+            Cache pages = cacheManager.getCache(PAGED_GROUPS);
+            if (pages != null) {
+                pages.clear();
+            }
+        });
+    }
+
+    static String pageKey(Pageable pageable) {
+        return pageable.getPageNumber() + ":" + pageable.getPageSize() + ":" + pageable.getSort();
+    }
+
+    static boolean sortsOnImmutableKeys(Pageable pageable) {
+        return pageable.getSort().stream().allMatch(order -> IMMUTABLE_SORT_KEYS.contains(order.getProperty()));
+    }
+
+    private boolean indexPage(String pageKey, Page<GroupResponse> page, boolean immutableSort) {
+        if (page.isEmpty()) {
+            return true;
+        }
+        // The index lives as long as the pages it points to
+        long ttlSeconds = cacheProperties.specFor(PAGED_GROUPS).getRedisTtl().toSeconds();
+        byte[] member = pageKey.getBytes(StandardCharsets.UTF_8);
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                if (immutableSort) {
+                    for (GroupResponse group : page.getContent()) {
+                        byte[] indexKey = (PAGE_INDEX_PREFIX + group.getId()).getBytes(StandardCharsets.UTF_8);
+                        connection.setCommands().sAdd(indexKey, member);
+                        connection.keyCommands().expire(indexKey, ttlSeconds);
+                    }
+                } else {
+                    byte[] indexKey = MUTABLE_SORT_PAGES.getBytes(StandardCharsets.UTF_8);
+                    connection.setCommands().sAdd(indexKey, member);
+                    connection.keyCommands().expire(indexKey, ttlSeconds);
+                }
+                return null;
+            });
+            return true;
+        } catch (RuntimeException e) {
+            logger.warn("Could not index group page {}, serving it uncached", pageKey, e);
+            return false;
+        }
+    }
+
+    private static void addAll(Set<String> pageKeys, Set<String> members) {
+        if (members != null) {
+            pageKeys.addAll(members);
+        }
+    }
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
+
+    private void afterCommit(String scope, Runnable eviction) {
+        Runnable guarded = () -> {
+            try {
+                eviction.run();
+                meterRegistry.counter("group.cache.evictions", "scope", scope).increment();
+            } catch (RuntimeException e) {
+                meterRegistry.counter("group.cache.eviction.failures", "scope", scope).increment();
+                logger.warn("Could not evict cached groups (scope {}), they expire with their TTL", scope, e);
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    guarded.run();
+                }
+            });
+        } else {
+            guarded.run();
+        }
+    }
+}
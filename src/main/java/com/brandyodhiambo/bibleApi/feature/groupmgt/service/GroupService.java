@@ -2,11 +2,12 @@ package com.brandyodhiambo.bibleApi.feature.groupmgt.service;
 
 import com.brandyodhiambo.bibleApi.feature.groupmgt.models.dto.CreateGroupRequest;
 import com.brandyodhiambo.bibleApi.feature.groupmgt.models.dto.GroupResponse;
+import com.brandyodhiambo.bibleApi.feature.groupmgt.models.dto.GroupSummary;
 import com.brandyodhiambo.bibleApi.feature.groupmgt.models.dto.UpdateGroupRequest;
-import org.springframework.cache.annotation.Cacheable;
+import com.brandyodhiambo.bibleApi.feature.usermgt.models.dto.UserSummary;
+import com.brandyodhiambo.bibleApi.util.CursorPage;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -46,11 +47,33 @@ public interface GroupService {
     /**
      * Get all groups
      * @return a list of all groups
+     * @deprecated loads every member of every group, use {@link #getGroupSummaries(String, int)}
      */
+    @Deprecated
     List<GroupResponse> getAllGroups();
 
-    @Transactional(readOnly = true)
-    @Cacheable(value = "pagedGroups", key = "{#pageable.pageNumber, #pageable.pageSize}")
+    /**
+     * Get a page of groups with their member counts, in id order
+     * @param cursor the nextCursor of the previous page, or null for the first page
+     * @param size the number of groups per page
+     * @return the page of group summaries
+     */
+    CursorPage<GroupSummary> getGroupSummaries(String cursor, int size);
+
+    /**
+     * Get a page of the members of a group, in user id order
+     * @param groupId the ID of the group
+     * @param page the page number, starting at 0
+     * @param size the number of members per page
+     * @return the page of members
+     */
+    Page<UserSummary> getGroupMembers(Long groupId, int page, int size);
+
+    /**
+     * Get a page of groups
+     * @param pageable the page to get
+     * @return the page of groups
+     */
     Page<GroupResponse> getAllGroups(Pageable pageable);
 
     /**
@@ -1,23 +1,30 @@
 package com.brandyodhiambo.bibleApi.feature.groupmgt.service;
 
+import com.brandyodhiambo.bibleApi.exception.BadRequestException;
 import com.brandyodhiambo.bibleApi.exception.ResourceNotFoundException;
 import com.brandyodhiambo.bibleApi.feature.groupmgt.models.Group;
 import com.brandyodhiambo.bibleApi.feature.groupmgt.models.dto.CreateGroupRequest;
 import com.brandyodhiambo.bibleApi.feature.groupmgt.models.dto.GroupResponse;
+import com.brandyodhiambo.bibleApi.feature.groupmgt.models.dto.GroupSummary;
 import com.brandyodhiambo.bibleApi.feature.groupmgt.models.dto.UpdateGroupRequest;
 import com.brandyodhiambo.bibleApi.feature.groupmgt.repository.GroupRepository;
 import com.brandyodhiambo.bibleApi.feature.usermgt.models.RoleName;
 import com.brandyodhiambo.bibleApi.feature.usermgt.models.Users;
 import com.brandyodhiambo.bibleApi.feature.usermgt.models.dto.UserSummary;
 import com.brandyodhiambo.bibleApi.feature.usermgt.repository.UserRepository;
+import com.brandyodhiambo.bibleApi.util.ApiResponse;
+import com.brandyodhiambo.bibleApi.util.CursorPage;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -26,8 +33,12 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class GroupServiceImpl implements GroupService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final GroupRepository groupRepository;
     private final UserRepository userRepository;
+    private final GroupCacheInvalidator groupCacheInvalidator;
+    private final MembershipService membershipService;
 
     @Override
     @Transactional
@@ -61,13 +72,14 @@ public class GroupServiceImpl implements GroupService {
         group.addMember(leader);
 
         Group savedGroup = groupRepository.save(group);
+        membershipService.evict(leader.getId());
+        groupCacheInvalidator.evictAllPages();
 
         return mapToGroupResponse(savedGroup);
     }
 
     @Override
     @Transactional
-    @org.springframework.cache.annotation.CacheEvict(value = {"groups", "allGroups", "pagedGroups"}, key = "#groupId", allEntries = true)
     public GroupResponse updateGroup(Long groupId, UpdateGroupRequest request, String username) {
         Group group = groupRepository.findById(groupId)
                 .orElseThrow(() -> new ResourceNotFoundException("Group", "id", groupId.toString()));
@@ -104,13 +116,13 @@ public class GroupServiceImpl implements GroupService {
         }
 
         Group updatedGroup = groupRepository.save(group);
+        groupCacheInvalidator.evictGroup(groupId);
 
         return mapToGroupResponse(updatedGroup);
     }
 
     @Override
     @Transactional
-    @org.springframework.cache.annotation.CacheEvict(value = {"groups", "allGroups", "pagedGroups"}, key = "#groupId", allEntries = true)
     public void deleteGroup(Long groupId, String username) {
         Group group = groupRepository.findById(groupId)
                 .orElseThrow(() -> new ResourceNotFoundException("Group", "id", groupId.toString()));
@@ -125,7 +137,11 @@ public class GroupServiceImpl implements GroupService {
             throw new AccessDeniedException("Only the group leader or an admin can delete the group");
         }
 
+        List<Long> memberIds = groupRepository.findMemberIds(groupId);
         groupRepository.delete(group);
+        memberIds.forEach(membershipService::evict);
+        groupCacheInvalidator.evictGroup(groupId);
+        groupCacheInvalidator.evictAllPages();
     }
 
     @Override
@@ -144,18 +160,57 @@ public class GroupServiceImpl implements GroupService {
     @Override
     @Transactional(readOnly = true)
     @Cacheable(value = "allGroups")
+    @Deprecated
     public List<GroupResponse> getAllGroups() {
         return groupRepository.findAll().stream()
                 .map(this::mapToGroupResponse)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<GroupSummary> getGroupSummaries(String cursor, int size) {
+        checkPageSize(size);
+        long afterId = 0L;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                afterId = Long.parseLong(cursor);
+            } catch (NumberFormatException e) {
+                throw new BadRequestException(new ApiResponse(Boolean.FALSE, "Invalid cursor: " + cursor));
+            }
+        }
+
+        // Fetch one extra row to learn whether another page follows
+        List<GroupSummary> groups = groupRepository.findSummariesAfter(afterId, Limit.of(size + 1));
+        String nextCursor = null;
+        if (groups.size() > size) {
+            groups = groups.subList(0, size);
+            nextCursor = String.valueOf(groups.get(size - 1).getId());
+        }
+        return new CursorPage<>(groups, groups.size(), nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<UserSummary> getGroupMembers(Long groupId, int page, int size) {
+        checkPageSize(size);
+        if (page < 0) {
+            throw new BadRequestException(new ApiResponse(Boolean.FALSE, "Page number must not be negative"));
+        }
+        Page<UserSummary> members = groupRepository.findMembers(groupId, PageRequest.of(page, size));
+        // Every group has at least its leader as a member, so an empty first page means no such group
+        if (members.getTotalElements() == 0 && !groupRepository.existsById(groupId)) {
+            throw new ResourceNotFoundException("Group", "id", groupId.toString());
+        }
+        return members;
+    }
+
     @Transactional(readOnly = true)
-    @Cacheable(value = "pagedGroups", key = "{#pageable.pageNumber, #pageable.pageSize}")
     @Override
     public Page<GroupResponse> getAllGroups(Pageable pageable) {
-        return groupRepository.findAll(pageable)
-                .map(this::mapToGroupResponse);
+        // Cached through the invalidator so each page is indexed by the groups it contains
+        return groupCacheInvalidator.getPage(pageable, () -> groupRepository.findAll(pageable)
+                .map(this::mapToGroupResponse));
     }
 
     @Override
@@ -180,7 +235,6 @@ public class GroupServiceImpl implements GroupService {
 
     @Override
     @Transactional
-    @org.springframework.cache.annotation.CacheEvict(value = {"groups", "allGroups", "pagedGroups"}, key = "#groupId", allEntries = true)
     public GroupResponse addMember(Long groupId, String username, String requesterUsername) {
         Group group = groupRepository.findById(groupId)
                 .orElseThrow(() -> new ResourceNotFoundException("Group", "id", groupId.toString()));
@@ -202,22 +256,21 @@ public class GroupServiceImpl implements GroupService {
         }
 
         // Check if the user is already a member
-        if (group.isMember(user)) {
+        if (membershipService.existsMembership(groupId, user.getId())) {
             throw new IllegalArgumentException("User is already a member of this group");
         }
 
-        group.addMember(user);
-        Group updatedGroup = groupRepository.save(group);
+        groupRepository.insertMember(groupId, user.getId());
+        membershipService.evict(user.getId());
 
-        // Evict the cache for this group to ensure fresh data is retrieved next time
-        // This is handled by the @CacheEvict annotation on this method
+        // Evict this group and only the cached pages that show it, once the change is committed
+        groupCacheInvalidator.evictGroup(groupId);
 
-        return mapToGroupResponse(updatedGroup);
+        return mapToGroupResponseWithMembers(group);
     }
 
     @Override
     @Transactional
-    @org.springframework.cache.annotation.CacheEvict(value = {"groups", "allGroups", "pagedGroups"}, key = "#groupId", allEntries = true)
     public GroupResponse removeMember(Long groupId, String username, String requesterUsername) {
         Group group = groupRepository.findById(groupId)
                 .orElseThrow(() -> new ResourceNotFoundException("Group", "id", groupId.toString()));
@@ -234,7 +287,7 @@ public class GroupServiceImpl implements GroupService {
         }
 
         // Check if the user is a member
-        if (!group.isMember(user)) {
+        if (!membershipService.existsMembership(groupId, user.getId())) {
             throw new IllegalArgumentException("User is not a member of this group");
         }
 
@@ -243,15 +296,15 @@ public class GroupServiceImpl implements GroupService {
             throw new IllegalArgumentException("The group leader cannot be removed from the group");
         }
 
-        group.removeMember(user);
-        Group updatedGroup = groupRepository.save(group);
+        groupRepository.deleteMember(groupId, user.getId());
+        membershipService.evict(user.getId());
+        groupCacheInvalidator.evictGroup(groupId);
 
-        return mapToGroupResponse(updatedGroup);
+        return mapToGroupResponseWithMembers(group);
     }
 
     @Override
     @Transactional
-    @org.springframework.cache.annotation.CacheEvict(value = {"groups", "allGroups", "pagedGroups"}, key = "#groupId", allEntries = true)
     public GroupResponse joinGroup(Long groupId, String username) {
         Group group = groupRepository.findById(groupId)
                 .orElseThrow(() -> new ResourceNotFoundException("Group", "id", groupId.toString()));
@@ -259,19 +312,19 @@ public class GroupServiceImpl implements GroupService {
         Users user = userRepository.getUserByName(username);
 
         // Check if the user is already a member
-        if (group.isMember(user)) {
+        if (membershipService.existsMembership(groupId, user.getId())) {
             throw new IllegalArgumentException("You are already a member of this group");
         }
 
-        group.addMember(user);
-        Group updatedGroup = groupRepository.save(group);
+        groupRepository.insertMember(groupId, user.getId());
+        membershipService.evict(user.getId());
+        groupCacheInvalidator.evictGroup(groupId);
 
-        return mapToGroupResponse(updatedGroup);
+        return mapToGroupResponseWithMembers(group);
     }
 
     @Override
     @Transactional
-    @org.springframework.cache.annotation.CacheEvict(value = {"groups", "allGroups", "pagedGroups"}, key = "#groupId", allEntries = true)
     public GroupResponse leaveGroup(Long groupId, String username) {
         Group group = groupRepository.findById(groupId)
                 .orElseThrow(() -> new ResourceNotFoundException("Group", "id", groupId.toString()));
@@ -279,7 +332,7 @@ public class GroupServiceImpl implements GroupService {
         Users user = userRepository.getUserByName(username);
 
         // Check if the user is a member
-        if (!group.isMember(user)) {
+        if (!membershipService.existsMembership(groupId, user.getId())) {
             throw new IllegalArgumentException("You are not a member of this group");
         }
 
@@ -288,19 +341,34 @@ public class GroupServiceImpl implements GroupService {
             throw new IllegalArgumentException("The group leader cannot leave the group");
         }
 
-        group.removeMember(user);
-        Group updatedGroup = groupRepository.save(group);
+        groupRepository.deleteMember(groupId, user.getId());
+        membershipService.evict(user.getId());
+        groupCacheInvalidator.evictGroup(groupId);
 
-        return mapToGroupResponse(updatedGroup);
+        return mapToGroupResponseWithMembers(group);
+    }
+
+    private void checkPageSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException(new ApiResponse(Boolean.FALSE,
+                    "Page size must be between 1 and " + MAX_PAGE_SIZE));
+        }
     }
 
     // Helper method to map Group entity to GroupResponse DTO
     private GroupResponse mapToGroupResponse(Group group) {
-        UserSummary leaderSummary = mapToUserSummary(group.getLeader());
-
-        Set<UserSummary> memberSummaries = group.getMembers().stream()
+        return mapToGroupResponse(group, group.getMembers().stream()
                 .map(this::mapToUserSummary)
-                .collect(Collectors.toSet());
+                .collect(Collectors.toSet()));
+    }
+
+    // The members as they are in the database, for a group whose join-table rows were just written directly
+    private GroupResponse mapToGroupResponseWithMembers(Group group) {
+        return mapToGroupResponse(group, new HashSet<>(groupRepository.findMemberSummaries(group.getId())));
+    }
+
+    private GroupResponse mapToGroupResponse(Group group, Set<UserSummary> memberSummaries) {
+        UserSummary leaderSummary = mapToUserSummary(group.getLeader());
 
         return new GroupResponse(
                 group.getId(),
@@ -313,7 +381,7 @@ public class GroupServiceImpl implements GroupService {
                 memberSummaries,
                 group.getCreatedAt(),
                 group.getUpdatedAt(),
-                group.getMembers().size()
+                memberSummaries.size()
         );
     }
 
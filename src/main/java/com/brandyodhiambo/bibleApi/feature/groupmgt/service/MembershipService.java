@@ -0,0 +1,37 @@
+package com.brandyodhiambo.bibleApi.feature.groupmgt.service;
+
+import com.brandyodhiambo.bibleApi.feature.groupmgt.models.Group;
+import com.brandyodhiambo.bibleApi.feature.usermgt.models.Users;
+
+/**
+ * Answers "is this user in that group" without loading the group's members.
+ */
+public interface MembershipService {
+
+    /**
+     * Cached check against the ids of the groups the user belongs to.
+     */
+    boolean isMember(Long groupId, Long userId);
+
+    boolean isMember(Group group, Users user);
+
+    /**
+     * The ids of the groups the user belongs to in ascending order, from the same cache as {@link #isMember}.
+     */
+    long[] groupIds(Long userId);
+
+    /**
+     * Whether the user leads the group or is one of its members, the rule for taking part in group activity.
+     */
+    boolean isMemberOrLeader(Group group, Users user);
+
+    /**
+     * Uncached {@code EXISTS} check, for decisions that change membership and must see committed state.
+     */
+    boolean existsMembership(Long groupId, Long userId);
+
+    /**
+     * Drops the cached groups of a user once the current transaction commits, on every instance.
+     */
+    void evict(Long userId);
+}
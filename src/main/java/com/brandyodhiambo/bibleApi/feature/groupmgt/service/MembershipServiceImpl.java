@@ -0,0 +1,91 @@
+package com.brandyodhiambo.bibleApi.feature.groupmgt.service;
+
+import com.brandyodhiambo.bibleApi.feature.groupmgt.models.Group;
+import com.brandyodhiambo.bibleApi.feature.groupmgt.models.dto.MembershipSet;
+import com.brandyodhiambo.bibleApi.feature.groupmgt.repository.GroupRepository;
+import com.brandyodhiambo.bibleApi.feature.usermgt.models.Users;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Membership lookups backed by the {@code memberships} cache: per user, the sorted ids of their groups. A
+ * miss costs one indexed query on {@code group_members}, every later check for that user is a binary search.
+ * Entries are evicted after a join, leave or group deletion commits; the two-tier cache manager passes the
+ * eviction on to the other instances.
+ */
+@Service
+@RequiredArgsConstructor
+public class MembershipServiceImpl implements MembershipService {
+
+    static final String MEMBERSHIPS = "memberships";
+
+    private final GroupRepository groupRepository;
+    private final CacheManager cacheManager;
+
+    @Override
+    public boolean isMember(Long groupId, Long userId) {
+        if (groupId == null || userId == null) {
+            return false;
+        }
+        Cache cache = cacheManager.getCache(MEMBERSHIPS);
+        if (cache == null) {
+            return groupRepository.existsMember(groupId, userId);
+        }
+        MembershipSet memberships = cache.get(userId, () -> load(userId));
+        return memberships.contains(groupId);
+    }
+
+    @Override
+    public boolean isMember(Group group, Users user) {
+        return isMember(group.getId(), user.getId());
+    }
+
+    @Override
+    public long[] groupIds(Long userId) {
+        if (userId == null) {
+            return new long[0];
+        }
+        Cache cache = cacheManager.getCache(MEMBERSHIPS);
+        MembershipSet memberships = cache == null ? load(userId) : cache.get(userId, () -> load(userId));
+        return memberships.getGroupIds();
+    }
+
+    @Override
+    public boolean isMemberOrLeader(Group group, Users user) {
+        return group.isLeader(user) || isMember(group, user);
+    }
+
+    @Override
+    public boolean existsMembership(Long groupId, Long userId) {
+        return groupRepository.existsMember(groupId, userId);
+    }
+
+    @Override
+    public void evict(Long userId) {
+        Runnable eviction = () -> {
+            Cache cache = cacheManager.getCache(MEMBERSHIPS);
+            if (cache != null) {
+                cache.evict(userId);
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        } else {
+            eviction.run();
+        }
+    }
+
+    private MembershipSet load(Long userId) {
+        return new MembershipSet(
+                groupRepository.findGroupIdsByMemberId(userId).stream().mapToLong(Long::longValue).toArray());
+    }
+}
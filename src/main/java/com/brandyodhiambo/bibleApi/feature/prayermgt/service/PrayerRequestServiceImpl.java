@@ -1,7 +1,10 @@
 package com.brandyodhiambo.bibleApi.feature.prayermgt.service;
 
+import com.brandyodhiambo.bibleApi.feature.analyticsmgt.events.ParticipationEvent;
+import com.brandyodhiambo.bibleApi.feature.analyticsmgt.events.ParticipationEventQueue;
 import com.brandyodhiambo.bibleApi.feature.groupmgt.models.Group;
 import com.brandyodhiambo.bibleApi.feature.groupmgt.repository.GroupRepository;
+import com.brandyodhiambo.bibleApi.feature.groupmgt.service.MembershipService;
 import com.brandyodhiambo.bibleApi.feature.prayermgt.models.PrayerRequest;
 import com.brandyodhiambo.bibleApi.feature.prayermgt.models.dto.PrayerRequestResponse;
 import com.brandyodhiambo.bibleApi.feature.prayermgt.repository.PrayerRequestRepository;
@@ -21,6 +24,8 @@ public class PrayerRequestServiceImpl implements PrayerRequestService {
 
     private final PrayerRequestRepository prayerRequestRepository;
     private final GroupRepository groupRepository;
+    private final MembershipService membershipService;
+    private final ParticipationEventQueue participationEventQueue;
 
     @Override
     public PrayerRequestResponse createPrayerRequest(Long groupId, String title, String description) {
@@ -31,7 +36,7 @@ public class PrayerRequestServiceImpl implements PrayerRequestService {
                 .orElseThrow(() -> new EntityNotFoundException("Group not found with id: " + groupId));
 
         // Check if user is a member of the group
-        if (!group.isMember(currentUser) && !group.isLeader(currentUser)) {
+        if (!membershipService.isMemberOrLeader(group, currentUser)) {
             throw new IllegalStateException("You must be a member of the group to create prayer requests");
         }
 
@@ -44,6 +49,8 @@ public class PrayerRequestServiceImpl implements PrayerRequestService {
                 .build();
 
         PrayerRequest savedPrayerRequest = prayerRequestRepository.save(prayerRequest);
+        participationEventQueue.publish(
+                ParticipationEvent.of(ParticipationEvent.Kind.PRAYER_REQUEST_SUBMITTED, group, currentUser));
         return mapToResponse(savedPrayerRequest);
     }
 
@@ -56,7 +63,7 @@ public class PrayerRequestServiceImpl implements PrayerRequestService {
                 .orElseThrow(() -> new EntityNotFoundException("Group not found with id: " + groupId));
 
         // Check if user is a member of the group
-        if (!group.isMember(currentUser) && !group.isLeader(currentUser)) {
+        if (!membershipService.isMemberOrLeader(group, currentUser)) {
             throw new IllegalStateException("You must be a member of the group to view prayer requests");
         }
 
@@ -75,7 +82,7 @@ public class PrayerRequestServiceImpl implements PrayerRequestService {
                 .orElseThrow(() -> new EntityNotFoundException("Group not found with id: " + groupId));
 
         // Check if user is a member of the group
-        if (!group.isMember(currentUser) && !group.isLeader(currentUser)) {
+        if (!membershipService.isMemberOrLeader(group, currentUser)) {
             throw new IllegalStateException("You must be a member of the group to view prayer requests");
         }
 
@@ -96,7 +103,7 @@ public class PrayerRequestServiceImpl implements PrayerRequestService {
         Group group = prayerRequest.getGroup();
 
         // Check if user is a member of the group
-        if (!group.isMember(currentUser) && !group.isLeader(currentUser)) {
+        if (!membershipService.isMemberOrLeader(group, currentUser)) {
             throw new IllegalStateException("You must be a member of the group to view this prayer request");
         }
 
@@ -135,9 +142,14 @@ public class PrayerRequestServiceImpl implements PrayerRequestService {
             throw new IllegalStateException("You can only mark your own prayer requests as answered");
         }
 
+        boolean newlyAnswered = !prayerRequest.isAnswered();
         prayerRequest.setAnswered(true);
         prayerRequest.setTestimony(testimony);
         PrayerRequest updatedPrayerRequest = prayerRequestRepository.save(prayerRequest);
+        if (newlyAnswered) {
+            participationEventQueue.publish(ParticipationEvent.of(ParticipationEvent.Kind.PRAYER_REQUEST_ANSWERED,
+                    prayerRequest.getGroup(), currentUser));
+        }
         return mapToResponse(updatedPrayerRequest);
     }
 
@@ -1,19 +1,23 @@
 package com.brandyodhiambo.bibleApi.feature.studymgt.controller;
 
-import com.brandyodhiambo.bibleApi.feature.studymgt.models.StudyMaterial;
+import com.brandyodhiambo.bibleApi.feature.studymgt.models.dto.StudyMaterialDownload;
 import com.brandyodhiambo.bibleApi.feature.studymgt.models.dto.StudyMaterialResponse;
 import com.brandyodhiambo.bibleApi.feature.studymgt.service.StudyMaterialService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @RestController
@@ -21,6 +25,9 @@ import java.util.List;
 @RequiredArgsConstructor
 public class StudyMaterialController {
 
+    // Stored files never change, clients revalidate with the content hash as ETag
+    private static final CacheControl DOWNLOAD_CACHE = CacheControl.noCache().cachePrivate();
+
     private final StudyMaterialService studyMaterialService;
 
     @PostMapping("/upload")
@@ -99,16 +106,27 @@ public class StudyMaterialController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Streams the file; a {@code Range} header is answered with 206 and only the requested bytes, so
+     * interrupted downloads can resume.
+     */
     @GetMapping("/download/{materialId}")
-    public ResponseEntity<Resource> downloadStudyMaterial(@PathVariable Long materialId) {
-        StudyMaterial material = studyMaterialService.downloadStudyMaterial(materialId);
-        
-        ByteArrayResource resource = new ByteArrayResource(material.getFileData());
-        
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + material.getFileName() + "\"")
-                .contentType(MediaType.parseMediaType(material.getFileType()))
-                .contentLength(material.getFileSize())
-                .body(resource);
+    public ResponseEntity<Resource> downloadStudyMaterial(@PathVariable Long materialId, WebRequest request) {
+        StudyMaterialDownload download = studyMaterialService.downloadStudyMaterial(materialId);
+        String eTag = download.contentHash() != null ? "\"" + download.contentHash() + "\"" : null;
+        if (eTag != null && request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(DOWNLOAD_CACHE).build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(download.fileName(), StandardCharsets.UTF_8)
+                        .build()
+                        .toString())
+                .contentType(MediaType.parseMediaType(download.fileType()));
+        if (eTag != null) {
+            response.eTag(eTag).cacheControl(DOWNLOAD_CACHE);
+        }
+        return response.body(download.content());
     }
 }
\ No newline at end of file
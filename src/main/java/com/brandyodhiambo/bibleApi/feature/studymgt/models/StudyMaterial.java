@@ -17,7 +17,7 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Table(name = "study_materials")
+@Table(name = "study_materials", indexes = @Index(name = "idx_study_materials_content_hash", columnList = "content_hash"))
 public class StudyMaterial {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -38,9 +38,9 @@ public class StudyMaterial {
     @Column(nullable = false)
     private Long fileSize;
 
-    @Lob
-    @Column(columnDefinition = "LONGBLOB")
-    private byte[] fileData;
+    // SHA-256 of the file in the blob store
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
 
     @ManyToOne(fetch = FetchType.EAGER)
     @JoinColumn(name = "group_id", nullable = false)
@@ -0,0 +1,9 @@
+package com.brandyodhiambo.bibleApi.feature.studymgt.models.dto;
+
+import org.springframework.core.io.Resource;
+
+/**
+ * A study material file ready to be streamed from the blob store.
+ */
+public record StudyMaterialDownload(String fileName, String fileType, String contentHash, Resource content) {
+}
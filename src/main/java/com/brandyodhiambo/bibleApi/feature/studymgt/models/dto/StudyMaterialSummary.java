@@ -0,0 +1,14 @@
+package com.brandyodhiambo.bibleApi.feature.studymgt.models.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * What a list or search result shows of a study material, selected column by column so the file is never
+ * read.
+ */
+public record StudyMaterialSummary(Long id, String title, String description, String fileName, String fileType,
+                                   Long fileSize, Long groupId, String groupName, Long uploaderId,
+                                   String uploaderUsername, String uploaderFirstName, String uploaderLastName,
+                                   String uploaderEmail, String keywords, LocalDateTime createdAt,
+                                   LocalDateTime updatedAt) {
+}
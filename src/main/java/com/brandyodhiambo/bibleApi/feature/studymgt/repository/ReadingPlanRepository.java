@@ -12,7 +12,7 @@ import java.time.LocalDate;
 import java.util.List;
 
 @Repository
-public interface ReadingPlanRepository extends JpaRepository<ReadingPlan, Long> {
+public interface ReadingPlanRepository extends JpaRepository<ReadingPlan, Long>, ReadingPlanSearchRepository {
     
     List<ReadingPlan> findByGroup(Group group);
     
@@ -21,20 +21,6 @@ public interface ReadingPlanRepository extends JpaRepository<ReadingPlan, Long>
     @Query("SELECT rp FROM ReadingPlan rp WHERE rp.group = :group AND rp.createdBy = :user")
     List<ReadingPlan> findByGroupAndCreatedBy(@Param("group") Group group, @Param("user") Users user);
     
-    @Query("SELECT rp FROM ReadingPlan rp WHERE " +
-           "LOWER(rp.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(rp.description) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(rp.bibleReferences) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(rp.topics) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
-    List<ReadingPlan> searchByTerm(@Param("searchTerm") String searchTerm);
-    
-    @Query("SELECT rp FROM ReadingPlan rp WHERE rp.group = :group AND (" +
-           "LOWER(rp.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(rp.description) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(rp.bibleReferences) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(rp.topics) LIKE LOWER(CONCAT('%', :searchTerm, '%')))")
-    List<ReadingPlan> searchByTermInGroup(@Param("searchTerm") String searchTerm, @Param("group") Group group);
-    
     List<ReadingPlan> findByStartDateGreaterThanEqualAndEndDateLessThanEqual(LocalDate startDate, LocalDate endDate);
     
     @Query("SELECT rp FROM ReadingPlan rp WHERE rp.group = :group AND " +
@@ -0,0 +1,15 @@
+package com.brandyodhiambo.bibleApi.feature.studymgt.repository;
+
+import com.brandyodhiambo.bibleApi.feature.groupmgt.models.Group;
+import com.brandyodhiambo.bibleApi.feature.studymgt.models.ReadingPlan;
+
+import java.util.List;
+
+/**
+ * Search over reading plan titles, descriptions, references and topics, answered by whichever search engine is active.
+ */
+public interface ReadingPlanSearchRepository {
+    List<ReadingPlan> searchByTerm(String searchTerm);
+
+    List<ReadingPlan> searchByTermInGroup(String searchTerm, Group group);
+}
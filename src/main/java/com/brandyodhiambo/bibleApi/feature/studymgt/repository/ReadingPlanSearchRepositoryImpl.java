@@ -0,0 +1,63 @@
+package com.brandyodhiambo.bibleApi.feature.studymgt.repository;
+
+import com.brandyodhiambo.bibleApi.feature.groupmgt.models.Group;
+import com.brandyodhiambo.bibleApi.feature.studymgt.models.ReadingPlan;
+import com.brandyodhiambo.bibleApi.search.SearchEngineSelector;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+public class ReadingPlanSearchRepositoryImpl implements ReadingPlanSearchRepository {
+
+    private static final String LIKE_MATCH =
+            "(LOWER(rp.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+            "LOWER(rp.description) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+            "LOWER(rp.bibleReferences) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+            "LOWER(rp.topics) LIKE LOWER(CONCAT('%', :searchTerm, '%')))";
+
+    private static final String FULL_TEXT_MATCH = "rp.search_vector @@ websearch_to_tsquery('simple', :searchTerm)";
+    private static final String FULL_TEXT_RANK =
+            " ORDER BY ts_rank(rp.search_vector, websearch_to_tsquery('simple', :searchTerm)) DESC, rp.id";
+
+    private final SearchEngineSelector searchEngine;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<ReadingPlan> searchByTerm(String searchTerm) {
+        if (searchEngine.useDatabaseFullText()) {
+            return entityManager.createNativeQuery(
+                            "SELECT rp.* FROM reading_plans rp WHERE " + FULL_TEXT_MATCH + FULL_TEXT_RANK,
+                            ReadingPlan.class)
+                    .setParameter("searchTerm", searchTerm)
+                    .getResultList();
+        }
+        return entityManager.createQuery("SELECT rp FROM ReadingPlan rp WHERE " + LIKE_MATCH, ReadingPlan.class)
+                .setParameter("searchTerm", searchTerm)
+                .getResultList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<ReadingPlan> searchByTermInGroup(String searchTerm, Group group) {
+        if (searchEngine.useDatabaseFullText()) {
+            return entityManager.createNativeQuery(
+                            "SELECT rp.* FROM reading_plans rp WHERE rp.group_id = :groupId AND " + FULL_TEXT_MATCH
+                                    + FULL_TEXT_RANK,
+                            ReadingPlan.class)
+                    .setParameter("searchTerm", searchTerm)
+                    .setParameter("groupId", group.getId())
+                    .getResultList();
+        }
+        return entityManager.createQuery(
+                        "SELECT rp FROM ReadingPlan rp WHERE rp.group = :group AND " + LIKE_MATCH, ReadingPlan.class)
+                .setParameter("searchTerm", searchTerm)
+                .setParameter("group", group)
+                .getResultList();
+    }
+}
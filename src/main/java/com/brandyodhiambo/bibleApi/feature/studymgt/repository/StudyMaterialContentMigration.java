@@ -0,0 +1,21 @@
+package com.brandyodhiambo.bibleApi.feature.studymgt.repository;
+
+import com.brandyodhiambo.bibleApi.storage.BlobStorage;
+import com.brandyodhiambo.bibleApi.storage.InlineContentMigration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Moves files uploaded before the blob store out of {@code study_materials.file_data}.
+ */
+@Repository
+@DependsOn("entityManagerFactory")
+public class StudyMaterialContentMigration extends InlineContentMigration {
+
+    public StudyMaterialContentMigration(JdbcTemplate jdbcTemplate, BlobStorage blobStorage,
+                                         PlatformTransactionManager transactionManager) {
+        super(jdbcTemplate, blobStorage, transactionManager, "study_materials", "file_data");
+    }
+}
@@ -2,7 +2,9 @@ package com.brandyodhiambo.bibleApi.feature.studymgt.repository;
 
 import com.brandyodhiambo.bibleApi.feature.groupmgt.models.Group;
 import com.brandyodhiambo.bibleApi.feature.studymgt.models.StudyMaterial;
+import com.brandyodhiambo.bibleApi.feature.studymgt.models.dto.StudyMaterialSummary;
 import com.brandyodhiambo.bibleApi.feature.usermgt.models.Users;
+import com.brandyodhiambo.bibleApi.storage.BlobOwner;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -11,24 +13,22 @@ import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
-public interface StudyMaterialRepository extends JpaRepository<StudyMaterial, Long> {
+public interface StudyMaterialRepository extends JpaRepository<StudyMaterial, Long>, StudyMaterialSearchRepository,
+        BlobOwner {
     
-    List<StudyMaterial> findByGroup(Group group);
+    @Query(SUMMARY_SELECT + "WHERE g.id = :groupId")
+    List<StudyMaterialSummary> findSummariesByGroupId(@Param("groupId") Long groupId);
     
-    List<StudyMaterial> findByUploadedBy(Users user);
+    @Query(SUMMARY_SELECT + "WHERE u = :user")
+    List<StudyMaterialSummary> findSummariesByUploadedBy(@Param("user") Users user);
     
     @Query("SELECT sm FROM StudyMaterial sm WHERE sm.group = :group AND sm.uploadedBy = :user")
     List<StudyMaterial> findByGroupAndUploadedBy(@Param("group") Group group, @Param("user") Users user);
     
-    @Query("SELECT sm FROM StudyMaterial sm WHERE " +
-           "LOWER(sm.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(sm.description) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(sm.keywords) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
-    List<StudyMaterial> searchByTerm(@Param("searchTerm") String searchTerm);
+    long countByContentHash(String contentHash);
     
-    @Query("SELECT sm FROM StudyMaterial sm WHERE sm.group = :group AND (" +
-           "LOWER(sm.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(sm.description) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(sm.keywords) LIKE LOWER(CONCAT('%', :searchTerm, '%')))")
-    List<StudyMaterial> searchByTermInGroup(@Param("searchTerm") String searchTerm, @Param("group") Group group);
-}
\ No newline at end of file
+    @Override
+    default long countReferences(String hash) {
+        return countByContentHash(hash);
+    }
+}
@@ -0,0 +1,22 @@
+package com.brandyodhiambo.bibleApi.feature.studymgt.repository;
+
+import com.brandyodhiambo.bibleApi.feature.groupmgt.models.Group;
+import com.brandyodhiambo.bibleApi.feature.studymgt.models.dto.StudyMaterialSummary;
+
+import java.util.List;
+
+/**
+ * Search over study material titles, descriptions and keywords, answered by whichever search engine is active.
+ */
+public interface StudyMaterialSearchRepository {
+
+    // Columns of a StudyMaterialSummary; queries add their own WHERE clause
+    String SUMMARY_SELECT = "SELECT new com.brandyodhiambo.bibleApi.feature.studymgt.models.dto.StudyMaterialSummary(" +
+            "sm.id, sm.title, sm.description, sm.fileName, sm.fileType, sm.fileSize, g.id, g.name, " +
+            "u.id, u.username, u.firstName, u.lastName, u.email, sm.keywords, sm.createdAt, sm.updatedAt) " +
+            "FROM StudyMaterial sm JOIN sm.group g JOIN sm.uploadedBy u ";
+
+    List<StudyMaterialSummary> searchByTerm(String searchTerm);
+
+    List<StudyMaterialSummary> searchByTermInGroup(String searchTerm, Group group);
+}
@@ -0,0 +1,83 @@
+package com.brandyodhiambo.bibleApi.feature.studymgt.repository;
+
+import com.brandyodhiambo.bibleApi.feature.groupmgt.models.Group;
+import com.brandyodhiambo.bibleApi.feature.studymgt.models.dto.StudyMaterialSummary;
+import com.brandyodhiambo.bibleApi.search.SearchEngineSelector;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class StudyMaterialSearchRepositoryImpl implements StudyMaterialSearchRepository {
+
+    private static final String LIKE_MATCH =
+            "(LOWER(sm.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+            "LOWER(sm.description) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+            "LOWER(sm.keywords) LIKE LOWER(CONCAT('%', :searchTerm, '%')))";
+
+    private static final String FULL_TEXT_MATCH = "sm.search_vector @@ websearch_to_tsquery('simple', :searchTerm)";
+    private static final String FULL_TEXT_RANK =
+            " ORDER BY ts_rank(sm.search_vector, websearch_to_tsquery('simple', :searchTerm)) DESC, sm.id";
+
+    private final SearchEngineSelector searchEngine;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<StudyMaterialSummary> searchByTerm(String searchTerm) {
+        if (searchEngine.useDatabaseFullText()) {
+            List<Number> ids = entityManager.createNativeQuery(
+                            "SELECT sm.id FROM study_materials sm WHERE " + FULL_TEXT_MATCH + FULL_TEXT_RANK)
+                    .setParameter("searchTerm", searchTerm)
+                    .getResultList();
+            return summariesInOrder(ids);
+        }
+        return entityManager.createQuery(SUMMARY_SELECT + "WHERE " + LIKE_MATCH, StudyMaterialSummary.class)
+                .setParameter("searchTerm", searchTerm)
+                .getResultList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<StudyMaterialSummary> searchByTermInGroup(String searchTerm, Group group) {
+        if (searchEngine.useDatabaseFullText()) {
+            List<Number> ids = entityManager.createNativeQuery(
+                            "SELECT sm.id FROM study_materials sm WHERE sm.group_id = :groupId AND " + FULL_TEXT_MATCH
+                                    + FULL_TEXT_RANK)
+                    .setParameter("searchTerm", searchTerm)
+                    .setParameter("groupId", group.getId())
+                    .getResultList();
+            return summariesInOrder(ids);
+        }
+        return entityManager.createQuery(SUMMARY_SELECT + "WHERE g = :group AND " + LIKE_MATCH,
+                        StudyMaterialSummary.class)
+                .setParameter("searchTerm", searchTerm)
+                .setParameter("group", group)
+                .getResultList();
+    }
+
+    // Ranked ids come from the native full-text query, the columns from one JPQL projection, kept in rank order
+    private List<StudyMaterialSummary> summariesInOrder(List<Number> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Integer> rank = new HashMap<>();
+        for (Number id : ids) {
+            rank.putIfAbsent(id.longValue(), rank.size());
+        }
+        List<StudyMaterialSummary> summaries = new ArrayList<>(entityManager
+                .createQuery(SUMMARY_SELECT + "WHERE sm.id IN :ids", StudyMaterialSummary.class)
+                .setParameter("ids", rank.keySet())
+                .getResultList());
+        summaries.sort(Comparator.comparing(summary -> rank.get(summary.id())));
+        return summaries;
+    }
+}
@@ -1,5 +1,7 @@
 package com.brandyodhiambo.bibleApi.feature.studymgt.service;
 
+import com.brandyodhiambo.bibleApi.feature.analyticsmgt.events.ParticipationEvent;
+import com.brandyodhiambo.bibleApi.feature.analyticsmgt.events.ParticipationEventQueue;
 import com.brandyodhiambo.bibleApi.feature.studymgt.models.Comment;
 import com.brandyodhiambo.bibleApi.feature.studymgt.models.StudyMaterial;
 import com.brandyodhiambo.bibleApi.feature.studymgt.models.dto.CommentResponse;
@@ -21,6 +23,7 @@ public class CommentServiceImpl implements CommentService {
 
     private final CommentRepository commentRepository;
     private final StudyMaterialRepository studyMaterialRepository;
+    private final ParticipationEventQueue participationEventQueue;
 
     @Override
     public CommentResponse addComment(Long studyMaterialId, String content) {
@@ -37,6 +40,8 @@ public class CommentServiceImpl implements CommentService {
                 .build();
 
         Comment savedComment = commentRepository.save(comment);
+        participationEventQueue.publish(ParticipationEvent.of(ParticipationEvent.Kind.STUDY_COMMENT_MADE,
+                studyMaterial.getGroup(), currentUser));
         return mapToResponse(savedComment);
     }
 
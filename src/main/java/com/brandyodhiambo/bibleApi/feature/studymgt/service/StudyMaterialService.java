@@ -1,6 +1,6 @@
 package com.brandyodhiambo.bibleApi.feature.studymgt.service;
 
-import com.brandyodhiambo.bibleApi.feature.studymgt.models.StudyMaterial;
+import com.brandyodhiambo.bibleApi.feature.studymgt.models.dto.StudyMaterialDownload;
 import com.brandyodhiambo.bibleApi.feature.studymgt.models.dto.StudyMaterialResponse;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -88,7 +88,7 @@ public interface StudyMaterialService {
      * Download a study material file
      * 
      * @param materialId The ID of the study material
-     * @return The study material entity with file data
+     * @return The file name, type and content hash, with the content as a resource to stream from
      */
-    StudyMaterial downloadStudyMaterial(Long materialId);
+    StudyMaterialDownload downloadStudyMaterial(Long materialId);
 }
\ No newline at end of file
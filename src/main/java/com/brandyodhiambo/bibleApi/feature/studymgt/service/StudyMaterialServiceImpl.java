@@ -4,12 +4,17 @@ import com.brandyodhiambo.bibleApi.exception.ResourceNotFoundException;
 import com.brandyodhiambo.bibleApi.feature.groupmgt.models.Group;
 import com.brandyodhiambo.bibleApi.feature.groupmgt.repository.GroupRepository;
 import com.brandyodhiambo.bibleApi.feature.studymgt.models.StudyMaterial;
+import com.brandyodhiambo.bibleApi.feature.studymgt.models.dto.StudyMaterialDownload;
 import com.brandyodhiambo.bibleApi.feature.studymgt.models.dto.StudyMaterialResponse;
+import com.brandyodhiambo.bibleApi.feature.studymgt.models.dto.StudyMaterialSummary;
+import com.brandyodhiambo.bibleApi.feature.studymgt.repository.StudyMaterialContentMigration;
 import com.brandyodhiambo.bibleApi.feature.studymgt.repository.StudyMaterialRepository;
 import com.brandyodhiambo.bibleApi.feature.usermgt.models.RoleName;
 import com.brandyodhiambo.bibleApi.feature.usermgt.models.Users;
 import com.brandyodhiambo.bibleApi.feature.usermgt.models.dto.UserSummary;
 import com.brandyodhiambo.bibleApi.feature.usermgt.repository.UserRepository;
+import com.brandyodhiambo.bibleApi.storage.BlobStorage;
+import com.brandyodhiambo.bibleApi.storage.StoredBlob;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
@@ -17,6 +22,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -27,6 +33,8 @@ public class StudyMaterialServiceImpl implements StudyMaterialService {
     private final StudyMaterialRepository studyMaterialRepository;
     private final GroupRepository groupRepository;
     private final UserRepository userRepository;
+    private final BlobStorage blobStorage;
+    private final StudyMaterialContentMigration contentMigration;
 
     @Override
     @Transactional
@@ -46,14 +54,16 @@ public class StudyMaterialServiceImpl implements StudyMaterialService {
             throw new AccessDeniedException("Only the group leader or an admin can upload study materials");
         }
         
-        try {
+        // Streamed from the part Tomcat spooled to disk, never read into memory whole
+        try (InputStream content = file.getInputStream()) {
+            StoredBlob blob = blobStorage.store(content);
             StudyMaterial material = StudyMaterial.builder()
                     .title(title)
                     .description(description)
                     .fileName(file.getOriginalFilename())
                     .fileType(file.getContentType())
-                    .fileSize(file.getSize())
-                    .fileData(file.getBytes())
+                    .fileSize(blob.size())
+                    .contentHash(blob.hash())
                     .group(group)
                     .uploadedBy(user)
                     .keywords(keywords)
@@ -80,7 +90,7 @@ public class StudyMaterialServiceImpl implements StudyMaterialService {
         Group group = groupRepository.findById(groupId)
                 .orElseThrow(() -> new ResourceNotFoundException("Group", "id", groupId.toString()));
         
-        return studyMaterialRepository.findByGroup(group).stream()
+        return studyMaterialRepository.findSummariesByGroupId(group.getId()).stream()
                 .map(this::mapToStudyMaterialResponse)
                 .collect(Collectors.toList());
     }
@@ -89,7 +99,7 @@ public class StudyMaterialServiceImpl implements StudyMaterialService {
     public List<StudyMaterialResponse> getStudyMaterialsByUser(String username) {
         Users user = userRepository.getUserByName(username);
         
-        return studyMaterialRepository.findByUploadedBy(user).stream()
+        return studyMaterialRepository.findSummariesByUploadedBy(user).stream()
                 .map(this::mapToStudyMaterialResponse)
                 .collect(Collectors.toList());
     }
@@ -167,12 +177,24 @@ public class StudyMaterialServiceImpl implements StudyMaterialService {
         }
         
         studyMaterialRepository.delete(material);
+        blobStorage.release(material.getContentHash());
     }
 
     @Override
-    public StudyMaterial downloadStudyMaterial(Long materialId) {
-        return studyMaterialRepository.findById(materialId)
+    public StudyMaterialDownload downloadStudyMaterial(Long materialId) {
+        StudyMaterial material = studyMaterialRepository.findById(materialId)
                 .orElseThrow(() -> new ResourceNotFoundException("Study Material", "id", materialId.toString()));
+
+        String contentHash = material.getContentHash();
+        if (contentHash == null) {
+            // Uploaded before the blob store and not moved there yet
+            contentHash = contentMigration.migrate(materialId);
+            if (contentHash == null) {
+                throw new ResourceNotFoundException("Study Material file", "id", materialId.toString());
+            }
+        }
+        return new StudyMaterialDownload(material.getFileName(), material.getFileType(), contentHash,
+                blobStorage.resource(contentHash));
     }
     
     // Helper method to map StudyMaterial entity to StudyMaterialResponse DTO
@@ -193,6 +215,25 @@ public class StudyMaterialServiceImpl implements StudyMaterialService {
                 .build();
     }
     
+    // Helper method to map a list or search result to StudyMaterialResponse DTO
+    private StudyMaterialResponse mapToStudyMaterialResponse(StudyMaterialSummary summary) {
+        return StudyMaterialResponse.builder()
+                .id(summary.id())
+                .title(summary.title())
+                .description(summary.description())
+                .fileName(summary.fileName())
+                .fileType(summary.fileType())
+                .fileSize(summary.fileSize())
+                .groupId(summary.groupId())
+                .groupName(summary.groupName())
+                .uploadedBy(new UserSummary(summary.uploaderId(), summary.uploaderUsername(),
+                        summary.uploaderFirstName(), summary.uploaderLastName(), summary.uploaderEmail()))
+                .keywords(summary.keywords())
+                .createdAt(summary.createdAt())
+                .updatedAt(summary.updatedAt())
+                .build();
+    }
+    
     // Helper method to map Users entity to UserSummary DTO
     private UserSummary mapToUserSummary(Users user) {
         return new UserSummary(
@@ -0,0 +1,51 @@
+package com.brandyodhiambo.bibleApi.feature.usermgt.avatar;
+
+import com.brandyodhiambo.bibleApi.storage.BlobStorage;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Profile images served most often, kept on the heap by content hash so a member list does not read every
+ * avatar from blob storage again.
+ * <p>
+ * A hash always names the same bytes, so entries never go stale and nothing has to invalidate them, here or
+ * on other instances; a replaced image simply gets a new hash. The cache is bounded by the bytes it holds
+ * ({@code max-size}) and reported as the {@code avatars} cache meters.
+ */
+@Component
+public class AvatarCache {
+
+    private final BlobStorage blobStorage;
+    private final Cache<String, byte[]> images;
+
+    public AvatarCache(BlobStorage blobStorage, MeterRegistry meterRegistry,
+                       @Value("${profile.image.cache.max-size:64MB}") DataSize maxSize) {
+        this.blobStorage = blobStorage;
+        this.images = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((String hash, byte[] image) -> image.length)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, images, "avatars");
+    }
+
+    public byte[] get(String contentHash) {
+        return images.get(contentHash, this::load);
+    }
+
+    private byte[] load(String contentHash) {
+        try {
+            return blobStorage.resource(contentHash).getContentAsByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read profile image " + contentHash, e);
+        }
+    }
+}
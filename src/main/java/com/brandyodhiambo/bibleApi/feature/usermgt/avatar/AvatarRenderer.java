@@ -0,0 +1,159 @@
+package com.brandyodhiambo.bibleApi.feature.usermgt.avatar;
+
+import com.brandyodhiambo.bibleApi.exception.BadRequestException;
+import com.brandyodhiambo.bibleApi.feature.usermgt.models.AvatarSize;
+import com.brandyodhiambo.bibleApi.util.ApiResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Decodes an uploaded profile image once and renders its thumbnails.
+ * <p>
+ * The upload is kept byte for byte as it came, already compressed by its own format. The size is checked
+ * before anything is read and the dimensions from the header before any pixel is decoded, so a small file
+ * claiming a huge canvas is refused without allocating it. Thumbnails are the centre square of the image,
+ * scaled down in halving steps for a sharp result, and written as PNG when the image has transparency and as
+ * JPEG otherwise.
+ */
+@Component
+public class AvatarRenderer {
+
+    private static final float JPEG_QUALITY = 0.85f;
+
+    private final long maxBytes;
+    private final long maxPixels;
+
+    public AvatarRenderer(@Value("${profile.image.max-size:10MB}") DataSize maxSize,
+                          @Value("${profile.image.max-pixels:40000000}") long maxPixels) {
+        this.maxBytes = maxSize.toBytes();
+        this.maxPixels = maxPixels;
+    }
+
+    /**
+     * @param contentType the content type of the upload, read from the image itself
+     * @param small       the {@link AvatarSize#SMALL} thumbnail, encoded as {@code thumbnailType}
+     * @param medium      the {@link AvatarSize#MEDIUM} thumbnail, encoded as {@code thumbnailType}
+     */
+    public record Rendered(String contentType, String thumbnailType, byte[] small, byte[] medium) {
+    }
+
+    /**
+     * @throws BadRequestException when the content is not a readable image or is too large
+     */
+    public Rendered render(byte[] encoded) {
+        checkSize(encoded.length);
+        try (ImageInputStream input = new MemoryCacheImageInputStream(new ByteArrayInputStream(encoded))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw badRequest("Profile image must be a PNG, JPEG, GIF or BMP image");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > maxPixels) {
+                    throw badRequest("Profile image cannot have more than " + maxPixels + " pixels");
+                }
+                String contentType = reader.getOriginatingProvider().getMIMETypes()[0];
+                BufferedImage image = reader.read(0);
+                boolean transparent = image.getColorModel().hasAlpha();
+                return new Rendered(contentType, transparent ? "image/png" : "image/jpeg",
+                        thumbnail(image, AvatarSize.SMALL.getPixels(), transparent),
+                        thumbnail(image, AvatarSize.MEDIUM.getPixels(), transparent));
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException | RuntimeException e) {
+            if (e instanceof BadRequestException badRequest) {
+                throw badRequest;
+            }
+            // Truncated or corrupt data, or a variant the decoder does not support
+            throw badRequest("Profile image could not be read");
+        }
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * Refuses an upload too large to be read into memory, before it is.
+     *
+     * @throws BadRequestException when {@code bytes} is above {@code max-size}
+     */
+    public void checkSize(long bytes) {
+        if (bytes > maxBytes) {
+            throw badRequest("Profile image cannot be larger than " + DataSize.ofBytes(maxBytes).toMegabytes() + "MB");
+        }
+    }
+
+    private static byte[] thumbnail(BufferedImage image, int size, boolean transparent) {
+        int side = Math.min(image.getWidth(), image.getHeight());
+        BufferedImage current = image.getSubimage((image.getWidth() - side) / 2, (image.getHeight() - side) / 2,
+                side, side);
+        int type = transparent ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        // Images smaller than the thumbnail are not enlarged
+        int step = side;
+        do {
+            step = Math.max(size, step / 2);
+            current = scale(current, Math.min(step, side), type);
+        } while (step > size);
+        return transparent ? write(current, "png", null) : write(current, "jpeg", JPEG_QUALITY);
+    }
+
+    private static BufferedImage scale(BufferedImage source, int side, int type) {
+        BufferedImage target = new BufferedImage(side, side, type);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHints(Map.of(
+                    RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR,
+                    RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY));
+            graphics.drawImage(source, 0, 0, side, side, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private static byte[] write(BufferedImage image, String format, Float quality) {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(format).next();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ImageOutputStream output = new MemoryCacheImageOutputStream(bytes)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (quality != null) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(quality);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+
+    private static BadRequestException badRequest(String message) {
+        return new BadRequestException(new ApiResponse(Boolean.FALSE, message));
+    }
+}
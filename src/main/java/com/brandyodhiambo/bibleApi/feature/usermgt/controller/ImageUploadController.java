@@ -1,13 +1,17 @@
 package com.brandyodhiambo.bibleApi.feature.usermgt.controller;
 
+import com.brandyodhiambo.bibleApi.feature.usermgt.models.AvatarSize;
 import com.brandyodhiambo.bibleApi.feature.usermgt.models.UserImage;
 import com.brandyodhiambo.bibleApi.feature.usermgt.models.Users;
+import com.brandyodhiambo.bibleApi.feature.usermgt.models.dto.AvatarImage;
 import com.brandyodhiambo.bibleApi.feature.usermgt.repository.UserRepository;
 import com.brandyodhiambo.bibleApi.feature.usermgt.service.user.UserImageService;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -17,6 +21,9 @@ import java.util.Optional;
 @RequestMapping("/api/profile")
 public class ImageUploadController {
 
+    // Kept by browsers but checked on every use, a replaced image shows at once
+    private static final CacheControl IMAGE_CACHE = CacheControl.noCache();
+
     @Autowired
     private UserImageService userImageService;
 
@@ -44,15 +51,28 @@ public class ImageUploadController {
         return ResponseEntity.ok().body(userImage);
     }
 
+    /**
+     * Serves a profile image, {@code size} being {@code small} or {@code medium} for a thumbnail. Clients
+     * revalidate with {@code If-None-Match} or {@code If-Modified-Since} and get a 304 while it is unchanged.
+     */
     @GetMapping("image/{name}")
-    public ResponseEntity<?>  getImageByName(@PathVariable("name") String name){
-        byte[] image = userImageService.getImage(name);
-        return ResponseEntity.status(HttpStatus.OK)
-                .contentType(MediaType.valueOf("image/png"))
-                .body(image);
-    }
-
-
-
+    public ResponseEntity<byte[]> getImageByName(@PathVariable("name") String name,
+                                                 @RequestParam(defaultValue = "original") String size,
+                                                 WebRequest request) {
+        AvatarImage avatar = userImageService.getAvatar(name, AvatarSize.of(size));
+        String eTag = "\"" + avatar.contentHash() + "\"";
+        long lastModified = avatar.lastModified() != null ? avatar.lastModified().toEpochMilli() : -1;
+        if (request.checkNotModified(eTag, lastModified)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(IMAGE_CACHE).build();
+        }
 
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(avatar.contentType()))
+                .eTag(eTag)
+                .cacheControl(IMAGE_CACHE);
+        if (avatar.lastModified() != null) {
+            response.lastModified(avatar.lastModified());
+        }
+        return response.body(userImageService.readAvatar(avatar));
+    }
 }
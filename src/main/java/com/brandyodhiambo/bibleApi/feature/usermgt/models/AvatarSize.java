@@ -0,0 +1,39 @@
+package com.brandyodhiambo.bibleApi.feature.usermgt.models;
+
+import com.brandyodhiambo.bibleApi.exception.BadRequestException;
+import com.brandyodhiambo.bibleApi.util.ApiResponse;
+
+import java.util.Locale;
+
+/**
+ * The renditions kept of every profile image: square thumbnails rendered at upload, and the image as uploaded.
+ */
+public enum AvatarSize {
+    // Member lists and chat
+    SMALL(64),
+    // Profile pages
+    MEDIUM(256),
+    ORIGINAL(0);
+
+    private final int pixels;
+
+    AvatarSize(int pixels) {
+        this.pixels = pixels;
+    }
+
+    /**
+     * Width and height of the thumbnail, {@code 0} for the original.
+     */
+    public int getPixels() {
+        return pixels;
+    }
+
+    public static AvatarSize of(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(new ApiResponse(Boolean.FALSE,
+                    "Image size must be one of small, medium or original"));
+        }
+    }
+}
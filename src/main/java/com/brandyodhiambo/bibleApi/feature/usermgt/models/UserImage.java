@@ -6,10 +6,13 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
 
 
 @Entity
-@Table(name = "user_images")
+@Table(name = "user_images", indexes = @Index(name = "idx_user_images_content_hash", columnList = "content_hash"))
 @Data
 @Builder
 @NoArgsConstructor
@@ -23,8 +26,27 @@ public class UserImage {
     @JoinColumn(name = "user_id", nullable = false)
     private Users user;
 
-    @Lob
-    @Basic(fetch = FetchType.LAZY)
-    @Column(name = "imagedata", length = 1000)
+    // SHA-256 of the image as uploaded in blob storage; Deflate-compressed while smallHash is null
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    private String contentType;
+
+    // Thumbnails rendered at upload, see AvatarSize
+    @Column(name = "small_hash", length = 64)
+    private String smallHash;
+
+    @Column(name = "medium_hash", length = 64)
+    private String mediumHash;
+
+    @Column(name = "thumbnail_type")
+    private String thumbnailType;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // The image as returned to clients, read from blob storage; not a column
+    @Transient
     private byte[] imageData;
 }
@@ -40,6 +40,10 @@ public class Users implements UserDetails {
     @Column(nullable = false)
     private boolean emailVerified;
 
+    // Raised on every password change; tokens carrying an older version are no longer accepted
+    @Column(name = "token_version", columnDefinition = "BIGINT DEFAULT 0 NOT NULL")
+    private long tokenVersion;
+
     @CreationTimestamp
     @Column(updatable = false, name = "created_at")
     private LocalDate createdAt;
@@ -80,7 +84,7 @@ public class Users implements UserDetails {
                 .map(role -> new SimpleGrantedAuthority(role.getName().name()))
                 .collect(Collectors.toList());
 
-        return new Users(
+        Users principal = new Users(
                 user.getFirstName(),
                 user.getLastName(),
                 user.getUsername(),
@@ -90,6 +94,10 @@ public class Users implements UserDetails {
                 user.getUpdatedAt(),
                 user.isEmailVerified(),
                 authorities);
+        // Services key memberships and participation events on the principal's id
+        principal.id = user.getId();
+        principal.setTokenVersion(user.getTokenVersion());
+        return principal;
     }
 
     @Override
@@ -198,6 +206,12 @@ public class Users implements UserDetails {
         return Objects.equals(id, user.id);
     }
 
+    @Override
+    public int hashCode() {
+        // Consistent with equals, so users can be found in hash based sets such as a group's members
+        return Objects.hashCode(id);
+    }
+
     public boolean isEmailVerified() {
         return emailVerified;
     }
@@ -206,6 +220,14 @@ public class Users implements UserDetails {
         this.emailVerified = emailVerified;
     }
 
+    public long getTokenVersion() {
+        return tokenVersion;
+    }
+
+    public void setTokenVersion(long tokenVersion) {
+        this.tokenVersion = tokenVersion;
+    }
+
     public void setAuthorities(Set<GrantedAuthority> authorities) {
         this.authorities = authorities;
     }
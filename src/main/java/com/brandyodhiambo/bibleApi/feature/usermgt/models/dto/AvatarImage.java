@@ -0,0 +1,12 @@
+package com.brandyodhiambo.bibleApi.feature.usermgt.models.dto;
+
+import java.time.Instant;
+
+/**
+ * What is needed to answer a conditional request for one rendition of a profile image, without its content.
+ *
+ * @param contentHash  SHA-256 of the rendition in blob storage, also its entity tag
+ * @param lastModified when the profile image was last replaced, {@code null} if unknown
+ */
+public record AvatarImage(String contentHash, String contentType, Instant lastModified) {
+}
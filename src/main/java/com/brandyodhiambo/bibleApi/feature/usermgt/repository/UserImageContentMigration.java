@@ -0,0 +1,21 @@
+package com.brandyodhiambo.bibleApi.feature.usermgt.repository;
+
+import com.brandyodhiambo.bibleApi.storage.BlobStorage;
+import com.brandyodhiambo.bibleApi.storage.InlineContentMigration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Moves profile images stored before the blob store out of {@code user_images.imagedata}.
+ */
+@Repository
+@DependsOn("entityManagerFactory")
+public class UserImageContentMigration extends InlineContentMigration {
+
+    public UserImageContentMigration(JdbcTemplate jdbcTemplate, BlobStorage blobStorage,
+                                     PlatformTransactionManager transactionManager) {
+        super(jdbcTemplate, blobStorage, transactionManager, "user_images", "imagedata");
+    }
+}
@@ -2,10 +2,19 @@ package com.brandyodhiambo.bibleApi.feature.usermgt.repository;
 
 import com.brandyodhiambo.bibleApi.feature.usermgt.models.UserImage;
 import com.brandyodhiambo.bibleApi.feature.usermgt.models.Users;
+import com.brandyodhiambo.bibleApi.storage.BlobOwner;
 import org.springframework.data.jpa.repository.JpaRepository;
 import java.util.Optional;
 
-public interface UserImageRepository extends JpaRepository<UserImage, Long> {
+public interface UserImageRepository extends JpaRepository<UserImage, Long>, BlobOwner {
     Optional<UserImage> findByUser(Users user);
     Optional<UserImage> findByUser_Username(String username);
+    long countByContentHash(String contentHash);
+    long countBySmallHash(String smallHash);
+    long countByMediumHash(String mediumHash);
+
+    @Override
+    default long countReferences(String hash) {
+        return countByContentHash(hash) + countBySmallHash(hash) + countByMediumHash(hash);
+    }
 }
@@ -3,12 +3,11 @@ package com.brandyodhiambo.bibleApi.feature.usermgt.service.emailVerification;
 import com.brandyodhiambo.bibleApi.feature.usermgt.models.Users;
 import com.brandyodhiambo.bibleApi.feature.usermgt.repository.UserRepository;
 import com.brandyodhiambo.bibleApi.feature.usermgt.service.otp.OtpService;
+import com.brandyodhiambo.bibleApi.mail.MailDispatcher;
 import jakarta.transaction.Transactional;
 import lombok.NoArgsConstructor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 import static org.springframework.http.HttpStatus.*;
@@ -20,16 +19,15 @@ public class EmailVerificationService {
 
     private final UserRepository userRepository;
 
-    private final JavaMailSender mailSender;
+    private final MailDispatcher mailDispatcher;
 
-    public EmailVerificationService(OtpService otpService, UserRepository userRepository, JavaMailSender mailSender) {
+    public EmailVerificationService(OtpService otpService, UserRepository userRepository, MailDispatcher mailDispatcher) {
         this.otpService = otpService;
         this.userRepository = userRepository;
-        this.mailSender = mailSender;
+        this.mailDispatcher = mailDispatcher;
     }
 
 
-    @Async
     public void sendVerificationToken(Long userId, String email) {
         try {
             final var token = otpService.generateAndStoreOtp(userId);
@@ -43,8 +41,7 @@ public class EmailVerificationService {
             message.setFrom("System");
             message.setText(emailText);
 
-            mailSender.send(message);
-            System.out.println("Email sent successfully to: " + email);
+            mailDispatcher.dispatch(message);
         } catch (Exception e) {
             System.err.println("Error sending email: " + e.getMessage());
             e.printStackTrace();
@@ -1,6 +1,8 @@
 package com.brandyodhiambo.bibleApi.feature.usermgt.service.user;
 
+import com.brandyodhiambo.bibleApi.feature.usermgt.models.AvatarSize;
 import com.brandyodhiambo.bibleApi.feature.usermgt.models.UserImage;
+import com.brandyodhiambo.bibleApi.feature.usermgt.models.dto.AvatarImage;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -11,4 +13,11 @@ public interface UserImageService {
     UserImage getUserImage(String username);
     void deleteUserImage(String username);
     byte[] getImage(String name);
+
+    /**
+     * Describes one rendition of a user's profile image, enough to answer a conditional request.
+     */
+    AvatarImage getAvatar(String username, AvatarSize size);
+
+    byte[] readAvatar(AvatarImage avatar);
 }
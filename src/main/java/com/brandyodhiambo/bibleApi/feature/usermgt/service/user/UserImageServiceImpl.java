@@ -1,42 +1,87 @@
 package com.brandyodhiambo.bibleApi.feature.usermgt.service.user;
 
+import com.brandyodhiambo.bibleApi.exception.BadRequestException;
+import com.brandyodhiambo.bibleApi.exception.ResourceNotFoundException;
+import com.brandyodhiambo.bibleApi.feature.usermgt.avatar.AvatarCache;
+import com.brandyodhiambo.bibleApi.feature.usermgt.avatar.AvatarRenderer;
+import com.brandyodhiambo.bibleApi.feature.usermgt.models.AvatarSize;
 import com.brandyodhiambo.bibleApi.feature.usermgt.models.UserImage;
 import com.brandyodhiambo.bibleApi.feature.usermgt.models.Users;
+import com.brandyodhiambo.bibleApi.feature.usermgt.models.dto.AvatarImage;
+import com.brandyodhiambo.bibleApi.feature.usermgt.repository.UserImageContentMigration;
 import com.brandyodhiambo.bibleApi.feature.usermgt.repository.UserImageRepository;
+import com.brandyodhiambo.bibleApi.storage.BlobStorage;
 import com.brandyodhiambo.bibleApi.util.ImageUtil;
 import io.jsonwebtoken.io.IOException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
 import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.time.ZoneId;
 import java.util.Optional;
+import java.util.zip.ZipException;
 
+/**
+ * Profile images are decoded once, at upload, where their thumbnails are rendered; the upload itself is kept
+ * as it came. Every rendition is stored in blob storage and served by hash through the {@link AvatarCache}.
+ * Images stored before this, Deflate-compressed and without thumbnails, are converted the first time they are
+ * asked for.
+ */
 @Component
 public class UserImageServiceImpl implements UserImageService {
 
+    private static final Logger logger = LoggerFactory.getLogger(UserImageServiceImpl.class);
+
     @Autowired
     private UserImageRepository userImageRepository;
 
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private BlobStorage blobStorage;
+
+    @Autowired
+    private UserImageContentMigration contentMigration;
+
+    @Autowired
+    private AvatarRenderer avatarRenderer;
+
+    @Autowired
+    private AvatarCache avatarCache;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Override
     @Transactional
     public void saveUserImage(String username, MultipartFile file) throws IOException {
         try {
             Users user = userService.getUser(username);
+            avatarRenderer.checkSize(file.getSize());
+            byte[] encoded = file.getBytes();
+            AvatarRenderer.Rendered rendered = avatarRenderer.render(encoded);
             Optional<UserImage> existingImage = userImageRepository.findByUser_Username(username);
             if(existingImage.isPresent()){
                 UserImage userImage = existingImage.get();
-                userImage.setImageData(ImageUtil.compressImage(file.getBytes()));
+                release(userImage);
+                store(userImage, encoded, rendered);
                 userImage.setUser(user);
                 userImageRepository.save(userImage);
             } else{
-                userImageRepository.save(UserImage.builder()
-                        .user(user)
-                        .imageData(ImageUtil.compressImage(file.getBytes()))
-                        .build());
+                UserImage userImage = UserImage.builder().user(user).build();
+                store(userImage, encoded, rendered);
+                userImageRepository.save(userImage);
             }
         } catch (IOException | java.io.IOException e) {
             throw new RuntimeException(e);
@@ -48,10 +93,13 @@ public class UserImageServiceImpl implements UserImageService {
     public UserImage getUserImage(String username) {
         Optional<UserImage> dbImage = userImageRepository.findByUser_Username(username);
         if (dbImage.isPresent()) {
-            UserImage userImage = dbImage.get();
+            UserImage userImage = current(dbImage.get());
             return UserImage.builder()
                     .user(userImage.getUser())
-                    .imageData(ImageUtil.decompressImage(userImage.getImageData()))
+                    .contentHash(userImage.getContentHash())
+                    .contentType(userImage.getContentType())
+                    .updatedAt(userImage.getUpdatedAt())
+                    .imageData(avatarCache.get(userImage.getContentHash()))
                     .build();
         } else {
             throw new RuntimeException("User image not found");
@@ -60,15 +108,94 @@ public class UserImageServiceImpl implements UserImageService {
 
 
     @Override
+    @Transactional
     public void deleteUserImage(String username) {
         Optional<UserImage> userImage = userImageRepository.findByUser_Username(username);
-        userImage.ifPresent(userImageRepository::delete);
+        userImage.ifPresent(image -> {
+            userImageRepository.delete(image);
+            release(image);
+        });
     }
 
     @Transactional
     @Override
     public byte[] getImage(String name) {
-        Optional<UserImage> dbImage = userImageRepository.findByUser_Username(name);
-        return ImageUtil.decompressImage(dbImage.get().getImageData());
+        return readAvatar(getAvatar(name, AvatarSize.ORIGINAL));
+    }
+
+    @Override
+    @Transactional
+    public AvatarImage getAvatar(String username, AvatarSize size) {
+        UserImage userImage = userImageRepository.findByUser_Username(username)
+                .map(this::current)
+                .orElseThrow(() -> new ResourceNotFoundException("User image", "username", username));
+        Instant lastModified = userImage.getUpdatedAt() != null
+                ? userImage.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant()
+                : null;
+        return switch (size) {
+            case SMALL -> new AvatarImage(userImage.getSmallHash(), userImage.getThumbnailType(), lastModified);
+            case MEDIUM -> new AvatarImage(userImage.getMediumHash(), userImage.getThumbnailType(), lastModified);
+            case ORIGINAL -> new AvatarImage(userImage.getContentHash(), userImage.getContentType(), lastModified);
+        };
+    }
+
+    @Override
+    public byte[] readAvatar(AvatarImage avatar) {
+        return avatarCache.get(avatar.contentHash());
+    }
+
+    private void store(UserImage userImage, byte[] encoded, AvatarRenderer.Rendered rendered)
+            throws java.io.IOException {
+        userImage.setContentHash(blobStorage.store(new ByteArrayInputStream(encoded)).hash());
+        userImage.setContentType(rendered.contentType());
+        userImage.setSmallHash(blobStorage.store(new ByteArrayInputStream(rendered.small())).hash());
+        userImage.setMediumHash(blobStorage.store(new ByteArrayInputStream(rendered.medium())).hash());
+        userImage.setThumbnailType(rendered.thumbnailType());
+    }
+
+    private void release(UserImage userImage) {
+        blobStorage.release(userImage.getContentHash());
+        blobStorage.release(userImage.getSmallHash());
+        blobStorage.release(userImage.getMediumHash());
+    }
+
+    // Converts an image stored before thumbnails, Deflate-compressed and possibly still in the database
+    private UserImage current(UserImage userImage) {
+        if (userImage.getSmallHash() != null) {
+            return userImage;
+        }
+        // Re-read under a row lock, concurrent requests for the same image convert it once
+        entityManager.refresh(userImage, LockModeType.PESSIMISTIC_WRITE);
+        if (userImage.getSmallHash() != null) {
+            // Converted by a concurrent request while this one waited for the lock
+            return userImage;
+        }
+        String contentHash = userImage.getContentHash();
+        if (contentHash == null) {
+            contentHash = contentMigration.migrate(userImage.getId());
+            if (contentHash == null) {
+                throw new RuntimeException("User image not found");
+            }
+        }
+        try (InputStream compressed = blobStorage.resource(contentHash).getInputStream()) {
+            byte[] encoded = ImageUtil.decompressImage(compressed, avatarRenderer.getMaxBytes());
+            AvatarRenderer.Rendered rendered;
+            try {
+                rendered = avatarRenderer.render(encoded);
+            } catch (BadRequestException e) {
+                // Accepted before uploads were checked, served as it is at every size
+                logger.warn("Profile image {} is not readable, serving it without thumbnails", userImage.getId());
+                String contentType = userImage.getContentType() != null ? userImage.getContentType() : "image/png";
+                rendered = new AvatarRenderer.Rendered(contentType, contentType, encoded, encoded);
+            }
+            blobStorage.release(contentHash);
+            store(userImage, encoded, rendered);
+            return userImageRepository.save(userImage);
+        } catch (ZipException | EOFException e) {
+            logger.error("Profile image {} cannot be inflated, it has to be uploaded again", userImage.getId(), e);
+            throw new ResourceNotFoundException("User image", "id", userImage.getId());
+        } catch (java.io.IOException e) {
+            throw new RuntimeException(e);
+        }
     }
 }
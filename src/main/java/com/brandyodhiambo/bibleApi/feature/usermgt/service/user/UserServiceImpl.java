@@ -14,7 +14,9 @@ import com.brandyodhiambo.bibleApi.feature.usermgt.service.otp.OtpService;
 import com.brandyodhiambo.bibleApi.feature.usermgt.repository.RoleRepository;
 import com.brandyodhiambo.bibleApi.feature.usermgt.repository.UserRepository;
 import com.brandyodhiambo.bibleApi.feature.usermgt.models.Users;
+import com.brandyodhiambo.bibleApi.mail.MailDispatcher;
 import com.brandyodhiambo.bibleApi.security.service.JwtService;
+import com.brandyodhiambo.bibleApi.security.service.PrincipalCache;
 import com.brandyodhiambo.bibleApi.util.ApiResponse;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
@@ -34,7 +36,6 @@ import java.time.LocalDate;
 import java.util.*;
 import java.util.stream.Collectors;
 import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 
 @Component
 public class UserServiceImpl implements UserService {
@@ -57,6 +58,9 @@ public class UserServiceImpl implements UserService {
     @Autowired
     private GroupRepository groupRepository;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
     @PersistenceContext
     private EntityManager entityManager;
 
@@ -198,8 +202,14 @@ public class UserServiceImpl implements UserService {
             user.setFirstName(newUser.getFirstName());
             user.setLastName(newUser.getLastName());
             user.setEmail(newUser.getEmail());
+            if (!passwordEncoder.matches(newUser.getPassword(), user.getPassword())) {
+                // A new password revokes the tokens issued with the old one
+                user.setTokenVersion(user.getTokenVersion() + 1);
+            }
             user.setPassword(passwordEncoder.encode(newUser.getPassword()));
-            return userRepository.save(user);
+            Users savedUser = userRepository.save(user);
+            principalCache.evict(user.getUsername());
+            return savedUser;
         }
         ApiResponse apiResponse = new ApiResponse(Boolean.FALSE, "You don't have permission to update profile of: " + username);
         throw new UnauthorizedException(apiResponse);
@@ -215,6 +225,7 @@ public class UserServiceImpl implements UserService {
         boolean isSelf = user.getId().equals(currentUser.getId());
         if(isAdmin || isSelf){
             userRepository.deleteById(user.getId());
+            principalCache.evict(user.getUsername());
         } else{
             ApiResponse apiResponse = new ApiResponse(Boolean.FALSE, "You don't have permission to delete profile of: " + username);
             throw new AccessDeniedException(apiResponse);
@@ -244,6 +255,7 @@ public class UserServiceImpl implements UserService {
                 user, user.getPassword(), authorities);
         SecurityContextHolder.getContext().setAuthentication(authentication);
         userRepository.save(user);
+        principalCache.evict(username);
         return new ApiResponse(Boolean.TRUE, "You gave ADMIN role to user: " + username);
     }
 
@@ -268,6 +280,7 @@ public class UserServiceImpl implements UserService {
                 user, user.getPassword(), authorities);
         SecurityContextHolder.getContext().setAuthentication(authentication);
         userRepository.save(user);
+        principalCache.evict(username);
         return new ApiResponse(Boolean.TRUE, "You took ADMIN role from user: " + username);
     }
 
@@ -291,6 +304,7 @@ public class UserServiceImpl implements UserService {
                 user, user.getPassword(), authorities);
         SecurityContextHolder.getContext().setAuthentication(authentication);
         userRepository.save(user);
+        principalCache.evict(username);
         return new ApiResponse(Boolean.TRUE, "You give group leader role to user: " + username);
     }
 
@@ -312,6 +326,7 @@ public class UserServiceImpl implements UserService {
                 user, user.getPassword(), authorities);
         SecurityContextHolder.getContext().setAuthentication(authentication);
         userRepository.save(user);
+        principalCache.evict(username);
         return new ApiResponse(Boolean.TRUE, "You took group leader role from user: " + username);
     }
 
@@ -324,7 +339,7 @@ public class UserServiceImpl implements UserService {
     private OtpService otpService;
 
     @Autowired
-    private JavaMailSender mailSender;
+    private MailDispatcher mailDispatcher;
 
     @Override
     public void forgotPassword(ForgotPasswordRequestDto requestDto) {
@@ -345,7 +360,7 @@ public class UserServiceImpl implements UserService {
                 "\nThis link will expire in 5 minutes.";
 
         message.setText(emailText);
-        mailSender.send(message);
+        mailDispatcher.dispatch(message);
     }
 
     @Override
@@ -366,7 +381,10 @@ public class UserServiceImpl implements UserService {
 
         // Update password
         user.setPassword(passwordEncoder.encode(requestDto.getNewPassword()));
+        // Revokes the tokens issued with the old password
+        user.setTokenVersion(user.getTokenVersion() + 1);
         userRepository.save(user);
+        principalCache.evict(user.getUsername());
 
         // Delete token
         otpService.deleteOtp(requestDto.getUserId());
@@ -392,7 +410,10 @@ public class UserServiceImpl implements UserService {
 
         // Update password
         user.setPassword(passwordEncoder.encode(requestDto.getNewPassword()));
+        // Revokes the tokens issued with the old password
+        user.setTokenVersion(user.getTokenVersion() + 1);
         userRepository.save(user);
+        principalCache.evict(user.getUsername());
 
         return new ApiResponse(Boolean.TRUE, "Password changed successfully");
     }
@@ -0,0 +1,247 @@
+package com.brandyodhiambo.bibleApi.mail;
+
+import com.brandyodhiambo.bibleApi.exception.BibleApiException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.HttpStatus;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outbound mail pipeline: callers hand over a message and return immediately, a small pool of workers sends
+ * from a bounded queue.
+ * <p>
+ * Each worker takes whatever is queued, up to {@code batch-size} messages, and sends it with one SMTP
+ * connection. Messages the server refused or that could not be sent because the connection failed are
+ * retried with exponential backoff up to {@code max-attempts}, then dropped and logged; messages that cannot
+ * be built at all are dropped straight away. When the queue is full, callers wait up to
+ * {@code enqueue-timeout} and are then turned away with 503.
+ * <p>
+ * On shutdown the queue is drained for up to {@code shutdown-timeout}. Messages still queued when the process
+ * dies are lost; nothing sent through here is transactional.
+ * <p>
+ * Reported meters: {@code mail.dispatch.queued}, {@code mail.dispatch.send} (time per batch),
+ * {@code mail.dispatch.sent}, {@code mail.dispatch.retries}, {@code mail.dispatch.failed} and
+ * {@code mail.dispatch.rejected}.
+ */
+@Component
+public class MailDispatcher implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(MailDispatcher.class);
+    private static final long MAX_BACKOFF_MILLIS = 60_000;
+
+    private final JavaMailSender mailSender;
+    private final BlockingQueue<SimpleMailMessage> queue;
+    private final int workerCount;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration enqueueTimeout;
+    private final Duration shutdownTimeout;
+    private final Timer sendTimer;
+    private final Counter sent;
+    private final Counter retries;
+    private final Counter failed;
+    private final Counter rejected;
+
+    private volatile boolean running;
+    private List<Thread> workers = List.of();
+
+    public MailDispatcher(JavaMailSender mailSender, MeterRegistry meterRegistry,
+                          @Value("${mail.dispatch.capacity:5000}") int capacity,
+                          @Value("${mail.dispatch.workers:2}") int workerCount,
+                          @Value("${mail.dispatch.batch-size:50}") int batchSize,
+                          @Value("${mail.dispatch.max-attempts:5}") int maxAttempts,
+                          @Value("${mail.dispatch.initial-backoff:1s}") Duration initialBackoff,
+                          @Value("${mail.dispatch.enqueue-timeout:100ms}") Duration enqueueTimeout,
+                          @Value("${mail.dispatch.shutdown-timeout:30s}") Duration shutdownTimeout) {
+        this.mailSender = mailSender;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.workerCount = Math.max(1, workerCount);
+        this.batchSize = Math.max(1, batchSize);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoff = initialBackoff;
+        this.enqueueTimeout = enqueueTimeout;
+        this.shutdownTimeout = shutdownTimeout;
+        Gauge.builder("mail.dispatch.queued", queue, BlockingQueue::size)
+                .description("Mail messages waiting to be sent")
+                .register(meterRegistry);
+        this.sendTimer = Timer.builder("mail.dispatch.send").register(meterRegistry);
+        this.sent = Counter.builder("mail.dispatch.sent").register(meterRegistry);
+        this.retries = Counter.builder("mail.dispatch.retries").register(meterRegistry);
+        this.failed = Counter.builder("mail.dispatch.failed").register(meterRegistry);
+        this.rejected = Counter.builder("mail.dispatch.rejected").register(meterRegistry);
+    }
+
+    /**
+     * Queues the message for sending.
+     *
+     * @throws BibleApiException with 503 when the queue stays full for the enqueue timeout or the
+     *                           application is shutting down
+     */
+    public void dispatch(SimpleMailMessage message) {
+        dispatch(message, enqueueTimeout);
+    }
+
+    /**
+     * Queues the message, waiting up to {@code maxWait} for room. Background jobs use this to slow down to the
+     * pace the workers send at instead of being turned away.
+     *
+     * @throws BibleApiException with 503 when the queue stays full for {@code maxWait} or the application is
+     *                           shutting down
+     */
+    public void dispatch(SimpleMailMessage message, Duration maxWait) {
+        if (!running) {
+            throw new BibleApiException(HttpStatus.SERVICE_UNAVAILABLE, "Mail is not being sent right now");
+        }
+        try {
+            if (queue.offer(message, maxWait.toMillis(), TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        rejected.increment();
+        throw new BibleApiException(HttpStatus.SERVICE_UNAVAILABLE,
+                "Too much mail is waiting, please try again shortly");
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        List<Thread> started = new ArrayList<>(workerCount);
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = new Thread(this::sendLoop, "mail-dispatch-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            started.add(worker);
+        }
+        workers = started;
+    }
+
+    @Override
+    public void stop() {
+        List<Thread> current;
+        synchronized (this) {
+            if (!running) {
+                return;
+            }
+            running = false;
+            current = workers;
+        }
+        long deadline = System.nanoTime() + shutdownTimeout.toNanos();
+        try {
+            for (Thread worker : current) {
+                worker.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queue.isEmpty()) {
+            logger.error("{} mail messages could not be sent before shutdown", queue.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // Below the web server's phases, so requests have stopped queuing mail before the queue drains
+        return Integer.MAX_VALUE - 4096;
+    }
+
+    private void sendLoop() {
+        List<SimpleMailMessage> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                SimpleMailMessage first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                send(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void send(List<SimpleMailMessage> batch) throws InterruptedException {
+        List<SimpleMailMessage> pending = batch;
+        long backoff = initialBackoff.toMillis();
+        for (int attempt = 1; ; attempt++) {
+            List<SimpleMailMessage> failedMessages = sendOnce(pending);
+            if (failedMessages.isEmpty()) {
+                return;
+            }
+            if (attempt >= maxAttempts) {
+                failed.increment(failedMessages.size());
+                logger.error("Giving up on {} mail messages after {} attempts, first recipient {}",
+                        failedMessages.size(), attempt, Arrays.toString(failedMessages.get(0).getTo()));
+                return;
+            }
+            retries.increment(failedMessages.size());
+            logger.warn("Sending {} mail messages failed, retrying in {} ms", failedMessages.size(), backoff);
+            Thread.sleep(backoff);
+            backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+            pending = failedMessages;
+        }
+    }
+
+    /**
+     * Sends the messages over one connection and returns the ones worth another attempt.
+     */
+    private List<SimpleMailMessage> sendOnce(List<SimpleMailMessage> messages) {
+        try {
+            sendTimer.record(() -> mailSender.send(messages.toArray(new SimpleMailMessage[0])));
+            sent.increment(messages.size());
+            return List.of();
+        } catch (MailSendException e) {
+            // Refused recipients and connection failures are reported per message
+            if (e.getFailedMessages().isEmpty()) {
+                logger.warn("Sending mail failed", e);
+                return messages;
+            }
+            List<SimpleMailMessage> retry = new ArrayList<>(e.getFailedMessages().size());
+            for (Object message : e.getFailedMessages().keySet()) {
+                if (message instanceof SimpleMailMessage simpleMessage) {
+                    retry.add(simpleMessage);
+                }
+            }
+            sent.increment(messages.size() - retry.size());
+            logger.warn("Sending {} of {} mail messages failed", retry.size(), messages.size(), e);
+            return retry;
+        } catch (MailException e) {
+            // Messages that cannot be prepared or authenticated for will not get better by retrying
+            failed.increment(messages.size());
+            logger.error("Dropping {} mail messages that cannot be sent", messages.size(), e);
+            return List.of();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.brandyodhiambo.bibleApi.search;
+
+import java.util.Locale;
+
+/**
+ * Engines that can answer keyword searches, selected with {@code bible.search.engine}.
+ */
+public enum SearchEngine {
+    /**
+     * Verses are searched through the in-memory corpus index, study materials and reading plans
+     * through portable {@code LIKE} queries.
+     */
+    MEMORY,
+
+    /**
+     * Everything is searched in the database through generated {@code tsvector} columns and GIN indexes.
+     */
+    POSTGRES;
+
+    public static SearchEngine fromProperty(String value) {
+        try {
+            return SearchEngine.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown search engine '" + value + "', expected memory or postgres", e);
+        }
+    }
+}
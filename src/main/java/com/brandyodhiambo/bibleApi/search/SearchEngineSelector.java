@@ -0,0 +1,67 @@
+package com.brandyodhiambo.bibleApi.search;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+
+/**
+ * Decides which {@link SearchEngine} answers keyword searches.
+ * <p>
+ * When the postgres engine is configured the full-text columns and GIN indexes are installed once the
+ * JPA schema exists. If the database is not PostgreSQL (for example H2 in tests, even in PostgreSQL
+ * compatibility mode) or the script fails, searches fall back to the in-memory engine instead of
+ * failing at query time.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class SearchEngineSelector {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchEngineSelector.class);
+    private static final String POSTGRES_SCHEMA = "db/search/postgres-fulltext.sql";
+
+    private final SearchEngine active;
+
+    public SearchEngineSelector(DataSource dataSource, @Value("${bible.search.engine:memory}") String engine) {
+        this.active = resolve(dataSource, SearchEngine.fromProperty(engine));
+    }
+
+    public SearchEngine active() {
+        return active;
+    }
+
+    /**
+     * Whether searches should run against the database {@code tsvector} columns.
+     */
+    public boolean useDatabaseFullText() {
+        return active == SearchEngine.POSTGRES;
+    }
+
+    static SearchEngine resolve(DataSource dataSource, SearchEngine configured) {
+        if (configured != SearchEngine.POSTGRES) {
+            return configured;
+        }
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            if (!"PostgreSQL".equalsIgnoreCase(product)) {
+                logger.warn("Postgres search engine requested but the database is {}, using the in-memory engine", product);
+                return SearchEngine.MEMORY;
+            }
+            new ResourceDatabasePopulator(new ClassPathResource(POSTGRES_SCHEMA)).execute(dataSource);
+            logger.info("Postgres full-text search columns and indexes are in place");
+            return SearchEngine.POSTGRES;
+        } catch (MetaDataAccessException | DataAccessException e) {
+            logger.warn("Postgres full-text search is unavailable, using the in-memory engine", e);
+            return SearchEngine.MEMORY;
+        }
+    }
+}
@@ -1,6 +1,6 @@
 package com.brandyodhiambo.bibleApi.security.jwt;
 
-import com.brandyodhiambo.bibleApi.feature.usermgt.service.user.UserDetailsServiceImpl;
+import com.brandyodhiambo.bibleApi.security.service.PrincipalCache;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -24,7 +24,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private JwtUtils jwtUtils;
 
     @Autowired
-    private UserDetailsServiceImpl userDetailsService;
+    private PrincipalCache principalCache;
 
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
@@ -33,10 +33,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
-
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            VerifiedToken token = jwt != null ? jwtUtils.verifyJwtToken(jwt) : null;
+            if (token != null) {
+                // Verified once; the principal comes from the cache and only hits the database on a miss
+                UserDetails userDetails = principalCache.get(token.subject(), token.tokenVersion());
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(
                                 userDetails,
@@ -5,6 +5,7 @@ import com.brandyodhiambo.bibleApi.feature.usermgt.models.Users;
 import io.jsonwebtoken.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
@@ -15,12 +16,12 @@ import java.util.Date;
 public class JwtUtils {
     private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
 
-    @Value("${brandyodhiambo.app.jwtSecret}")
-    private String jwtSecret;
-
     @Value("${brandyodhiambo.app.jwtExpirationMs}")
     private int jwtExpirationMs;
 
+    @Autowired
+    private JwtVerifier jwtVerifier;
+
     public String generateJwtToken(Authentication authentication) {
 
         Users userPrincipal = (Users) authentication.getPrincipal();
@@ -29,18 +30,24 @@ public class JwtUtils {
                 .setSubject((userPrincipal.getUsername()))
                 .setIssuedAt(new Date())
                 .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(SignatureAlgorithm.HS512, jwtSecret)
+                .signWith(jwtVerifier.getSigningKey(), SignatureAlgorithm.HS512)
                 .compact();
     }
 
     public String getUserNameFromJwtToken(String token) {
-        return Jwts.parser().setSigningKey(jwtSecret).parseClaimsJws(token).getBody().getSubject();
+        return jwtVerifier.verify(token).subject();
     }
 
     public boolean validateJwtToken(String authToken) {
+        return verifyJwtToken(authToken) != null;
+    }
+
+    /**
+     * Verifies the token once and returns what it carries, or {@code null} when it is not valid.
+     */
+    public VerifiedToken verifyJwtToken(String authToken) {
         try {
-            Jwts.parser().setSigningKey(jwtSecret).parseClaimsJws(authToken);
-            return true;
+            return jwtVerifier.verify(authToken);
         } catch (SignatureException e) {
             logger.error("Invalid JWT signature: {}", e.getMessage());
         } catch (MalformedJwtException e) {
@@ -53,7 +60,6 @@ public class JwtUtils {
             logger.error("JWT claims string is empty: {}", e.getMessage());
         }
 
-        return false;
+        return null;
     }
 }
-
@@ -0,0 +1,126 @@
+package com.brandyodhiambo.bibleApi.security.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verifies JWTs with one signing key and one parser, both built at startup; the parser is immutable and
+ * shared by all request threads.
+ * <p>
+ * A token is parsed once into a {@link VerifiedToken}, which is then kept until the token expires in a
+ * bounded cache keyed by the SHA-256 of the token, so a client sending the same token again skips the
+ * Base64, JSON and HMAC work. The key is the hash of the whole token, signature included, so a token that
+ * differs in any byte is verified from scratch. Failed verifications are not cached.
+ * <p>
+ * Cache statistics are bound to Micrometer as {@code cache.*} meters tagged {@code cache=jwtVerifications}.
+ */
+@Component
+public class JwtVerifier {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
+
+    private final Key signingKey;
+    private final JwtParser parser;
+    private final Cache<String, VerifiedToken> verified;
+
+    public JwtVerifier(@Value("${brandyodhiambo.app.jwtSecret}") String jwtSecret, MeterRegistry meterRegistry,
+                       @Value("${security.jwt.verification-cache.max-size:100000}") long maxSize) {
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new UntilTokenExpires())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verified, "jwtVerifications");
+    }
+
+    /**
+     * The key tokens are signed and verified with, derived once from {@code brandyodhiambo.app.jwtSecret}.
+     */
+    public Key getSigningKey() {
+        return signingKey;
+    }
+
+    /**
+     * Verifies the token, answering from the cache when the same token was verified before.
+     *
+     * @throws JwtException when the signature does not match, the token has expired or cannot be parsed
+     * @throws IllegalArgumentException when the token is empty
+     */
+    public VerifiedToken verify(String token) {
+        if (token == null || token.isEmpty()) {
+            throw new IllegalArgumentException("JWT string cannot be empty");
+        }
+        String hash = hash(token);
+        VerifiedToken cached = verified.getIfPresent(hash);
+        if (cached != null) {
+            return cached;
+        }
+        VerifiedToken result = VerifiedToken.of(parseClaims(token));
+        if (result.expiresAt() != null) {
+            verified.put(hash, result);
+        }
+        return result;
+    }
+
+    /**
+     * Verifies the token and returns all of its claims, without the cache.
+     *
+     * @throws JwtException when the signature does not match, the token has expired or cannot be parsed
+     */
+    public Claims parseClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    private static String hash(String token) {
+        byte[] digest = SHA_256.get().digest(token.getBytes(StandardCharsets.UTF_8));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+    }
+
+    /**
+     * Keeps an entry exactly as long as its token is valid; reads and re-puts do not extend it.
+     */
+    private static final class UntilTokenExpires implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+            long remainingMillis = token.expiresAt().toEpochMilli() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0L, remainingMillis));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.brandyodhiambo.bibleApi.security.jwt;
+
+import com.brandyodhiambo.bibleApi.security.service.JwtService;
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+import java.util.Date;
+
+/**
+ * The claims of a token whose signature has been checked, reduced to what the application reads.
+ *
+ * @param tokenVersion the user's token version when the token was issued, 0 for tokens from before versioning
+ * @param expiresAt    {@code null} when the token does not expire
+ */
+public record VerifiedToken(String subject, long tokenVersion, Instant issuedAt, Instant expiresAt) {
+
+    static VerifiedToken of(Claims claims) {
+        Number version = claims.get(JwtService.TOKEN_VERSION_CLAIM, Number.class);
+        return new VerifiedToken(
+                claims.getSubject(),
+                version == null ? 0L : version.longValue(),
+                toInstant(claims.getIssuedAt()),
+                toInstant(claims.getExpiration()));
+    }
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !now.isBefore(expiresAt);
+    }
+
+    private static Instant toInstant(Date date) {
+        return date == null ? null : date.toInstant();
+    }
+}
@@ -1,29 +1,36 @@
 package com.brandyodhiambo.bibleApi.security.service;
 
+import com.brandyodhiambo.bibleApi.feature.usermgt.models.Users;
+import com.brandyodhiambo.bibleApi.security.jwt.JwtVerifier;
+import com.brandyodhiambo.bibleApi.security.jwt.VerifiedToken;
 import org.springframework.stereotype.Service;
 
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
-import java.security.Key;
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Function;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 
 @Service
 public class JwtService {
-    @Value("${brandyodhiambo.app.jwtSecret}")
-    private String jwtSecret;
+    /**
+     * Claim carrying the user's {@link Users#getTokenVersion() token version} at the time the token was issued.
+     */
+    public static final String TOKEN_VERSION_CLAIM = "ver";
 
     @Value("${brandyodhiambo.app.jwtExpirationMs}")
     private int jwtExpirationMs;
+
+    @Autowired
+    private JwtVerifier jwtVerifier;
     /*@Value("${security.jwt.secret-key}")
     private String secretKey;
 
@@ -31,7 +38,7 @@ public class JwtService {
     private long jwtExpiration;*/
 
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return jwtVerifier.verify(token).subject();
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
@@ -43,6 +50,12 @@ public class JwtService {
         return generateToken(new HashMap<>(), userDetails);
     }
 
+    public String generateToken(Users user) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(TOKEN_VERSION_CLAIM, user.getTokenVersion());
+        return generateToken(claims, user);
+    }
+
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
         return Jwts
                 .builder()
@@ -50,7 +63,7 @@ public class JwtService {
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + jwtExpirationMs))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .signWith(jwtVerifier.getSigningKey(), SignatureAlgorithm.HS256)
                 .compact();
     }
 
@@ -60,29 +73,12 @@ public class JwtService {
 
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
-    }
-
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        // One verification answers both checks
+        VerifiedToken verified = jwtVerifier.verify(token);
+        return verified.subject().equals(userDetails.getUsername()) && !verified.isExpired(Instant.now());
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
-
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(jwtSecret);
-        return Keys.hmacShaKeyFor(keyBytes);
+        return jwtVerifier.parseClaims(token);
     }
 }
@@ -0,0 +1,124 @@
+package com.brandyodhiambo.bibleApi.security.service;
+
+import com.brandyodhiambo.bibleApi.feature.usermgt.models.Users;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.security.authentication.CredentialsExpiredException;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Short-lived, size-bounded cache of the principals the JWT filter authenticates requests with, so a valid
+ * token does not cost a user and roles query on every request.
+ * <p>
+ * Entries are kept per username together with the user's token version. A token issued with an older version
+ * than the user's current one predates a password change and is rejected; a token with a newer version means
+ * the entry itself is stale and it is reloaded. Role and password changes evict the user once they commit,
+ * here and, through a Redis channel carrying {@code node<TAB>username}, on every other instance. If that
+ * message is lost, the TTL bounds how long the old roles are served.
+ * <p>
+ * Cached principals are shared between requests and must not be modified. Hit/miss/eviction statistics are
+ * bound to Micrometer as {@code cache.*} meters tagged {@code cache=principals}.
+ */
+@Component
+public class PrincipalCache implements MessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(PrincipalCache.class);
+
+    private final UserDetailsService userDetailsService;
+    private final StringRedisTemplate redisTemplate;
+    private final String channel;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Cache<String, Users> principals;
+
+    public PrincipalCache(UserDetailsService userDetailsService, StringRedisTemplate redisTemplate,
+                          MeterRegistry meterRegistry,
+                          @Value("${security.principal-cache.max-size:10000}") long maxSize,
+                          @Value("${security.principal-cache.ttl:60s}") Duration ttl,
+                          @Value("${security.principal-cache.channel:security:principals:invalidation}") String channel) {
+        this.userDetailsService = userDetailsService;
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, principals, "principals");
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    /**
+     * The principal of a verified token, loaded through the user details service on a miss.
+     *
+     * @throws CredentialsExpiredException when the token was issued before the user's last password change
+     */
+    public Users get(String username, long tokenVersion) {
+        Users principal = principals.get(username, this::load);
+        if (tokenVersion > principal.getTokenVersion()) {
+            // Changed on another instance and the eviction has not arrived yet
+            principals.invalidate(username);
+            principal = principals.get(username, this::load);
+        }
+        if (tokenVersion != principal.getTokenVersion()) {
+            throw new CredentialsExpiredException("Token of user " + username + " has been revoked");
+        }
+        return principal;
+    }
+
+    /**
+     * Drops the user's principal on every instance once the surrounding transaction commits.
+     */
+    public void evict(String username) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(username);
+                }
+            });
+        } else {
+            evictNow(username);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\t", 2);
+        if (parts.length != 2 || nodeId.equals(parts[0])) {
+            return;
+        }
+        principals.invalidate(parts[1]);
+    }
+
+    private Users load(String username) {
+        return (Users) userDetailsService.loadUserByUsername(username);
+    }
+
+    private void evictNow(String username) {
+        principals.invalidate(username);
+        try {
+            redisTemplate.convertAndSend(channel, nodeId + "\t" + username);
+        } catch (RuntimeException e) {
+            // The TTL bounds how long other instances keep the old principal
+            logger.warn("Could not publish principal eviction for user {}", username, e);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.brandyodhiambo.bibleApi.storage;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Removes blobs nothing refers to any more.
+ * <p>
+ * A blob is collected once its reference count has been zero for {@code orphan-grace}; the grace covers
+ * uploads that stored content but have not counted their reference yet. Candidates are locked while their
+ * content is deleted, so an upload counting a new reference to one of them waits and then either finds it
+ * still there or retries. Before deleting, every {@link BlobOwner} is asked for references the count does not
+ * know about; if there are any the count is corrected instead.
+ * <p>
+ * Safe to run on several instances at once. Reported meters: {@code storage.blobs.collected} and
+ * {@code storage.blobs.recounted}.
+ */
+@Component
+public class BlobCollector {
+
+    private static final Logger logger = LoggerFactory.getLogger(BlobCollector.class);
+
+    private final BlobStore blobStore;
+    private final BlobRecordRepository blobRecordRepository;
+    private final List<BlobOwner> owners;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration orphanGrace;
+    private final int batchSize;
+    private final Counter collected;
+    private final Counter recounted;
+
+    public BlobCollector(BlobStore blobStore, BlobRecordRepository blobRecordRepository, List<BlobOwner> owners,
+                         PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                         @Value("${storage.blobs.orphan-grace:1h}") Duration orphanGrace,
+                         @Value("${storage.blobs.collect-batch-size:500}") int batchSize) {
+        this.blobStore = blobStore;
+        this.blobRecordRepository = blobRecordRepository;
+        this.owners = owners;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.orphanGrace = orphanGrace;
+        this.batchSize = Math.max(1, batchSize);
+        this.collected = Counter.builder("storage.blobs.collected").register(meterRegistry);
+        this.recounted = Counter.builder("storage.blobs.recounted").register(meterRegistry);
+    }
+
+    /**
+     * @return how many blobs were removed
+     */
+    @Scheduled(cron = "${storage.blobs.collect-cron:0 30 3 * * ?}")
+    public int collect() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(orphanGrace);
+        int removed = 0;
+        Batch batch;
+        do {
+            batch = transactionTemplate.execute(status -> collectBatch(cutoff));
+            removed += batch.removed();
+        } while (batch.examined() == batchSize);
+        if (removed > 0) {
+            logger.info("Removed {} unreferenced blobs", removed);
+        }
+        return removed;
+    }
+
+    private Batch collectBatch(LocalDateTime cutoff) {
+        List<BlobRecord> candidates = blobRecordRepository.findUnreferencedBefore(cutoff, PageRequest.of(0, batchSize));
+        int removed = 0;
+        for (BlobRecord candidate : candidates) {
+            long references = owners.stream().mapToLong(owner -> owner.countReferences(candidate.getHash())).sum();
+            if (references > 0) {
+                candidate.setRefCount(references);
+                candidate.setUpdatedAt(LocalDateTime.now());
+                recounted.increment();
+                continue;
+            }
+            try {
+                blobStore.delete(candidate.getHash());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to remove blob " + candidate.getHash(), e);
+            }
+            blobRecordRepository.delete(candidate);
+            collected.increment();
+            removed++;
+        }
+        return new Batch(removed, candidates.size());
+    }
+
+    private record Batch(int removed, int examined) {
+    }
+}
@@ -0,0 +1,11 @@
+package com.brandyodhiambo.bibleApi.storage;
+
+/**
+ * Something that refers to blobs by hash, typically a repository over a table with a content hash column.
+ * {@link BlobCollector} asks every owner before it removes a blob, so a reference count that fell behind the
+ * rows (for example for content stored before counting started) never costs data.
+ */
+public interface BlobOwner {
+
+    long countReferences(String hash);
+}
@@ -0,0 +1,36 @@
+package com.brandyodhiambo.bibleApi.storage;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One stored payload and how many rows refer to it. Reference counts only change through the bulk updates in
+ * {@link BlobRecordRepository}, which also stamp {@code updatedAt}.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "blobs", indexes = @Index(name = "idx_blobs_unreferenced", columnList = "ref_count, updated_at"))
+public class BlobRecord {
+    // SHA-256 of the content in lowercase hex
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    @Column(nullable = false)
+    private long size;
+
+    @Column(name = "ref_count", nullable = false)
+    private long refCount;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,32 @@
+package com.brandyodhiambo.bibleApi.storage;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface BlobRecordRepository extends JpaRepository<BlobRecord, String> {
+
+    // Row-locking increment: a collector holding the row waits for this transaction, and the other way round
+    @Modifying
+    @Query("UPDATE BlobRecord b SET b.refCount = b.refCount + 1, b.updatedAt = :now WHERE b.hash = :hash")
+    int incrementReferences(@Param("hash") String hash, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE BlobRecord b SET b.refCount = b.refCount - 1, b.updatedAt = :now " +
+            "WHERE b.hash = :hash AND b.refCount > 0")
+    int decrementReferences(@Param("hash") String hash, @Param("now") LocalDateTime now);
+
+    // Unreferenced since before the cutoff, locked until the collecting transaction ends
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM BlobRecord b WHERE b.refCount = 0 AND b.updatedAt < :cutoff ORDER BY b.updatedAt")
+    List<BlobRecord> findUnreferencedBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+}
@@ -0,0 +1,94 @@
+package com.brandyodhiambo.bibleApi.storage;
+
+import com.brandyodhiambo.bibleApi.exception.BibleApiException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+
+/**
+ * Content-addressed, deduplicating blob storage with reference counts, shared by every feature that stores
+ * files: study materials and profile images keep only the hash and their metadata.
+ * <p>
+ * Each distinct payload is stored once in the {@link BlobStore}, and a {@code blobs} row counts the rows that
+ * refer to it. Counts change inside the caller's transaction, so a rolled back upload or delete leaves them
+ * as they were. Content is never removed here: once its count reaches zero, {@link BlobCollector} removes it
+ * after a grace period, which is what keeps a concurrent upload of the same content safe.
+ */
+@Service
+public class BlobStorage {
+
+    private final BlobStore blobStore;
+    private final BlobRecordRepository blobRecordRepository;
+    private final TransactionTemplate newTransaction;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public BlobStorage(BlobStore blobStore, BlobRecordRepository blobRecordRepository,
+                       PlatformTransactionManager transactionManager) {
+        this.blobStore = blobStore;
+        this.blobRecordRepository = blobRecordRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Stores the content, or finds it already stored, and counts one more reference to it.
+     *
+     * @throws BibleApiException with 503 when the same content was being removed at that moment; storing it
+     *                           again succeeds
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public StoredBlob store(InputStream content) throws IOException {
+        StoredBlob blob = blobStore.put(content);
+        register(blob);
+        // Holds the row until this transaction ends, the collector cannot remove the content after this
+        if (blobRecordRepository.incrementReferences(blob.hash(), LocalDateTime.now()) == 0
+                || !blobStore.exists(blob.hash())) {
+            throw new BibleApiException(HttpStatus.SERVICE_UNAVAILABLE, "The file could not be stored, try again");
+        }
+        return blob;
+    }
+
+    /**
+     * Counts one reference less; content nothing refers to any more is removed later by the collector.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void release(String hash) {
+        if (hash != null) {
+            blobRecordRepository.decrementReferences(hash, LocalDateTime.now());
+        }
+    }
+
+    public Resource resource(String hash) {
+        return blobStore.resource(hash);
+    }
+
+    // Created unreferenced and committed at once, a concurrent upload of the same content may get there first
+    private void register(StoredBlob blob) {
+        try {
+            newTransaction.executeWithoutResult(status -> {
+                if (!blobRecordRepository.existsById(blob.hash())) {
+                    LocalDateTime now = LocalDateTime.now();
+                    entityManager.persist(new BlobRecord(blob.hash(), blob.size(), 0, now, now));
+                    entityManager.flush();
+                }
+            });
+        } catch (RuntimeException e) {
+            if (!blobRecordRepository.existsById(blob.hash())) {
+                throw e;
+            }
+        }
+    }
+}
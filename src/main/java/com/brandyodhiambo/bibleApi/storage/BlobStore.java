@@ -0,0 +1,36 @@
+package com.brandyodhiambo.bibleApi.storage;
+
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Where blob content lives, addressed by its SHA-256. {@link LocalBlobStore} keeps it on the local file
+ * system; an object store such as S3 plugs in as another implementation selected with
+ * {@code storage.backend}. Implementations keep each distinct payload once and never change it.
+ * <p>
+ * Features do not use this directly but go through {@link BlobStorage}, which counts references.
+ */
+public interface BlobStore {
+
+    /**
+     * Stores everything {@code content} yields, which the caller still closes.
+     */
+    StoredBlob put(InputStream content) throws IOException;
+
+    boolean exists(String hash);
+
+    /**
+     * The stored content, read from the backend on every access.
+     *
+     * @throws com.brandyodhiambo.bibleApi.exception.BibleApiException with 404 when nothing is stored under
+     *                                                                 {@code hash}
+     */
+    Resource resource(String hash);
+
+    /**
+     * Removes the content; nothing happens when it is not stored.
+     */
+    void delete(String hash) throws IOException;
+}
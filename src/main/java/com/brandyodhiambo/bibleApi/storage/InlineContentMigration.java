@@ -0,0 +1,109 @@
+package com.brandyodhiambo.bibleApi.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Moves content a table kept inline, in a column that is no longer mapped, into {@link BlobStorage}: every
+ * row once the application is ready, and a single row straight away when it is needed before its turn. Each
+ * value is streamed from the column into storage as it is, then the row keeps only its {@code content_hash}
+ * and the column is cleared; it can be dropped once it is empty everywhere.
+ * <p>
+ * Databases created without the column are left alone. Subclasses name the table and column.
+ */
+public abstract class InlineContentMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(InlineContentMigration.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BlobStorage blobStorage;
+    private final TransactionTemplate transactionTemplate;
+    private final String table;
+    private final String pending;
+    private final String content;
+    private final String moved;
+    private final boolean inlineColumn;
+
+    protected InlineContentMigration(JdbcTemplate jdbcTemplate, BlobStorage blobStorage,
+                                     PlatformTransactionManager transactionManager, String table, String column) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.blobStorage = blobStorage;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.table = table;
+        this.pending = "SELECT id FROM " + table + " WHERE content_hash IS NULL AND " + column + " IS NOT NULL";
+        this.content = "SELECT content_hash, " + column + " FROM " + table + " WHERE id = ?";
+        this.moved = "UPDATE " + table + " SET content_hash = ?, " + column + " = NULL "
+                + "WHERE id = ? AND content_hash IS NULL";
+        this.inlineColumn = hasColumn(jdbcTemplate, table, column);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateOnStartup() {
+        if (!inlineColumn) {
+            return;
+        }
+        try {
+            List<Long> ids = jdbcTemplate.queryForList(pending, Long.class);
+            if (ids.isEmpty()) {
+                return;
+            }
+            for (Long id : ids) {
+                migrate(id);
+            }
+            logger.info("Moved {} values of {} into blob storage", ids.size(), table);
+        } catch (RuntimeException e) {
+            logger.error("Failed to move the content of {} into blob storage, rows move when read", table, e);
+        }
+    }
+
+    /**
+     * Moves the row's content into blob storage if it is still inline.
+     *
+     * @return the content hash, or {@code null} when the row has no content anywhere
+     */
+    public String migrate(long id) {
+        if (!inlineColumn) {
+            return null;
+        }
+        return transactionTemplate.execute(status -> {
+            String hash = jdbcTemplate.query(content, rs -> {
+                if (!rs.next()) {
+                    return null;
+                }
+                String stored = rs.getString(1);
+                if (stored != null) {
+                    return stored;
+                }
+                try (InputStream value = rs.getBinaryStream(2)) {
+                    return value != null ? blobStorage.store(value).hash() : null;
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to store the content of " + table + " " + id, e);
+                }
+            }, id);
+            if (hash != null) {
+                jdbcTemplate.update(moved, hash, id);
+            }
+            return hash;
+        });
+    }
+
+    private static boolean hasColumn(JdbcTemplate jdbcTemplate, String table, String column) {
+        try {
+            jdbcTemplate.queryForList("SELECT " + column + " FROM " + table + " WHERE 1 = 0");
+            return true;
+        } catch (DataAccessException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.brandyodhiambo.bibleApi.storage;
+
+import com.brandyodhiambo.bibleApi.exception.BibleApiException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+/**
+ * {@link BlobStore} on the local file system: every payload is kept once, under its SHA-256, at
+ * {@code root/ab/cd/abcd...}. Identical uploads share a file and a stored file never changes, so its hash is
+ * also a strong ETag.
+ * <p>
+ * Content is hashed while it is copied to a temporary file under {@code root}, then renamed into place, so
+ * nothing beyond the copy buffer is held in memory and readers never see a partial file. Two writers of the
+ * same content both end up with the same complete file.
+ */
+@Component
+@ConditionalOnProperty(name = "storage.backend", havingValue = "local", matchIfMissing = true)
+public class LocalBlobStore implements BlobStore {
+
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path root;
+    private final Path incoming;
+
+    public LocalBlobStore(@Value("${storage.local.root:data/blobs}") String root) {
+        this.root = Path.of(root).toAbsolutePath().normalize();
+        this.incoming = this.root.resolve("incoming");
+        try {
+            Files.createDirectories(incoming);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create blob store at " + this.root, e);
+        }
+    }
+
+    @Override
+    public StoredBlob put(InputStream content) throws IOException {
+        Path temp = Files.createTempFile(incoming, "blob-", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            long size = Files.copy(new DigestInputStream(content, digest), temp, StandardCopyOption.REPLACE_EXISTING);
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path target = path(hash);
+            if (Files.exists(target)) {
+                return new StoredBlob(hash, size, false);
+            }
+            Files.createDirectories(target.getParent());
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return new StoredBlob(hash, size, true);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public boolean exists(String hash) {
+        return Files.exists(path(hash));
+    }
+
+    @Override
+    public Resource resource(String hash) {
+        Path path = path(hash);
+        if (!Files.isRegularFile(path)) {
+            throw new BibleApiException(HttpStatus.NOT_FOUND, "Stored content not found");
+        }
+        return new FileSystemResource(path);
+    }
+
+    @Override
+    public void delete(String hash) throws IOException {
+        Files.deleteIfExists(path(hash));
+    }
+
+    Path path(String hash) {
+        if (hash == null || !HASH.matcher(hash).matches()) {
+            throw new IllegalArgumentException("Not a SHA-256 hash: " + hash);
+        }
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.brandyodhiambo.bibleApi.storage;
+
+/**
+ * A payload written to the {@link BlobStore}: its SHA-256 in lowercase hex and its size in bytes.
+ * {@code created} is false when the same content was already stored.
+ */
+public record StoredBlob(String hash, long size, boolean created) {
+}
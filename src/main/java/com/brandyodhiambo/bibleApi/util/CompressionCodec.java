@@ -0,0 +1,212 @@
+package com.brandyodhiambo.bibleApi.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.Set;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * Compression of stored content, chosen by content type with {@link #forContentType}.
+ * <p>
+ * Content is streamed from an {@code InputStream} to an {@code OutputStream} through fixed buffers, never
+ * held whole. {@code Deflater}s, {@code Inflater}s and their buffers are pooled per thread and reset
+ * between uses instead of being created per call and left to the garbage collector to free their native
+ * memory; one is kept idle per thread and any other is ended straight away.
+ * <p>
+ * Decompression is given the largest output it may produce and stops with a {@link ZipException} as soon
+ * as that is exceeded, so a small corrupt or hostile input cannot expand without bound. Corrupt input also
+ * fails with a {@link ZipException}, and input that ends early with an {@link EOFException}.
+ */
+public enum CompressionCodec {
+
+    /**
+     * Stored as it is, for formats that are compressed already.
+     */
+    NONE {
+        @Override
+        public long compress(InputStream in, OutputStream out) throws IOException {
+            return copy(in, out, Long.MAX_VALUE);
+        }
+
+        @Override
+        public long decompress(InputStream in, OutputStream out, long maxBytes) throws IOException {
+            return copy(in, out, maxBytes);
+        }
+    },
+
+    /**
+     * zlib-wrapped DEFLATE at the default level, the format profile images used to be stored in.
+     */
+    DEFLATE {
+        @Override
+        public long compress(InputStream in, OutputStream out) throws IOException {
+            DeflateContext context = DeflateContext.POOL.acquire();
+            try {
+                Deflater deflater = context.deflater;
+                long written = 0;
+                int read;
+                while ((read = in.read(context.input)) >= 0) {
+                    deflater.setInput(context.input, 0, read);
+                    while (!deflater.needsInput()) {
+                        written += drain(deflater, context.output, out);
+                    }
+                }
+                deflater.finish();
+                while (!deflater.finished()) {
+                    written += drain(deflater, context.output, out);
+                }
+                return written;
+            } finally {
+                DeflateContext.POOL.release(context);
+            }
+        }
+
+        @Override
+        public long decompress(InputStream in, OutputStream out, long maxBytes) throws IOException {
+            InflateContext context = InflateContext.POOL.acquire();
+            try {
+                Inflater inflater = context.inflater;
+                long written = 0;
+                while (!inflater.finished()) {
+                    if (inflater.needsInput()) {
+                        int read = in.read(context.input);
+                        if (read < 0) {
+                            throw new EOFException("Compressed content is truncated");
+                        }
+                        inflater.setInput(context.input, 0, read);
+                        continue;
+                    }
+                    if (inflater.needsDictionary()) {
+                        throw new ZipException("Compressed content needs a preset dictionary");
+                    }
+                    int inflated = inflater.inflate(context.output);
+                    if (inflated == 0 && !inflater.needsInput() && !inflater.finished()) {
+                        throw new ZipException("Compressed content is corrupt");
+                    }
+                    written += inflated;
+                    if (written > maxBytes) {
+                        throw new ZipException("Decompressed content is larger than " + maxBytes + " bytes");
+                    }
+                    out.write(context.output, 0, inflated);
+                }
+                return written;
+            } catch (DataFormatException e) {
+                throw new ZipException("Compressed content is corrupt: " + e.getMessage());
+            } finally {
+                InflateContext.POOL.release(context);
+            }
+        }
+    };
+
+    private static final int BUFFER_SIZE = 8192;
+
+    // Formats that shrink well; anything else is assumed to be compressed by its own format
+    private static final Set<String> COMPRESSIBLE = Set.of("image/bmp", "image/x-ms-bmp", "image/tiff",
+            "application/json", "application/xml", "application/javascript", "application/x-ndjson");
+
+    /**
+     * Compresses everything {@code in} holds into {@code out}; neither stream is closed.
+     *
+     * @return the number of bytes written
+     */
+    public abstract long compress(InputStream in, OutputStream out) throws IOException;
+
+    /**
+     * Decompresses a whole stream from {@code in} into {@code out}; neither stream is closed.
+     *
+     * @return the number of bytes written
+     * @throws ZipException when the content is corrupt or would decompress to more than {@code maxBytes}
+     * @throws EOFException when the content ends early
+     */
+    public abstract long decompress(InputStream in, OutputStream out, long maxBytes) throws IOException;
+
+    public byte[] compress(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+        try {
+            compress(new ByteArrayInputStream(data), out);
+        } catch (IOException e) {
+            // Reading from and writing to arrays does not fail
+            throw new IllegalStateException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * @throws ZipException when the content is corrupt or would decompress to more than {@code maxBytes}
+     * @throws EOFException when the content ends early
+     */
+    public byte[] decompress(InputStream in, long maxBytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(BUFFER_SIZE);
+        decompress(in, out, maxBytes);
+        return out.toByteArray();
+    }
+
+    /**
+     * The codec to store content of the given type with: {@link #DEFLATE} for text and uncompressed formats,
+     * {@link #NONE} for everything else, which compresses itself or is unknown.
+     */
+    public static CompressionCodec forContentType(String contentType) {
+        if (contentType == null) {
+            return NONE;
+        }
+        String type = contentType.split(";", 2)[0].trim().toLowerCase(Locale.ROOT);
+        if (type.startsWith("text/") || type.endsWith("+xml") || type.endsWith("+json")
+                || COMPRESSIBLE.contains(type)) {
+            return DEFLATE;
+        }
+        return NONE;
+    }
+
+    private static long copy(InputStream in, OutputStream out, long maxBytes) throws IOException {
+        byte[] buffer = BUFFERS.acquire();
+        try {
+            long written = 0;
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                written += read;
+                if (written > maxBytes) {
+                    throw new ZipException("Content is larger than " + maxBytes + " bytes");
+                }
+                out.write(buffer, 0, read);
+            }
+            return written;
+        } finally {
+            BUFFERS.release(buffer);
+        }
+    }
+
+    private static int drain(Deflater deflater, byte[] buffer, OutputStream out) throws IOException {
+        int deflated = deflater.deflate(buffer);
+        out.write(buffer, 0, deflated);
+        return deflated;
+    }
+
+    private static final ThreadLocalPool<byte[]> BUFFERS =
+            new ThreadLocalPool<>(() -> new byte[BUFFER_SIZE], buffer -> { }, buffer -> { });
+
+    private static final class DeflateContext {
+        static final ThreadLocalPool<DeflateContext> POOL = new ThreadLocalPool<>(DeflateContext::new,
+                context -> context.deflater.reset(), context -> context.deflater.end());
+
+        final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        final byte[] input = new byte[BUFFER_SIZE];
+        final byte[] output = new byte[BUFFER_SIZE];
+    }
+
+    private static final class InflateContext {
+        static final ThreadLocalPool<InflateContext> POOL = new ThreadLocalPool<>(InflateContext::new,
+                context -> context.inflater.reset(), context -> context.inflater.end());
+
+        final Inflater inflater = new Inflater();
+        final byte[] input = new byte[BUFFER_SIZE];
+        final byte[] output = new byte[BUFFER_SIZE];
+    }
+}
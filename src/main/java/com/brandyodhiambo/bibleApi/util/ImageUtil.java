@@ -1,44 +1,42 @@
 package com.brandyodhiambo.bibleApi.util;
 
-import java.io.ByteArrayOutputStream;
-import java.util.zip.Deflater;
-import java.util.zip.Inflater;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 
+/**
+ * Deflate compression of profile images, the format they were stored in before thumbnails were rendered at
+ * upload. New images are stored as uploaded; {@link CompressionCodec#forContentType} picks the codec for
+ * other content.
+ */
 public class ImageUtil {
 
-    public static byte[] compressImage(byte[] data) {
-
-        Deflater deflater = new Deflater();
-        deflater.setLevel(Deflater.BEST_COMPRESSION);
-        deflater.setInput(data);
-        deflater.finish();
+    // Larger than any profile image accepted at upload
+    public static final long MAX_IMAGE_SIZE = 64L * 1024 * 1024;
 
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(data.length);
-        byte[] tmp = new byte[4*1024];
-        while (!deflater.finished()) {
-            int size = deflater.deflate(tmp);
-            outputStream.write(tmp, 0, size);
-        }
-        try {
-            outputStream.close();
-        } catch (Exception e) {
-        }
-        return outputStream.toByteArray();
+    public static byte[] compressImage(byte[] data) {
+        return CompressionCodec.DEFLATE.compress(data);
     }
 
+    /**
+     * @throws UncheckedIOException when the data is corrupt, truncated or inflates past {@link #MAX_IMAGE_SIZE}
+     */
     public static byte[] decompressImage(byte[] data) {
-        Inflater inflater = new Inflater();
-        inflater.setInput(data);
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(data.length);
-        byte[] tmp = new byte[4*1024];
         try {
-            while (!inflater.finished()) {
-                int count = inflater.inflate(tmp);
-                outputStream.write(tmp, 0, count);
-            }
-            outputStream.close();
-        } catch (Exception exception) {
+            return decompressImage(new ByteArrayInputStream(data), MAX_IMAGE_SIZE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
-        return outputStream.toByteArray();
+    }
+
+    /**
+     * Inflates a stored image straight from its stream.
+     *
+     * @throws java.util.zip.ZipException when the data is corrupt or inflates past {@code maxBytes}
+     * @throws java.io.EOFException       when the data ends early
+     */
+    public static byte[] decompressImage(InputStream compressed, long maxBytes) throws IOException {
+        return CompressionCodec.DEFLATE.decompress(compressed, maxBytes);
     }
 }
@@ -0,0 +1,48 @@
+package com.brandyodhiambo.bibleApi.util;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Keeps one idle instance per thread for reuse.
+ * <p>
+ * {@link #acquire()} hands out the thread's idle instance, or a new one when it is taken, so nested use on
+ * one thread never shares an instance. {@link #release} resets it and keeps it as the idle one, or disposes
+ * of it when the thread already has one. An idle instance lives as long as its thread.
+ */
+final class ThreadLocalPool<T> {
+
+    private final ThreadLocal<T> idle = new ThreadLocal<>();
+    private final Supplier<T> factory;
+    private final Consumer<T> reset;
+    private final Consumer<T> dispose;
+
+    ThreadLocalPool(Supplier<T> factory, Consumer<T> reset, Consumer<T> dispose) {
+        this.factory = factory;
+        this.reset = reset;
+        this.dispose = dispose;
+    }
+
+    T acquire() {
+        T instance = idle.get();
+        if (instance == null) {
+            return factory.get();
+        }
+        idle.set(null);
+        return instance;
+    }
+
+    void release(T instance) {
+        if (idle.get() != null) {
+            dispose.accept(instance);
+            return;
+        }
+        try {
+            reset.accept(instance);
+        } catch (RuntimeException e) {
+            dispose.accept(instance);
+            throw e;
+        }
+        idle.set(instance);
+    }
+}
@@ -0,0 +1,18 @@
+-- Full-text search columns for the postgres search engine (bible.search.engine=postgres).
+-- Generated tsvector columns stay in sync with the row on every write, the GIN indexes serve the @@ matches.
+-- Every statement is idempotent because the script runs on each startup after Hibernate updates the schema.
+
+ALTER TABLE verses ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (to_tsvector('simple', coalesce(text, ''))) STORED;
+CREATE INDEX IF NOT EXISTS idx_verses_search_vector ON verses USING GIN (search_vector);
+
+ALTER TABLE study_materials ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (to_tsvector('simple',
+        coalesce(title, '') || ' ' || coalesce(description, '') || ' ' || coalesce(keywords, ''))) STORED;
+CREATE INDEX IF NOT EXISTS idx_study_materials_search_vector ON study_materials USING GIN (search_vector);
+
+ALTER TABLE reading_plans ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (to_tsvector('simple',
+        coalesce(title, '') || ' ' || coalesce(description, '') || ' ' ||
+        coalesce(bible_references, '') || ' ' || coalesce(topics, ''))) STORED;
+CREATE INDEX IF NOT EXISTS idx_reading_plans_search_vector ON reading_plans USING GIN (search_vector);
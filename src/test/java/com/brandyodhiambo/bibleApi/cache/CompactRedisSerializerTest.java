@@ -0,0 +1,149 @@
+package com.brandyodhiambo.bibleApi.cache;
+
+import com.brandyodhiambo.bibleApi.feature.biblemgt.models.dto.VerseResponse;
+import com.brandyodhiambo.bibleApi.feature.groupmgt.models.GroupType;
+import com.brandyodhiambo.bibleApi.feature.groupmgt.models.dto.GroupResponse;
+import com.brandyodhiambo.bibleApi.feature.usermgt.models.dto.UserSummary;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactRedisSerializerTest {
+
+    private GenericJackson2JsonRedisSerializer json;
+    private CompactRedisSerializer serializer;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        mapper.activateDefaultTyping(mapper.getPolymorphicTypeValidator(), ObjectMapper.DefaultTyping.NON_FINAL);
+        json = new GenericJackson2JsonRedisSerializer(mapper);
+        serializer = new CompactRedisSerializer(json, 1024);
+    }
+
+    @Test
+    void serialize_GroupWithMembers_ShouldRoundTripInFewerBytesThanJson() {
+        // Arrange
+        GroupResponse group = group(200);
+
+        // Act
+        byte[] bytes = serializer.serialize(group);
+        Object result = serializer.deserialize(bytes);
+
+        // Assert
+        assertEquals(group, result);
+        assertEquals(CompactRedisSerializer.FLAG_DEFLATE, bytes[2]);
+        assertTrue(bytes.length * 5 < json.serialize(group).length,
+                "compact " + bytes.length + " bytes, json " + json.serialize(group).length + " bytes");
+    }
+
+    @Test
+    void serialize_SmallValue_ShouldNotCompress() {
+        // Arrange
+        VerseResponse verse = VerseResponse.builder()
+                .id(1L).number(16).text("For God so loved the world").chapterId(3L).chapterNumber(3)
+                .bookId(43L).bookName("John").createdAt(LocalDateTime.of(2024, 1, 1, 12, 0, 0, 1000))
+                .build();
+
+        // Act
+        byte[] bytes = serializer.serialize(verse);
+
+        // Assert
+        assertEquals(CompactRedisSerializer.MAGIC, bytes[0] & 0xFF);
+        assertEquals(0, bytes[2]);
+        assertEquals(verse, serializer.deserialize(bytes));
+    }
+
+    @Test
+    void serialize_PageOfGroups_ShouldKeepContentAndPaging() {
+        // Arrange
+        Page<GroupResponse> page = new PageImpl<>(List.of(group(2), group(3)),
+                PageRequest.of(1, 2, Sort.by("name").descending()), 7);
+
+        // Act
+        Object result = serializer.deserialize(serializer.serialize(page));
+
+        // Assert
+        Page<?> restored = assertInstanceOf(Page.class, result);
+        assertEquals(page.getContent(), restored.getContent());
+        assertEquals(1, restored.getNumber());
+        assertEquals(2, restored.getSize());
+        assertEquals(7, restored.getTotalElements());
+        assertEquals(page.getSort(), restored.getSort());
+    }
+
+    @Test
+    void serialize_ListWithNullsAndEmptyList_ShouldRoundTrip() {
+        List<GroupResponse> groups = new java.util.ArrayList<>();
+        groups.add(group(1));
+        groups.add(null);
+
+        assertEquals(groups, serializer.deserialize(serializer.serialize(groups)));
+        assertEquals(List.of(), serializer.deserialize(serializer.serialize(List.of())));
+    }
+
+    @Test
+    void serialize_UnsupportedValue_ShouldFallBackToJson() {
+        // Act
+        byte[] bytes = serializer.serialize(NullValue.INSTANCE);
+
+        // Assert
+        assertNotEquals(CompactRedisSerializer.MAGIC, bytes[0] & 0xFF);
+        assertEquals(NullValue.INSTANCE, serializer.deserialize(bytes));
+    }
+
+    @Test
+    void deserialize_JsonWrittenByEarlierRelease_ShouldStillBeRead() {
+        // Arrange
+        GroupResponse group = group(3);
+
+        // Act & Assert
+        assertEquals(group, serializer.deserialize(json.serialize(group)));
+    }
+
+    @Test
+    void deserialize_UnknownVersionOrStaleSchema_ShouldReadAsMiss() {
+        // Arrange
+        byte[] bytes = serializer.serialize(group(1));
+        byte[] newerVersion = bytes.clone();
+        newerVersion[1] = (byte) (CompactRedisSerializer.FORMAT_VERSION + 1);
+
+        // Root kind, class name, then the fingerprint
+        byte[] staleSchema = bytes.clone();
+        int fingerprintAt = 4 + 1 + GroupResponse.class.getName().getBytes(StandardCharsets.UTF_8).length;
+        staleSchema[fingerprintAt] ^= 0x5A;
+
+        // Act & Assert
+        assertNull(serializer.deserialize(newerVersion));
+        assertNull(serializer.deserialize(staleSchema));
+        assertNull(serializer.deserialize(new byte[]{(byte) CompactRedisSerializer.MAGIC, 1, 0, 1, 99}));
+    }
+
+    private static GroupResponse group(int memberCount) {
+        Set<UserSummary> members = new LinkedHashSet<>();
+        for (long i = 1; i <= memberCount; i++) {
+            members.add(new UserSummary(i, "member" + i, "First", "Last", "member" + i + "@example.com"));
+        }
+        return new GroupResponse((long) memberCount, "Group " + memberCount, "Weekly study", "Nairobi",
+                LocalTime.of(18, 30), GroupType.VIRTUAL, members.iterator().next(), members,
+                LocalDate.of(2024, 5, 1), null, members.size());
+    }
+}
@@ -0,0 +1,149 @@
+package com.brandyodhiambo.bibleApi.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TwoTierCacheManagerTest {
+
+    private static final String CHANNEL = "bible:cache:invalidation";
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private ConcurrentMapCacheManager redis;
+    private SimpleMeterRegistry meterRegistry;
+    private TwoTierCacheManager nodeA;
+    private TwoTierCacheManager nodeB;
+
+    @BeforeEach
+    void setUp() {
+        // Both nodes share the same "Redis" tier, each has its own local tier
+        redis = new ConcurrentMapCacheManager("groups", "pagedGroups");
+        meterRegistry = new SimpleMeterRegistry();
+        TwoTierCacheProperties properties = new TwoTierCacheProperties();
+        nodeA = new TwoTierCacheManager(redis, properties, redisTemplate, meterRegistry);
+        nodeB = new TwoTierCacheManager(redis, properties, redisTemplate, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void get_WhenOnlyInRemoteTier_ShouldCopyIntoLocalTier() {
+        // Arrange
+        redis.getCache("groups").put(1L, "Bible study");
+        Cache cache = nodeA.getCache("groups");
+
+        // Act
+        Cache.ValueWrapper first = cache.get(1L);
+        redis.getCache("groups").evict(1L);
+        Cache.ValueWrapper second = cache.get(1L);
+
+        // Assert
+        assertEquals("Bible study", first.get());
+        assertEquals("Bible study", second.get());
+        assertEquals(1.0, meterRegistry.get("cache.remote.gets").tag("result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "groups").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    void get_WithValueLoader_ShouldCacheNullsInBothTiers() {
+        // Arrange
+        Cache cache = nodeA.getCache("groups");
+
+        // Act
+        Object loaded = cache.get(2L, () -> null);
+        Cache.ValueWrapper cached = cache.get(2L);
+
+        // Assert
+        assertNull(loaded);
+        assertNotNull(cached);
+        assertNull(cached.get());
+        assertNotNull(redis.getCache("groups").get(2L));
+    }
+
+    @Test
+    void evict_ShouldClearLocalTiersOfOtherNodes() {
+        // Arrange
+        nodeA.getCache("groups").put(1L, "old");
+        assertEquals("old", nodeB.getCache("groups").get(1L).get());
+        clearInvocations(redisTemplate);
+
+        // Act
+        nodeA.getCache("groups").evict(1L);
+        deliverPublishedMessagesTo(nodeA, nodeB);
+
+        // Assert
+        redis.getCache("groups").put(1L, "new");
+        assertEquals("new", nodeB.getCache("groups").get(1L).get());
+    }
+
+    @Test
+    void clear_ShouldClearEveryLocalEntryOfOtherNodes() {
+        // Arrange
+        Cache cacheB = nodeB.getCache("pagedGroups");
+        nodeA.getCache("pagedGroups").put(List.of(0, 20), "page 0");
+        nodeA.getCache("pagedGroups").put(List.of(1, 20), "page 1");
+        cacheB.get(List.of(0, 20));
+        cacheB.get(List.of(1, 20));
+        clearInvocations(redisTemplate);
+
+        // Act
+        nodeA.getCache("pagedGroups").clear();
+        deliverPublishedMessagesTo(nodeA, nodeB);
+
+        // Assert
+        assertNull(cacheB.get(List.of(0, 20)));
+        assertNull(cacheB.get(List.of(1, 20)));
+    }
+
+    @Test
+    void onMessage_WhenSentByItself_ShouldKeepLocalEntries() {
+        // Arrange
+        Cache cache = nodeA.getCache("groups");
+        cache.put(1L, "kept");
+        ArgumentCaptor<String> message = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).convertAndSend(eq(CHANNEL), message.capture());
+        redis.getCache("groups").clear();
+
+        // Act
+        nodeA.onMessage(new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8),
+                message.getValue().getBytes(StandardCharsets.UTF_8)), null);
+
+        // Assert
+        assertEquals("kept", cache.get(1L).get());
+    }
+
+    @Test
+    void getCache_WhenUnknownToRemoteManager_ShouldReturnNull() {
+        assertNull(nodeA.getCache("unknown"));
+        verify(redisTemplate, never()).convertAndSend(anyString(), anyString());
+    }
+
+    private void deliverPublishedMessagesTo(TwoTierCacheManager sender, TwoTierCacheManager receiver) {
+        ArgumentCaptor<String> messages = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate, atLeastOnce()).convertAndSend(eq(CHANNEL), messages.capture());
+        for (String message : messages.getAllValues()) {
+            DefaultMessage redisMessage = new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8),
+                    message.getBytes(StandardCharsets.UTF_8));
+            sender.onMessage(redisMessage, null);
+            receiver.onMessage(redisMessage, null);
+        }
+    }
+}
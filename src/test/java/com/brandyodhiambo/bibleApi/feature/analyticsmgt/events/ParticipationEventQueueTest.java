@@ -0,0 +1,184 @@
+package com.brandyodhiambo.bibleApi.feature.analyticsmgt.events;
+
+import com.brandyodhiambo.bibleApi.feature.analyticsmgt.events.ParticipationEvent.Kind;
+import com.brandyodhiambo.bibleApi.feature.analyticsmgt.repository.ParticipationMetricsBatchRepository;
+import com.brandyodhiambo.bibleApi.feature.eventmgt.calendar.Occurrence;
+import com.brandyodhiambo.bibleApi.feature.eventmgt.calendar.SessionCalendar;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ParticipationEventQueueTest {
+
+    private static final YearMonth OCTOBER = YearMonth.of(2026, 10);
+    private static final YearMonth NOVEMBER = YearMonth.of(2026, 11);
+
+    @Mock
+    private ParticipationMetricsBatchRepository batchRepository;
+
+    @Mock
+    private SessionCalendar sessionCalendar;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ParticipationEventQueue queue;
+
+    @AfterEach
+    void tearDown() {
+        if (queue != null) {
+            queue.stop();
+        }
+    }
+
+    @Test
+    void aggregate_ShouldSumEventsPerMemberAndMonthInOrder() {
+        // Arrange
+        List<ParticipationEvent> events = List.of(
+                new ParticipationEvent(Kind.CHAT_MESSAGE_SENT, 2L, 5L, OCTOBER, 1),
+                new ParticipationEvent(Kind.SESSION_ATTENDED, 1L, 9L, OCTOBER, 1),
+                new ParticipationEvent(Kind.CHAT_MESSAGE_SENT, 2L, 5L, OCTOBER, 1),
+                new ParticipationEvent(Kind.PRAYER_REQUEST_ANSWERED, 2L, 5L, OCTOBER, 1),
+                new ParticipationEvent(Kind.SESSION_ATTENDED, 1L, 9L, OCTOBER, -1),
+                new ParticipationEvent(Kind.STUDY_COMMENT_MADE, 2L, 5L, NOVEMBER, 1));
+
+        // Act
+        List<ParticipationDelta> deltas = ParticipationDelta.aggregate(events);
+
+        // Assert
+        assertEquals(List.of(
+                new ParticipationDelta(1L, 9L, OCTOBER, 0, 0, 0, 0, 0),
+                new ParticipationDelta(2L, 5L, OCTOBER, 0, 2, 0, 1, 0),
+                new ParticipationDelta(2L, 5L, NOVEMBER, 0, 0, 0, 0, 1)), deltas);
+    }
+
+    @Test
+    void publish_ShouldApplyBatchWithSessionTotals() {
+        // Arrange
+        when(sessionCalendar.occurrences(1L, OCTOBER.atDay(1), OCTOBER.atEndOfMonth()))
+                .thenReturn(List.of(new Occurrence(null, OCTOBER.atDay(4), null)));
+        queue = queue(5);
+        queue.start();
+
+        // Act
+        queue.publish(new ParticipationEvent(Kind.SESSION_ATTENDED, 1L, 5L, OCTOBER, 1));
+        queue.stop();
+
+        // Assert: everything published is applied by the time stop returns
+        verify(batchRepository).apply(
+                List.of(new ParticipationDelta(1L, 5L, OCTOBER, 1, 0, 0, 0, 0)),
+                Map.of(new ParticipationDelta.GroupPeriod(1L, OCTOBER), 1));
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void publish_InsideTransaction_ShouldWaitForCommit() {
+        // Arrange
+        queue = queue(5);
+        queue.start();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            queue.publish(new ParticipationEvent(Kind.PRAYER_REQUEST_SUBMITTED, 1L, 5L, OCTOBER, 1));
+
+            // Assert
+            verifyNoInteractions(batchRepository);
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            assertEquals(1, synchronizations.size());
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        verify(batchRepository, timeout(5_000)).apply(anyList(), anyMap());
+    }
+
+    @Test
+    void publish_WhenNotStarted_ShouldDropEvent() {
+        // Arrange
+        queue = queue(5);
+
+        // Act
+        queue.publish(new ParticipationEvent(Kind.CHAT_MESSAGE_SENT, 1L, 5L, OCTOBER, 1));
+
+        // Assert
+        assertEquals(1.0, meterRegistry.counter("analytics.events.dropped").count());
+        verifyNoInteractions(batchRepository);
+    }
+
+    @Test
+    void apply_WhenBatchKeepsFailing_ShouldDropItAfterMaxAttempts() {
+        // Arrange
+        doThrow(new IllegalStateException("database down")).when(batchRepository).apply(anyList(), anyMap());
+        queue = queue(2);
+        queue.start();
+
+        // Act
+        queue.publish(new ParticipationEvent(Kind.CHAT_MESSAGE_SENT, 1L, 5L, OCTOBER, 1));
+        queue.stop();
+
+        // Assert: one retry, then the consumer moves on
+        verify(batchRepository, times(2)).apply(anyList(), anyMap());
+        assertEquals(2.0, meterRegistry.counter("analytics.events.failures").count());
+        assertEquals(1.0, meterRegistry.counter("analytics.events.dropped").count());
+    }
+
+    @Test
+    void apply_WhenOneBatchFails_ShouldKeepApplyingLaterBatches() {
+        // Arrange: the first group's sessions cannot be counted
+        when(sessionCalendar.occurrences(eq(66L), any(), any())).thenThrow(new IllegalStateException("broken"));
+        when(sessionCalendar.occurrences(eq(1L), any(), any())).thenReturn(List.of());
+        queue = queue(1);
+        queue.start();
+
+        // Act
+        queue.publish(new ParticipationEvent(Kind.CHAT_MESSAGE_SENT, 66L, 5L, OCTOBER, 1));
+        verify(sessionCalendar, timeout(5_000)).occurrences(eq(66L), any(), any());
+        queue.publish(new ParticipationEvent(Kind.CHAT_MESSAGE_SENT, 1L, 5L, OCTOBER, 1));
+
+        // Assert
+        verify(batchRepository, timeout(5_000)).apply(
+                List.of(new ParticipationDelta(1L, 5L, OCTOBER, 0, 1, 0, 0, 0)),
+                Map.of(new ParticipationDelta.GroupPeriod(1L, OCTOBER), 0));
+        assertEquals(1.0, meterRegistry.counter("analytics.events.dropped").count());
+    }
+
+    @Test
+    void publish_WhenUserIdIsMissing_ShouldDropEvent() {
+        // Arrange
+        queue = queue(5);
+        queue.start();
+
+        // Act
+        queue.publish(new ParticipationEvent(Kind.CHAT_MESSAGE_SENT, 1L, null, OCTOBER, 1));
+        queue.stop();
+
+        // Assert
+        assertEquals(1.0, meterRegistry.counter("analytics.events.dropped").count());
+        verifyNoInteractions(batchRepository);
+    }
+
+    private ParticipationEventQueue queue(int maxAttempts) {
+        return new ParticipationEventQueue(batchRepository, sessionCalendar, transactionManager, meterRegistry,
+                true, 100, 50, maxAttempts, Duration.ofMillis(20), Duration.ofSeconds(5));
+    }
+}
@@ -0,0 +1,84 @@
+package com.brandyodhiambo.bibleApi.feature.analyticsmgt.events;
+
+import com.brandyodhiambo.bibleApi.feature.analyticsmgt.events.ParticipationDelta.GroupPeriod;
+import com.brandyodhiambo.bibleApi.feature.analyticsmgt.repository.ParticipationMetricsBatchRepository;
+import com.brandyodhiambo.bibleApi.feature.eventmgt.calendar.Occurrence;
+import com.brandyodhiambo.bibleApi.feature.eventmgt.calendar.SessionCalendar;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ParticipationMetricsRecountTest {
+
+    private static final YearMonth OCTOBER = YearMonth.of(2026, 10);
+
+    @Mock
+    private ParticipationMetricsBatchRepository batchRepository;
+
+    @Mock
+    private SessionCalendar sessionCalendar;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ParticipationMetricsRecount recount;
+
+    @BeforeEach
+    void setUp() {
+        recount = new ParticipationMetricsRecount(batchRepository, sessionCalendar, transactionManager);
+    }
+
+    @Test
+    void start_ShouldRecountPendingGroupMonthsWithSessionTotals() {
+        // Arrange
+        GroupPeriod group = new GroupPeriod(1L, OCTOBER);
+        when(batchRepository.findPendingRecount()).thenReturn(List.of(group));
+        when(sessionCalendar.occurrences(1L, OCTOBER.atDay(1), OCTOBER.atEndOfMonth()))
+                .thenReturn(List.of(new Occurrence(null, OCTOBER.atDay(4), null),
+                        new Occurrence(null, OCTOBER.atDay(11), null)));
+        when(batchRepository.recount(group, 2)).thenReturn(3);
+
+        // Act
+        recount.start();
+
+        // Assert
+        verify(batchRepository).recount(group, 2);
+        verify(transactionManager).commit(any());
+        assertTrue(recount.isRunning());
+    }
+
+    @Test
+    void start_WhenNothingIsPending_ShouldNotRecount() {
+        // Arrange
+        when(batchRepository.findPendingRecount()).thenReturn(List.of());
+
+        // Act
+        recount.start();
+
+        // Assert
+        verify(batchRepository, never()).recount(any(), anyInt());
+        verifyNoInteractions(sessionCalendar);
+    }
+
+    @Test
+    void start_WhenRecountFails_ShouldNotFailStartup() {
+        // Arrange
+        when(batchRepository.findPendingRecount()).thenThrow(new IllegalStateException("database down"));
+
+        // Act & Assert
+        assertDoesNotThrow(recount::start);
+        assertTrue(recount.isRunning());
+    }
+}
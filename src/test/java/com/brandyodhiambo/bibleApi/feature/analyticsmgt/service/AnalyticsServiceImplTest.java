@@ -1,16 +1,21 @@
 package com.brandyodhiambo.bibleApi.feature.analyticsmgt.service;
 
+import com.brandyodhiambo.bibleApi.feature.analyticsmgt.events.ParticipationDelta;
 import com.brandyodhiambo.bibleApi.feature.analyticsmgt.models.ParticipationMetrics;
 import com.brandyodhiambo.bibleApi.feature.analyticsmgt.models.ReadingProgress;
 import com.brandyodhiambo.bibleApi.feature.analyticsmgt.models.dto.GroupAnalyticsResponse;
 import com.brandyodhiambo.bibleApi.feature.analyticsmgt.models.dto.ParticipationMetricsResponse;
 import com.brandyodhiambo.bibleApi.feature.analyticsmgt.models.dto.ReadingProgressResponse;
+import com.brandyodhiambo.bibleApi.feature.analyticsmgt.repository.ParticipationMetricsBatchRepository;
 import com.brandyodhiambo.bibleApi.feature.analyticsmgt.repository.ParticipationMetricsRepository;
 import com.brandyodhiambo.bibleApi.feature.analyticsmgt.repository.ReadingProgressRepository;
+import com.brandyodhiambo.bibleApi.feature.eventmgt.calendar.Occurrence;
+import com.brandyodhiambo.bibleApi.feature.eventmgt.calendar.SessionCalendar;
 import com.brandyodhiambo.bibleApi.feature.eventmgt.repository.SessionRSVPRepository;
 import com.brandyodhiambo.bibleApi.feature.eventmgt.repository.StudySessionRepository;
 import com.brandyodhiambo.bibleApi.feature.groupmgt.models.Group;
 import com.brandyodhiambo.bibleApi.feature.groupmgt.repository.GroupRepository;
+import com.brandyodhiambo.bibleApi.feature.groupmgt.service.MembershipService;
 import com.brandyodhiambo.bibleApi.feature.prayermgt.repository.PrayerRequestRepository;
 import com.brandyodhiambo.bibleApi.feature.studymgt.models.ReadingPlan;
 import com.brandyodhiambo.bibleApi.feature.studymgt.repository.CommentRepository;
@@ -23,12 +28,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -65,6 +74,18 @@ public class AnalyticsServiceImplTest {
     @Mock
     private CommentRepository commentRepository;
 
+    @Mock
+    private MembershipService membershipService;
+
+    @Mock
+    private ParticipationMetricsBatchRepository participationMetricsBatchRepository;
+
+    @Mock
+    private SessionCalendar sessionCalendar;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private AnalyticsServiceImpl analyticsService;
 
@@ -228,6 +249,74 @@ public class AnalyticsServiceImplTest {
         assertEquals(75, response.getEngagementScore());
     }
 
+    @Test
+    void updateParticipationMetrics_ShouldRefreshSessionTotalAndReturnStoredRow() {
+        // Arrange
+        ReflectionTestUtils.setField(user, "id", 7L);
+        when(groupRepository.findById(1L)).thenReturn(Optional.of(group));
+        when(userRepository.getUserByName("testuser")).thenReturn(user);
+        when(membershipService.isMember(group, user)).thenReturn(true);
+        List<Occurrence> occurrences = List.of(new Occurrence(null, currentPeriod.atDay(1), null),
+                new Occurrence(null, currentPeriod.atDay(8), null), new Occurrence(null, currentPeriod.atDay(15), null));
+        when(sessionCalendar.occurrences(1L, currentPeriod.atDay(1), currentPeriod.atEndOfMonth()))
+                .thenReturn(occurrences);
+        when(participationMetricsRepository.findByGroupAndUserAndPeriodYearAndPeriodMonth(
+                group, user, currentPeriod.getYear(), currentPeriod.getMonthValue()))
+                .thenReturn(Optional.of(participationMetrics));
+
+        // Act
+        ParticipationMetricsResponse response = analyticsService.updateParticipationMetrics(
+                1L, "testuser", currentPeriod);
+
+        // Assert: the counters are left to the events, only the session total is set
+        assertEquals(1L, response.getId());
+        verify(participationMetricsBatchRepository).apply(
+                List.of(ParticipationDelta.none(1L, 7L, currentPeriod)),
+                Map.of(new ParticipationDelta.GroupPeriod(1L, currentPeriod), 3));
+        verify(participationMetricsRepository, never()).save(any(ParticipationMetrics.class));
+    }
+
+    @Test
+    void updateParticipationMetrics_WhenRowIsCreatedConcurrently_ShouldApplyAgain() {
+        // Arrange
+        ReflectionTestUtils.setField(user, "id", 7L);
+        when(groupRepository.findById(1L)).thenReturn(Optional.of(group));
+        when(userRepository.getUserByName("testuser")).thenReturn(user);
+        when(membershipService.isMember(group, user)).thenReturn(true);
+        when(sessionCalendar.occurrences(1L, currentPeriod.atDay(1), currentPeriod.atEndOfMonth()))
+                .thenReturn(List.of());
+        doThrow(new DuplicateKeyException("uk_participation_metrics_member_period"))
+                .doNothing()
+                .when(participationMetricsBatchRepository).apply(anyList(), anyMap());
+        when(participationMetricsRepository.findByGroupAndUserAndPeriodYearAndPeriodMonth(
+                group, user, currentPeriod.getYear(), currentPeriod.getMonthValue()))
+                .thenReturn(Optional.of(participationMetrics));
+
+        // Act
+        ParticipationMetricsResponse response = analyticsService.updateParticipationMetrics(
+                1L, "testuser", currentPeriod);
+
+        // Assert
+        assertEquals(1L, response.getId());
+        verify(participationMetricsBatchRepository, times(2)).apply(
+                List.of(ParticipationDelta.none(1L, 7L, currentPeriod)),
+                Map.of(new ParticipationDelta.GroupPeriod(1L, currentPeriod), 0));
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    void updateParticipationMetrics_WhenNotMember_ShouldThrowIllegalArgumentException() {
+        // Arrange
+        when(groupRepository.findById(1L)).thenReturn(Optional.of(group));
+        when(userRepository.getUserByName("testuser")).thenReturn(user);
+        when(membershipService.isMember(group, user)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> analyticsService.updateParticipationMetrics(1L, "testuser", currentPeriod));
+        verifyNoInteractions(participationMetricsBatchRepository, sessionCalendar);
+    }
+
     @Test
     void getGroupAnalytics_ShouldReturnAnalytics() {
         // Arrange
@@ -239,6 +328,7 @@ public class AnalyticsServiceImplTest {
                 .thenReturn(List.of(readingPlan));
         when(readingProgressRepository.calculateAverageCompletionPercentage(any(ReadingPlan.class)))
                 .thenReturn(50.0);
+        when(groupRepository.countMembers(1L)).thenReturn(1L);
 
         // Act
         GroupAnalyticsResponse response = analyticsService.getGroupAnalytics(1L, currentPeriod);
@@ -0,0 +1,141 @@
+package com.brandyodhiambo.bibleApi.feature.biblemgt.corpus;
+
+import com.brandyodhiambo.bibleApi.feature.biblemgt.models.Bible;
+import com.brandyodhiambo.bibleApi.feature.biblemgt.models.Book;
+import com.brandyodhiambo.bibleApi.feature.biblemgt.models.Chapter;
+import com.brandyodhiambo.bibleApi.feature.biblemgt.models.Verse;
+import com.brandyodhiambo.bibleApi.feature.biblemgt.models.dto.ChapterResponse;
+import com.brandyodhiambo.bibleApi.feature.biblemgt.models.dto.VerseResponse;
+import com.brandyodhiambo.bibleApi.feature.biblemgt.reference.PassageReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BibleCorpusTest {
+
+    private BibleCorpus corpus;
+
+    @BeforeEach
+    void setUp() {
+        Bible kjv = Bible.builder().id(1L).name("King James Version").abbreviation("KJV").language("English").build();
+        Bible rvr = Bible.builder().id(2L).name("Reina-Valera").abbreviation("RVR").language("Spanish").build();
+
+        Book genesis = Book.builder().id(10L).name("Genesis").abbreviation("Gen").position(1).bible(kjv).build();
+        Book john = Book.builder().id(11L).name("John").abbreviation("John").position(43).bible(kjv).build();
+        Book juan = Book.builder().id(20L).name("Juan").abbreviation("Jn").position(43).bible(rvr).build();
+
+        Chapter genesis1 = Chapter.builder().id(100L).number(1).book(genesis).build();
+        Chapter john3 = Chapter.builder().id(101L).number(3).book(john).build();
+        Chapter john1 = Chapter.builder().id(102L).number(1).book(john).build();
+        Chapter juan3 = Chapter.builder().id(200L).number(3).book(juan).build();
+
+        List<Verse> kjvVerses = new ArrayList<>();
+        kjvVerses.add(verse(1002L, 17, "For God sent not his Son into the world to condemn the world.", john3));
+        kjvVerses.add(verse(1001L, 16, "For God so loved the world, that he gave his only begotten Son.", john3));
+        kjvVerses.add(verse(1000L, 1, "In the beginning God created the heaven and the earth.", genesis1));
+        kjvVerses.add(verse(1003L, 1, "In the beginning was the Word.", john1));
+
+        List<Verse> rvrVerses = List.of(
+                verse(2000L, 16, "Porque de tal manera amó Dios al mundo, que ha dado a su Hijo unigénito.", juan3));
+
+        corpus = BibleCorpus.builder()
+                .addTranslation(rvr, List.of(juan), List.of(juan3), rvrVerses)
+                .addTranslation(kjv, List.of(john, genesis), List.of(john3, genesis1, john1), kjvVerses)
+                .build();
+    }
+
+    @Test
+    void build_ShouldOrderTranslationsBooksChaptersAndVerses() {
+        assertEquals(2, corpus.translationCount());
+        assertEquals(5, corpus.verseCount());
+
+        BibleCorpus.Translation kjv = corpus.translation(0);
+        assertEquals("KJV", kjv.abbreviation());
+        assertEquals("Genesis", kjv.bookName(0));
+        assertEquals("John", kjv.bookName(1));
+
+        List<ChapterResponse> johnChapters = corpus.chaptersOfBook(11L);
+        assertEquals(List.of(1, 3), johnChapters.stream().map(ChapterResponse::getNumber).toList());
+
+        List<VerseResponse> john3 = corpus.versesOfChapter(101L);
+        assertEquals(List.of(16, 17), john3.stream().map(VerseResponse::getNumber).toList());
+    }
+
+    @Test
+    void verseByReference_ShouldResolveSparseVerseNumbers() {
+        VerseResponse verse = corpus.verseByReference("John", 3, 16);
+
+        assertNotNull(verse);
+        assertEquals(1001L, verse.getId());
+        assertEquals(101L, verse.getChapterId());
+        assertEquals(11L, verse.getBookId());
+        assertNull(corpus.verseByReference("John", 3, 18));
+        assertNull(corpus.verseByReference("Exodus", 1, 1));
+    }
+
+    @Test
+    void verseById_ShouldDecodeUtf8TextFromByteStore() {
+        VerseResponse verse = corpus.verseById(2000L);
+
+        assertNotNull(verse);
+        assertEquals("Porque de tal manera amó Dios al mundo, que ha dado a su Hijo unigénito.", verse.getText());
+        assertEquals("Juan", verse.getBookName());
+        assertNull(corpus.verseById(9999L));
+    }
+
+    @Test
+    void chapterAndVerseByNumber_ShouldReturnNullForUnknownNumbers() {
+        assertEquals(100L, corpus.chapterByNumber(10L, 1).getId());
+        assertNull(corpus.chapterByNumber(10L, 2));
+        assertEquals(1000L, corpus.verseByNumber(100L, 1).getId());
+        assertNull(corpus.verseByNumber(100L, 2));
+        assertNull(corpus.versesOfChapter(999L));
+    }
+
+    @Test
+    void passage_ShouldSliceCrossChapterRangesAndClampMissingVerses() {
+        // John 1:1 through 3:16, with only verse 1 in chapter 1 and verses 16-17 in chapter 3
+        List<VerseResponse> crossChapter = corpus.passage(new PassageReference("john", 1, 1, 3, 16), null);
+        assertEquals(List.of(1003L, 1001L), crossChapter.stream().map(VerseResponse::getId).toList());
+
+        List<VerseResponse> clamped = corpus.passage(new PassageReference("John", 3, 10, 3, 99), null);
+        assertEquals(List.of(1001L, 1002L), clamped.stream().map(VerseResponse::getId).toList());
+
+        assertTrue(corpus.passage(new PassageReference("John", 4, null, 5, null), null).isEmpty());
+        assertNull(corpus.passage(new PassageReference("Exodus", 1, 1, 1, 1), null));
+    }
+
+    @Test
+    void passage_ShouldMatchAbbreviationsWithinTheRequestedTranslation() {
+        BibleCorpus.Translation rvr = corpus.translationByAbbreviation("rvr");
+
+        List<VerseResponse> verses = corpus.passage(new PassageReference("Jn", 3, 16, 3, 16), rvr);
+
+        assertEquals(List.of(2000L), verses.stream().map(VerseResponse::getId).toList());
+    }
+
+    @Test
+    void createdAt_ShouldSurviveThePackedRepresentation() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 1, 12, 30, 15);
+        Bible bible = Bible.builder().id(3L).name("Test").abbreviation("TST").language("English").build();
+        Book book = Book.builder().id(30L).name("Ruth").abbreviation("Ru").position(8).bible(bible).build();
+        Chapter chapter = Chapter.builder().id(300L).number(1).book(book).createdAt(createdAt).build();
+        Verse verse = Verse.builder().id(3000L).number(1).text("Now it came to pass.").chapter(chapter).createdAt(createdAt).build();
+
+        BibleCorpus single = BibleCorpus.builder()
+                .addTranslation(bible, List.of(book), List.of(chapter), List.of(verse))
+                .build();
+
+        assertEquals(createdAt, single.verseById(3000L).getCreatedAt());
+        assertEquals(createdAt, single.chapterById(300L).getCreatedAt());
+    }
+
+    private static Verse verse(Long id, int number, String text, Chapter chapter) {
+        return Verse.builder().id(id).number(number).text(text).chapter(chapter).build();
+    }
+}
@@ -0,0 +1,112 @@
+package com.brandyodhiambo.bibleApi.feature.biblemgt.corpus;
+
+import com.brandyodhiambo.bibleApi.feature.biblemgt.models.Bible;
+import com.brandyodhiambo.bibleApi.feature.biblemgt.models.Book;
+import com.brandyodhiambo.bibleApi.feature.biblemgt.models.Chapter;
+import com.brandyodhiambo.bibleApi.feature.biblemgt.models.Verse;
+import com.brandyodhiambo.bibleApi.feature.biblemgt.models.dto.VerseResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerseIndexTest {
+
+    private static final String[] TEXTS = {
+            "In the beginning God created the heaven and the earth.",
+            "And the earth was without form, and void.",
+            "For God so loved the world, that he gave his only begotten Son.",
+            "The LORD's word came unto me: the world is the LORD's.",
+            "Porque de tal manera amó Dios al mundo."
+    };
+
+    private BibleCorpus corpus;
+    private VerseIndex index;
+
+    @BeforeEach
+    void setUp() {
+        Bible bible = Bible.builder().id(1L).name("Test Bible").abbreviation("TB").language("English").build();
+        Book book = Book.builder().id(10L).name("Genesis").abbreviation("Gen").position(1).bible(bible).build();
+        Chapter chapter = Chapter.builder().id(100L).number(1).book(book).build();
+        List<Verse> verses = new ArrayList<>();
+        for (int i = 0; i < TEXTS.length; i++) {
+            verses.add(Verse.builder().id(1000L + i).number(i + 1).text(TEXTS[i]).chapter(chapter).build());
+        }
+        corpus = BibleCorpus.builder()
+                .addTranslation(bible, List.of(book), List.of(chapter), verses)
+                .build();
+        index = corpus.translation(0).index();
+    }
+
+    @Test
+    void tokenize_ShouldFoldCaseAndDiacritics() {
+        assertEquals(List.of("porque", "amo", "dios", "lord", "s", "naive"),
+                VerseTokenizer.tokenize("Porque AMÓ Dios, LORD's naïve"));
+    }
+
+    @Test
+    void search_WithSeveralWords_ShouldRequireAllOfThem() {
+        VerseIndex.Hits hits = index.search(VerseQuery.parse("God world"), 10);
+
+        assertEquals(1, hits.totalHits());
+        assertEquals(2, hits.verse(0));
+    }
+
+    @Test
+    void search_WithOr_ShouldMatchEitherWord() {
+        VerseIndex.Hits hits = index.search(VerseQuery.parse("world OR earth"), 10);
+
+        assertEquals(4, hits.totalHits());
+    }
+
+    @Test
+    void search_WithPhrase_ShouldRequireAdjacentTerms() {
+        assertEquals(1, index.search(VerseQuery.parse("\"so loved\""), 10).totalHits());
+        assertEquals(0, index.search(VerseQuery.parse("\"loved so\""), 10).totalHits());
+        // An apostrophe splits the word into a phrase of two terms
+        assertEquals(3, index.search(VerseQuery.parse("LORD's"), 10).verse(0));
+    }
+
+    @Test
+    void search_WithDiacriticFreeQuery_ShouldMatchAccentedText() {
+        VerseIndex.Hits hits = index.search(VerseQuery.parse("amo"), 10);
+
+        assertEquals(1, hits.totalHits());
+        assertEquals(4, hits.verse(0));
+    }
+
+    @Test
+    void search_ShouldRankByBm25AndHonourLimit() {
+        VerseIndex.Hits hits = index.search(VerseQuery.parse("the"), 2);
+
+        assertEquals(4, hits.totalHits());
+        assertEquals(2, hits.size());
+        // "the" occurs three times in the first verse, more than anywhere else
+        assertEquals(0, hits.verse(0));
+        assertTrue(hits.score(0) >= hits.score(1));
+    }
+
+    @Test
+    void search_WithUnknownTerm_ShouldReturnNoHits() {
+        assertEquals(0, index.search(VerseQuery.parse("pharaoh"), 10).totalHits());
+        assertEquals(0, index.search(VerseQuery.parse("   "), 10).totalHits());
+    }
+
+    @Test
+    void searchVerses_ShouldPageThroughRankedHits() {
+        VerseQuery query = VerseQuery.parse("the");
+
+        BibleCorpus.SearchResult first = corpus.searchVerses(query, null, 0, 3);
+        BibleCorpus.SearchResult second = corpus.searchVerses(query, null, 3, 3);
+
+        assertEquals(4, first.totalHits());
+        assertEquals(3, first.verses().size());
+        assertEquals(1, second.verses().size());
+        List<Long> ids = new ArrayList<>(first.verses().stream().map(VerseResponse::getId).toList());
+        ids.add(second.verses().get(0).getId());
+        assertEquals(4, ids.stream().distinct().count());
+    }
+}
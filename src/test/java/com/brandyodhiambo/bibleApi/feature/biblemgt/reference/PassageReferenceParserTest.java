@@ -0,0 +1,69 @@
+package com.brandyodhiambo.bibleApi.feature.biblemgt.reference;
+
+import com.brandyodhiambo.bibleApi.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PassageReferenceParserTest {
+
+    @Test
+    void parse_WithSeveralReferences_ShouldReturnOnePassageEach() {
+        // Act
+        List<PassageReference> references = PassageReferenceParser.parse("John 3:16-21; Rom 8:28-39");
+
+        // Assert
+        assertEquals(List.of(
+                new PassageReference("John", 3, 16, 3, 21),
+                new PassageReference("Rom", 8, 28, 8, 39)), references);
+    }
+
+    @Test
+    void parse_WithCrossChapterRange_ShouldKeepBothEnds() {
+        // Act
+        PassageReference reference = PassageReferenceParser.parse("1 John 2:28-3:3").get(0);
+
+        // Assert
+        assertEquals(new PassageReference("1 John", 2, 28, 3, 3), reference);
+        assertEquals("1 John 2:28-3:3", reference.toString());
+        assertTrue(reference.contains(2, 29));
+        assertTrue(reference.contains(3, 1));
+        assertFalse(reference.contains(3, 4));
+    }
+
+    @Test
+    void parse_WithWholeChapters_ShouldLeaveVersesOpen() {
+        // Act
+        PassageReference reference = PassageReferenceParser.parse("Genesis 1-2").get(0);
+
+        // Assert
+        assertEquals(new PassageReference("Genesis", 1, null, 2, null), reference);
+        assertTrue(reference.contains(2, 25));
+    }
+
+    @Test
+    void parse_WithContinuations_ShouldInheritBookAndChapter() {
+        // Act
+        List<PassageReference> references = PassageReferenceParser.parse("John 3:16, 18; 4:1-6");
+
+        // Assert
+        assertEquals(List.of(
+                new PassageReference("John", 3, 16, 3, 16),
+                new PassageReference("John", 3, 18, 3, 18),
+                new PassageReference("John", 4, 1, 4, 6)), references);
+    }
+
+    @Test
+    void parse_WithBackwardsOrMalformedRange_ShouldThrowException() {
+        assertThrows(BadRequestException.class, () -> PassageReferenceParser.parse("John 3:21-16"));
+        assertThrows(BadRequestException.class, () -> PassageReferenceParser.parse("John three"));
+        assertThrows(BadRequestException.class, () -> PassageReferenceParser.parse("16"));
+    }
+
+    @Test
+    void bookKey_ShouldIgnoreCaseSpacesAndDots() {
+        assertEquals(PassageReference.bookKey("1 John"), PassageReference.bookKey("1john."));
+    }
+}
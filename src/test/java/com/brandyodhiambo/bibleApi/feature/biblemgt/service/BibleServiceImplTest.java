@@ -1,5 +1,8 @@
 package com.brandyodhiambo.bibleApi.feature.biblemgt.service;
 
+import com.brandyodhiambo.bibleApi.feature.biblemgt.corpus.BibleCorpus;
+import com.brandyodhiambo.bibleApi.feature.biblemgt.corpus.BibleCorpusLoader;
+import com.brandyodhiambo.bibleApi.feature.biblemgt.corpus.ChapterETag;
 import com.brandyodhiambo.bibleApi.feature.biblemgt.models.Bible;
 import com.brandyodhiambo.bibleApi.feature.biblemgt.models.Book;
 import com.brandyodhiambo.bibleApi.feature.biblemgt.models.Chapter;
@@ -7,11 +10,15 @@ import com.brandyodhiambo.bibleApi.feature.biblemgt.models.Verse;
 import com.brandyodhiambo.bibleApi.feature.biblemgt.models.dto.BibleResponse;
 import com.brandyodhiambo.bibleApi.feature.biblemgt.models.dto.BookResponse;
 import com.brandyodhiambo.bibleApi.feature.biblemgt.models.dto.ChapterResponse;
+import com.brandyodhiambo.bibleApi.feature.biblemgt.models.dto.PassageRequest;
+import com.brandyodhiambo.bibleApi.feature.biblemgt.models.dto.PassageResponse;
 import com.brandyodhiambo.bibleApi.feature.biblemgt.models.dto.VerseResponse;
 import com.brandyodhiambo.bibleApi.feature.biblemgt.repository.BibleRepository;
 import com.brandyodhiambo.bibleApi.feature.biblemgt.repository.BookRepository;
 import com.brandyodhiambo.bibleApi.feature.biblemgt.repository.ChapterRepository;
 import com.brandyodhiambo.bibleApi.feature.biblemgt.repository.VerseRepository;
+import com.brandyodhiambo.bibleApi.exception.BadRequestException;
+import com.brandyodhiambo.bibleApi.search.SearchEngineSelector;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -19,6 +26,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -27,6 +38,7 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -44,6 +56,12 @@ class BibleServiceImplTest {
     @Mock
     private VerseRepository verseRepository;
 
+    @Mock
+    private BibleCorpusLoader corpusLoader;
+
+    @Mock
+    private SearchEngineSelector searchEngine;
+
     @InjectMocks
     private BibleServiceImpl bibleService;
 
@@ -233,8 +251,7 @@ class BibleServiceImplTest {
     void getAllVerses_WhenChapterExists_ShouldReturnAllVerses() {
         // Arrange
         List<Verse> verses = Arrays.asList(testVerse);
-        when(chapterRepository.findById(1L)).thenReturn(Optional.of(testChapter));
-        when(verseRepository.findByChapter(testChapter)).thenReturn(verses);
+        when(verseRepository.findAllByChapterIdOrderByNumberAsc(1L)).thenReturn(verses);
 
         // Act
         List<VerseResponse> result = bibleService.getAllVerses(1L);
@@ -243,8 +260,45 @@ class BibleServiceImplTest {
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals(testVerse.getText(), result.get(0).getText());
-        verify(chapterRepository).findById(1L);
-        verify(verseRepository).findByChapter(testChapter);
+        assertEquals(testBook.getName(), result.get(0).getBookName());
+        verify(verseRepository).findAllByChapterIdOrderByNumberAsc(1L);
+        verifyNoInteractions(chapterRepository);
+    }
+
+    @Test
+    void getAllVerses_WhenChapterDoesNotExist_ShouldThrowException() {
+        // Arrange
+        when(verseRepository.findAllByChapterIdOrderByNumberAsc(99L)).thenReturn(List.of());
+        when(chapterRepository.existsById(99L)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(EntityNotFoundException.class, () -> bibleService.getAllVerses(99L));
+    }
+
+    @Test
+    void getChapterETag_WhenCorpusLoaded_ShouldMatchTagOfLoadedVerses() {
+        // Arrange
+        when(corpusLoader.current()).thenReturn(corpusOf(testVerse));
+        String expected = ChapterETag.of(1L, List.of(VerseResponse.builder()
+                .id(testVerse.getId())
+                .number(testVerse.getNumber())
+                .text(testVerse.getText())
+                .build()));
+
+        // Act
+        String result = bibleService.getChapterETag(1L);
+
+        // Assert
+        assertEquals(expected, result);
+        assertNull(bibleService.getChapterETag(99L));
+        verifyNoInteractions(chapterRepository, verseRepository);
+    }
+
+    @Test
+    void getChapterETag_WhenCorpusNotLoaded_ShouldReturnNull() {
+        // Act & Assert
+        assertNull(bibleService.getChapterETag(1L));
+        verifyNoInteractions(chapterRepository, verseRepository);
     }
 
     @Test
@@ -277,4 +331,197 @@ class BibleServiceImplTest {
         assertEquals(testVerse.getText(), result.get(0).getText());
         verify(verseRepository).searchByKeyword(keyword);
     }
-}
\ No newline at end of file
+
+    @Test
+    void getVerseByReference_WhenCorpusLoaded_ShouldNotTouchRepositories() {
+        // Arrange
+        when(corpusLoader.current()).thenReturn(corpusOf(testVerse));
+
+        // Act
+        VerseResponse result = bibleService.getVerseByReference("Genesis", 1, 1);
+
+        // Assert
+        assertEquals(testVerse.getText(), result.getText());
+        assertEquals(testChapter.getId(), result.getChapterId());
+        assertEquals(testBook.getName(), result.getBookName());
+        verifyNoInteractions(bibleRepository, bookRepository, chapterRepository, verseRepository);
+    }
+
+    @Test
+    void getVerseByReference_WhenCorpusLoadedAndVerseMissing_ShouldThrowException() {
+        // Arrange
+        when(corpusLoader.current()).thenReturn(corpusOf(testVerse));
+
+        // Act & Assert
+        assertThrows(EntityNotFoundException.class, () -> bibleService.getVerseByReference("Genesis", 1, 2));
+        verifyNoInteractions(verseRepository);
+    }
+
+    @Test
+    void getAllVerses_WhenCorpusLoaded_ShouldReturnVersesInOrder() {
+        // Arrange
+        Verse secondVerse = Verse.builder()
+                .id(2L)
+                .number(2)
+                .text("And the earth was without form, and void.")
+                .chapter(testChapter)
+                .build();
+        when(corpusLoader.current()).thenReturn(corpusOf(secondVerse, testVerse));
+
+        // Act
+        List<VerseResponse> result = bibleService.getAllVerses(1L);
+
+        // Assert
+        assertEquals(2, result.size());
+        assertEquals(1, result.get(0).getNumber());
+        assertEquals(secondVerse.getText(), result.get(1).getText());
+        verifyNoInteractions(chapterRepository, verseRepository);
+    }
+
+    @Test
+    void getChapterByNumber_WhenCorpusLoaded_ShouldNotTouchRepositories() {
+        // Arrange
+        when(corpusLoader.current()).thenReturn(corpusOf(testVerse));
+
+        // Act
+        ChapterResponse result = bibleService.getChapterByNumber(1L, 1);
+
+        // Assert
+        assertEquals(testChapter.getId(), result.getId());
+        assertEquals(testBook.getName(), result.getBookName());
+        assertThrows(EntityNotFoundException.class, () -> bibleService.getChapterByNumber(99L, 1));
+        verifyNoInteractions(bookRepository, chapterRepository);
+    }
+
+    @Test
+    void searchVersesByKeywordPaged_WhenCorpusLoaded_ShouldReturnPageWithTotalHits() {
+        // Arrange
+        Verse secondVerse = Verse.builder()
+                .id(2L)
+                .number(2)
+                .text("And the earth was without form, and void.")
+                .chapter(testChapter)
+                .build();
+        when(corpusLoader.current()).thenReturn(corpusOf(testVerse, secondVerse));
+
+        // Act
+        Page<VerseResponse> result = bibleService.searchVersesByKeyword("Earth", "kjv", 1, 1);
+
+        // Assert
+        assertEquals(2, result.getTotalElements());
+        assertEquals(1, result.getContent().size());
+        assertEquals(2, result.getTotalPages());
+        verifyNoInteractions(verseRepository);
+    }
+
+    @Test
+    void searchVersesByKeywordPaged_WhenTranslationUnknown_ShouldThrowException() {
+        // Arrange
+        when(corpusLoader.current()).thenReturn(corpusOf(testVerse));
+
+        // Act & Assert
+        assertThrows(EntityNotFoundException.class, () -> bibleService.searchVersesByKeyword("earth", "NIV", 0, 10));
+    }
+
+    @Test
+    void searchVersesByKeywordPaged_WhenSizeInvalid_ShouldThrowException() {
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> bibleService.searchVersesByKeyword("earth", null, 0, 0));
+        assertThrows(BadRequestException.class, () -> bibleService.searchVersesByKeyword("earth", null, -1, 10));
+        verifyNoInteractions(verseRepository);
+    }
+
+    @Test
+    void searchVersesByKeywordPaged_WhenCorpusNotLoaded_ShouldUseRepository() {
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 20);
+        when(verseRepository.searchByKeyword("beginning", null, pageable))
+                .thenReturn(new PageImpl<>(List.of(testVerse), pageable, 1));
+
+        // Act
+        Page<VerseResponse> result = bibleService.searchVersesByKeyword("beginning", " ", 0, 20);
+
+        // Assert
+        assertEquals(1, result.getTotalElements());
+        assertEquals(testVerse.getText(), result.getContent().get(0).getText());
+    }
+
+    @Test
+    void searchVersesByKeywordPaged_WhenDatabaseFullTextActive_ShouldBypassCorpus() {
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 10);
+        when(searchEngine.useDatabaseFullText()).thenReturn(true);
+        when(verseRepository.searchByKeyword("beginning", "KJV", pageable))
+                .thenReturn(new PageImpl<>(List.of(testVerse), pageable, 1));
+
+        // Act
+        Page<VerseResponse> result = bibleService.searchVersesByKeyword("beginning", "KJV", 0, 10);
+
+        // Assert
+        assertEquals(1, result.getTotalElements());
+        assertEquals(testBook.getName(), result.getContent().get(0).getBookName());
+        verifyNoInteractions(corpusLoader);
+    }
+
+    @Test
+    void getPassages_WhenCorpusLoaded_ShouldResolveEveryReferenceWithoutRepositories() {
+        // Arrange
+        Verse secondVerse = Verse.builder()
+                .id(2L)
+                .number(2)
+                .text("And the earth was without form, and void.")
+                .chapter(testChapter)
+                .build();
+        when(corpusLoader.current()).thenReturn(corpusOf(testVerse, secondVerse));
+        PassageRequest request = new PassageRequest(List.of("gen 1:1-2; Genesis 1:2", "Exodus 1:1"), null);
+
+        // Act
+        List<PassageResponse> result = bibleService.getPassages(request);
+
+        // Assert
+        assertEquals(3, result.size());
+        assertEquals("Genesis 1:1-2", result.get(0).getReference());
+        assertEquals(2, result.get(0).getVerses().size());
+        assertEquals(secondVerse.getText(), result.get(1).getVerses().get(0).getText());
+        assertTrue(result.get(2).getVerses().isEmpty());
+        verifyNoInteractions(bookRepository, chapterRepository, verseRepository);
+    }
+
+    @Test
+    void reloadCorpus_WhenCorpusIsDisabled_ShouldRefuseWithoutLoading() {
+        // Arrange
+        when(corpusLoader.isEnabled()).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> bibleService.reloadCorpus());
+        verify(corpusLoader, never()).reload();
+    }
+
+    @Test
+    void getPassages_WhenCorpusNotLoaded_ShouldUseOneQueryForAllPassages() {
+        // Arrange
+        Verse secondVerse = Verse.builder()
+                .id(2L)
+                .number(2)
+                .text("And the earth was without form, and void.")
+                .chapter(testChapter)
+                .build();
+        when(verseRepository.findPassages(any(), isNull())).thenReturn(List.of(testVerse, secondVerse));
+        PassageRequest request = new PassageRequest(List.of("Genesis 1:2; Gen 1"), null);
+
+        // Act
+        List<PassageResponse> result = bibleService.getPassages(request);
+
+        // Assert
+        assertEquals(2, result.size());
+        assertEquals(1, result.get(0).getVerses().size());
+        assertEquals(2, result.get(1).getVerses().size());
+        verify(verseRepository, times(1)).findPassages(any(), isNull());
+    }
+
+    private BibleCorpus corpusOf(Verse... verses) {
+        return BibleCorpus.builder()
+                .addTranslation(testBible, List.of(testBook), List.of(testChapter), Arrays.asList(verses))
+                .build();
+    }
+}
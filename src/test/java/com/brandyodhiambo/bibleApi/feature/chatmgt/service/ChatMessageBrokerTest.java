@@ -0,0 +1,164 @@
+package com.brandyodhiambo.bibleApi.feature.chatmgt.service;
+
+import com.brandyodhiambo.bibleApi.feature.chatmgt.models.dto.ChatMessageResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChatMessageBrokerTest {
+
+    private static final String CHANNEL = "chat:messages";
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private ChatMessageBroker nodeA;
+    private ChatMessageBroker nodeB;
+
+    @BeforeEach
+    void setUp() {
+        nodeA = new ChatMessageBroker(redisTemplate, objectMapper, new SimpleMeterRegistry(), CHANNEL, 2);
+        nodeB = new ChatMessageBroker(redisTemplate, objectMapper, new SimpleMeterRegistry(), CHANNEL, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodeA.shutdown();
+        nodeB.shutdown();
+    }
+
+    @Test
+    void publish_ShouldDeliverToLocalSubscribersOfTheGroupInOrder() throws InterruptedException {
+        // Arrange
+        List<Long> received = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(3);
+        nodeA.subscribe(1L, message -> {
+            received.add(message.getId());
+            latch.countDown();
+        });
+        List<Long> otherGroup = new CopyOnWriteArrayList<>();
+        nodeA.subscribe(2L, message -> otherGroup.add(message.getId()));
+
+        // Act
+        nodeA.publish(message(10L, 1L));
+        nodeA.publish(message(11L, 1L));
+        nodeA.publish(message(12L, 1L));
+
+        // Assert
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(10L, 11L, 12L), received);
+        assertTrue(otherGroup.isEmpty());
+        verify(redisTemplate, times(3)).convertAndSend(eq(CHANNEL), anyString());
+    }
+
+    @Test
+    void onMessage_WhenRelayedFromAnotherNode_ShouldDeliverLocally() throws InterruptedException {
+        // Arrange
+        CountDownLatch latch = new CountDownLatch(1);
+        List<ChatMessageResponse> received = new CopyOnWriteArrayList<>();
+        nodeB.subscribe(1L, message -> {
+            received.add(message);
+            latch.countDown();
+        });
+        nodeA.publish(message(10L, 1L));
+        ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).convertAndSend(eq(CHANNEL), payload.capture());
+
+        // Act
+        nodeB.onMessage(redisMessage(payload.getValue()), null);
+
+        // Assert
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals("hello", received.get(0).getContent());
+        assertEquals(LocalDateTime.of(2024, 5, 1, 10, 0), received.get(0).getCreatedAt());
+    }
+
+    @Test
+    void onMessage_WhenSentByThisNode_ShouldBeIgnored() throws InterruptedException {
+        // Arrange
+        CountDownLatch latch = new CountDownLatch(2);
+        nodeA.subscribe(1L, message -> latch.countDown());
+        nodeA.publish(message(10L, 1L));
+        ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).convertAndSend(eq(CHANNEL), payload.capture());
+
+        // Act
+        nodeA.onMessage(redisMessage(payload.getValue()), null);
+
+        // Assert: only the local delivery arrives
+        assertFalse(latch.await(200, TimeUnit.MILLISECONDS));
+        assertEquals(1, latch.getCount());
+    }
+
+    @Test
+    void subscribe_WhenListenerFails_ShouldCancelSubscription() throws InterruptedException {
+        // Arrange
+        ChatMessageBroker.Subscription failing = nodeA.subscribe(1L, message -> {
+            throw new IllegalStateException("client gone");
+        });
+        CountDownLatch latch = new CountDownLatch(2);
+        nodeA.subscribe(1L, message -> latch.countDown());
+
+        // Act: the group's lane is single threaded, so the second message is handled after the first failed
+        nodeA.publish(message(10L, 1L));
+        nodeA.publish(message(11L, 1L));
+
+        // Assert
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertFalse(failing.isActive());
+        assertEquals(1, nodeA.getSubscriberCount());
+    }
+
+    @Test
+    void publish_WhenRedisIsUnavailable_ShouldStillDeliverLocally() throws InterruptedException {
+        // Arrange
+        doThrow(new IllegalStateException("Redis down")).when(redisTemplate).convertAndSend(anyString(), anyString());
+        CountDownLatch latch = new CountDownLatch(1);
+        nodeA.subscribe(1L, message -> latch.countDown());
+
+        // Act
+        assertDoesNotThrow(() -> nodeA.publish(message(10L, 1L)));
+
+        // Assert
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+    }
+
+    private static ChatMessageResponse message(Long id, Long groupId) {
+        return ChatMessageResponse.builder()
+                .id(id)
+                .content("hello")
+                .groupId(groupId)
+                .groupName("Test Group")
+                .senderId(1L)
+                .senderUsername("testuser")
+                .createdAt(LocalDateTime.of(2024, 5, 1, 10, 0))
+                .build();
+    }
+
+    private static DefaultMessage redisMessage(String payload) {
+        return new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8), payload.getBytes(StandardCharsets.UTF_8));
+    }
+}
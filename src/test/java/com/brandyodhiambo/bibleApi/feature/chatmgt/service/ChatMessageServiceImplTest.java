@@ -1,11 +1,16 @@
 package com.brandyodhiambo.bibleApi.feature.chatmgt.service;
 
+import com.brandyodhiambo.bibleApi.exception.BadRequestException;
+import com.brandyodhiambo.bibleApi.feature.analyticsmgt.events.ParticipationEvent;
+import com.brandyodhiambo.bibleApi.feature.analyticsmgt.events.ParticipationEventQueue;
 import com.brandyodhiambo.bibleApi.feature.chatmgt.models.ChatMessage;
 import com.brandyodhiambo.bibleApi.feature.chatmgt.models.dto.ChatMessageResponse;
 import com.brandyodhiambo.bibleApi.feature.chatmgt.repository.ChatMessageRepository;
 import com.brandyodhiambo.bibleApi.feature.groupmgt.models.Group;
 import com.brandyodhiambo.bibleApi.feature.groupmgt.repository.GroupRepository;
+import com.brandyodhiambo.bibleApi.feature.groupmgt.service.MembershipService;
 import com.brandyodhiambo.bibleApi.feature.usermgt.models.Users;
+import com.brandyodhiambo.bibleApi.util.CursorPage;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,6 +20,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -25,9 +31,13 @@ import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -40,6 +50,18 @@ class ChatMessageServiceImplTest {
     @Mock
     private GroupRepository groupRepository;
 
+    @Mock
+    private ChatMessageBroker chatMessageBroker;
+
+    @Mock
+    private ChatMessageWriteBehind chatMessageWriteBehind;
+
+    @Mock
+    private MembershipService membershipService;
+
+    @Mock
+    private ParticipationEventQueue participationEventQueue;
+
     @Mock
     private Authentication authentication;
 
@@ -88,6 +110,7 @@ class ChatMessageServiceImplTest {
         when(securityContext.getAuthentication()).thenReturn(authentication);
         SecurityContextHolder.setContext(securityContext);
         when(authentication.getPrincipal()).thenReturn(user);
+        when(membershipService.isMemberOrLeader(group, user)).thenReturn(true);
     }
 
     @Test
@@ -107,6 +130,27 @@ class ChatMessageServiceImplTest {
         assertEquals(1L, response.getSenderId());
         assertEquals("testuser", response.getSenderUsername());
         verify(chatMessageRepository, times(1)).save(any(ChatMessage.class));
+        verify(chatMessageBroker, times(1)).publish(response);
+        verify(participationEventQueue).publish(argThat(event ->
+                event.kind() == ParticipationEvent.Kind.CHAT_MESSAGE_SENT
+                        && event.groupId() == 1L && event.userId() == 1L && event.delta() == 1));
+    }
+
+    @Test
+    void sendMessage_WhenWriteBehindEnabled_ShouldBufferInsteadOfSaving() {
+        // Arrange
+        when(groupRepository.findById(1L)).thenReturn(Optional.of(group));
+        when(chatMessageWriteBehind.isEnabled()).thenReturn(true);
+        when(chatMessageWriteBehind.enqueue(any(ChatMessage.class))).thenReturn(chatMessage);
+
+        // Act
+        ChatMessageResponse response = chatMessageService.sendMessage(1L, "Test message");
+
+        // Assert
+        assertEquals(1L, response.getId());
+        verify(chatMessageWriteBehind, times(1)).enqueue(any(ChatMessage.class));
+        verify(chatMessageRepository, never()).save(any(ChatMessage.class));
+        verify(chatMessageBroker, times(1)).publish(response);
     }
 
     @Test
@@ -142,17 +186,137 @@ class ChatMessageServiceImplTest {
     void getGroupMessages_Success() {
         // Arrange
         when(groupRepository.findById(1L)).thenReturn(Optional.of(group));
-        when(chatMessageRepository.findByGroupIdOrderByCreatedAtDesc(1L))
+        when(chatMessageRepository.findLatest(eq(1L), any(Limit.class)))
                 .thenReturn(Arrays.asList(chatMessage));
 
         // Act
-        List<ChatMessageResponse> responses = chatMessageService.getGroupMessages(1L);
+        CursorPage<ChatMessageResponse> page = chatMessageService.getGroupMessages(1L, null, null, 50);
+
+        // Assert
+        assertNotNull(page);
+        assertEquals(1, page.getSize());
+        assertEquals("Test message", page.getContent().get(0).getContent());
+        assertEquals("Test Group", page.getContent().get(0).getGroupName());
+        assertNotNull(page.getContent().get(0).getCursor());
+        assertNull(page.getNextCursor());
+        verify(chatMessageRepository, times(1)).findLatest(1L, Limit.of(51));
+    }
+
+    @Test
+    void getGroupMessages_WhenMoreThanOnePage_ShouldReturnCursorOfLastMessage() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.of(2024, 5, 1, 10, 0, 0, 123_456_789);
+        ChatMessage newer = ChatMessage.builder().id(3L).content("c").group(group).sender(user).createdAt(now).build();
+        ChatMessage older = ChatMessage.builder().id(2L).content("b").group(group).sender(user).createdAt(now).build();
+        ChatMessage oldest = ChatMessage.builder().id(1L).content("a").group(group).sender(user)
+                .createdAt(now.minusMinutes(1)).build();
+        when(groupRepository.findById(1L)).thenReturn(Optional.of(group));
+        when(chatMessageRepository.findLatest(1L, Limit.of(3))).thenReturn(Arrays.asList(newer, older, oldest));
+
+        // Act
+        CursorPage<ChatMessageResponse> page = chatMessageService.getGroupMessages(1L, null, null, 2);
+
+        // Assert
+        assertEquals(2, page.getSize());
+        assertEquals(page.getContent().get(1).getCursor(), page.getNextCursor());
+        MessageCursor cursor = MessageCursor.decode(page.getNextCursor());
+        assertEquals(2L, cursor.id());
+        assertEquals(now.withNano(123_456_000), cursor.createdAt());
+    }
+
+    @Test
+    void getGroupMessages_WithBeforeCursor_ShouldSeekOlderMessages() {
+        // Arrange
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 1, 10, 0, 0, 500_000_000);
+        String before = MessageCursor.encode(createdAt, 42L);
+        when(groupRepository.findById(1L)).thenReturn(Optional.of(group));
+        when(chatMessageRepository.findBefore(eq(1L), any(LocalDateTime.class), anyLong(), any(Limit.class)))
+                .thenReturn(List.of(chatMessage));
+
+        // Act
+        CursorPage<ChatMessageResponse> page = chatMessageService.getGroupMessages(1L, before, null, 20);
+
+        // Assert
+        assertEquals(1, page.getSize());
+        verify(chatMessageRepository).findBefore(1L, createdAt, 42L, Limit.of(21));
+        verify(chatMessageRepository, never()).findLatest(anyLong(), any(Limit.class));
+    }
+
+    @Test
+    void getGroupMessages_WithAfterCursor_ShouldSeekNewerMessages() {
+        // Arrange
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 1, 10, 0);
+        String after = MessageCursor.encode(createdAt, 7L);
+        when(groupRepository.findById(1L)).thenReturn(Optional.of(group));
+        when(chatMessageRepository.findAfter(eq(1L), any(LocalDateTime.class), anyLong(), any(Limit.class)))
+                .thenReturn(List.of());
+
+        // Act
+        CursorPage<ChatMessageResponse> page = chatMessageService.getGroupMessages(1L, null, after, 20);
+
+        // Assert
+        assertTrue(page.getContent().isEmpty());
+        assertNull(page.getNextCursor());
+        verify(chatMessageRepository).findAfter(1L, createdAt, 7L, Limit.of(21));
+    }
+
+    @Test
+    void getGroupMessages_WhenCursorIsMalformed_ShouldThrowBadRequest() {
+        // Arrange
+        when(groupRepository.findById(1L)).thenReturn(Optional.of(group));
+
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> chatMessageService.getGroupMessages(1L, "not-a-cursor", null, 20));
+        assertThrows(BadRequestException.class, () -> chatMessageService.getGroupMessages(1L, "%%%", null, 20));
+    }
+
+    @Test
+    void getGroupMessages_WhenSizeOutOfRange_ShouldThrowBadRequest() {
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> chatMessageService.getGroupMessages(1L, null, null, 0));
+        assertThrows(BadRequestException.class, () -> chatMessageService.getGroupMessages(1L, null, null, 101));
+        verify(groupRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void getGroupMessages_WhenUserNotMember_ShouldNotQueryMessages() {
+        // Arrange
+        Users nonMember = new Users();
+        setUserId(nonMember, 2L);
+        nonMember.setUsername("nonmember");
+        when(authentication.getPrincipal()).thenReturn(nonMember);
+        when(groupRepository.findById(1L)).thenReturn(Optional.of(group));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> chatMessageService.getGroupMessages(1L, null, null, 20));
+        verify(chatMessageRepository, never()).findLatest(anyLong(), any(Limit.class));
+    }
+
+    @Test
+    void subscribe_WhenMember_ShouldRegisterWithBroker() {
+        // Arrange
+        Consumer<ChatMessageResponse> listener = message -> { };
+        when(groupRepository.findById(1L)).thenReturn(Optional.of(group));
+
+        // Act
+        chatMessageService.subscribe(1L, listener);
 
         // Assert
-        assertNotNull(responses);
-        assertEquals(1, responses.size());
-        assertEquals("Test message", responses.get(0).getContent());
-        verify(chatMessageRepository, times(1)).findByGroupIdOrderByCreatedAtDesc(1L);
+        verify(chatMessageBroker, times(1)).subscribe(1L, listener);
+    }
+
+    @Test
+    void subscribe_WhenUserNotMember_ShouldNotRegister() {
+        // Arrange
+        Users nonMember = new Users();
+        setUserId(nonMember, 2L);
+        nonMember.setUsername("nonmember");
+        when(authentication.getPrincipal()).thenReturn(nonMember);
+        when(groupRepository.findById(1L)).thenReturn(Optional.of(group));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> chatMessageService.subscribe(1L, message -> { }));
+        verify(chatMessageBroker, never()).subscribe(anyLong(), any());
     }
 
     @Test
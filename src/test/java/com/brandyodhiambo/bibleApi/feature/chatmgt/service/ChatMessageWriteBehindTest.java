@@ -0,0 +1,180 @@
+package com.brandyodhiambo.bibleApi.feature.chatmgt.service;
+
+import com.brandyodhiambo.bibleApi.exception.BibleApiException;
+import com.brandyodhiambo.bibleApi.feature.chatmgt.models.ChatMessage;
+import com.brandyodhiambo.bibleApi.feature.chatmgt.repository.ChatMessageBatchRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChatMessageWriteBehindTest {
+
+    @Mock
+    private ChatMessageBatchRepository batchRepository;
+
+    private ChatMessageWriteBehind writeBehind;
+
+    @AfterEach
+    void tearDown() {
+        if (writeBehind != null) {
+            writeBehind.stop();
+        }
+    }
+
+    @Test
+    void enqueue_ShouldAssignIdsFromSequenceBlocks() {
+        // Arrange
+        when(batchRepository.nextIdBlock()).thenReturn(101L, 151L);
+        writeBehind = writeBehind(10_000, 500);
+        writeBehind.start();
+
+        // Act
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < ChatMessage.ID_ALLOCATION_SIZE + 1; i++) {
+            ids.add(writeBehind.enqueue(new ChatMessage()).getId());
+        }
+
+        // Assert: one sequence call per block of ids
+        assertEquals(101L, ids.get(0));
+        assertEquals(150L, ids.get(ChatMessage.ID_ALLOCATION_SIZE - 1));
+        assertEquals(151L, ids.get(ChatMessage.ID_ALLOCATION_SIZE));
+        verify(batchRepository, times(2)).nextIdBlock();
+    }
+
+    @Test
+    void enqueue_ShouldBeWrittenInBatches() {
+        // Arrange
+        when(batchRepository.nextIdBlock()).thenReturn(1L);
+        List<Long> written = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            List<ChatMessage> batch = invocation.getArgument(0);
+            batch.forEach(message -> written.add(message.getId()));
+            return null;
+        }).when(batchRepository).insertAll(anyList());
+        writeBehind = writeBehind(10_000, 500);
+        writeBehind.start();
+
+        // Act
+        for (int i = 0; i < 20; i++) {
+            ChatMessage message = writeBehind.enqueue(new ChatMessage());
+            assertNotNull(message.getCreatedAt());
+        }
+        writeBehind.stop();
+
+        // Assert: everything acknowledged is written by the time stop returns
+        assertEquals(20, written.size());
+        assertEquals(1L, written.get(0));
+        assertEquals(20L, written.get(19));
+    }
+
+    @Test
+    void enqueue_WhenBufferIsFull_ShouldRejectWithServiceUnavailable() throws InterruptedException {
+        // Arrange: the writer is stuck on the first batch
+        when(batchRepository.nextIdBlock()).thenReturn(1L);
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            writing.countDown();
+            release.await();
+            return null;
+        }).when(batchRepository).insertAll(anyList());
+        writeBehind = writeBehind(2, 1);
+        writeBehind.start();
+        writeBehind.enqueue(new ChatMessage());
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        writeBehind.enqueue(new ChatMessage());
+        writeBehind.enqueue(new ChatMessage());
+
+        // Act & Assert
+        BibleApiException exception = assertThrows(BibleApiException.class, () -> writeBehind.enqueue(new ChatMessage()));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getStatus());
+        release.countDown();
+    }
+
+    @Test
+    void write_WhenBatchFails_ShouldRetryWithoutDropping() {
+        // Arrange
+        when(batchRepository.nextIdBlock()).thenReturn(1L);
+        doThrow(new IllegalStateException("database down")).doNothing().when(batchRepository).insertAll(anyList());
+        writeBehind = writeBehind(10_000, 500);
+        writeBehind.start();
+
+        // Act
+        writeBehind.enqueue(new ChatMessage());
+
+        // Assert
+        verify(batchRepository, timeout(5_000).times(2)).insertAll(anyList());
+    }
+
+    @Test
+    void stop_WhileSendersAreEnqueueing_ShouldWriteEveryAcceptedMessage() throws InterruptedException {
+        // Arrange
+        when(batchRepository.nextIdBlock()).thenReturn(1L);
+        List<Long> written = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            List<ChatMessage> batch = invocation.getArgument(0);
+            batch.forEach(message -> written.add(message.getId()));
+            return null;
+        }).when(batchRepository).insertAll(anyList());
+        writeBehind = writeBehind(10_000, 50);
+        writeBehind.start();
+        List<Long> accepted = new CopyOnWriteArrayList<>();
+        CountDownLatch sending = new CountDownLatch(1);
+        List<Thread> senders = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Thread sender = new Thread(() -> {
+                while (true) {
+                    try {
+                        accepted.add(writeBehind.enqueue(new ChatMessage()).getId());
+                        sending.countDown();
+                    } catch (BibleApiException e) {
+                        return;
+                    }
+                }
+            });
+            sender.start();
+            senders.add(sender);
+        }
+        assertTrue(sending.await(5, TimeUnit.SECONDS));
+
+        // Act
+        writeBehind.stop();
+        for (Thread sender : senders) {
+            sender.join(5_000);
+        }
+
+        // Assert: no message is acknowledged after the final drain
+        assertEquals(accepted.size(), written.size());
+    }
+
+    @Test
+    void enqueue_WhenNotStarted_ShouldReject() {
+        // Arrange
+        writeBehind = writeBehind(10_000, 500);
+
+        // Act & Assert
+        assertThrows(BibleApiException.class, () -> writeBehind.enqueue(new ChatMessage()));
+        verify(batchRepository, never()).nextIdBlock();
+    }
+
+    private ChatMessageWriteBehind writeBehind(int capacity, int batchSize) {
+        return new ChatMessageWriteBehind(batchRepository, new SimpleMeterRegistry(), true, capacity, batchSize,
+                Duration.ofMillis(20), Duration.ofMillis(50), Duration.ofSeconds(5));
+    }
+}
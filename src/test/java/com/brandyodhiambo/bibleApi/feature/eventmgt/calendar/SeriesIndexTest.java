@@ -0,0 +1,63 @@
+package com.brandyodhiambo.bibleApi.feature.eventmgt.calendar;
+
+import com.brandyodhiambo.bibleApi.feature.eventmgt.models.RecurrencePattern;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeriesIndexTest {
+
+    private static final LocalDate EPOCH = LocalDate.of(2026, 1, 1);
+
+    @Test
+    void forEachOverlapping_ShouldFindTheSameSeriesAsAFullScan() {
+        // Arrange: one-time, bounded and open-ended series spread over two years
+        Random random = new Random(42);
+        RecurrencePattern[] patterns = RecurrencePattern.values();
+        List<SessionSeries> all = new ArrayList<>();
+        for (long id = 0; id < 2_000; id++) {
+            LocalDate start = EPOCH.plusDays(random.nextInt(730));
+            RecurrencePattern pattern = patterns[random.nextInt(patterns.length)];
+            LocalDate end = random.nextBoolean() ? null : start.plusDays(random.nextInt(200));
+            all.add(new SessionSeries(id, id % 50, start, pattern, end));
+        }
+        SeriesIndex index = new SeriesIndex(all);
+
+        for (int query = 0; query < 200; query++) {
+            LocalDate from = EPOCH.plusDays(random.nextInt(800));
+            LocalDate to = from.plusDays(random.nextInt(40));
+
+            // Act
+            Set<Long> found = new HashSet<>();
+            index.forEachOverlapping(from, to, series -> found.add(series.sessionId()));
+
+            // Assert
+            Set<Long> expected = all.stream()
+                    .filter(series -> !series.startDate().isAfter(to) && !series.lastDate().isBefore(from))
+                    .map(SessionSeries::sessionId)
+                    .collect(Collectors.toSet());
+            assertEquals(expected, found);
+        }
+    }
+
+    @Test
+    void forEachOverlapping_WhenEmpty_ShouldFindNothing() {
+        // Arrange
+        SeriesIndex index = new SeriesIndex(List.of());
+
+        // Act
+        List<SessionSeries> found = new ArrayList<>();
+        index.forEachOverlapping(EPOCH, EPOCH.plusDays(30), found::add);
+
+        // Assert
+        assertTrue(found.isEmpty());
+    }
+}
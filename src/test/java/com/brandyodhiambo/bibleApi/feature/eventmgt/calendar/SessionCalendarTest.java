@@ -0,0 +1,110 @@
+package com.brandyodhiambo.bibleApi.feature.eventmgt.calendar;
+
+import com.brandyodhiambo.bibleApi.exception.BadRequestException;
+import com.brandyodhiambo.bibleApi.feature.eventmgt.models.RecurrencePattern;
+import com.brandyodhiambo.bibleApi.feature.eventmgt.repository.SessionOccurrenceOverrideRepository;
+import com.brandyodhiambo.bibleApi.feature.eventmgt.repository.StudySessionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SessionCalendarTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2026, 3, 2);
+
+    @Mock
+    private StudySessionRepository studySessionRepository;
+
+    @Mock
+    private SessionOccurrenceOverrideRepository overrideRepository;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private SessionCalendar calendar;
+
+    @BeforeEach
+    void setUp() {
+        calendar = new SessionCalendar(studySessionRepository, overrideRepository, redisTemplate,
+                new SimpleMeterRegistry(), Duration.ofMinutes(5), Duration.ofDays(366), Duration.ofDays(365),
+                "session:calendar:invalidation");
+    }
+
+    @Test
+    void occurrences_ShouldExpandRecurringSessionsOfTheGroupInTheWindow() {
+        // Arrange: a weekly session in group 10, a one-time session in group 10 and one in group 20
+        when(studySessionRepository.findAllSeries()).thenReturn(List.of(
+                new SessionSeries(1L, 10L, MONDAY, RecurrencePattern.WEEKLY, null),
+                new SessionSeries(2L, 10L, MONDAY.plusDays(9), RecurrencePattern.NONE, null),
+                new SessionSeries(3L, 20L, MONDAY.plusDays(2), RecurrencePattern.NONE, null)));
+        when(overrideRepository.findAllOverrides()).thenReturn(List.of());
+
+        // Act
+        List<Occurrence> occurrences = calendar.occurrences(10L, MONDAY, MONDAY.plusDays(20));
+
+        // Assert
+        assertEquals(List.of(MONDAY, MONDAY.plusDays(7), MONDAY.plusDays(9), MONDAY.plusDays(14)),
+                occurrences.stream().map(Occurrence::date).collect(Collectors.toList()));
+    }
+
+    @Test
+    void occurrences_ShouldLeaveOutCancelledAndReportMovedOnTheirNewDate() {
+        // Arrange: the second week is cancelled, the third moved into the first week
+        when(studySessionRepository.findAllSeries()).thenReturn(List.of(
+                new SessionSeries(1L, 10L, MONDAY, RecurrencePattern.WEEKLY, null)));
+        when(overrideRepository.findAllOverrides()).thenReturn(List.of(
+                new OccurrenceOverride(1L, MONDAY.plusWeeks(1), true, null, null, null, null),
+                new OccurrenceOverride(1L, MONDAY.plusWeeks(2), false, MONDAY.plusDays(3), LocalTime.of(19, 0),
+                        null, "Church hall")));
+
+        // Act
+        List<Occurrence> firstWeek = calendar.occurrences(MONDAY, MONDAY.plusDays(6));
+        List<Occurrence> nextTwoWeeks = calendar.occurrences(MONDAY.plusDays(7), MONDAY.plusDays(20));
+
+        // Assert
+        assertEquals(2, firstWeek.size());
+        assertEquals(MONDAY.plusDays(3), firstWeek.get(1).date());
+        assertEquals(MONDAY.plusWeeks(2), firstWeek.get(1).occurrenceDate());
+        assertTrue(nextTwoWeeks.isEmpty());
+    }
+
+    @Test
+    void occurrences_WhenInvalidated_ShouldReloadOnNextQuery() {
+        // Arrange
+        when(studySessionRepository.findAllSeries()).thenReturn(List.of());
+        when(overrideRepository.findAllOverrides()).thenReturn(List.of());
+        calendar.occurrences(MONDAY, MONDAY);
+        calendar.occurrences(MONDAY, MONDAY);
+
+        // Act
+        calendar.invalidate();
+        calendar.occurrences(MONDAY, MONDAY);
+
+        // Assert
+        verify(studySessionRepository, times(2)).findAllSeries();
+        verify(redisTemplate).convertAndSend(anyString(), any(String.class));
+    }
+
+    @Test
+    void occurrences_WhenWindowIsTooLong_ShouldThrowBadRequest() {
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> calendar.occurrences(MONDAY, MONDAY.plusYears(2)));
+        verifyNoInteractions(studySessionRepository);
+    }
+}
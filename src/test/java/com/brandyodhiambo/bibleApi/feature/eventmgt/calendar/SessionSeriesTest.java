@@ -0,0 +1,79 @@
+package com.brandyodhiambo.bibleApi.feature.eventmgt.calendar;
+
+import com.brandyodhiambo.bibleApi.feature.eventmgt.models.RecurrencePattern;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionSeriesTest {
+
+    private static final LocalDate START = LocalDate.of(2026, 1, 31);
+
+    @Test
+    void datesBetween_WhenWeekly_ShouldStartAtFirstOccurrenceInWindow() {
+        // Arrange
+        SessionSeries series = series(RecurrencePattern.WEEKLY, null);
+
+        // Act
+        List<LocalDate> dates = series.datesBetween(LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 20))
+                .collect(Collectors.toList());
+
+        // Assert
+        assertEquals(List.of(LocalDate.of(2026, 3, 7), LocalDate.of(2026, 3, 14)), dates);
+    }
+
+    @Test
+    void datesBetween_WhenMonthlyOnThe31st_ShouldUseLastDayOfShortMonthsWithoutDrifting() {
+        // Arrange
+        SessionSeries series = series(RecurrencePattern.MONTHLY, null);
+
+        // Act
+        List<LocalDate> dates = series.datesBetween(START, LocalDate.of(2026, 4, 30)).collect(Collectors.toList());
+
+        // Assert
+        assertEquals(List.of(START, LocalDate.of(2026, 2, 28), LocalDate.of(2026, 3, 31), LocalDate.of(2026, 4, 30)),
+                dates);
+    }
+
+    @Test
+    void datesBetween_ShouldStopAtRecurrenceEndDate() {
+        // Arrange
+        SessionSeries series = series(RecurrencePattern.BI_WEEKLY, LocalDate.of(2026, 3, 1));
+
+        // Act
+        List<LocalDate> dates = series.datesBetween(START, LocalDate.of(2026, 12, 31)).collect(Collectors.toList());
+
+        // Assert
+        assertEquals(List.of(START, LocalDate.of(2026, 2, 14), LocalDate.of(2026, 2, 28)), dates);
+    }
+
+    @Test
+    void datesBetween_WhenOneTimeSession_ShouldOnlyReturnItsDate() {
+        // Arrange
+        SessionSeries series = series(RecurrencePattern.NONE, null);
+
+        // Act & Assert
+        assertEquals(List.of(START),
+                series.datesBetween(START.minusDays(5), START.plusDays(5)).collect(Collectors.toList()));
+        assertEquals(0, series.datesBetween(START.plusDays(1), START.plusDays(5)).count());
+    }
+
+    @Test
+    void occursOn_ShouldOnlyMatchDatesOfTheSeries() {
+        // Arrange
+        SessionSeries series = series(RecurrencePattern.WEEKLY, null);
+
+        // Act & Assert
+        assertTrue(series.occursOn(START.plusWeeks(52)));
+        assertFalse(series.occursOn(START.plusWeeks(52).plusDays(1)));
+        assertFalse(series.occursOn(START.minusWeeks(1)));
+    }
+
+    private static SessionSeries series(RecurrencePattern pattern, LocalDate recurrenceEndDate) {
+        return new SessionSeries(1L, 10L, START, pattern, recurrenceEndDate);
+    }
+}
@@ -1,6 +1,8 @@
 package com.brandyodhiambo.bibleApi.feature.eventmgt.service;
 
 import com.brandyodhiambo.bibleApi.exception.ResourceNotFoundException;
+import com.brandyodhiambo.bibleApi.feature.analyticsmgt.events.ParticipationEvent;
+import com.brandyodhiambo.bibleApi.feature.analyticsmgt.events.ParticipationEventQueue;
 import com.brandyodhiambo.bibleApi.feature.eventmgt.models.RSVPStatus;
 import com.brandyodhiambo.bibleApi.feature.eventmgt.models.SessionRSVP;
 import com.brandyodhiambo.bibleApi.feature.eventmgt.models.StudySession;
@@ -9,6 +11,7 @@ import com.brandyodhiambo.bibleApi.feature.eventmgt.models.dto.RSVPResponse;
 import com.brandyodhiambo.bibleApi.feature.eventmgt.repository.SessionRSVPRepository;
 import com.brandyodhiambo.bibleApi.feature.eventmgt.repository.StudySessionRepository;
 import com.brandyodhiambo.bibleApi.feature.groupmgt.models.Group;
+import com.brandyodhiambo.bibleApi.feature.groupmgt.service.MembershipService;
 import com.brandyodhiambo.bibleApi.feature.usermgt.models.Users;
 import com.brandyodhiambo.bibleApi.feature.usermgt.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -19,13 +22,16 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.access.AccessDeniedException;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -40,6 +46,12 @@ class SessionRSVPServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private MembershipService membershipService;
+
+    @Mock
+    private ParticipationEventQueue participationEventQueue;
+
     @InjectMocks
     private SessionRSVPServiceImpl sessionRSVPService;
 
@@ -74,12 +86,13 @@ class SessionRSVPServiceImplTest {
     void submitRSVP_WhenNewRSVP_CreatesRSVP() {
         // Arrange
         Group group = mock(Group.class);
-        when(group.isMember(testUser)).thenReturn(true);
+        when(membershipService.isMember(group, testUser)).thenReturn(true);
 
         StudySession session = mock(StudySession.class);
         when(session.getGroup()).thenReturn(group);
         when(session.getId()).thenReturn(1L);
         when(session.getTitle()).thenReturn("Test Session");
+        when(session.getSessionDate()).thenReturn(LocalDate.of(2026, 10, 18));
 
         SessionRSVP rsvp = new SessionRSVP(session, testUser, RSVPStatus.ATTENDING, "Looking forward to it!");
 
@@ -96,13 +109,16 @@ class SessionRSVPServiceImplTest {
         assertEquals(RSVPStatus.ATTENDING, response.getStatus());
         assertEquals("Looking forward to it!", response.getComment());
         verify(sessionRSVPRepository).save(any(SessionRSVP.class));
+        verify(participationEventQueue).publish(argThat(event ->
+                event.kind() == ParticipationEvent.Kind.SESSION_ATTENDED
+                        && event.period().equals(YearMonth.of(2026, 10)) && event.delta() == 1));
     }
 
     @Test
     void submitRSVP_WhenExistingRSVP_UpdatesRSVP() {
         // Arrange
         Group group = mock(Group.class);
-        when(group.isMember(testUser)).thenReturn(true);
+        when(membershipService.isMember(group, testUser)).thenReturn(true);
 
         StudySession session = mock(StudySession.class);
         when(session.getGroup()).thenReturn(group);
@@ -130,13 +146,14 @@ class SessionRSVPServiceImplTest {
         assertEquals(RSVPStatus.MAYBE, response.getStatus());
         assertEquals("Not sure if I can make it", response.getComment());
         verify(sessionRSVPRepository).save(existingRsvp);
+        verify(participationEventQueue, never()).publish(any());
     }
 
     @Test
     void submitRSVP_WhenUserNotInGroup_ThrowsAccessDeniedException() {
         // Arrange
         Group group = mock(Group.class);
-        when(group.isMember(otherUser)).thenReturn(false);
+        when(membershipService.isMember(group, otherUser)).thenReturn(false);
 
         StudySession session = mock(StudySession.class);
         when(session.getGroup()).thenReturn(group);
@@ -180,4 +197,28 @@ class SessionRSVPServiceImplTest {
         assertEquals("Can't make it", response.getComment());
         verify(sessionRSVPRepository).save(existingRsvp);
     }
+
+    @Test
+    void updateRSVP_WhenNoLongerAttending_ShouldTakeBackAttendance() {
+        // Arrange
+        Group group = mock(Group.class);
+        StudySession session = mock(StudySession.class);
+        when(session.getGroup()).thenReturn(group);
+        when(session.getSessionDate()).thenReturn(LocalDate.of(2026, 9, 30));
+
+        SessionRSVP existingRsvp = new SessionRSVP(session, testUser, RSVPStatus.ATTENDING, null);
+        existingRsvp.setId(1L);
+
+        when(sessionRSVPRepository.findById(1L)).thenReturn(Optional.of(existingRsvp));
+        when(userRepository.getUserByName("testuser")).thenReturn(testUser);
+        when(sessionRSVPRepository.save(existingRsvp)).thenReturn(existingRsvp);
+
+        // Act
+        sessionRSVPService.updateRSVP(1L, new RSVPRequest(RSVPStatus.NOT_ATTENDING, "Can't make it"), "testuser");
+
+        // Assert: counted against the month of the session, not of the change
+        verify(participationEventQueue).publish(argThat(event ->
+                event.kind() == ParticipationEvent.Kind.SESSION_ATTENDED
+                        && event.period().equals(YearMonth.of(2026, 9)) && event.delta() == -1));
+    }
 }
@@ -0,0 +1,258 @@
+package com.brandyodhiambo.bibleApi.feature.eventmgt.service;
+
+import com.brandyodhiambo.bibleApi.exception.BibleApiException;
+import com.brandyodhiambo.bibleApi.feature.eventmgt.calendar.Occurrence;
+import com.brandyodhiambo.bibleApi.feature.eventmgt.calendar.OccurrenceOverride;
+import com.brandyodhiambo.bibleApi.feature.eventmgt.calendar.SessionCalendar;
+import com.brandyodhiambo.bibleApi.feature.eventmgt.calendar.SessionSeries;
+import com.brandyodhiambo.bibleApi.feature.eventmgt.models.RecurrencePattern;
+import com.brandyodhiambo.bibleApi.feature.eventmgt.models.dto.ReminderRecipient;
+import com.brandyodhiambo.bibleApi.feature.eventmgt.repository.StudySessionRepository;
+import com.brandyodhiambo.bibleApi.mail.MailDispatcher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisKeyCommands;
+import org.springframework.data.redis.connection.RedisSetCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.http.HttpStatus;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SessionReminderJobTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 1);
+    private static final String LOCK_KEY = SessionReminderJob.LOCK_PREFIX + DAY;
+    private static final String SENT_KEY = SessionReminderJob.SENT_PREFIX + DAY;
+
+    @Mock
+    private StudySessionRepository studySessionRepository;
+
+    @Mock
+    private SessionCalendar sessionCalendar;
+
+    @Mock
+    private MailDispatcher mailDispatcher;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private SetOperations<String, String> setOperations;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private RedisConnection connection;
+
+    @Mock
+    private RedisSetCommands setCommands;
+
+    @Mock
+    private RedisKeyCommands keyCommands;
+
+    // Stands in for the Redis set of sent markers
+    private final Set<String> sentMarkers = ConcurrentHashMap.newKeySet();
+    private final ThreadLocal<List<String>> pipelinedMarkers = ThreadLocal.withInitial(ArrayList::new);
+
+    private SessionReminderJob job;
+
+    @BeforeEach
+    void setUp() {
+        job = new SessionReminderJob(studySessionRepository, sessionCalendar, mailDispatcher, redisTemplate,
+                transactionManager, new SimpleMeterRegistry(), 2, 2, Duration.ofMinutes(1), Duration.ofDays(3),
+                Duration.ofSeconds(1));
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @Test
+    void run_ShouldQueueOneReminderPerMemberAcrossChunks() {
+        // Arrange: five members, read in chunks of two
+        givenLockIsFree();
+        givenRecipients(5);
+        givenMarkersAreClaimedInRedis();
+
+        // Act
+        SessionReminderJob.Result result = job.run(DAY);
+
+        // Assert
+        assertTrue(result.ran());
+        assertEquals(5, result.queued());
+        assertEquals(0, result.alreadySent());
+        verify(mailDispatcher, times(5)).dispatch(any(SimpleMailMessage.class), any(Duration.class));
+        verify(redisTemplate, times(3)).executePipelined(any(RedisCallback.class));
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of(LOCK_KEY)), anyString());
+    }
+
+    @Test
+    void run_WhenRunIsRepeated_ShouldNotRemindAnyoneTwice() {
+        // Arrange: the first run queued everyone, then the job is started again
+        givenLockIsFree();
+        givenRecipients(5);
+        givenMarkersAreClaimedInRedis();
+        job.run(DAY);
+
+        // Act
+        SessionReminderJob.Result result = job.run(DAY);
+
+        // Assert
+        assertEquals(0, result.queued());
+        assertEquals(5, result.alreadySent());
+        verify(mailDispatcher, times(5)).dispatch(any(SimpleMailMessage.class), any(Duration.class));
+    }
+
+    @Test
+    void run_WhenAnotherNodeHoldsTheLock_ShouldSkip() {
+        // Arrange
+        when(valueOperations.setIfAbsent(eq(LOCK_KEY), anyString(), any(Duration.class))).thenReturn(false);
+
+        // Act
+        SessionReminderJob.Result result = job.run(DAY);
+
+        // Assert
+        assertFalse(result.ran());
+        verifyNoInteractions(sessionCalendar, studySessionRepository, mailDispatcher);
+        verify(redisTemplate, never()).execute(any(RedisScript.class), anyList(), anyString());
+    }
+
+    @Test
+    void run_WhenMailQueueTurnsReminderAway_ShouldGiveBackItsMarker() {
+        // Arrange
+        givenLockIsFree();
+        givenRecipients(1);
+        givenMarkersAreClaimedInRedis();
+        when(redisTemplate.opsForSet()).thenReturn(setOperations);
+        doThrow(new BibleApiException(HttpStatus.SERVICE_UNAVAILABLE, "Too much mail is waiting"))
+                .when(mailDispatcher).dispatch(any(SimpleMailMessage.class), any(Duration.class));
+
+        // Act
+        SessionReminderJob.Result result = job.run(DAY);
+
+        // Assert: the next run can still remind this member
+        assertEquals(1, result.failed());
+        verify(setOperations).remove(SENT_KEY, "1:100");
+    }
+
+    @Test
+    void run_WhenDispatchFailsUnexpectedly_ShouldGiveBackItsMarker() {
+        // Arrange
+        givenLockIsFree();
+        givenRecipients(1);
+        givenMarkersAreClaimedInRedis();
+        when(redisTemplate.opsForSet()).thenReturn(setOperations);
+        doThrow(new IllegalStateException("mail sender misconfigured"))
+                .when(mailDispatcher).dispatch(any(SimpleMailMessage.class), any(Duration.class));
+
+        // Act
+        SessionReminderJob.Result result = job.run(DAY);
+
+        // Assert
+        assertEquals(1, result.failed());
+        verify(setOperations).remove(SENT_KEY, "1:100");
+    }
+
+    @Test
+    void run_WhenOccurrenceWasMoved_ShouldRemindOfItsNewTimeAndPlace() {
+        // Arrange: a weekly session whose occurrence on the day starts later, in another room
+        givenLockIsFree();
+        SessionSeries series = new SessionSeries(1L, 10L, DAY.minusWeeks(1), RecurrencePattern.WEEKLY, null);
+        OccurrenceOverride override =
+                new OccurrenceOverride(1L, DAY, false, null, LocalTime.of(19, 30), null, "Room 2");
+        when(sessionCalendar.occurrences(DAY, DAY)).thenReturn(List.of(new Occurrence(series, DAY, override)));
+        when(studySessionRepository.streamReminderRecipients(Set.of(1L))).thenReturn(Stream.of(
+                new ReminderRecipient(1L, "Romans study", LocalTime.of(18, 0), null, "Room 1",
+                        100L, "member@example.com", "Member")));
+        givenMarkersAreClaimedInRedis();
+        ArgumentCaptor<SimpleMailMessage> message = ArgumentCaptor.forClass(SimpleMailMessage.class);
+
+        // Act
+        job.run(DAY);
+
+        // Assert
+        verify(mailDispatcher).dispatch(message.capture(), any(Duration.class));
+        assertTrue(message.getValue().getText().contains("Time: 19:30"));
+        assertTrue(message.getValue().getText().contains("Location: Room 2"));
+    }
+
+    @Test
+    void run_WhenNoSessionOccursOnTheDay_ShouldNotQueryMembers() {
+        // Arrange
+        givenLockIsFree();
+        when(sessionCalendar.occurrences(DAY, DAY)).thenReturn(List.of());
+
+        // Act
+        SessionReminderJob.Result result = job.run(DAY);
+
+        // Assert
+        assertTrue(result.ran());
+        verifyNoInteractions(studySessionRepository, mailDispatcher);
+    }
+
+    private void givenLockIsFree() {
+        when(valueOperations.setIfAbsent(eq(LOCK_KEY), anyString(), any(Duration.class))).thenReturn(true);
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    }
+
+    private void givenRecipients(int count) {
+        SessionSeries series = new SessionSeries(1L, 10L, DAY, RecurrencePattern.NONE, null);
+        when(sessionCalendar.occurrences(DAY, DAY)).thenReturn(List.of(new Occurrence(series, DAY, null)));
+        List<ReminderRecipient> recipients = IntStream.range(0, count)
+                .mapToObj(i -> new ReminderRecipient(1L, "Romans study", LocalTime.of(18, 0), null, null,
+                        100L + i, "member" + i + "@example.com", "Member" + i))
+                .collect(Collectors.toList());
+        when(studySessionRepository.streamReminderRecipients(Set.of(1L)))
+                .thenAnswer(invocation -> recipients.stream());
+    }
+
+    private void givenMarkersAreClaimedInRedis() {
+        when(connection.setCommands()).thenReturn(setCommands);
+        when(connection.keyCommands()).thenReturn(keyCommands);
+        when(setCommands.sAdd(any(byte[].class), any(byte[].class))).thenAnswer(invocation -> {
+            pipelinedMarkers.get().add(new String((byte[]) invocation.getArgument(1), StandardCharsets.UTF_8));
+            return null;
+        });
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(invocation -> {
+            pipelinedMarkers.get().clear();
+            ((RedisCallback<?>) invocation.getArgument(0)).doInRedis(connection);
+            List<Object> replies = new ArrayList<>();
+            for (String marker : pipelinedMarkers.get()) {
+                replies.add(sentMarkers.add(marker) ? 1L : 0L);
+            }
+            replies.add(true);
+            return replies;
+        });
+    }
+}
@@ -0,0 +1,209 @@
+package com.brandyodhiambo.bibleApi.feature.eventmgt.service;
+
+import com.brandyodhiambo.bibleApi.exception.BadRequestException;
+import com.brandyodhiambo.bibleApi.feature.eventmgt.calendar.Occurrence;
+import com.brandyodhiambo.bibleApi.feature.eventmgt.calendar.SessionCalendar;
+import com.brandyodhiambo.bibleApi.feature.eventmgt.calendar.SessionSeries;
+import com.brandyodhiambo.bibleApi.feature.eventmgt.models.RSVPStatus;
+import com.brandyodhiambo.bibleApi.feature.eventmgt.models.RecurrencePattern;
+import com.brandyodhiambo.bibleApi.feature.eventmgt.models.StudySession;
+import com.brandyodhiambo.bibleApi.feature.eventmgt.models.dto.RSVPStatusCount;
+import com.brandyodhiambo.bibleApi.feature.eventmgt.models.dto.SessionResponse;
+import com.brandyodhiambo.bibleApi.feature.eventmgt.repository.SessionOccurrenceOverrideRepository;
+import com.brandyodhiambo.bibleApi.feature.eventmgt.repository.SessionRSVPRepository;
+import com.brandyodhiambo.bibleApi.feature.eventmgt.repository.StudySessionRepository;
+import com.brandyodhiambo.bibleApi.feature.groupmgt.models.Group;
+import com.brandyodhiambo.bibleApi.feature.groupmgt.repository.GroupRepository;
+import com.brandyodhiambo.bibleApi.feature.groupmgt.service.MembershipService;
+import com.brandyodhiambo.bibleApi.feature.usermgt.models.Users;
+import com.brandyodhiambo.bibleApi.feature.usermgt.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StudySessionServiceImplTest {
+
+    @Mock
+    private StudySessionRepository studySessionRepository;
+
+    @Mock
+    private GroupRepository groupRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private SessionRSVPRepository sessionRSVPRepository;
+
+    @Mock
+    private SessionOccurrenceOverrideRepository sessionOccurrenceOverrideRepository;
+
+    @Mock
+    private SessionCalendar sessionCalendar;
+
+    @Mock
+    private SessionReminderJob sessionReminderJob;
+
+    @Mock
+    private MembershipService membershipService;
+
+    @InjectMocks
+    private StudySessionServiceImpl studySessionService;
+
+    private Users leader;
+    private Group group;
+
+    @BeforeEach
+    void setUp() {
+        leader = new Users();
+        leader.setUsername("leader");
+        leader.setEmail("leader@example.com");
+        leader.setFirstName("Group");
+        leader.setLastName("Leader");
+
+        group = new Group();
+        group.setId(10L);
+        group.setName("Romans study");
+        group.setLeader(leader);
+    }
+
+    @Test
+    void getUpcomingSessionsByGroup_ShouldCountRsvpsOfAllSessionsWithOneQuery() {
+        // Arrange
+        StudySession first = session(100L);
+        StudySession second = session(101L);
+        when(groupRepository.findById(10L)).thenReturn(Optional.of(group));
+        when(sessionCalendar.getUpcomingHorizon()).thenReturn(Duration.ofDays(365));
+        when(sessionCalendar.occurrences(eq(10L), any(LocalDate.class), any(LocalDate.class))).thenReturn(List.of(
+                occurrenceOf(first, first.getSessionDate()), occurrenceOf(second, second.getSessionDate())));
+        when(studySessionRepository.findWithDetailsByIdIn(Set.of(100L, 101L))).thenReturn(List.of(first, second));
+        when(sessionRSVPRepository.countByStatusForSessions(Set.of(100L, 101L))).thenReturn(List.of(
+                new RSVPStatusCount(100L, RSVPStatus.ATTENDING, 3L),
+                new RSVPStatusCount(100L, RSVPStatus.MAYBE, 1L),
+                new RSVPStatusCount(101L, RSVPStatus.NOT_ATTENDING, 2L)));
+
+        // Act
+        List<SessionResponse> responses = studySessionService.getUpcomingSessionsByGroup(10L);
+
+        // Assert
+        assertEquals(2, responses.size());
+        assertEquals(3, responses.get(0).getAttendingCount());
+        assertEquals(0, responses.get(0).getNotAttendingCount());
+        assertEquals(1, responses.get(0).getMaybeCount());
+        assertEquals(0, responses.get(1).getAttendingCount());
+        assertEquals(2, responses.get(1).getNotAttendingCount());
+        verify(sessionRSVPRepository, times(1)).countByStatusForSessions(any());
+        verify(sessionRSVPRepository, never()).countBySessionAndStatus(any(), any());
+    }
+
+    @Test
+    void getUpcomingSessionsForUser_ShouldOnlyExpandTheUsersGroups() {
+        // Arrange
+        Users member = new Users();
+        member.setUsername("member");
+        ReflectionTestUtils.setField(member, "id", 7L);
+        StudySession first = session(100L);
+        StudySession second = session(101L);
+        when(userRepository.getUserByName("member")).thenReturn(member);
+        when(membershipService.groupIds(7L)).thenReturn(new long[] {10L, 11L});
+        when(sessionCalendar.getUpcomingHorizon()).thenReturn(Duration.ofDays(365));
+        when(sessionCalendar.occurrences(eq(10L), any(LocalDate.class), any(LocalDate.class)))
+                .thenReturn(List.of(occurrenceOf(first, first.getSessionDate())));
+        when(sessionCalendar.occurrences(eq(11L), any(LocalDate.class), any(LocalDate.class)))
+                .thenReturn(List.of(occurrenceOf(second, second.getSessionDate())));
+        when(studySessionRepository.findWithDetailsByIdIn(Set.of(100L, 101L))).thenReturn(List.of(first, second));
+        when(sessionRSVPRepository.countByStatusForSessions(Set.of(100L, 101L))).thenReturn(List.of());
+
+        // Act
+        List<SessionResponse> responses = studySessionService.getUpcomingSessionsForUser("member");
+
+        // Assert
+        assertEquals(2, responses.size());
+        verify(sessionCalendar, never()).occurrences(any(LocalDate.class), any(LocalDate.class));
+        verify(sessionCalendar, times(2)).occurrences(anyLong(), any(LocalDate.class), any(LocalDate.class));
+    }
+
+    @Test
+    void getSessionsByDateRange_WhenNoSessions_ShouldNotCountRsvps() {
+        // Arrange
+        LocalDate today = LocalDate.now();
+        when(sessionCalendar.occurrences(today, today)).thenReturn(List.of());
+
+        // Act
+        List<SessionResponse> responses = studySessionService.getSessionsByDateRange(today, today);
+
+        // Assert
+        assertTrue(responses.isEmpty());
+        verifyNoInteractions(studySessionRepository, sessionRSVPRepository);
+    }
+
+    @Test
+    void getSessionsByDateRange_WhenSessionRecurs_ShouldReturnEachOccurrence() {
+        // Arrange: a weekly session, seen over two weeks
+        StudySession weekly = session(100L);
+        weekly.setRecurrencePattern(RecurrencePattern.WEEKLY);
+        LocalDate from = weekly.getSessionDate();
+        LocalDate to = from.plusDays(13);
+        when(sessionCalendar.occurrences(from, to)).thenReturn(List.of(
+                occurrenceOf(weekly, from), occurrenceOf(weekly, from.plusWeeks(1))));
+        when(studySessionRepository.findWithDetailsByIdIn(Set.of(100L))).thenReturn(List.of(weekly));
+        when(sessionRSVPRepository.countByStatusForSessions(Set.of(100L))).thenReturn(List.of());
+
+        // Act
+        List<SessionResponse> responses = studySessionService.getSessionsByDateRange(from, to);
+
+        // Assert
+        assertEquals(2, responses.size());
+        assertEquals(from, responses.get(0).getSessionDate());
+        assertEquals(from.plusWeeks(1), responses.get(1).getSessionDate());
+        assertEquals(from.plusWeeks(1), responses.get(1).getOccurrenceDate());
+        assertEquals(100L, responses.get(1).getId());
+    }
+
+    @Test
+    void cancelOccurrence_WhenSessionDoesNotOccurOnDate_ShouldThrowBadRequest() {
+        // Arrange
+        StudySession weekly = session(100L);
+        weekly.setRecurrencePattern(RecurrencePattern.WEEKLY);
+        when(studySessionRepository.findById(100L)).thenReturn(Optional.of(weekly));
+        when(userRepository.getUserByName("leader")).thenReturn(leader);
+
+        // Act & Assert
+        LocalDate notAnOccurrence = weekly.getSessionDate().plusDays(3);
+        assertThrows(BadRequestException.class,
+                () -> studySessionService.cancelOccurrence(100L, notAnOccurrence, "leader"));
+        verify(sessionOccurrenceOverrideRepository, never()).save(any());
+        verify(sessionCalendar, never()).invalidate();
+    }
+
+    private static Occurrence occurrenceOf(StudySession session, LocalDate date) {
+        return new Occurrence(SessionSeries.of(session), date, null);
+    }
+
+    private StudySession session(Long id) {
+        StudySession session = new StudySession();
+        session.setId(id);
+        session.setTitle("Session " + id);
+        session.setSessionDate(LocalDate.now().plusDays(1));
+        session.setStartTime(LocalTime.of(18, 0));
+        session.setGroup(group);
+        session.setCreatedBy(leader);
+        return session;
+    }
+}
@@ -0,0 +1,203 @@
+package com.brandyodhiambo.bibleApi.feature.groupmgt.service;
+
+import com.brandyodhiambo.bibleApi.cache.TwoTierCacheProperties;
+import com.brandyodhiambo.bibleApi.feature.groupmgt.models.dto.GroupResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GroupCacheInvalidatorTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private SetOperations<String, String> setOperations;
+
+    private ConcurrentMapCacheManager cacheManager;
+    private SimpleMeterRegistry meterRegistry;
+    private GroupCacheInvalidator invalidator;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager("groups", "allGroups", "pagedGroups");
+        meterRegistry = new SimpleMeterRegistry();
+        invalidator = new GroupCacheInvalidator(cacheManager, redisTemplate, new TwoTierCacheProperties(), meterRegistry);
+    }
+
+    @Test
+    void getPage_WhenCached_ShouldNotCallLoaderAgain() {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+        Page<GroupResponse> page = pageOf(1L, 2L);
+
+        // Act
+        invalidator.getPage(PageRequest.of(0, 2), () -> {
+            loads.incrementAndGet();
+            return page;
+        });
+        Page<GroupResponse> result = invalidator.getPage(PageRequest.of(0, 2), () -> {
+            loads.incrementAndGet();
+            return page;
+        });
+
+        // Assert
+        assertEquals(page, result);
+        assertEquals(1, loads.get());
+        verify(redisTemplate, times(1)).executePipelined(any(RedisCallback.class));
+    }
+
+    @Test
+    void getPage_WhenIndexingFails_ShouldServePageUncached() {
+        // Arrange
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenThrow(new IllegalStateException("down"));
+
+        // Act
+        Page<GroupResponse> result = invalidator.getPage(PageRequest.of(0, 2), () -> pageOf(1L));
+
+        // Assert
+        assertEquals(1, result.getTotalElements());
+        assertNull(cacheManager.getCache("pagedGroups").get(GroupCacheInvalidator.pageKey(PageRequest.of(0, 2))));
+    }
+
+    @Test
+    void evictGroup_ShouldOnlyEvictPagesContainingTheGroup() {
+        // Arrange
+        String firstPage = GroupCacheInvalidator.pageKey(PageRequest.of(0, 2));
+        String secondPage = GroupCacheInvalidator.pageKey(PageRequest.of(1, 2));
+        cacheManager.getCache("pagedGroups").put(firstPage, pageOf(1L, 2L));
+        cacheManager.getCache("pagedGroups").put(secondPage, pageOf(3L, 4L));
+        cacheManager.getCache("groups").put(1L, new GroupResponse());
+        cacheManager.getCache("groups").put(3L, new GroupResponse());
+        cacheManager.getCache("allGroups").put(SimpleKey.EMPTY, List.of());
+        when(redisTemplate.opsForSet()).thenReturn(setOperations);
+        when(setOperations.members("groups:pages:1")).thenReturn(Set.of(firstPage));
+
+        // Act
+        invalidator.evictGroup(1L);
+
+        // Assert
+        assertNull(cacheManager.getCache("pagedGroups").get(firstPage));
+        assertNotNull(cacheManager.getCache("pagedGroups").get(secondPage));
+        assertNull(cacheManager.getCache("groups").get(1L));
+        assertNotNull(cacheManager.getCache("groups").get(3L));
+        assertNull(cacheManager.getCache("allGroups").get(SimpleKey.EMPTY));
+        verify(redisTemplate).delete(List.of("groups:pages:1", "groups:pages:mutable-sort"));
+        assertEquals(1.0, meterRegistry.get("group.cache.eviction.fanout").summary().totalAmount());
+    }
+
+    @Test
+    void evictGroup_WhenRenameMovesGroupBetweenPagesSortedByName_ShouldEvictBoth() {
+        // Arrange: group 1 ("Acts") was on the first page; renamed to "Zechariah" it now sorts onto the second,
+        // which never showed it and so is not in its index
+        PageRequest byName = PageRequest.of(0, 2, Sort.by("name"));
+        String firstPage = GroupCacheInvalidator.pageKey(byName);
+        String secondPage = GroupCacheInvalidator.pageKey(byName.next());
+        cacheManager.getCache("pagedGroups").put(firstPage, pageOf(1L, 2L));
+        cacheManager.getCache("pagedGroups").put(secondPage, pageOf(3L, 4L));
+        String idPage = GroupCacheInvalidator.pageKey(PageRequest.of(1, 2));
+        cacheManager.getCache("pagedGroups").put(idPage, pageOf(3L, 4L));
+        when(redisTemplate.opsForSet()).thenReturn(setOperations);
+        when(setOperations.members("groups:pages:1")).thenReturn(Set.of());
+        when(setOperations.members("groups:pages:mutable-sort")).thenReturn(Set.of(firstPage, secondPage));
+
+        // Act
+        invalidator.evictGroup(1L);
+
+        // Assert: both name-sorted pages go, the id-sorted page without the group stays
+        assertNull(cacheManager.getCache("pagedGroups").get(firstPage));
+        assertNull(cacheManager.getCache("pagedGroups").get(secondPage));
+        assertNotNull(cacheManager.getCache("pagedGroups").get(idPage));
+    }
+
+    @Test
+    void sortsOnImmutableKeys_ShouldOnlyAcceptIdAndCreationDate() {
+        assertTrue(GroupCacheInvalidator.sortsOnImmutableKeys(PageRequest.of(0, 2)));
+        assertTrue(GroupCacheInvalidator.sortsOnImmutableKeys(PageRequest.of(0, 2, Sort.by("createdAt", "id"))));
+        assertFalse(GroupCacheInvalidator.sortsOnImmutableKeys(PageRequest.of(0, 2, Sort.by("name"))));
+        assertFalse(GroupCacheInvalidator.sortsOnImmutableKeys(PageRequest.of(0, 2, Sort.by("id", "type"))));
+    }
+
+    @Test
+    void evictGroup_WhenRedisFails_ShouldCountFailureAndNotThrow() {
+        // Arrange
+        cacheManager.getCache("groups").put(1L, new GroupResponse());
+        when(redisTemplate.opsForSet()).thenReturn(setOperations);
+        when(setOperations.members("groups:pages:1")).thenThrow(new IllegalStateException("redis down"));
+
+        // Act
+        assertDoesNotThrow(() -> invalidator.evictGroup(1L));
+
+        // Assert
+        assertNull(cacheManager.getCache("groups").get(1L));
+        assertEquals(1.0, meterRegistry.get("group.cache.eviction.failures").tag("scope", "group").counter().count());
+        assertNull(meterRegistry.find("group.cache.evictions").counter());
+    }
+
+    @Test
+    void evictGroup_InsideTransaction_ShouldWaitForCommit() {
+        // Arrange
+        cacheManager.getCache("groups").put(1L, new GroupResponse());
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            invalidator.evictGroup(1L);
+
+            // Assert
+            assertNotNull(cacheManager.getCache("groups").get(1L));
+            when(redisTemplate.opsForSet()).thenReturn(setOperations);
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertNull(cacheManager.getCache("groups").get(1L));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void evictAllPages_ShouldClearPagesButKeepSingleGroups() {
+        // Arrange
+        cacheManager.getCache("pagedGroups").put(GroupCacheInvalidator.pageKey(PageRequest.of(0, 2)), pageOf(1L));
+        cacheManager.getCache("groups").put(1L, new GroupResponse());
+
+        // Act
+        invalidator.evictAllPages();
+
+        // Assert
+        assertNull(cacheManager.getCache("pagedGroups").get(GroupCacheInvalidator.pageKey(PageRequest.of(0, 2))));
+        assertNotNull(cacheManager.getCache("groups").get(1L));
+        assertEquals(1.0, meterRegistry.get("group.cache.evictions").tag("scope", "all").counter().count());
+        verifyNoInteractions(redisTemplate);
+    }
+
+    private static Page<GroupResponse> pageOf(Long... ids) {
+        List<GroupResponse> groups = java.util.Arrays.stream(ids).map(id -> {
+            GroupResponse group = new GroupResponse();
+            group.setId(id);
+            return group;
+        }).toList();
+        return new PageImpl<>(groups, PageRequest.of(0, 2), 4);
+    }
+}
@@ -0,0 +1,199 @@
+package com.brandyodhiambo.bibleApi.feature.groupmgt.service;
+
+import com.brandyodhiambo.bibleApi.exception.BadRequestException;
+import com.brandyodhiambo.bibleApi.exception.ResourceNotFoundException;
+import com.brandyodhiambo.bibleApi.feature.groupmgt.models.Group;
+import com.brandyodhiambo.bibleApi.feature.groupmgt.models.GroupType;
+import com.brandyodhiambo.bibleApi.feature.groupmgt.models.dto.GroupResponse;
+import com.brandyodhiambo.bibleApi.feature.groupmgt.models.dto.GroupSummary;
+import com.brandyodhiambo.bibleApi.feature.groupmgt.repository.GroupRepository;
+import com.brandyodhiambo.bibleApi.feature.usermgt.models.Users;
+import com.brandyodhiambo.bibleApi.feature.usermgt.models.dto.UserSummary;
+import com.brandyodhiambo.bibleApi.feature.usermgt.repository.UserRepository;
+import com.brandyodhiambo.bibleApi.util.CursorPage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GroupServiceImplTest {
+
+    @Mock
+    private GroupRepository groupRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private GroupCacheInvalidator groupCacheInvalidator;
+
+    @Mock
+    private MembershipService membershipService;
+
+    @InjectMocks
+    private GroupServiceImpl groupService;
+
+    @Test
+    void getGroupSummaries_WhenMoreGroupsFollow_ShouldReturnCursorOfLastGroup() {
+        // Arrange
+        when(groupRepository.findSummariesAfter(0L, Limit.of(3))).thenReturn(summaries(1L, 2L, 5L));
+
+        // Act
+        CursorPage<GroupSummary> result = groupService.getGroupSummaries(null, 2);
+
+        // Assert
+        assertEquals(2, result.getSize());
+        assertEquals(List.of(1L, 2L), result.getContent().stream().map(GroupSummary::getId).toList());
+        assertEquals("2", result.getNextCursor());
+    }
+
+    @Test
+    void getGroupSummaries_OnLastPage_ShouldReturnNoCursor() {
+        // Arrange
+        when(groupRepository.findSummariesAfter(2L, Limit.of(3))).thenReturn(summaries(5L));
+
+        // Act
+        CursorPage<GroupSummary> result = groupService.getGroupSummaries("2", 2);
+
+        // Assert
+        assertEquals(1, result.getSize());
+        assertEquals(3L, result.getContent().get(0).getMemberCount());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void getGroupSummaries_WithInvalidCursorOrSize_ShouldThrowException() {
+        assertThrows(BadRequestException.class, () -> groupService.getGroupSummaries("abc", 20));
+        assertThrows(BadRequestException.class, () -> groupService.getGroupSummaries(null, 0));
+        assertThrows(BadRequestException.class, () -> groupService.getGroupSummaries(null, 101));
+        verifyNoInteractions(groupRepository);
+    }
+
+    @Test
+    void getGroupMembers_WhenGroupExists_ShouldReturnPageOfMembers() {
+        // Arrange
+        UserSummary member = new UserSummary(7L, "john", "John", "Doe", "john@example.com");
+        Page<UserSummary> members = new PageImpl<>(List.of(member), PageRequest.of(0, 20), 1);
+        when(groupRepository.findMembers(1L, PageRequest.of(0, 20))).thenReturn(members);
+
+        // Act
+        Page<UserSummary> result = groupService.getGroupMembers(1L, 0, 20);
+
+        // Assert
+        assertEquals(1, result.getTotalElements());
+        assertEquals("john", result.getContent().get(0).getUsername());
+        verify(groupRepository, never()).existsById(any());
+    }
+
+    @Test
+    void getGroupMembers_WhenGroupDoesNotExist_ShouldThrowException() {
+        // Arrange
+        when(groupRepository.findMembers(99L, PageRequest.of(0, 20))).thenReturn(Page.empty(PageRequest.of(0, 20)));
+        when(groupRepository.existsById(99L)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> groupService.getGroupMembers(99L, 0, 20));
+    }
+
+    @Test
+    void joinGroup_WhenAlreadyMember_ShouldThrowWithoutSaving() {
+        // Arrange
+        Users user = user(2L, "john");
+        Group group = group(user(1L, "leader"));
+        when(groupRepository.findById(1L)).thenReturn(Optional.of(group));
+        when(userRepository.getUserByName("john")).thenReturn(user);
+        when(membershipService.existsMembership(1L, 2L)).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> groupService.joinGroup(1L, "john"));
+        verify(groupRepository, never()).save(any());
+        verify(membershipService, never()).evict(any());
+    }
+
+    @Test
+    void joinGroup_ShouldInsertMembershipRowWithoutLoadingMembers() {
+        // Arrange
+        Users user = user(2L, "john");
+        Group group = group(user(1L, "leader"));
+        when(groupRepository.findById(1L)).thenReturn(Optional.of(group));
+        when(userRepository.getUserByName("john")).thenReturn(user);
+        when(membershipService.existsMembership(1L, 2L)).thenReturn(false);
+        when(groupRepository.findMemberSummaries(1L)).thenReturn(List.of(
+                new UserSummary(1L, "leader", null, null, null), new UserSummary(2L, "john", null, null, null)));
+
+        // Act
+        GroupResponse response = groupService.joinGroup(1L, "john");
+
+        // Assert
+        assertEquals(2, response.getMemberCount());
+        verify(groupRepository).insertMember(1L, 2L);
+        verify(groupRepository, never()).save(any());
+        verify(membershipService).evict(2L);
+        verify(groupCacheInvalidator).evictGroup(1L);
+    }
+
+    @Test
+    void leaveGroup_WhenMember_ShouldDeleteMembershipRowAndEvictCachedMemberships() {
+        // Arrange
+        Users user = user(2L, "john");
+        Group group = group(user(1L, "leader"));
+        when(groupRepository.findById(1L)).thenReturn(Optional.of(group));
+        when(userRepository.getUserByName("john")).thenReturn(user);
+        when(membershipService.existsMembership(1L, 2L)).thenReturn(true);
+        when(groupRepository.findMemberSummaries(1L)).thenReturn(List.of(
+                new UserSummary(1L, "leader", null, null, null)));
+
+        // Act
+        GroupResponse response = groupService.leaveGroup(1L, "john");
+
+        // Assert
+        assertEquals(1, response.getMemberCount());
+        verify(groupRepository).deleteMember(1L, 2L);
+        verify(groupRepository, never()).save(any());
+        verify(membershipService).evict(2L);
+        verify(groupCacheInvalidator).evictGroup(1L);
+    }
+
+    private static Group group(Users leader) {
+        Group group = new Group();
+        group.setId(1L);
+        group.setName("Thursday Bible Study");
+        group.setLeader(leader);
+        group.setMembers(new HashSet<>(Set.of(leader)));
+        return group;
+    }
+
+    private static Users user(Long id, String username) {
+        Users user = new Users();
+        ReflectionTestUtils.setField(user, "id", id);
+        user.setUsername(username);
+        return user;
+    }
+
+    private static List<GroupSummary> summaries(Long... ids) {
+        List<GroupSummary> summaries = new ArrayList<>();
+        for (Long id : ids) {
+            summaries.add(new GroupSummary(id, "Group " + id, null, "Nairobi", LocalTime.of(18, 0),
+                    GroupType.VIRTUAL, 1L, "leader", 3L, LocalDate.of(2024, 1, 1)));
+        }
+        return summaries;
+    }
+}
@@ -0,0 +1,98 @@
+package com.brandyodhiambo.bibleApi.feature.groupmgt.service;
+
+import com.brandyodhiambo.bibleApi.feature.groupmgt.models.Group;
+import com.brandyodhiambo.bibleApi.feature.groupmgt.repository.GroupRepository;
+import com.brandyodhiambo.bibleApi.feature.usermgt.models.Users;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MembershipServiceImplTest {
+
+    @Mock
+    private GroupRepository groupRepository;
+
+    private MembershipServiceImpl membershipService;
+
+    @BeforeEach
+    void setUp() {
+        membershipService = new MembershipServiceImpl(groupRepository,
+                new ConcurrentMapCacheManager(MembershipServiceImpl.MEMBERSHIPS));
+    }
+
+    @Test
+    void isMember_ShouldLoadGroupIdsOnceAndAnswerFromCache() {
+        // Arrange
+        when(groupRepository.findGroupIdsByMemberId(7L)).thenReturn(List.of(3L, 11L, 42L));
+
+        // Act & Assert
+        assertTrue(membershipService.isMember(11L, 7L));
+        assertTrue(membershipService.isMember(42L, 7L));
+        assertFalse(membershipService.isMember(12L, 7L));
+        verify(groupRepository, times(1)).findGroupIdsByMemberId(7L);
+        verify(groupRepository, never()).existsMember(anyLong(), anyLong());
+    }
+
+    @Test
+    void groupIds_ShouldShareTheCachedMemberships() {
+        // Arrange
+        when(groupRepository.findGroupIdsByMemberId(7L)).thenReturn(List.of(3L, 11L));
+        assertTrue(membershipService.isMember(3L, 7L));
+
+        // Act
+        long[] groupIds = membershipService.groupIds(7L);
+
+        // Assert
+        assertArrayEquals(new long[] {3L, 11L}, groupIds);
+        verify(groupRepository, times(1)).findGroupIdsByMemberId(7L);
+    }
+
+    @Test
+    void evict_ShouldReloadMembershipsOnNextCheck() {
+        // Arrange
+        when(groupRepository.findGroupIdsByMemberId(7L)).thenReturn(List.of(3L), List.of(3L, 11L));
+        assertFalse(membershipService.isMember(11L, 7L));
+
+        // Act: outside a transaction the eviction is immediate
+        membershipService.evict(7L);
+
+        // Assert
+        assertTrue(membershipService.isMember(11L, 7L));
+        verify(groupRepository, times(2)).findGroupIdsByMemberId(7L);
+    }
+
+    @Test
+    void isMember_WhenCacheIsNotConfigured_ShouldUseExistsQuery() {
+        // Arrange: a static cache manager without a memberships cache
+        MembershipServiceImpl uncached = new MembershipServiceImpl(groupRepository, new ConcurrentMapCacheManager("other"));
+        when(groupRepository.existsMember(11L, 7L)).thenReturn(true);
+
+        // Act & Assert
+        assertTrue(uncached.isMember(11L, 7L));
+        verify(groupRepository, never()).findGroupIdsByMemberId(anyLong());
+    }
+
+    @Test
+    void isMemberOrLeader_WhenLeader_ShouldNotQueryMemberships() {
+        // Arrange
+        Users leader = new Users();
+        ReflectionTestUtils.setField(leader, "id", 1L);
+        Group group = new Group();
+        group.setId(5L);
+        group.setLeader(leader);
+
+        // Act & Assert
+        assertTrue(membershipService.isMemberOrLeader(group, leader));
+        verifyNoInteractions(groupRepository);
+    }
+}
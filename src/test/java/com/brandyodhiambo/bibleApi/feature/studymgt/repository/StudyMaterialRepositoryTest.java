@@ -0,0 +1,148 @@
+package com.brandyodhiambo.bibleApi.feature.studymgt.repository;
+
+import com.brandyodhiambo.bibleApi.feature.groupmgt.models.Group;
+import com.brandyodhiambo.bibleApi.feature.groupmgt.models.GroupType;
+import com.brandyodhiambo.bibleApi.feature.studymgt.models.StudyMaterial;
+import com.brandyodhiambo.bibleApi.feature.studymgt.models.dto.StudyMaterialSummary;
+import com.brandyodhiambo.bibleApi.feature.usermgt.models.Users;
+import com.brandyodhiambo.bibleApi.search.SearchEngineSelector;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the SQL behind the study material list and search endpoints: with a file still sitting in the legacy
+ * {@code file_data} column, none of it may select that column.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.brandyodhiambo.bibleApi.feature.studymgt.repository.StudyMaterialRepositoryTest$CapturedStatements")
+@Import(SearchEngineSelector.class)
+class StudyMaterialRepositoryTest {
+
+    @Autowired
+    private StudyMaterialRepository studyMaterialRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Users leader;
+    private Group group;
+    private StudyMaterial material;
+
+    @BeforeEach
+    void setUp() {
+        // Databases created before the blob store still have the column, with files in it
+        entityManager.getEntityManager()
+                .createNativeQuery("ALTER TABLE study_materials ADD COLUMN IF NOT EXISTS file_data BLOB")
+                .executeUpdate();
+
+        leader = new Users();
+        leader.setFirstName("Group");
+        leader.setLastName("Leader");
+        leader.setUsername("leader");
+        leader.setEmail("leader@example.com");
+        leader.setPassword("secret");
+        leader = entityManager.persist(leader);
+
+        group = new Group();
+        group.setName("Romans study");
+        group.setType(GroupType.VIRTUAL);
+        group.setLeader(leader);
+        group = entityManager.persist(group);
+
+        material = entityManager.persist(StudyMaterial.builder()
+                .title("Romans commentary")
+                .description("Chapter by chapter notes")
+                .fileName("romans.pdf")
+                .fileType("application/pdf")
+                .fileSize(1L << 20)
+                .group(group)
+                .uploadedBy(leader)
+                .keywords("romans, grace")
+                .build());
+        entityManager.flush();
+        entityManager.getEntityManager()
+                .createNativeQuery("UPDATE study_materials SET file_data = ?1 WHERE id = ?2")
+                .setParameter(1, new byte[1 << 20])
+                .setParameter(2, material.getId())
+                .executeUpdate();
+        entityManager.clear();
+        CapturedStatements.SQL.clear();
+    }
+
+    @Test
+    void findSummariesByGroupId_ShouldNotSelectTheFileColumn() {
+        // Act
+        List<StudyMaterialSummary> summaries = studyMaterialRepository.findSummariesByGroupId(group.getId());
+
+        // Assert
+        assertEquals(1, summaries.size());
+        assertEquals("Romans commentary", summaries.get(0).title());
+        assertEquals("Romans study", summaries.get(0).groupName());
+        assertEquals("leader", summaries.get(0).uploaderUsername());
+        assertFileColumnNeverSelected();
+    }
+
+    @Test
+    void findSummariesByUploadedBy_ShouldNotSelectTheFileColumn() {
+        // Act
+        List<StudyMaterialSummary> summaries = studyMaterialRepository.findSummariesByUploadedBy(leader);
+
+        // Assert
+        assertEquals(1, summaries.size());
+        assertFileColumnNeverSelected();
+    }
+
+    @Test
+    void searchByTerm_ShouldNotSelectTheFileColumn() {
+        // Act
+        List<StudyMaterialSummary> all = studyMaterialRepository.searchByTerm("grace");
+        List<StudyMaterialSummary> inGroup = studyMaterialRepository.searchByTermInGroup("romans", group);
+
+        // Assert
+        assertEquals(1, all.size());
+        assertEquals(1, inGroup.size());
+        assertFileColumnNeverSelected();
+    }
+
+    @Test
+    void findById_ShouldNotSelectTheFileColumn() {
+        // Act
+        StudyMaterial found = studyMaterialRepository.findById(material.getId()).orElseThrow();
+
+        // Assert
+        assertEquals("romans.pdf", found.getFileName());
+        assertFileColumnNeverSelected();
+    }
+
+    private static void assertFileColumnNeverSelected() {
+        assertFalse(CapturedStatements.SQL.isEmpty());
+        for (String sql : CapturedStatements.SQL) {
+            String normalized = sql.toLowerCase(Locale.ROOT);
+            assertFalse(normalized.contains("file_data"), sql);
+            assertFalse(normalized.contains(".*"), sql);
+        }
+    }
+
+    // Registered with Hibernate by class name, sees every statement before it is prepared
+    public static class CapturedStatements implements StatementInspector {
+
+        static final List<String> SQL = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            SQL.add(sql);
+            return sql;
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.brandyodhiambo.bibleApi.feature.studymgt.service;
 
+import com.brandyodhiambo.bibleApi.feature.analyticsmgt.events.ParticipationEvent;
+import com.brandyodhiambo.bibleApi.feature.analyticsmgt.events.ParticipationEventQueue;
+import com.brandyodhiambo.bibleApi.feature.groupmgt.models.Group;
 import com.brandyodhiambo.bibleApi.feature.studymgt.models.Comment;
 import com.brandyodhiambo.bibleApi.feature.studymgt.models.StudyMaterial;
 import com.brandyodhiambo.bibleApi.feature.studymgt.models.dto.CommentResponse;
@@ -27,6 +30,7 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,6 +43,9 @@ class CommentServiceImplTest {
     @Mock
     private StudyMaterialRepository studyMaterialRepository;
 
+    @Mock
+    private ParticipationEventQueue participationEventQueue;
+
     @Mock
     private Authentication authentication;
 
@@ -69,9 +76,13 @@ class CommentServiceImplTest {
         setUserId(user, 1L);
         user.setUsername("testuser");
 
+        Group group = new Group();
+        group.setId(2L);
+
         studyMaterial = new StudyMaterial();
         studyMaterial.setId(1L);
         studyMaterial.setTitle("Test Study Material");
+        studyMaterial.setGroup(group);
 
         comment = Comment.builder()
                 .id(1L)
@@ -104,6 +115,9 @@ class CommentServiceImplTest {
         assertEquals(1L, response.getUserId());
         assertEquals("testuser", response.getUsername());
         verify(commentRepository, times(1)).save(any(Comment.class));
+        verify(participationEventQueue).publish(argThat(event ->
+                event.kind() == ParticipationEvent.Kind.STUDY_COMMENT_MADE
+                        && event.groupId() == 2L && event.userId() == 1L));
     }
 
     @Test
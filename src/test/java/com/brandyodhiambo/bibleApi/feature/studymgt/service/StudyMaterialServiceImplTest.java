@@ -5,23 +5,32 @@ import com.brandyodhiambo.bibleApi.feature.groupmgt.models.Group;
 import com.brandyodhiambo.bibleApi.feature.groupmgt.models.GroupType;
 import com.brandyodhiambo.bibleApi.feature.groupmgt.repository.GroupRepository;
 import com.brandyodhiambo.bibleApi.feature.studymgt.models.StudyMaterial;
+import com.brandyodhiambo.bibleApi.feature.studymgt.models.dto.StudyMaterialDownload;
 import com.brandyodhiambo.bibleApi.feature.studymgt.models.dto.StudyMaterialResponse;
+import com.brandyodhiambo.bibleApi.feature.studymgt.models.dto.StudyMaterialSummary;
+import com.brandyodhiambo.bibleApi.feature.studymgt.repository.StudyMaterialContentMigration;
 import com.brandyodhiambo.bibleApi.feature.studymgt.repository.StudyMaterialRepository;
 import com.brandyodhiambo.bibleApi.feature.usermgt.models.Role;
 import com.brandyodhiambo.bibleApi.feature.usermgt.models.RoleName;
 import com.brandyodhiambo.bibleApi.feature.usermgt.models.Users;
 import com.brandyodhiambo.bibleApi.feature.usermgt.repository.UserRepository;
+import com.brandyodhiambo.bibleApi.storage.BlobStorage;
+import com.brandyodhiambo.bibleApi.storage.StoredBlob;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.Field;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -44,6 +53,12 @@ public class StudyMaterialServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private BlobStorage blobStorage;
+
+    @Mock
+    private StudyMaterialContentMigration contentMigration;
+
     @InjectMocks
     private StudyMaterialServiceImpl studyMaterialService;
 
@@ -51,8 +66,11 @@ public class StudyMaterialServiceImplTest {
     private Users member;
     private Group group;
     private StudyMaterial studyMaterial;
+    private StudyMaterialSummary summary;
     private MultipartFile file;
 
+    private static final String HASH = "916f0027a575074ce72a331777c3478d6513f786a591bd892da1a577bf2335f9";
+
     // Helper method to set the id field of Users using reflection
     private void setUserId(Users user, Long id) {
         try {
@@ -109,7 +127,7 @@ public class StudyMaterialServiceImplTest {
                 .fileName("test.pdf")
                 .fileType("application/pdf")
                 .fileSize(1024L)
-                .fileData("test data".getBytes())
+                .contentHash(HASH)
                 .group(group)
                 .uploadedBy(leader)
                 .keywords("test, material")
@@ -117,6 +135,10 @@ public class StudyMaterialServiceImplTest {
                 .updatedAt(LocalDateTime.now())
                 .build();
 
+        summary = new StudyMaterialSummary(1L, "Test Material", "Test Material Description", "test.pdf",
+                "application/pdf", 1024L, 1L, "Test Group", 1L, "leader", "Leader", "User", "leader@example.com",
+                "test, material", LocalDateTime.now(), LocalDateTime.now());
+
         // Create mock file
         file = new MockMultipartFile(
                 "test.pdf",
@@ -131,6 +153,7 @@ public class StudyMaterialServiceImplTest {
         // Arrange
         when(groupRepository.findById(1L)).thenReturn(Optional.of(group));
         when(userRepository.getUserByName("leader")).thenReturn(leader);
+        when(blobStorage.store(any(InputStream.class))).thenReturn(new StoredBlob(HASH, 9L, true));
         when(studyMaterialRepository.save(any(StudyMaterial.class))).thenReturn(studyMaterial);
 
         // Act
@@ -165,6 +188,72 @@ public class StudyMaterialServiceImplTest {
         });
 
         verify(studyMaterialRepository, never()).save(any(StudyMaterial.class));
+        verifyNoInteractions(blobStorage);
+    }
+
+    @Test
+    void uploadStudyMaterial_ShouldKeepOnlyTheContentHashInTheDatabase() throws IOException {
+        // Arrange
+        when(groupRepository.findById(1L)).thenReturn(Optional.of(group));
+        when(userRepository.getUserByName("leader")).thenReturn(leader);
+        when(blobStorage.store(any(InputStream.class))).thenReturn(new StoredBlob(HASH, 9L, true));
+        when(studyMaterialRepository.save(any(StudyMaterial.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        ArgumentCaptor<StudyMaterial> saved = ArgumentCaptor.forClass(StudyMaterial.class);
+
+        // Act
+        studyMaterialService.uploadStudyMaterial(
+                1L, "Test Material", "Test Material Description", "test, material", file, "leader");
+
+        // Assert
+        verify(studyMaterialRepository).save(saved.capture());
+        assertEquals(HASH, saved.getValue().getContentHash());
+        assertEquals(9L, saved.getValue().getFileSize());
+    }
+
+    @Test
+    void downloadStudyMaterial_ShouldStreamFromTheBlobStore() {
+        // Arrange
+        Resource stored = new ByteArrayResource("test data".getBytes());
+        when(studyMaterialRepository.findById(1L)).thenReturn(Optional.of(studyMaterial));
+        when(blobStorage.resource(HASH)).thenReturn(stored);
+
+        // Act
+        StudyMaterialDownload download = studyMaterialService.downloadStudyMaterial(1L);
+
+        // Assert
+        assertSame(stored, download.content());
+        assertEquals(HASH, download.contentHash());
+        assertEquals("test.pdf", download.fileName());
+        assertEquals("application/pdf", download.fileType());
+    }
+
+    @Test
+    void downloadStudyMaterial_WhenFileIsStillInTheDatabase_ShouldMoveItFirst() {
+        // Arrange
+        studyMaterial.setContentHash(null);
+        Resource stored = new ByteArrayResource("test data".getBytes());
+        when(studyMaterialRepository.findById(1L)).thenReturn(Optional.of(studyMaterial));
+        when(contentMigration.migrate(1L)).thenReturn(HASH);
+        when(blobStorage.resource(HASH)).thenReturn(stored);
+
+        // Act
+        StudyMaterialDownload download = studyMaterialService.downloadStudyMaterial(1L);
+
+        // Assert
+        assertEquals(HASH, download.contentHash());
+        assertSame(stored, download.content());
+    }
+
+    @Test
+    void downloadStudyMaterial_WhenMaterialHasNoFile_ThrowsResourceNotFoundException() {
+        // Arrange
+        studyMaterial.setContentHash(null);
+        when(studyMaterialRepository.findById(1L)).thenReturn(Optional.of(studyMaterial));
+        when(contentMigration.migrate(1L)).thenReturn(null);
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> studyMaterialService.downloadStudyMaterial(1L));
+        verifyNoInteractions(blobStorage);
     }
 
     @Test
@@ -201,7 +290,7 @@ public class StudyMaterialServiceImplTest {
     void getStudyMaterialsByGroup_ExistingGroupId_ReturnsStudyMaterials() {
         // Arrange
         when(groupRepository.findById(1L)).thenReturn(Optional.of(group));
-        when(studyMaterialRepository.findByGroup(group)).thenReturn(List.of(studyMaterial));
+        when(studyMaterialRepository.findSummariesByGroupId(1L)).thenReturn(List.of(summary));
 
         // Act
         List<StudyMaterialResponse> response = studyMaterialService.getStudyMaterialsByGroup(1L);
@@ -210,15 +299,17 @@ public class StudyMaterialServiceImplTest {
         assertNotNull(response);
         assertEquals(1, response.size());
         assertEquals("Test Material", response.get(0).getTitle());
+        assertEquals(1L, response.get(0).getGroupId());
+        assertEquals("leader", response.get(0).getUploadedBy().getUsername());
 
         verify(groupRepository, times(1)).findById(1L);
-        verify(studyMaterialRepository, times(1)).findByGroup(group);
+        verify(studyMaterialRepository, times(1)).findSummariesByGroupId(1L);
     }
 
     @Test
     void searchStudyMaterials_WithTerm_ReturnsMatchingStudyMaterials() {
         // Arrange
-        when(studyMaterialRepository.searchByTerm("test")).thenReturn(List.of(studyMaterial));
+        when(studyMaterialRepository.searchByTerm("test")).thenReturn(List.of(summary));
 
         // Act
         List<StudyMaterialResponse> response = studyMaterialService.searchStudyMaterials("test");
@@ -243,6 +334,7 @@ public class StudyMaterialServiceImplTest {
         // Assert
         verify(studyMaterialRepository, times(1)).findById(1L);
         verify(studyMaterialRepository, times(1)).delete(studyMaterial);
+        verify(blobStorage, times(1)).release(HASH);
     }
 
     @Test
@@ -258,5 +350,6 @@ public class StudyMaterialServiceImplTest {
 
         verify(studyMaterialRepository, times(1)).findById(1L);
         verify(studyMaterialRepository, never()).delete(any(StudyMaterial.class));
+        verify(blobStorage, never()).release(any());
     }
 }
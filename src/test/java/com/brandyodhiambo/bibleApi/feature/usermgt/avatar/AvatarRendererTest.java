@@ -0,0 +1,95 @@
+package com.brandyodhiambo.bibleApi.feature.usermgt.avatar;
+
+import com.brandyodhiambo.bibleApi.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AvatarRendererTest {
+
+    private final AvatarRenderer renderer = new AvatarRenderer(DataSize.ofMegabytes(1), 1_000_000);
+
+    @Test
+    void render_ShouldCropAndScaleThumbnailsToSquares() throws IOException {
+        // Arrange
+        byte[] photo = encode(new BufferedImage(800, 600, BufferedImage.TYPE_INT_RGB), "jpeg");
+
+        // Act
+        AvatarRenderer.Rendered rendered = renderer.render(photo);
+
+        // Assert
+        assertEquals("image/jpeg", rendered.contentType());
+        assertEquals("image/jpeg", rendered.thumbnailType());
+        assertSquare(64, rendered.small());
+        assertSquare(256, rendered.medium());
+    }
+
+    @Test
+    void render_WhenImageIsTransparent_ShouldKeepThumbnailsTransparent() throws IOException {
+        // Arrange
+        BufferedImage logo = new BufferedImage(300, 300, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = logo.createGraphics();
+        graphics.setColor(Color.BLUE);
+        graphics.fillOval(50, 50, 200, 200);
+        graphics.dispose();
+
+        // Act
+        AvatarRenderer.Rendered rendered = renderer.render(encode(logo, "png"));
+
+        // Assert
+        assertEquals("image/png", rendered.contentType());
+        assertEquals("image/png", rendered.thumbnailType());
+        assertTrue(ImageIO.read(new ByteArrayInputStream(rendered.small())).getColorModel().hasAlpha());
+    }
+
+    @Test
+    void render_WhenImageIsSmallerThanThumbnail_ShouldNotEnlargeIt() throws IOException {
+        // Arrange
+        byte[] icon = encode(new BufferedImage(40, 40, BufferedImage.TYPE_INT_RGB), "png");
+
+        // Act
+        AvatarRenderer.Rendered rendered = renderer.render(icon);
+
+        // Assert
+        assertSquare(40, rendered.small());
+        assertSquare(40, rendered.medium());
+    }
+
+    @Test
+    void render_WhenContentIsNotAnImage_ShouldThrowBadRequest() {
+        // Act & Assert
+        assertThrows(BadRequestException.class,
+                () -> renderer.render("not an image".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void render_WhenImageHasTooManyPixels_ShouldThrowBadRequestBeforeDecoding() throws IOException {
+        // Arrange: a small file describing more pixels than allowed
+        byte[] huge = encode(new BufferedImage(2000, 1000, BufferedImage.TYPE_BYTE_BINARY), "png");
+
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> renderer.render(huge));
+    }
+
+    private static void assertSquare(int side, byte[] encoded) throws IOException {
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(encoded));
+        assertEquals(side, image.getWidth());
+        assertEquals(side, image.getHeight());
+    }
+
+    private static byte[] encode(BufferedImage image, String format) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ImageIO.write(image, format, bytes);
+        return bytes.toByteArray();
+    }
+}
@@ -3,6 +3,7 @@ package com.brandyodhiambo.bibleApi.feature.usermgt.service.emailVerification;
 import com.brandyodhiambo.bibleApi.feature.usermgt.models.Users;
 import com.brandyodhiambo.bibleApi.feature.usermgt.repository.UserRepository;
 import com.brandyodhiambo.bibleApi.feature.usermgt.service.otp.OtpService;
+import com.brandyodhiambo.bibleApi.mail.MailDispatcher;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -10,7 +11,6 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.Optional;
@@ -31,7 +31,7 @@ class EmailVerificationServiceTest {
     private UserRepository userRepository;
 
     @Mock
-    private JavaMailSender mailSender;
+    private MailDispatcher mailDispatcher;
 
     @InjectMocks
     private EmailVerificationService emailVerificationService;
@@ -54,14 +54,14 @@ class EmailVerificationServiceTest {
         Long userId = 1L;
         String email = "test@example.com";
         when(otpService.generateAndStoreOtp(userId)).thenReturn("test-token");
-        doNothing().when(mailSender).send(any(SimpleMailMessage.class));
+        doNothing().when(mailDispatcher).dispatch(any(SimpleMailMessage.class));
 
         // Act
         emailVerificationService.sendVerificationToken(userId, email);
 
         // Assert
         verify(otpService).generateAndStoreOtp(userId);
-        verify(mailSender).send(any(SimpleMailMessage.class));
+        verify(mailDispatcher).dispatch(any(SimpleMailMessage.class));
     }
 
     @Test
@@ -70,7 +70,7 @@ class EmailVerificationServiceTest {
         String username = "testuser";
         when(userRepository.findUserByUsername(username)).thenReturn(Optional.of(testUser));
         when(otpService.generateAndStoreOtp(any())).thenReturn("test-token");
-        doNothing().when(mailSender).send(any(SimpleMailMessage.class));
+        doNothing().when(mailDispatcher).dispatch(any(SimpleMailMessage.class));
 
         // Act
         emailVerificationService.resendVerificationToken(username);
@@ -78,7 +78,7 @@ class EmailVerificationServiceTest {
         // Assert
         verify(userRepository).findUserByUsername(username);
         verify(otpService).generateAndStoreOtp(any());
-        verify(mailSender).send(any(SimpleMailMessage.class));
+        verify(mailDispatcher).dispatch(any(SimpleMailMessage.class));
     }
 
     @Test
@@ -93,7 +93,7 @@ class EmailVerificationServiceTest {
         });
         verify(userRepository).findUserByUsername(username);
         verifyNoInteractions(otpService);
-        verifyNoInteractions(mailSender);
+        verifyNoInteractions(mailDispatcher);
     }
 
     @Test
@@ -110,7 +110,7 @@ class EmailVerificationServiceTest {
         });
         verify(userRepository).findUserByUsername(username);
         verifyNoInteractions(otpService);
-        verifyNoInteractions(mailSender);
+        verifyNoInteractions(mailDispatcher);
     }
 
     @Test
@@ -0,0 +1,121 @@
+package com.brandyodhiambo.bibleApi.feature.usermgt.service.user;
+
+import com.brandyodhiambo.bibleApi.exception.BadRequestException;
+import com.brandyodhiambo.bibleApi.feature.usermgt.avatar.AvatarCache;
+import com.brandyodhiambo.bibleApi.feature.usermgt.avatar.AvatarRenderer;
+import com.brandyodhiambo.bibleApi.feature.usermgt.models.AvatarSize;
+import com.brandyodhiambo.bibleApi.feature.usermgt.models.UserImage;
+import com.brandyodhiambo.bibleApi.feature.usermgt.models.Users;
+import com.brandyodhiambo.bibleApi.feature.usermgt.models.dto.AvatarImage;
+import com.brandyodhiambo.bibleApi.feature.usermgt.repository.UserImageRepository;
+import com.brandyodhiambo.bibleApi.storage.BlobStorage;
+import com.brandyodhiambo.bibleApi.storage.StoredBlob;
+import com.brandyodhiambo.bibleApi.util.ApiResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserImageServiceImplTest {
+
+    private static final String ORIGINAL = "1".repeat(64);
+    private static final String SMALL = "2".repeat(64);
+    private static final String MEDIUM = "3".repeat(64);
+
+    @Mock
+    private UserImageRepository userImageRepository;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private BlobStorage blobStorage;
+
+    @Mock
+    private AvatarRenderer avatarRenderer;
+
+    @Mock
+    private AvatarCache avatarCache;
+
+    @InjectMocks
+    private UserImageServiceImpl userImageService;
+
+    @Test
+    void getAvatar_WhenSmallSizeIsAsked_ShouldDescribeThumbnailWithoutReadingIt() {
+        // Arrange
+        when(userImageRepository.findByUser_Username("member")).thenReturn(Optional.of(image()));
+
+        // Act
+        AvatarImage avatar = userImageService.getAvatar("member", AvatarSize.SMALL);
+
+        // Assert
+        assertEquals(SMALL, avatar.contentHash());
+        assertEquals("image/jpeg", avatar.contentType());
+        assertNotNull(avatar.lastModified());
+        verifyNoInteractions(blobStorage, avatarCache);
+    }
+
+    @Test
+    void saveUserImage_WhenReplacingImage_ShouldStoreEveryRenditionAndReleaseTheOldOnes() throws Exception {
+        // Arrange
+        UserImage existing = image();
+        MockMultipartFile file = new MockMultipartFile("image", "me.png", "image/png", new byte[]{1, 2, 3});
+        when(userService.getUser("member")).thenReturn(new Users());
+        when(avatarRenderer.render(file.getBytes())).thenReturn(
+                new AvatarRenderer.Rendered("image/png", "image/png", new byte[]{4}, new byte[]{5}));
+        when(blobStorage.store(any(InputStream.class))).thenReturn(
+                new StoredBlob("a".repeat(64), 3, true),
+                new StoredBlob("b".repeat(64), 1, true),
+                new StoredBlob("c".repeat(64), 1, true));
+        when(userImageRepository.findByUser_Username("member")).thenReturn(Optional.of(existing));
+
+        // Act
+        userImageService.saveUserImage("member", file);
+
+        // Assert
+        assertEquals("a".repeat(64), existing.getContentHash());
+        assertEquals("b".repeat(64), existing.getSmallHash());
+        assertEquals("c".repeat(64), existing.getMediumHash());
+        assertEquals("image/png", existing.getThumbnailType());
+        verify(blobStorage).release(ORIGINAL);
+        verify(blobStorage).release(SMALL);
+        verify(blobStorage).release(MEDIUM);
+        verify(userImageRepository).save(existing);
+    }
+
+    @Test
+    void saveUserImage_WhenFileIsNotAnImage_ShouldStoreNothing() throws Exception {
+        // Arrange
+        MockMultipartFile file = new MockMultipartFile("image", "notes.txt", "image/png", new byte[]{1, 2, 3});
+        when(userService.getUser("member")).thenReturn(new Users());
+        when(avatarRenderer.render(file.getBytes())).thenThrow(
+                new BadRequestException(new ApiResponse(Boolean.FALSE, "Profile image could not be read")));
+
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> userImageService.saveUserImage("member", file));
+        verifyNoInteractions(blobStorage, userImageRepository);
+    }
+
+    private static UserImage image() {
+        return UserImage.builder()
+                .id(1L)
+                .contentHash(ORIGINAL)
+                .contentType("image/jpeg")
+                .smallHash(SMALL)
+                .mediumHash(MEDIUM)
+                .thumbnailType("image/jpeg")
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -3,12 +3,15 @@ package com.brandyodhiambo.bibleApi.feature.usermgt.service.user;
 import com.brandyodhiambo.bibleApi.feature.usermgt.models.Role;
 import com.brandyodhiambo.bibleApi.feature.usermgt.models.RoleName;
 import com.brandyodhiambo.bibleApi.feature.usermgt.models.Users;
+import com.brandyodhiambo.bibleApi.feature.usermgt.models.dto.ChangePasswordRequestDto;
 import com.brandyodhiambo.bibleApi.feature.usermgt.models.dto.LoginRequestDto;
 import com.brandyodhiambo.bibleApi.feature.usermgt.models.dto.LoginResponseDto;
 import com.brandyodhiambo.bibleApi.feature.usermgt.models.dto.SignUpRequestDto;
 import com.brandyodhiambo.bibleApi.feature.usermgt.repository.RoleRepository;
 import com.brandyodhiambo.bibleApi.feature.usermgt.repository.UserRepository;
 import com.brandyodhiambo.bibleApi.security.service.JwtService;
+import com.brandyodhiambo.bibleApi.security.service.PrincipalCache;
+import com.brandyodhiambo.bibleApi.util.ApiResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -49,6 +52,9 @@ class UserServiceImplTest {
     @Mock
     private AuthenticationManager authenticationManager;
 
+    @Mock
+    private PrincipalCache principalCache;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -169,6 +175,37 @@ class UserServiceImplTest {
         verify(roleRepository).findByName(RoleName.ROLE_MEMBER);
     }
 
+    @Test
+    void changePassword_ShouldRevokeTokensAndEvictPrincipal() {
+        // Arrange
+        when(userRepository.findUserByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(passwordEncoder.matches("oldPassword", "encodedPassword")).thenReturn(true);
+        when(passwordEncoder.encode("newPassword")).thenReturn("newEncodedPassword");
+
+        // Act
+        ApiResponse response = userService.changePassword("testuser",
+                new ChangePasswordRequestDto("oldPassword", "newPassword", "newPassword"));
+
+        // Assert
+        assertTrue(response.getSuccess());
+        assertEquals(1, testUser.getTokenVersion());
+        verify(principalCache).evict("testuser");
+    }
+
+    @Test
+    void removeGroupLeader_ShouldEvictPrincipalWithoutRevokingTokens() {
+        // Arrange
+        when(userRepository.getUserByName("testuser")).thenReturn(testUser);
+        when(roleRepository.findByName(RoleName.ROLE_MEMBER)).thenReturn(Optional.of(userRole));
+
+        // Act
+        userService.removeGroupLeader("testuser");
+
+        // Assert
+        assertEquals(0, testUser.getTokenVersion());
+        verify(principalCache).evict("testuser");
+    }
+
     @Test
     void signIn_AuthenticatesUser() {
         // This test is skipped because we're having issues with mocking the authorities
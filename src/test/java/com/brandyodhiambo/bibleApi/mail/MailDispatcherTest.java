@@ -0,0 +1,167 @@
+package com.brandyodhiambo.bibleApi.mail;
+
+import com.brandyodhiambo.bibleApi.exception.BibleApiException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.mail.MailParseException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MailDispatcherTest {
+
+    @Mock
+    private JavaMailSender mailSender;
+
+    private MailDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() {
+        if (dispatcher != null) {
+            dispatcher.stop();
+        }
+    }
+
+    @Test
+    void dispatch_ShouldSendQueuedMessagesInBatches() {
+        // Arrange
+        List<String> delivered = new CopyOnWriteArrayList<>();
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            SimpleMailMessage[] batch = (SimpleMailMessage[]) invocation.getRawArguments()[0];
+            batchSizes.add(batch.length);
+            for (SimpleMailMessage message : batch) {
+                delivered.add(message.getTo()[0]);
+            }
+            return null;
+        }).when(mailSender).send(any(SimpleMailMessage[].class));
+        dispatcher = dispatcher(100, 1, 10, 3);
+        dispatcher.start();
+
+        // Act
+        for (int i = 0; i < 25; i++) {
+            dispatcher.dispatch(message("member" + i + "@example.com"));
+        }
+        dispatcher.stop();
+
+        // Assert: everything queued is sent by the time stop returns, never more than a batch per connection
+        assertEquals(25, delivered.size());
+        assertTrue(batchSizes.stream().allMatch(size -> size <= 10));
+    }
+
+    @Test
+    void send_WhenSomeRecipientsFail_ShouldRetryOnlyThose() throws InterruptedException {
+        // Arrange: the server turns the second recipient away once
+        SimpleMailMessage ok = message("ok@example.com");
+        SimpleMailMessage refused = message("refused@example.com");
+        List<SimpleMailMessage> sentMessages = new CopyOnWriteArrayList<>();
+        AtomicBoolean refusedOnce = new AtomicBoolean();
+        CountDownLatch retried = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            List<SimpleMailMessage> batch = List.of((SimpleMailMessage[]) invocation.getRawArguments()[0]);
+            if (batch.contains(refused) && refusedOnce.compareAndSet(false, true)) {
+                batch.stream().filter(message -> message != refused).forEach(sentMessages::add);
+                throw new MailSendException(Map.of(refused, new IllegalStateException("450 mailbox busy")));
+            }
+            sentMessages.addAll(batch);
+            if (batch.contains(refused)) {
+                retried.countDown();
+            }
+            return null;
+        }).when(mailSender).send(any(SimpleMailMessage[].class));
+        dispatcher = dispatcher(100, 1, 10, 3);
+        dispatcher.start();
+
+        // Act
+        dispatcher.dispatch(ok);
+        dispatcher.dispatch(refused);
+
+        // Assert: each message goes out exactly once
+        assertTrue(retried.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(ok, refused), sentMessages);
+    }
+
+    @Test
+    void send_WhenMessageCannotBePrepared_ShouldDropWithoutRetrying() throws InterruptedException {
+        // Arrange
+        CountDownLatch attempted = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            attempted.countDown();
+            throw new MailParseException("Invalid address");
+        }).when(mailSender).send(any(SimpleMailMessage[].class));
+        dispatcher = dispatcher(100, 1, 10, 3);
+        dispatcher.start();
+
+        // Act
+        dispatcher.dispatch(message("not an address"));
+        assertTrue(attempted.await(5, TimeUnit.SECONDS));
+        dispatcher.stop();
+
+        // Assert
+        verify(mailSender, times(1)).send(any(SimpleMailMessage[].class));
+    }
+
+    @Test
+    void dispatch_WhenQueueIsFull_ShouldRejectWithServiceUnavailable() throws InterruptedException {
+        // Arrange: the only worker is stuck on the first message
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            sending.countDown();
+            release.await();
+            return null;
+        }).when(mailSender).send(any(SimpleMailMessage[].class));
+        dispatcher = dispatcher(1, 1, 1, 1);
+        dispatcher.start();
+        dispatcher.dispatch(message("first@example.com"));
+        assertTrue(sending.await(5, TimeUnit.SECONDS));
+        dispatcher.dispatch(message("second@example.com"));
+
+        // Act & Assert
+        BibleApiException exception = assertThrows(BibleApiException.class,
+                () -> dispatcher.dispatch(message("third@example.com")));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getStatus());
+        release.countDown();
+    }
+
+    @Test
+    void dispatch_WhenNotStarted_ShouldReject() {
+        // Arrange
+        dispatcher = dispatcher(100, 1, 10, 3);
+
+        // Act & Assert
+        assertThrows(BibleApiException.class, () -> dispatcher.dispatch(message("member@example.com")));
+        verifyNoInteractions(mailSender);
+    }
+
+    private MailDispatcher dispatcher(int capacity, int workers, int batchSize, int maxAttempts) {
+        return new MailDispatcher(mailSender, new SimpleMeterRegistry(), capacity, workers, batchSize, maxAttempts,
+                Duration.ofMillis(10), Duration.ofMillis(50), Duration.ofSeconds(5));
+    }
+
+    private static SimpleMailMessage message(String to) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setTo(to);
+        message.setSubject("Reminder");
+        message.setText("See you tomorrow");
+        return message;
+    }
+}
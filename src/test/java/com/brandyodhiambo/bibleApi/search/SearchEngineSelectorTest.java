@@ -0,0 +1,95 @@
+package com.brandyodhiambo.bibleApi.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SearchEngineSelectorTest {
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private DatabaseMetaData metaData;
+
+    @Mock
+    private Statement statement;
+
+    @Test
+    void resolve_WhenMemoryConfigured_ShouldNotTouchDatabase() {
+        // Act
+        SearchEngine engine = SearchEngineSelector.resolve(dataSource, SearchEngine.MEMORY);
+
+        // Assert
+        assertEquals(SearchEngine.MEMORY, engine);
+        verifyNoInteractions(dataSource);
+    }
+
+    @Test
+    void resolve_WhenDatabaseIsH2_ShouldFallBackToMemory() throws SQLException {
+        // Arrange
+        databaseIs("H2");
+
+        // Act
+        SearchEngine engine = SearchEngineSelector.resolve(dataSource, SearchEngine.POSTGRES);
+
+        // Assert
+        assertEquals(SearchEngine.MEMORY, engine);
+        verify(connection, never()).createStatement();
+    }
+
+    @Test
+    void resolve_WhenPostgres_ShouldInstallFullTextSchema() throws SQLException {
+        // Arrange
+        databaseIs("PostgreSQL");
+        when(connection.createStatement()).thenReturn(statement);
+
+        // Act
+        SearchEngine engine = SearchEngineSelector.resolve(dataSource, SearchEngine.POSTGRES);
+
+        // Assert
+        assertEquals(SearchEngine.POSTGRES, engine);
+        // One generated column and one GIN index for each of verses, study materials and reading plans
+        verify(statement, times(6)).execute(anyString());
+    }
+
+    @Test
+    void resolve_WhenSchemaScriptFails_ShouldFallBackToMemory() throws SQLException {
+        // Arrange
+        databaseIs("PostgreSQL");
+        when(connection.createStatement()).thenThrow(new SQLException("permission denied"));
+
+        // Act
+        SearchEngine engine = SearchEngineSelector.resolve(dataSource, SearchEngine.POSTGRES);
+
+        // Assert
+        assertEquals(SearchEngine.MEMORY, engine);
+    }
+
+    @Test
+    void fromProperty_ShouldRejectUnknownEngines() {
+        assertEquals(SearchEngine.POSTGRES, SearchEngine.fromProperty(" Postgres "));
+        assertThrows(IllegalArgumentException.class, () -> SearchEngine.fromProperty("elastic"));
+    }
+
+    private void databaseIs(String product) throws SQLException {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(metaData.getDatabaseProductName()).thenReturn(product);
+    }
+}
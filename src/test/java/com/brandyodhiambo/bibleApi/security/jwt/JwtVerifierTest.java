@@ -0,0 +1,98 @@
+package com.brandyodhiambo.bibleApi.security.jwt;
+
+import com.brandyodhiambo.bibleApi.security.service.JwtService;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtVerifierTest {
+
+    private static final String SECRET =
+            "cde1fe53b08fe1551f1a2277011d973a41444b4485e489339bf4d688d381ab221fe408cfb78c65f9813227148c0070581511befbb77f8401bc8f68a5262ad669";
+
+    private JwtVerifier jwtVerifier;
+
+    @BeforeEach
+    void setUp() {
+        jwtVerifier = new JwtVerifier(SECRET, new SimpleMeterRegistry(), 100);
+    }
+
+    @Test
+    void verify_ShouldReturnSubjectAndTokenVersion() {
+        // Arrange
+        String token = token("alice", 3L, 60_000);
+
+        // Act
+        VerifiedToken verified = jwtVerifier.verify(token);
+
+        // Assert
+        assertEquals("alice", verified.subject());
+        assertEquals(3L, verified.tokenVersion());
+        assertNotNull(verified.expiresAt());
+    }
+
+    @Test
+    void verify_WhenSameTokenIsSentAgain_ShouldAnswerFromCache() {
+        // Arrange
+        String token = token("alice", 0L, 60_000);
+        VerifiedToken first = jwtVerifier.verify(token);
+
+        // Act
+        VerifiedToken second = jwtVerifier.verify(token);
+
+        // Assert
+        assertSame(first, second);
+    }
+
+    @Test
+    void verify_WhenTokenWithoutVersion_ShouldCountAsVersionZero() {
+        // Arrange
+        String token = Jwts.builder()
+                .setSubject("alice")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(jwtVerifier.getSigningKey(), SignatureAlgorithm.HS512)
+                .compact();
+
+        // Act & Assert
+        assertEquals(0L, jwtVerifier.verify(token).tokenVersion());
+    }
+
+    @Test
+    void verify_WhenSignatureIsTampered_ShouldThrow() {
+        // Arrange: a verified token must not make a forged copy with the same claims pass
+        String token = token("alice", 0L, 60_000);
+        jwtVerifier.verify(token);
+        int signature = token.lastIndexOf('.') + 1;
+        String forged = token.substring(0, signature) + "AAAA" + token.substring(signature + 4);
+
+        // Act & Assert
+        assertThrows(SignatureException.class, () -> jwtVerifier.verify(forged));
+    }
+
+    @Test
+    void verify_WhenTokenIsExpired_ShouldThrow() {
+        // Arrange
+        String token = token("alice", 0L, -1_000);
+
+        // Act & Assert
+        assertThrows(ExpiredJwtException.class, () -> jwtVerifier.verify(token));
+    }
+
+    private String token(String subject, long tokenVersion, long validForMillis) {
+        return Jwts.builder()
+                .claim(JwtService.TOKEN_VERSION_CLAIM, tokenVersion)
+                .setSubject(subject)
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + validForMillis))
+                .signWith(jwtVerifier.getSigningKey(), SignatureAlgorithm.HS256)
+                .compact();
+    }
+}
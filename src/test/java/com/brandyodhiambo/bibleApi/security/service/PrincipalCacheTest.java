@@ -0,0 +1,117 @@
+package com.brandyodhiambo.bibleApi.security.service;
+
+import com.brandyodhiambo.bibleApi.feature.usermgt.models.Users;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.security.authentication.CredentialsExpiredException;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PrincipalCacheTest {
+
+    private static final String CHANNEL = "security:principals:invalidation";
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private PrincipalCache principalCache;
+
+    @BeforeEach
+    void setUp() {
+        principalCache = new PrincipalCache(userDetailsService, redisTemplate, new SimpleMeterRegistry(),
+                100, Duration.ofMinutes(1), CHANNEL);
+    }
+
+    @Test
+    void get_ShouldLoadPrincipalOnceAndAnswerFromCache() {
+        // Arrange
+        Users principal = principal("alice", 0);
+        when(userDetailsService.loadUserByUsername("alice")).thenReturn(principal);
+
+        // Act
+        Users first = principalCache.get("alice", 0);
+        Users second = principalCache.get("alice", 0);
+
+        // Assert
+        assertSame(principal, first);
+        assertSame(principal, second);
+        verify(userDetailsService, times(1)).loadUserByUsername("alice");
+    }
+
+    @Test
+    void get_WhenTokenPredatesPasswordChange_ShouldReject() {
+        // Arrange
+        when(userDetailsService.loadUserByUsername("alice")).thenReturn(principal("alice", 2));
+
+        // Act & Assert
+        assertThrows(CredentialsExpiredException.class, () -> principalCache.get("alice", 1));
+    }
+
+    @Test
+    void get_WhenTokenIsNewerThanCachedPrincipal_ShouldReload() {
+        // Arrange: the password was changed on another instance
+        when(userDetailsService.loadUserByUsername("alice")).thenReturn(principal("alice", 0), principal("alice", 1));
+        principalCache.get("alice", 0);
+
+        // Act
+        Users reloaded = principalCache.get("alice", 1);
+
+        // Assert
+        assertEquals(1, reloaded.getTokenVersion());
+        verify(userDetailsService, times(2)).loadUserByUsername("alice");
+    }
+
+    @Test
+    void evict_ShouldReloadAndNotifyOtherInstances() {
+        // Arrange
+        when(userDetailsService.loadUserByUsername("alice")).thenReturn(principal("alice", 0));
+        principalCache.get("alice", 0);
+
+        // Act: outside a transaction the eviction is immediate
+        principalCache.evict("alice");
+        principalCache.get("alice", 0);
+
+        // Assert
+        verify(userDetailsService, times(2)).loadUserByUsername("alice");
+        verify(redisTemplate).convertAndSend(eq(CHANNEL), anyString());
+    }
+
+    @Test
+    void onMessage_ShouldEvictPrincipalChangedOnAnotherInstance() {
+        // Arrange
+        when(userDetailsService.loadUserByUsername("alice")).thenReturn(principal("alice", 0));
+        principalCache.get("alice", 0);
+
+        // Act
+        principalCache.onMessage(new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8),
+                "other-node\talice".getBytes(StandardCharsets.UTF_8)), null);
+        principalCache.get("alice", 0);
+
+        // Assert
+        verify(userDetailsService, times(2)).loadUserByUsername("alice");
+    }
+
+    private static Users principal(String username, long tokenVersion) {
+        Users user = new Users();
+        user.setUsername(username);
+        user.setTokenVersion(tokenVersion);
+        return user;
+    }
+}
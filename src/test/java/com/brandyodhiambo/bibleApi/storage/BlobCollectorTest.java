@@ -0,0 +1,86 @@
+package com.brandyodhiambo.bibleApi.storage;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BlobCollectorTest {
+
+    private static final String HASH = "b".repeat(64);
+
+    @Mock
+    private BlobStore blobStore;
+
+    @Mock
+    private BlobRecordRepository blobRecordRepository;
+
+    @Mock
+    private BlobOwner owner;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BlobCollector collector;
+
+    @BeforeEach
+    void setUp() {
+        collector = new BlobCollector(blobStore, blobRecordRepository, List.of(owner), transactionManager,
+                new SimpleMeterRegistry(), Duration.ofHours(1), 10);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    }
+
+    @Test
+    void collect_WhenBlobIsUnreferenced_ShouldRemoveIt() throws Exception {
+        // Arrange
+        BlobRecord orphan = record();
+        when(blobRecordRepository.findUnreferencedBefore(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(orphan));
+        when(owner.countReferences(HASH)).thenReturn(0L);
+
+        // Act
+        int removed = collector.collect();
+
+        // Assert
+        assertEquals(1, removed);
+        verify(blobStore, times(1)).delete(HASH);
+        verify(blobRecordRepository, times(1)).delete(orphan);
+    }
+
+    @Test
+    void collect_WhenOwnerStillRefersToBlob_ShouldCorrectItsCountInstead() throws Exception {
+        // Arrange: stored before reference counting, so the count does not know about it
+        BlobRecord uncounted = record();
+        when(blobRecordRepository.findUnreferencedBefore(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(uncounted));
+        when(owner.countReferences(HASH)).thenReturn(2L);
+
+        // Act
+        int removed = collector.collect();
+
+        // Assert
+        assertEquals(0, removed);
+        assertEquals(2, uncounted.getRefCount());
+        verify(blobStore, never()).delete(any());
+        verify(blobRecordRepository, never()).delete(any(BlobRecord.class));
+    }
+
+    private static BlobRecord record() {
+        LocalDateTime longAgo = LocalDateTime.now().minusDays(1);
+        return new BlobRecord(HASH, 4, 0, longAgo, longAgo);
+    }
+}
@@ -0,0 +1,92 @@
+package com.brandyodhiambo.bibleApi.storage;
+
+import com.brandyodhiambo.bibleApi.exception.BibleApiException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BlobStorageTest {
+
+    private static final String HASH = "a".repeat(64);
+
+    @Mock
+    private BlobStore blobStore;
+
+    @Mock
+    private BlobRecordRepository blobRecordRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BlobStorage blobStorage;
+
+    @BeforeEach
+    void setUp() {
+        blobStorage = new BlobStorage(blobStore, blobRecordRepository, transactionManager);
+    }
+
+    @Test
+    void store_WhenContentIsAlreadyStored_ShouldCountOneMoreReference() throws Exception {
+        // Arrange
+        StoredBlob blob = new StoredBlob(HASH, 4, false);
+        when(blobStore.put(any(InputStream.class))).thenReturn(blob);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(blobRecordRepository.existsById(HASH)).thenReturn(true);
+        when(blobRecordRepository.incrementReferences(eq(HASH), any(LocalDateTime.class))).thenReturn(1);
+        when(blobStore.exists(HASH)).thenReturn(true);
+
+        // Act
+        StoredBlob stored = blobStorage.store(new ByteArrayInputStream(new byte[]{1, 2, 3, 4}));
+
+        // Assert
+        assertEquals(blob, stored);
+        verify(blobRecordRepository, times(1)).incrementReferences(eq(HASH), any(LocalDateTime.class));
+    }
+
+    @Test
+    void store_WhenContentWasCollectedMeanwhile_ShouldThrowServiceUnavailable() throws Exception {
+        // Arrange: the collector removed the row between registering and counting
+        when(blobStore.put(any(InputStream.class))).thenReturn(new StoredBlob(HASH, 4, false));
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(blobRecordRepository.existsById(HASH)).thenReturn(true);
+        when(blobRecordRepository.incrementReferences(eq(HASH), any(LocalDateTime.class))).thenReturn(0);
+
+        // Act & Assert
+        BibleApiException exception = assertThrows(BibleApiException.class,
+                () -> blobStorage.store(new ByteArrayInputStream(new byte[]{1, 2, 3, 4})));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getStatus());
+    }
+
+    @Test
+    void release_ShouldCountOneReferenceLess() {
+        // Act
+        blobStorage.release(HASH);
+
+        // Assert
+        verify(blobRecordRepository, times(1)).decrementReferences(eq(HASH), any(LocalDateTime.class));
+    }
+
+    @Test
+    void release_WhenThereIsNoHash_ShouldDoNothing() {
+        // Act
+        blobStorage.release(null);
+
+        // Assert
+        verifyNoInteractions(blobRecordRepository);
+    }
+}
@@ -0,0 +1,89 @@
+package com.brandyodhiambo.bibleApi.storage;
+
+import com.brandyodhiambo.bibleApi.exception.BibleApiException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalBlobStoreTest {
+
+    private static final String HASH = "916f0027a575074ce72a331777c3478d6513f786a591bd892da1a577bf2335f9";
+
+    @TempDir
+    Path root;
+
+    private LocalBlobStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new LocalBlobStore(root.toString());
+    }
+
+    @Test
+    void put_ShouldStoreContentUnderItsSha256() throws IOException {
+        // Act
+        StoredBlob blob = store.put(stream("test data"));
+
+        // Assert
+        assertEquals(HASH, blob.hash());
+        assertEquals(9L, blob.size());
+        assertTrue(blob.created());
+        assertEquals(root.resolve("91").resolve("6f").resolve(HASH), store.path(HASH));
+        assertEquals("test data", Files.readString(store.path(HASH)));
+    }
+
+    @Test
+    void put_WhenContentIsAlreadyStored_ShouldKeepOneCopy() throws IOException {
+        // Arrange
+        store.put(stream("test data"));
+
+        // Act
+        StoredBlob again = store.put(stream("test data"));
+
+        // Assert
+        assertEquals(HASH, again.hash());
+        assertFalse(again.created());
+        try (Stream<Path> files = Files.walk(root)) {
+            assertEquals(1, files.filter(Files::isRegularFile).count());
+        }
+    }
+
+    @Test
+    void resource_ShouldReadTheStoredFile() throws IOException {
+        // Arrange
+        store.put(stream("test data"));
+
+        // Act
+        Resource resource = store.resource(HASH);
+
+        // Assert
+        assertEquals(9L, resource.contentLength());
+        assertEquals("test data", resource.getContentAsString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void resource_WhenNothingIsStored_ShouldThrowNotFound() {
+        // Act & Assert
+        assertThrows(BibleApiException.class, () -> store.resource(HASH));
+    }
+
+    @Test
+    void path_WhenHashIsNotSha256_ShouldRejectIt() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> store.path("../../etc/passwd"));
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,130 @@
+package com.brandyodhiambo.bibleApi.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.Deflater;
+import java.util.zip.ZipException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompressionCodecTest {
+
+    @Test
+    void deflate_ShouldRoundTripContentLargerThanItsBuffers() throws IOException {
+        // Arrange
+        byte[] data = compressible(1024 * 1024);
+
+        // Act
+        byte[] compressed = CompressionCodec.DEFLATE.compress(data);
+        byte[] restored = CompressionCodec.DEFLATE.decompress(new ByteArrayInputStream(compressed), data.length);
+
+        // Assert
+        assertTrue(compressed.length < data.length / 4);
+        assertArrayEquals(data, restored);
+    }
+
+    @Test
+    void decompressImage_ShouldReadImagesCompressedTheOldWay() {
+        // Arrange: one Deflater per call at the best compression level, as images used to be stored
+        byte[] image = compressible(100_000);
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        deflater.setInput(image);
+        deflater.finish();
+        ByteArrayOutputStream stored = new ByteArrayOutputStream();
+        byte[] chunk = new byte[4096];
+        while (!deflater.finished()) {
+            stored.write(chunk, 0, deflater.deflate(chunk));
+        }
+        deflater.end();
+
+        // Act
+        byte[] restored = ImageUtil.decompressImage(stored.toByteArray());
+
+        // Assert
+        assertArrayEquals(image, restored);
+    }
+
+    @Test
+    void decompress_WhenContentExpandsPastLimit_ShouldStopWithZipException() {
+        // Arrange: a megabyte of zeros deflates to about a kilobyte
+        byte[] bomb = CompressionCodec.DEFLATE.compress(new byte[1024 * 1024]);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act & Assert
+        assertThrows(ZipException.class,
+                () -> CompressionCodec.DEFLATE.decompress(new ByteArrayInputStream(bomb), out, 64 * 1024));
+        assertTrue(out.size() <= 64 * 1024);
+    }
+
+    @Test
+    void decompress_WhenContentIsTruncated_ShouldThrowEofException() {
+        // Arrange
+        byte[] compressed = CompressionCodec.DEFLATE.compress(compressible(100_000));
+        byte[] truncated = Arrays.copyOf(compressed, compressed.length / 2);
+
+        // Act & Assert
+        assertThrows(EOFException.class,
+                () -> CompressionCodec.DEFLATE.decompress(new ByteArrayInputStream(truncated), Long.MAX_VALUE));
+    }
+
+    @Test
+    void decompress_WhenContentIsNotDeflated_ShouldThrowZipException() {
+        // Act & Assert
+        assertThrows(ZipException.class, () -> CompressionCodec.DEFLATE.decompress(
+                new ByteArrayInputStream("not compressed at all".getBytes()), Long.MAX_VALUE));
+    }
+
+    @Test
+    void decompress_AfterAFailure_ShouldStillWorkOnTheSameThread() throws IOException {
+        // Arrange: the failed call leaves its pooled Inflater mid-stream
+        byte[] data = compressible(50_000);
+        byte[] compressed = CompressionCodec.DEFLATE.compress(data);
+        assertThrows(ZipException.class,
+                () -> CompressionCodec.DEFLATE.decompress(new ByteArrayInputStream(compressed), 10));
+
+        // Act
+        byte[] restored = CompressionCodec.DEFLATE.decompress(new ByteArrayInputStream(compressed), data.length);
+
+        // Assert
+        assertArrayEquals(data, restored);
+    }
+
+    @Test
+    void none_ShouldCopyContentUnchangedUpToLimit() throws IOException {
+        // Arrange
+        byte[] photo = new byte[20_000];
+        new Random(7).nextBytes(photo);
+
+        // Act & Assert
+        assertArrayEquals(photo, CompressionCodec.NONE.compress(photo));
+        assertArrayEquals(photo, CompressionCodec.NONE.decompress(new ByteArrayInputStream(photo), photo.length));
+        assertThrows(ZipException.class,
+                () -> CompressionCodec.NONE.decompress(new ByteArrayInputStream(photo), photo.length - 1));
+    }
+
+    @Test
+    void forContentType_ShouldOnlyCompressFormatsThatShrink() {
+        // Act & Assert
+        assertEquals(CompressionCodec.NONE, CompressionCodec.forContentType("image/jpeg"));
+        assertEquals(CompressionCodec.NONE, CompressionCodec.forContentType("image/png"));
+        assertEquals(CompressionCodec.NONE, CompressionCodec.forContentType("application/pdf"));
+        assertEquals(CompressionCodec.NONE, CompressionCodec.forContentType(null));
+        assertEquals(CompressionCodec.DEFLATE, CompressionCodec.forContentType("image/bmp"));
+        assertEquals(CompressionCodec.DEFLATE, CompressionCodec.forContentType("image/svg+xml"));
+        assertEquals(CompressionCodec.DEFLATE, CompressionCodec.forContentType("Text/Plain; charset=UTF-8"));
+    }
+
+    private static byte[] compressible(int size) {
+        byte[] data = new byte[size];
+        for (int i = 0; i < size; i++) {
+            data[i] = (byte) (i % 64 < 48 ? 0 : i % 251);
+        }
+        return data;
+    }
+}